@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.benchmarks;
+
+import com.google.code.validationframework.base.transform.AndBooleanAggregator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the {@link AndBooleanAggregator} over large collections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AndBooleanAggregatorBenchmark {
+
+    /**
+     * Number of elements to be aggregated.
+     */
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    /**
+     * Aggregator under benchmark.
+     */
+    private final AndBooleanAggregator aggregator = new AndBooleanAggregator();
+
+    /**
+     * Collection containing only true elements, which is the worst case because all elements have to be read.
+     */
+    private Collection<Boolean> allTrue;
+
+    /**
+     * Collection containing only true elements except the last one.
+     */
+    private Collection<Boolean> lastFalse;
+
+    /**
+     * Sets up the collections to be aggregated.
+     */
+    @Setup
+    public void setUp() {
+        List<Boolean> elements = new ArrayList<Boolean>(size);
+        for (int i = 0; i < size; i++) {
+            elements.add(Boolean.TRUE);
+        }
+        allTrue = elements;
+
+        elements = new ArrayList<Boolean>(allTrue);
+        elements.set(size - 1, Boolean.FALSE);
+        lastFalse = elements;
+    }
+
+    /**
+     * Aggregates a collection of true elements.
+     *
+     * @return Aggregation result.
+     */
+    @Benchmark
+    public Boolean allTrue() {
+        return aggregator.transform(allTrue);
+    }
+
+    /**
+     * Aggregates a collection of true elements ending with a false element.
+     *
+     * @return Aggregation result.
+     */
+    @Benchmark
+    public Boolean lastFalse() {
+        return aggregator.transform(lastFalse);
+    }
+}
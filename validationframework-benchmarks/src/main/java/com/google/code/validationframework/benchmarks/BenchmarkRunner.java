@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks JAR.
+ * <p>
+ * It runs all benchmarks of this package with the GC profiler enabled, so that the allocation rate is reported along
+ * with the score. The benchmark mode is the one declared by each benchmark (throughput for all of them at the time of
+ * writing), unless another one is given on the command line. Any regular JMH command line option (for instance, a
+ * benchmark name filter, {@code -bm avgt} or {@code -p ruleCount=10}) can be passed to further select or parameterize
+ * the benchmarks.
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * Private constructor for utility class.
+     */
+    private BenchmarkRunner() {
+        // Nothing to be done
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args JMH command line options.
+     *
+     * @throws Exception If the command line options are invalid or if the benchmarks could not be run.
+     */
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+        OptionsBuilder optionsBuilder = new OptionsBuilder();
+        optionsBuilder.parent(commandLineOptions);
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            optionsBuilder.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+        }
+        optionsBuilder.addProfiler(GCProfiler.class);
+        Options options = optionsBuilder.build();
+
+        new Runner(options).run();
+    }
+}
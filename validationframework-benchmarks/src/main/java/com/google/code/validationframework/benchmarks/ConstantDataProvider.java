@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.benchmarks;
+
+import com.google.code.validationframework.api.dataprovider.DataProvider;
+
+/**
+ * Data provider always returning the same data, so that the benchmarks only measure the validation pipeline.
+ *
+ * @param <DPO> Type of data provider output.
+ */
+class ConstantDataProvider<DPO> implements DataProvider<DPO> {
+
+    /**
+     * Data to be returned.
+     */
+    private final DPO data;
+
+    /**
+     * Constructor specifying the data to be returned.
+     *
+     * @param data Data to be returned.
+     */
+    public ConstantDataProvider(DPO data) {
+        this.data = data;
+    }
+
+    /**
+     * @see DataProvider#getData()
+     */
+    @Override
+    public DPO getData() {
+        return data;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.benchmarks;
+
+import com.google.code.validationframework.api.dataprovider.DataProvider;
+import com.google.code.validationframework.api.rule.Rule;
+import com.google.code.validationframework.base.rule.object.NotNullBooleanRule;
+import com.google.code.validationframework.base.trigger.ManualTrigger;
+import com.google.code.validationframework.base.validator.DefaultMappableValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the {@link DefaultMappableValidator}.
+ * <p>
+ * One trigger is mapped to all data providers, each data provider is mapped to all rules, and each rule is mapped to
+ * all result handlers. The setup therefore also measures the cost of building the mappings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefaultMappableValidatorBenchmark {
+
+    /**
+     * Number of data providers.
+     */
+    @Param({"1", "10"})
+    public int dataProviderCount;
+
+    /**
+     * Number of rules.
+     */
+    @Param({"1", "10", "100"})
+    public int ruleCount;
+
+    /**
+     * Number of result handlers.
+     */
+    @Param({"1", "10"})
+    public int resultHandlerCount;
+
+    /**
+     * Trigger initiating the validation.
+     */
+    private ManualTrigger trigger;
+
+    /**
+     * Validator under benchmark.
+     */
+    private DefaultMappableValidator<Object, Boolean> validator;
+
+    /**
+     * Sets up the validator under benchmark.
+     *
+     * @param blackhole Blackhole consuming the validation results.
+     */
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        trigger = new ManualTrigger();
+        validator = new DefaultMappableValidator<Object, Boolean>();
+
+        // Create all elements
+        @SuppressWarnings("unchecked")
+        DataProvider<Object>[] dataProviders = new DataProvider[dataProviderCount];
+        for (int i = 0; i < dataProviderCount; i++) {
+            dataProviders[i] = new ConstantDataProvider<Object>("data" + i);
+        }
+        @SuppressWarnings("unchecked")
+        Rule<Object, Boolean>[] rules = new Rule[ruleCount];
+        for (int i = 0; i < ruleCount; i++) {
+            rules[i] = new NotNullBooleanRule<Object>();
+        }
+        @SuppressWarnings("unchecked")
+        BlackholeResultHandler<Boolean>[] resultHandlers = new BlackholeResultHandler[resultHandlerCount];
+        for (int i = 0; i < resultHandlerCount; i++) {
+            resultHandlers[i] = new BlackholeResultHandler<Boolean>(blackhole);
+        }
+
+        // Map everything
+        for (DataProvider<Object> dataProvider : dataProviders) {
+            validator.mapTriggerToDataProvider(trigger, dataProvider);
+            for (Rule<Object, Boolean> rule : rules) {
+                validator.mapDataProviderToRule(dataProvider, rule);
+            }
+        }
+        for (Rule<Object, Boolean> rule : rules) {
+            for (BlackholeResultHandler<Boolean> resultHandler : resultHandlers) {
+                validator.mapRuleToResultHandler(rule, resultHandler);
+            }
+        }
+    }
+
+    /**
+     * Disposes the validator under benchmark.
+     */
+    @TearDown
+    public void tearDown() {
+        validator.dispose();
+    }
+
+    /**
+     * Runs a full validation cycle.
+     */
+    @Benchmark
+    public void trigger() {
+        trigger.trigger();
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.benchmarks;
+
+import com.google.code.validationframework.api.rule.Rule;
+import com.google.code.validationframework.base.rule.object.NotNullBooleanRule;
+import com.google.code.validationframework.base.validator.generalvalidator.GeneralValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of a full validation cycle of the {@link GeneralValidator}, for all four combinations of data provider to
+ * rule mapping and rule to result handler mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneralValidatorBenchmark {
+
+    /**
+     * Data provider to rule mapping.
+     */
+    @Param({"SPLIT", "JOIN"})
+    public GeneralValidator.MappingStrategy dataProviderToRuleMapping;
+
+    /**
+     * Rule to result handler mapping.
+     */
+    @Param({"SPLIT", "JOIN"})
+    public GeneralValidator.MappingStrategy ruleToResultHandlerMapping;
+
+    /**
+     * Number of data providers.
+     */
+    @Param({"1", "10"})
+    public int dataProviderCount;
+
+    /**
+     * Number of rules.
+     */
+    @Param({"1", "10", "100"})
+    public int ruleCount;
+
+    /**
+     * Number of result handlers.
+     */
+    @Param({"1", "10"})
+    public int resultHandlerCount;
+
+    /**
+     * True to compile the validator into its execution plan before the measurement, false otherwise.
+     */
+    @Param({"false", "true"})
+    public boolean compiled;
+
+    /**
+     * Validator under benchmark.
+     */
+    private GeneralValidator<Object, Object, Boolean, Object> validator;
+
+    /**
+     * Sets up the validator under benchmark.
+     *
+     * @param blackhole Blackhole consuming the validation results.
+     */
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        validator = new GeneralValidator<Object, Object, Boolean, Object>();
+
+        for (int i = 0; i < dataProviderCount; i++) {
+            validator.addDataProvider(new ConstantDataProvider<Object>("data" + i));
+        }
+        validator.setDataProviderToRuleMappingStrategy(dataProviderToRuleMapping);
+
+        Rule<Object, Boolean> rule = new NotNullBooleanRule<Object>();
+        for (int i = 0; i < ruleCount; i++) {
+            validator.addRule(rule);
+        }
+        validator.setRuleToResultHandlerMappingStrategy(ruleToResultHandlerMapping);
+
+        for (int i = 0; i < resultHandlerCount; i++) {
+            validator.addResultHandler(new BlackholeResultHandler<Object>(blackhole));
+        }
+
+        if (compiled) {
+            validator.compile();
+        }
+    }
+
+    /**
+     * Disposes the validator under benchmark.
+     */
+    @TearDown
+    public void tearDown() {
+        validator.dispose();
+    }
+
+    /**
+     * Runs a full validation cycle.
+     */
+    @Benchmark
+    public void trigger() {
+        validator.trigger();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.benchmarks;
+
+import com.google.code.validationframework.api.dataprovider.DataProvider;
+import com.google.code.validationframework.api.rule.Rule;
+import com.google.code.validationframework.base.rule.object.NotNullBooleanRule;
+import com.google.code.validationframework.base.trigger.ManualTrigger;
+import com.google.code.validationframework.base.validator.DefaultMappableValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the mapping and unmapping operations of the {@link DefaultMappableValidator} with very large numbers of
+ * mappings.
+ * <p>
+ * This simulates a table editor with one trigger, data provider, rule and result handler per cell: the mappings of all
+ * cells are built, and then each rule is unmapped from all data providers and each result handler from all rules, as
+ * when the table is rebuilt.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappableValidatorMappingBenchmark {
+
+    /**
+     * Number of cells.
+     */
+    @Param({"1000", "10000", "100000"})
+    public int cellCount;
+
+    /**
+     * Triggers of the cells.
+     */
+    private ManualTrigger[] triggers;
+
+    /**
+     * Data providers of the cells.
+     */
+    private DataProvider<Object>[] dataProviders;
+
+    /**
+     * Rules of the cells.
+     */
+    private Rule<Object, Boolean>[] rules;
+
+    /**
+     * Result handlers of the cells.
+     */
+    private BlackholeResultHandler<Boolean>[] resultHandlers;
+
+    /**
+     * Creates the elements of all the cells.
+     *
+     * @param blackhole Blackhole consuming the validation results.
+     */
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp(Blackhole blackhole) {
+        triggers = new ManualTrigger[cellCount];
+        dataProviders = new DataProvider[cellCount];
+        rules = new Rule[cellCount];
+        resultHandlers = new BlackholeResultHandler[cellCount];
+        for (int i = 0; i < cellCount; i++) {
+            triggers[i] = new ManualTrigger();
+            dataProviders[i] = new ConstantDataProvider<Object>("data" + i);
+            rules[i] = new NotNullBooleanRule<Object>();
+            resultHandlers[i] = new BlackholeResultHandler<Boolean>(blackhole);
+        }
+    }
+
+    /**
+     * Maps all cells, and then unmaps all their rules and result handlers.
+     *
+     * @return Validator, to be consumed by JMH.
+     */
+    @Benchmark
+    public DefaultMappableValidator<Object, Boolean> mapAndUnmap() {
+        DefaultMappableValidator<Object, Boolean> validator = new DefaultMappableValidator<Object, Boolean>();
+
+        for (int i = 0; i < cellCount; i++) {
+            validator.mapTriggerToDataProvider(triggers[i], dataProviders[i]);
+            validator.mapDataProviderToRule(dataProviders[i], rules[i]);
+            validator.mapRuleToResultHandler(rules[i], resultHandlers[i]);
+        }
+
+        for (int i = 0; i < cellCount; i++) {
+            validator.mapDataProviderToRule(null, rules[i]);
+            validator.mapRuleToResultHandler(null, resultHandlers[i]);
+            validator.mapTriggerToDataProvider(null, dataProviders[i]);
+        }
+
+        return validator;
+    }
+}
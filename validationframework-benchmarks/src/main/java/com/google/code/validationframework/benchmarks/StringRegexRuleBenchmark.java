@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.benchmarks;
+
+import com.google.code.validationframework.base.rule.string.StringRegexRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the {@link StringRegexRule} with many patterns.
+ * <p>
+ * The input matches none of the patterns, which is the worst case because all patterns have to be tried.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringRegexRuleBenchmark {
+
+    /**
+     * Number of patterns of the rule.
+     */
+    @Param({"1", "10", "100"})
+    public int patternCount;
+
+    /**
+     * Length of the input to be validated.
+     */
+    @Param({"16", "1024"})
+    public int inputLength;
+
+    /**
+     * Rule under benchmark.
+     */
+    private StringRegexRule rule;
+
+    /**
+     * Input to be validated.
+     */
+    private String input;
+
+    /**
+     * Sets up the rule and the input.
+     */
+    @Setup
+    public void setUp() {
+        rule = new StringRegexRule();
+        for (int i = 0; i < patternCount; i++) {
+            rule.addPattern("keyword" + i + "\\d+");
+        }
+
+        // Use a fixed seed so that all runs use the same input
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder(inputLength);
+        for (int i = 0; i < inputLength; i++) {
+            builder.append((char) ('a' + random.nextInt(26)));
+        }
+        input = builder.toString();
+    }
+
+    /**
+     * Validates the input.
+     *
+     * @return Validation result.
+     */
+    @Benchmark
+    public Boolean validate() {
+        return rule.validate(input);
+    }
+}
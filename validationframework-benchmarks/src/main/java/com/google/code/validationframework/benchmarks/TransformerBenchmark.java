@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.benchmarks;
+
+import com.google.code.validationframework.api.transform.Transformer;
+import com.google.code.validationframework.base.transform.CastTransformer;
+import com.google.code.validationframework.base.transform.ChainedTransformer;
+import com.google.code.validationframework.base.transform.FormatTransformer;
+import com.google.code.validationframework.base.transform.ParseTransformer;
+import com.google.code.validationframework.base.utils.FormatWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the {@link ChainedTransformer}, {@link ParseTransformer}, {@link FormatTransformer} and {@link
+ * FormatWrapper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformerBenchmark {
+
+    /**
+     * Number of transformers in the chain.
+     */
+    @Param({"1", "5", "20"})
+    public int chainLength;
+
+    /**
+     * Text to be parsed.
+     */
+    private final String text = "12345.678";
+
+    /**
+     * Number to be formatted.
+     */
+    private final Double number = 12345.678;
+
+    /**
+     * Chain of transformers under benchmark.
+     */
+    private Transformer<Object, Object> chainedTransformer;
+
+    /**
+     * Parse transformer under benchmark.
+     */
+    private Transformer<String, Number> parseTransformer;
+
+    /**
+     * Format transformer under benchmark.
+     */
+    private Transformer<Number, String> formatTransformer;
+
+    /**
+     * Format wrapper under benchmark.
+     */
+    private FormatWrapper<Object> formatWrapper;
+
+    /**
+     * Sets up the transformers under benchmark.
+     */
+    @Setup
+    public void setUp() {
+        ChainedTransformer<Object, Object> chain = new ChainedTransformer<Object, Object>(new CastTransformer<Object,
+                Object>());
+        for (int i = 1; i < chainLength; i++) {
+            chain = chain.chain(new CastTransformer<Object, Object>());
+        }
+        chainedTransformer = chain;
+
+        DecimalFormat format = new DecimalFormat("#,##0.###", DecimalFormatSymbols.getInstance(Locale.US));
+        parseTransformer = new ParseTransformer<Number>(format);
+        formatTransformer = new FormatTransformer<Number>(format);
+        formatWrapper = new FormatWrapper<Object>(format);
+    }
+
+    /**
+     * Transforms an object through the chain of transformers.
+     *
+     * @return Transformed object.
+     */
+    @Benchmark
+    public Object chainedTransformer() {
+        return chainedTransformer.transform(number);
+    }
+
+    /**
+     * Parses a number using the {@link ParseTransformer}.
+     *
+     * @return Parsed number.
+     */
+    @Benchmark
+    public Number parseTransformer() {
+        return parseTransformer.transform(text);
+    }
+
+    /**
+     * Formats a number using the {@link FormatTransformer}.
+     *
+     * @return Formatted number.
+     */
+    @Benchmark
+    public String formatTransformer() {
+        return formatTransformer.transform(number);
+    }
+
+    /**
+     * Parses a number using the {@link FormatWrapper}.
+     *
+     * @return Parsed number.
+     *
+     * @throws ParseException Should not happen.
+     */
+    @Benchmark
+    public Object formatWrapperParse() throws ParseException {
+        return formatWrapper.parseObject(text);
+    }
+
+    /**
+     * Formats a number using the {@link FormatWrapper}.
+     *
+     * @return Formatted number.
+     */
+    @Benchmark
+    public String formatWrapperFormat() {
+        return formatWrapper.format(number);
+    }
+}
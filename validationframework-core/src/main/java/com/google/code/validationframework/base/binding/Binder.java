@@ -41,6 +41,9 @@ import java.util.Collection;
  * {@link
  * SimpleBond#dispose()} method.
  * <p>
+ * Alternatively, it can create {@link LazyProperty}s, whose values are derived from the master properties only when
+ * they are read, instead of being pushed to slave properties on every change.
+ * <p>
  * If you are using JavaFX, you should better use JavaFX's property binding mechanism. The binding mechanism provided by
  * the ValidationFramework is very simple and mostly meant for Swing and other frameworks that can benefit from it.
  * JavaFX has a much more furnished API to achieve similar goals and much more.
@@ -48,6 +51,7 @@ import java.util.Collection;
  * @see ReadableProperty
  * @see WritableProperty
  * @see SimpleBond
+ * @see LazyProperty
  */
 public final class Binder {
 
@@ -126,6 +130,21 @@ public final class Binder {
         public SimpleBond<MO, SI> write(WritableProperty<SI>... slaves) {
             return write(Arrays.asList(slaves));
         }
+
+        /**
+         * Creates a property whose value is lazily derived from the master, instead of writing it to slave
+         * properties.
+         * <p>
+         * The transformers are called only when the value is read after the master has changed, or when the property
+         * has value change listeners.
+         *
+         * @return Lazy property derived from the master.
+         *
+         * @see LazyProperty
+         */
+        public LazyProperty<MO, SI> toLazyProperty() {
+            return new LazyProperty<MO, SI>(master, transformer);
+        }
     }
 
     /**
@@ -204,6 +223,21 @@ public final class Binder {
         public SimpleBond<Collection<MO>, SI> write(WritableProperty<SI>... slaves) {
             return write(Arrays.asList(slaves));
         }
+
+        /**
+         * Creates a property whose value is lazily derived from the masters, instead of writing it to slave
+         * properties.
+         * <p>
+         * The transformers are called only when the value is read after one of the masters has changed, or when the
+         * property has value change listeners.
+         *
+         * @return Lazy property derived from the masters.
+         *
+         * @see LazyProperty
+         */
+        public LazyProperty<Collection<MO>, SI> toLazyProperty() {
+            return new LazyProperty<Collection<MO>, SI>(new CompositeReadableProperty<MO>(masters), transformer);
+        }
     }
 
     /**
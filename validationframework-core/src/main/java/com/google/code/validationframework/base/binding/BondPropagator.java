@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.binding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Propagation engine re-evaluating {@link SimpleBond}s in passes, so that the bonds of a graph are evaluated in
+ * topological order and only once per pass.
+ * <p>
+ * Whenever the master property of a bond changes, the bond is not evaluated immediately but scheduled in the current
+ * propagation pass by its {@link BondListener}. The
+ * {@link com.google.code.validationframework.base.property.AbstractReadableProperty} notifies the bond listeners added
+ * one after the other within a single pass, so that all these bonds are scheduled before any of them is evaluated. The
+ * pass is completed before the next listener of the property is notified, so that, from the point of view of the other
+ * listeners and of the caller, the slave properties are still updated synchronously, in the order the listeners were
+ * added. Note, however, that the listeners of a slave are notified while the pass is still in progress, that is,
+ * before the bonds downstream of this slave are evaluated. The scheduled bonds are evaluated by increasing depth: a
+ * bond whose master depends on the slaves of other bonds is evaluated after them. This means that, in a typical diamond
+ * (a master feeding several bonds whose slaves are recombined, for instance, using a
+ * {@link com.google.code.validationframework.base.property.CompositeReadableProperty}), the downstream bond is
+ * evaluated only once, and never sees inconsistent intermediate values.
+ * <p>
+ * The depth of the bonds is learned as the values propagate: whenever a bond is scheduled because of the evaluation of
+ * another bond, it is considered downstream of that bond. If a bond happens to be scheduled again after it was already
+ * evaluated in the same pass, it is evaluated again, unless this is caused by a cycle (for instance, in case of a
+ * bi-directional binding), in which case the value is not propagated further.
+ * <p>
+ * Several changes can also be grouped in a single pass using {@link #beginPass()} and {@link #commitPass()}, for
+ * instance, when setting the values of several master properties as the result of a single user action.
+ * <p>
+ * Note that the propagation passes are confined to the calling thread.
+ *
+ * @see SimpleBond
+ * @see BondListener
+ * @see Binder
+ */
+public final class BondPropagator {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(BondPropagator.class);
+
+    /**
+     * Propagation pass of the calling thread, re-used from one pass to the other.
+     */
+    private static final ThreadLocal<Pass> CURRENT_PASS = new ThreadLocal<Pass>() {
+
+        /**
+         * @see ThreadLocal#initialValue()
+         */
+        @Override
+        protected Pass initialValue() {
+            return new Pass();
+        }
+    };
+
+    /**
+     * Private constructor for utility class.
+     */
+    private BondPropagator() {
+        // Nothing to be done
+    }
+
+    /**
+     * Begins a propagation pass in the calling thread.
+     * <p>
+     * Until the pass is committed, the bonds whose masters change will be scheduled but not evaluated. Passes can be
+     * nested: the bonds are evaluated only when the outermost pass is committed.
+     * <p>
+     * It is recommended to commit the pass in a finally block.
+     *
+     * @see #commitPass()
+     */
+    public static void beginPass() {
+        CURRENT_PASS.get().nesting++;
+    }
+
+    /**
+     * Commits the current propagation pass in the calling thread.
+     * <p>
+     * If this was the outermost pass, all the scheduled bonds will be evaluated before this method returns.
+     *
+     * @see #beginPass()
+     */
+    public static void commitPass() {
+        Pass pass = CURRENT_PASS.get();
+        if (pass.nesting == 1) {
+            try {
+                pass.evaluateScheduledBonds();
+            } finally {
+                pass.reset();
+            }
+        } else if (pass.nesting > 1) {
+            pass.nesting--;
+        }
+    }
+
+    /**
+     * Commits the current propagation pass in the calling thread after a failure, without masking it.
+     * <p>
+     * This method is meant to be called in a finally block after an exception has been thrown within the pass. It
+     * behaves like {@link #commitPass()}, except that any exception thrown by the evaluation of the scheduled bonds is
+     * only logged, so that the original exception is propagated to the caller.
+     *
+     * @see #commitPass()
+     */
+    public static void commitPassAfterFailure() {
+        try {
+            commitPass();
+        } catch (RuntimeException e) {
+            LOGGER.error("Bonds could not be evaluated after a failure in the same propagation pass", e);
+        }
+    }
+
+    /**
+     * States whether a propagation pass is in progress in the calling thread.
+     *
+     * @return True if a pass is in progress, false otherwise.
+     */
+    public static boolean isPassInProgress() {
+        return CURRENT_PASS.get().nesting > 0;
+    }
+
+    /**
+     * Schedules the evaluation of the specified bond in the current propagation pass.
+     * <p>
+     * If no pass is in progress, a new pass is started, and the bond will be evaluated before this method returns.
+     *
+     * @param bond Bond to be evaluated.
+     */
+    static void schedule(SimpleBond<?, ?> bond) {
+        beginPass();
+        try {
+            CURRENT_PASS.get().schedule(bond);
+        } finally {
+            commitPass();
+        }
+    }
+
+    /**
+     * Bond scheduled for evaluation in a propagation pass.
+     */
+    private static class ScheduledBond {
+
+        /**
+         * Bond to be evaluated.
+         */
+        private final SimpleBond<?, ?> bond;
+
+        /**
+         * Depth of the bond when it was scheduled.
+         */
+        private final int depth;
+
+        /**
+         * Scheduling order, used to evaluate bonds of the same depth in the order they were scheduled.
+         */
+        private final long sequence;
+
+        /**
+         * Constructor specifying the scheduled bond.
+         *
+         * @param bond     Bond to be evaluated.
+         * @param depth    Depth of the bond when it was scheduled.
+         * @param sequence Scheduling order.
+         */
+        public ScheduledBond(SimpleBond<?, ?> bond, int depth, long sequence) {
+            this.bond = bond;
+            this.depth = depth;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Comparator ordering the scheduled bonds by increasing depth and scheduling order.
+     */
+    private static class ScheduledBondComparator implements Comparator<ScheduledBond> {
+
+        /**
+         * @see Comparator#compare(Object, Object)
+         */
+        @Override
+        public int compare(ScheduledBond first, ScheduledBond second) {
+            int result;
+            if (first.depth != second.depth) {
+                result = (first.depth < second.depth) ? -1 : 1;
+            } else if (first.sequence != second.sequence) {
+                result = (first.sequence < second.sequence) ? -1 : 1;
+            } else {
+                result = 0;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Propagation pass.
+     */
+    private static class Pass {
+
+        /**
+         * Number of nested passes.
+         */
+        private int nesting = 0;
+
+        /**
+         * Bonds to be evaluated, by increasing depth.
+         */
+        private final PriorityQueue<ScheduledBond> queue = new PriorityQueue<ScheduledBond>(11, new
+                ScheduledBondComparator());
+
+        /**
+         * Bonds currently in the queue.
+         */
+        private final Map<SimpleBond<?, ?>, ScheduledBond> scheduledBonds = new IdentityHashMap<SimpleBond<?, ?>,
+                ScheduledBond>();
+
+        /**
+         * Bonds already evaluated in this pass.
+         */
+        private final Set<SimpleBond<?, ?>> evaluatedBonds = Collections.newSetFromMap(new
+                IdentityHashMap<SimpleBond<?, ?>, Boolean>());
+
+        /**
+         * Bond whose evaluation caused each scheduled or evaluated bond to be scheduled, if any.
+         */
+        private final Map<SimpleBond<?, ?>, SimpleBond<?, ?>> causes = new IdentityHashMap<SimpleBond<?, ?>,
+                SimpleBond<?, ?>>();
+
+        /**
+         * Bond currently being evaluated, if any.
+         */
+        private SimpleBond<?, ?> evaluatingBond = null;
+
+        /**
+         * Scheduling order of the last scheduled bond.
+         */
+        private long sequence = 0;
+
+        /**
+         * Schedules the specified bond for evaluation.
+         *
+         * @param bond Bond to be evaluated.
+         */
+        public void schedule(SimpleBond<?, ?> bond) {
+            SimpleBond<?, ?> cause = evaluatingBond;
+
+            if ((cause == null) || !evaluatedBonds.contains(bond) || !isCausing(bond, cause)) {
+                // The bond is downstream of the bond being evaluated
+                if ((cause != null) && (bond.getDepth() <= cause.getDepth()) && (cause.getDepth() < Integer
+                        .MAX_VALUE)) {
+                    bond.setDepth(cause.getDepth() + 1);
+                }
+
+                ScheduledBond scheduledBond = scheduledBonds.get(bond);
+                if ((scheduledBond == null) || (scheduledBond.depth != bond.getDepth())) {
+                    if (scheduledBond != null) {
+                        queue.remove(scheduledBond);
+                    }
+                    scheduledBond = new ScheduledBond(bond, bond.getDepth(), sequence++);
+                    scheduledBonds.put(bond, scheduledBond);
+                    queue.add(scheduledBond);
+                    causes.put(bond, cause);
+                }
+            }
+            // Else the bond is part of a cycle and was already evaluated in this pass
+        }
+
+        /**
+         * States whether the specified bond caused, directly or indirectly, the scheduling of the other specified
+         * bond in this pass.
+         *
+         * @param bond   Bond that may be upstream.
+         * @param effect Bond that may be downstream.
+         *
+         * @return True if the first bond is upstream of the second bond in this pass, false otherwise.
+         */
+        private boolean isCausing(SimpleBond<?, ?> bond, SimpleBond<?, ?> effect) {
+            boolean causing = false;
+            SimpleBond<?, ?> current = effect;
+            while (!causing && (current != null)) {
+                causing = (current == bond);
+                current = causes.get(current);
+            }
+            return causing;
+        }
+
+        /**
+         * Ends the pass and clears its state, so that it can be re-used for the next pass.
+         */
+        public void reset() {
+            nesting = 0;
+            if (!queue.isEmpty()) {
+                // Only in case of exception during the evaluation
+                queue.clear();
+                scheduledBonds.clear();
+            }
+            if (!evaluatedBonds.isEmpty()) {
+                evaluatedBonds.clear();
+            }
+            if (!causes.isEmpty()) {
+                causes.clear();
+            }
+            evaluatingBond = null;
+            sequence = 0;
+        }
+
+        /**
+         * Evaluates all the scheduled bonds, including the ones that get scheduled during the evaluation, by
+         * increasing depth.
+         */
+        public void evaluateScheduledBonds() {
+            while (!queue.isEmpty()) {
+                ScheduledBond scheduledBond = queue.poll();
+                scheduledBonds.remove(scheduledBond.bond);
+                evaluatedBonds.add(scheduledBond.bond);
+
+                SimpleBond<?, ?> previousEvaluatingBond = evaluatingBond;
+                evaluatingBond = scheduledBond.bond;
+                try {
+                    scheduledBond.bond.evaluate();
+                } finally {
+                    evaluatingBond = previousEvaluatingBond;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.binding;
+
+import com.google.code.validationframework.api.common.Disposable;
+import com.google.code.validationframework.api.property.ReadableProperty;
+import com.google.code.validationframework.api.property.ValueChangeListener;
+import com.google.code.validationframework.api.property.WritableProperty;
+import com.google.code.validationframework.api.transform.Transformer;
+import com.google.code.validationframework.base.common.CopyOnWriteListenerList;
+import com.google.code.validationframework.base.property.AbstractReadableProperty;
+import com.google.code.validationframework.base.utils.ValueUtils;
+
+/**
+ * Readable property whose value is derived from a master property and lazily computed using a transformer.
+ * <p>
+ * Whenever the master property changes, this property is only marked as invalid: the transformer is not called. The
+ * value is recomputed on demand, when calling {@link #getValue()}, and cached until the master property changes again.
+ * This avoids computing derived values that are not read, for instance, for components that are not visible.
+ * <p>
+ * However, value change listeners need both the previous and the new values. So as long as this property has value
+ * change listeners, it behaves like a {@link SimpleBond}: its value is eagerly recomputed whenever the master property
+ * changes, and the listeners are notified if it has changed.
+ * <p>
+ * If the master property is itself a lazy property, invalidation is propagated without computing the master value, so
+ * that chains of lazy properties remain lazy. Note that this is not the case for other kinds of master properties
+ * depending on lazy properties, such as a {@link com.google.code.validationframework.base.property
+ * .CompositeReadableProperty}, as they add value change listeners to the lazy properties.
+ * <p>
+ * The version of this property is incremented whenever its cached value is discarded, even if the new value has not
+ * been computed yet, and whenever its listeners are notified of a change.
+ * <p>
+ * It is typically created using the {@link Binder}.
+ *
+ * @param <MO> Type of data that can be read from the master property.
+ * @param <R>  Type of data that can be read from this property.
+ *
+ * @see Binder
+ * @see SimpleBond
+ */
+public class LazyProperty<MO, R> extends AbstractReadableProperty<R> implements Disposable {
+
+    /**
+     * Listener to master property changes and invalidating this property.
+     */
+    private class MasterAdapter implements ValueChangeListener<MO> {
+
+        /**
+         * @see ValueChangeListener#valueChanged(ReadableProperty, Object, Object)
+         */
+        @Override
+        public void valueChanged(ReadableProperty<MO> property, MO oldValue, MO newValue) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Slave of the bond keeping the value up-to-date while this property has value change listeners.
+     */
+    private class EagerValueSetter implements WritableProperty<R> {
+
+        /**
+         * @see WritableProperty#setValue(Object)
+         */
+        @Override
+        public void setValue(R newValue) {
+            R oldValue = value;
+            value = newValue;
+            valid = true;
+            if (!ValueUtils.areEqual(oldValue, newValue)) {
+                invalidateDependents();
+            }
+            maybeNotifyListeners(oldValue, newValue);
+        }
+    }
+
+    /**
+     * Listener to master property changes and invalidating this property.
+     */
+    private final MasterAdapter masterAdapter = new MasterAdapter();
+
+    /**
+     * Lazy properties whose master is this property.
+     */
+    private final CopyOnWriteListenerList<LazyProperty<R, ?>> dependents = new
+            CopyOnWriteListenerList<LazyProperty<R, ?>>();
+
+    /**
+     * Master (possibly composite) property.
+     */
+    private final ReadableProperty<MO> master;
+
+    /**
+     * Transformer (possibly composite) computing the value of this property from the value of the master.
+     */
+    private final Transformer<MO, R> transformer;
+
+    /**
+     * Cached value, if valid.
+     */
+    private R value = null;
+
+    /**
+     * Flag indicating whether the cached value is up-to-date.
+     */
+    private boolean valid = false;
+
+    /**
+     * Bond keeping the value up-to-date while this property has value change listeners, null otherwise.
+     */
+    private SimpleBond<MO, R> eagerBond = null;
+
+    /**
+     * Constructor specifying the master property and the transformer.
+     * <p>
+     * Note that the master property can be a composition of multiple properties, for instance, using the {@link
+     * com.google.code.validationframework.base.property.CompositeReadableProperty}.
+     * <p>
+     * For type safety, it is highly advised to use the {@link Binder} to create the lazy property.
+     *
+     * @param master      Master (possibly composite) property.
+     * @param transformer Transformer (possibly composite) computing the value of this property from the value of the
+     *                    master.
+     */
+    @SuppressWarnings("unchecked")
+    public LazyProperty(ReadableProperty<MO> master, Transformer<MO, R> transformer) {
+        super();
+        this.master = master;
+        this.transformer = transformer;
+
+        if (master instanceof LazyProperty) {
+            ((LazyProperty<?, MO>) master).dependents.add(this);
+        } else {
+            master.addValueChangeListener(masterAdapter);
+        }
+    }
+
+    /**
+     * States whether the value is currently cached and up-to-date.
+     *
+     * @return True if the value will not be recomputed when calling {@link #getValue()}, false otherwise.
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The value is recomputed only if the master property has changed since it was last computed.
+     *
+     * @see AbstractReadableProperty#getValue()
+     */
+    @Override
+    public R getValue() {
+        if (!valid) {
+            value = transformer.transform(master.getValue());
+            valid = true;
+        }
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Adding the first listener makes this property eager.
+     *
+     * @see AbstractReadableProperty#addValueChangeListener(ValueChangeListener)
+     */
+    @Override
+    public void addValueChangeListener(ValueChangeListener<R> listener) {
+        super.addValueChangeListener(listener);
+        if (eagerBond == null) {
+            // Make sure the listeners will be notified only of actual changes
+            getValue();
+            eagerBond = new SimpleBond<MO, R>(master, transformer, new EagerValueSetter());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Removing the last listener makes this property lazy again.
+     *
+     * @see AbstractReadableProperty#removeValueChangeListener(ValueChangeListener)
+     */
+    @Override
+    public void removeValueChangeListener(ValueChangeListener<R> listener) {
+        super.removeValueChangeListener(listener);
+        if ((eagerBond != null) && getValueChangeListeners().isEmpty()) {
+            eagerBond.dispose();
+            eagerBond = null;
+        }
+    }
+
+    /**
+     * Marks this property and its lazy dependents as invalid, unless this property is eager.
+     * <p>
+     * The version is incremented when the cached value is discarded, as the value will then be recomputed without
+     * notifying any listener.
+     */
+    private void invalidate() {
+        if ((eagerBond == null) && valid) {
+            valid = false;
+            value = null;
+            incrementVersion();
+            invalidateDependents();
+        }
+    }
+
+    /**
+     * Marks the lazy properties whose master is this property as invalid.
+     */
+    @SuppressWarnings("unchecked")
+    private void invalidateDependents() {
+        for (Object dependent : dependents.getSnapshot()) {
+            ((LazyProperty<R, ?>) dependent).invalidate();
+        }
+    }
+
+    /**
+     * @see Disposable#dispose()
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public void dispose() {
+        if (master instanceof LazyProperty) {
+            ((LazyProperty<?, MO>) master).dependents.remove(this);
+        } else {
+            master.removeValueChangeListener(masterAdapter);
+        }
+        if (eagerBond != null) {
+            eagerBond.dispose();
+            eagerBond = null;
+        }
+        dependents.clear();
+        valid = false;
+        value = null;
+    }
+}
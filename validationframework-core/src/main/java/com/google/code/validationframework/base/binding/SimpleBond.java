@@ -27,7 +27,6 @@ package com.google.code.validationframework.base.binding;
 
 import com.google.code.validationframework.api.common.Disposable;
 import com.google.code.validationframework.api.property.ReadableProperty;
-import com.google.code.validationframework.api.property.ValueChangeListener;
 import com.google.code.validationframework.api.property.WritableProperty;
 import com.google.code.validationframework.api.transform.Transformer;
 import com.google.code.validationframework.base.property.CompositeWritableProperty;
@@ -38,11 +37,16 @@ import java.util.Collection;
  * Simple implementation of a bond between master properties and slave properties.
  * <p>
  * It is typically created using the {@link Binder}.
+ * <p>
+ * The bond is evaluated by the {@link BondPropagator}, which evaluates the bonds in topological order and only once per
+ * propagation pass. This avoids glitches when several bonds depend on each other, for instance, when the slaves of
+ * several bonds sharing the same master are recombined in the master of another bond.
  *
  * @param <MO> Type of data that can be read from master properties.
  * @param <SI> Type of data that can be written to master properties.
  *
  * @see Binder
+ * @see BondPropagator
  * @see com.google.code.validationframework.base.property.CompositeReadableProperty
  * @see CompositeWritableProperty
  * @see com.google.code.validationframework.base.transform.ChainedTransformer
@@ -52,14 +56,14 @@ public class SimpleBond<MO, SI> implements Disposable {
     /**
      * Listener to master property changes and updating the slave property.
      */
-    private class MasterAdapter implements ValueChangeListener<MO> {
+    private class MasterAdapter implements BondListener<MO> {
 
         /**
-         * @see ValueChangeListener#valueChanged(ReadableProperty, Object, Object)
+         * @see BondListener#valueChanged(ReadableProperty, Object, Object)
          */
         @Override
         public void valueChanged(ReadableProperty<MO> property, MO oldValue, MO newValue) {
-            updateSlaves(newValue);
+            BondPropagator.schedule(SimpleBond.this);
         }
     }
 
@@ -83,6 +87,16 @@ public class SimpleBond<MO, SI> implements Disposable {
      */
     private WritableProperty<SI> slave;
 
+    /**
+     * Depth of this bond in the graph of bonds, as learned by the {@link BondPropagator}.
+     */
+    private int depth = 0;
+
+    /**
+     * Flag indicating whether this bond has been disposed.
+     */
+    private boolean disposed = false;
+
     /**
      * Constructor specifying the master property, the transformers and the slaves that are part of the binding.
      * <p>
@@ -141,6 +155,35 @@ public class SimpleBond<MO, SI> implements Disposable {
         updateSlaves(master.getValue());
     }
 
+    /**
+     * Gets the depth of this bond in the graph of bonds.
+     *
+     * @return Depth of this bond, as learned by the {@link BondPropagator}.
+     */
+    int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Sets the depth of this bond in the graph of bonds.
+     *
+     * @param depth Depth of this bond, as learned by the {@link BondPropagator}.
+     */
+    void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    /**
+     * Sets the value of the slaves according to the current value of the master, unless this bond has been disposed.
+     * <p>
+     * This method is called by the {@link BondPropagator}.
+     */
+    void evaluate() {
+        if (!disposed) {
+            updateSlaves(master.getValue());
+        }
+    }
+
     /**
      * Sets the value of the slaves according the value of the master.
      *
@@ -159,6 +202,7 @@ public class SimpleBond<MO, SI> implements Disposable {
      */
     @Override
     public void dispose() {
+        disposed = true;
         master.removeValueChangeListener(masterAdapter);
     }
 }
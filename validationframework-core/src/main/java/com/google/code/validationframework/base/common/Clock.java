@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.common;
+
+/**
+ * Interface to be implemented by entities providing the current time and allowing to schedule tasks to be executed
+ * later.
+ * <p>
+ * Clocks are typically used to delay, coalesce or rate-limit events.
+ *
+ * @see ScheduledExecutorClock
+ * @see RateLimiter
+ */
+public interface Clock {
+
+    /**
+     * Handle on a task scheduled by a {@link Clock}.
+     */
+    interface ScheduledTask {
+
+        /**
+         * Cancels the execution of the task, if it has not been executed yet.
+         */
+        void cancel();
+    }
+
+    /**
+     * Gets the current time of the clock.
+     * <p>
+     * Only the difference between two values returned by this method is meaningful.
+     *
+     * @return Current time in milliseconds.
+     */
+    long currentTimeMillis();
+
+    /**
+     * Schedules the specified task to be executed once after the specified delay.
+     *
+     * @param task        Task to be executed.
+     * @param delayMillis Delay in milliseconds after which the task is to be executed.
+     *
+     * @return Handle allowing to cancel the scheduled task.
+     */
+    ScheduledTask schedule(Runnable task, long delayMillis);
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.common;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.RandomAccess;
+
+/**
+ * Copy-on-write list of listeners, allowing to notify them without copying the list and without allocating any
+ * iterator.
+ * <p>
+ * Each modification of the list replaces the internal array by a new one, so that the array returned by {@link
+ * #getSnapshot()} never changes. Listeners can therefore be safely added or removed while they are being notified:
+ * the notification in progress will not be affected. Listener lists are typically modified rarely and notified very
+ * often, which makes this trade-off worthwhile.
+ * <p>
+ * The list is thread-safe, but its modifications are not atomic with respect to each other: they should be performed
+ * from a single thread, or be synchronized externally.
+ * <p>
+ * A typical notification looks like this:
+ * <pre>
+ * for (Object listener : listeners.getSnapshot()) {
+ *     ((MyListener) listener).somethingHappened(event);
+ * }
+ * </pre>
+ *
+ * @param <L> Type of listeners.
+ */
+public class CopyOnWriteListenerList<L> extends AbstractList<L> implements RandomAccess, Serializable {
+
+    /**
+     * Generated serial UID.
+     */
+    private static final long serialVersionUID = 4183628516947101350L;
+
+    /**
+     * Shared empty array.
+     */
+    private static final Object[] EMPTY = new Object[0];
+
+    /**
+     * Current listeners.
+     * <p>
+     * The array is never modified once assigned.
+     */
+    private volatile Object[] listeners = EMPTY;
+
+    /**
+     * Gets the current listeners as an array that will never be modified.
+     * <p>
+     * Note that the returned array must not be modified either.
+     *
+     * @return Snapshot of the listeners, whose elements are all of type {@code L}.
+     */
+    public Object[] getSnapshot() {
+        return listeners;
+    }
+
+    /**
+     * @see AbstractList#size()
+     */
+    @Override
+    public int size() {
+        return listeners.length;
+    }
+
+    /**
+     * @see AbstractList#get(int)
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public L get(int index) {
+        return (L) listeners[index];
+    }
+
+    /**
+     * @see AbstractList#set(int, Object)
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public L set(int index, L listener) {
+        Object[] newListeners = listeners.clone();
+        L oldListener = (L) newListeners[index];
+        newListeners[index] = listener;
+        listeners = newListeners;
+        return oldListener;
+    }
+
+    /**
+     * @see AbstractList#add(int, Object)
+     */
+    @Override
+    public void add(int index, L listener) {
+        Object[] oldListeners = listeners;
+        if ((index < 0) || (index > oldListeners.length)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + oldListeners.length);
+        }
+
+        Object[] newListeners = new Object[oldListeners.length + 1];
+        System.arraycopy(oldListeners, 0, newListeners, 0, index);
+        newListeners[index] = listener;
+        System.arraycopy(oldListeners, index, newListeners, index + 1, oldListeners.length - index);
+        listeners = newListeners;
+        modCount++;
+    }
+
+    /**
+     * @see AbstractList#remove(int)
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public L remove(int index) {
+        Object[] oldListeners = listeners;
+        L oldListener = (L) oldListeners[index];
+
+        if (oldListeners.length == 1) {
+            listeners = EMPTY;
+        } else {
+            Object[] newListeners = new Object[oldListeners.length - 1];
+            System.arraycopy(oldListeners, 0, newListeners, 0, index);
+            System.arraycopy(oldListeners, index + 1, newListeners, index, oldListeners.length - index - 1);
+            listeners = newListeners;
+        }
+        modCount++;
+
+        return oldListener;
+    }
+
+    /**
+     * Removes the first occurrence of the specified listener.
+     *
+     * @param listener Listener to be removed.
+     *
+     * @return True if the listener was found and removed, false otherwise.
+     */
+    @Override
+    public boolean remove(Object listener) {
+        int index = indexOf(listener);
+        if (index >= 0) {
+            remove(index);
+        }
+        return index >= 0;
+    }
+
+    /**
+     * @see AbstractList#clear()
+     */
+    @Override
+    public void clear() {
+        listeners = EMPTY;
+        modCount++;
+    }
+
+    /**
+     * Gets an iterator over a snapshot of the listeners.
+     * <p>
+     * The iterator is not affected by subsequent modifications of the list, and does not support removal.
+     *
+     * @return Iterator over the current listeners.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public Iterator<L> iterator() {
+        return Arrays.asList((L[]) listeners).iterator();
+    }
+
+    /**
+     * @see AbstractList#toArray()
+     */
+    @Override
+    public Object[] toArray() {
+        Object[] snapshot = listeners;
+        return Arrays.copyOf(snapshot, snapshot.length);
+    }
+}
@@ -0,0 +1,407 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.common;
+
+import com.google.code.validationframework.api.transform.Transformer;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of the outputs computed for given inputs, typically used to avoid re-parsing and re-matching identical
+ * inputs in rules and transformers.
+ * <p>
+ * The cache is bounded by a maximum total weight. By default, each entry weighs 1, so that the maximum weight is
+ * simply the maximum number of entries, but a {@link Weigher} can be specified to take, for instance, the length of
+ * the inputs into account. When the maximum weight is exceeded, the least recently used entries are evicted.
+ * <p>
+ * Entries can also optionally expire after a given delay since they were computed.
+ * <p>
+ * The cache counts the hits, the misses and the evictions, so that it is possible to measure its effectiveness.
+ * <p>
+ * The inputs are used as keys, so they must be immutable and implement {@link Object#equals(Object)} and {@link
+ * Object#hashCode()} consistently. Null inputs and outputs are supported.
+ * <p>
+ * This class is thread-safe. Note that the outputs are computed outside the lock, so that a slow computation does not
+ * block the other threads: the same output may therefore be computed concurrently by several threads for the same
+ * input, the last one winning. Exceptions thrown by the computation are propagated and nothing is cached.
+ *
+ * @param <K> Type of inputs.
+ * @param <V> Type of outputs.
+ *
+ * @see com.google.code.validationframework.base.rule.CachingRule
+ * @see com.google.code.validationframework.base.transform.CachingTransformer
+ */
+public class MemoizingCache<K, V> {
+
+    /**
+     * Interface to be implemented by entities computing the weight of the cache entries.
+     *
+     * @param <K> Type of inputs.
+     * @param <V> Type of outputs.
+     */
+    public interface Weigher<K, V> {
+
+        /**
+         * Computes the weight of the specified entry.
+         *
+         * @param key   Input.
+         * @param value Output computed for the input.
+         *
+         * @return Weight of the entry, which should be positive.
+         */
+        long weigh(K key, V value);
+    }
+
+    /**
+     * Entry of the cache.
+     *
+     * @param <V> Type of output.
+     */
+    private static class Entry<V> {
+
+        /**
+         * Output computed for the input.
+         */
+        private final V value;
+
+        /**
+         * Weight of the entry.
+         */
+        private final long weight;
+
+        /**
+         * Time at which the output was computed.
+         */
+        private final long writeTime;
+
+        /**
+         * Constructor specifying the output, its weight and the time at which it was computed.
+         *
+         * @param value     Output computed for the input.
+         * @param weight    Weight of the entry.
+         * @param writeTime Time at which the output was computed.
+         */
+        public Entry(V value, long weight, long writeTime) {
+            this.value = value;
+            this.weight = weight;
+            this.writeTime = writeTime;
+        }
+    }
+
+    /**
+     * Key used for null inputs.
+     */
+    private static final Object NULL_KEY = new Object();
+
+    /**
+     * Maximum total weight of the entries.
+     */
+    private final long maximumWeight;
+
+    /**
+     * Weigher computing the weight of the entries, or null if all entries weigh 1.
+     */
+    private final Weigher<? super K, ? super V> weigher;
+
+    /**
+     * Delay in milliseconds after which the entries expire, or 0 if they never expire.
+     */
+    private final long expireAfterWriteMillis;
+
+    /**
+     * Clock used to measure the age of the entries, or null to use the system time.
+     */
+    private final Clock clock;
+
+    /**
+     * Entries of the cache, in access order (least recently used first).
+     */
+    private final LinkedHashMap<Object, Entry<V>> entries = new LinkedHashMap<Object, Entry<V>>(16, 0.75f, true);
+
+    /**
+     * Total weight of the entries.
+     */
+    private long totalWeight = 0;
+
+    /**
+     * Number of times an output was found in the cache.
+     */
+    private long hitCount = 0;
+
+    /**
+     * Number of times an output had to be computed.
+     */
+    private long missCount = 0;
+
+    /**
+     * Number of entries evicted or expired.
+     */
+    private long evictionCount = 0;
+
+    /**
+     * Constructor specifying the maximum number of entries.
+     *
+     * @param maximumSize Maximum number of entries.
+     */
+    public MemoizingCache(long maximumSize) {
+        this(maximumSize, null, 0, null);
+    }
+
+    /**
+     * Constructor specifying the maximum total weight of the entries, the weigher and the expiry.
+     *
+     * @param maximumWeight          Maximum total weight of the entries.
+     * @param weigher                Weigher computing the weight of the entries, or null if all entries weigh 1.
+     * @param expireAfterWriteMillis Delay in milliseconds after which the entries expire, or 0 if they never expire.
+     * @param clock                  Clock to be used to measure the age of the entries, or null to use the system
+     *                               time.
+     */
+    public MemoizingCache(long maximumWeight, Weigher<? super K, ? super V> weigher, long expireAfterWriteMillis,
+                          Clock clock) {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("Maximum weight cannot be negative: " + maximumWeight);
+        }
+        if (expireAfterWriteMillis < 0) {
+            throw new IllegalArgumentException("Expiry delay cannot be negative: " + expireAfterWriteMillis);
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.expireAfterWriteMillis = expireAfterWriteMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the maximum total weight of the entries.
+     *
+     * @return Maximum weight.
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Gets the delay after which the entries expire.
+     *
+     * @return Delay in milliseconds, or 0 if the entries never expire.
+     */
+    public long getExpireAfterWriteMillis() {
+        return expireAfterWriteMillis;
+    }
+
+    /**
+     * Gets the output for the specified input from the cache, or computes it using the specified loader and caches it.
+     *
+     * @param key    Input.
+     * @param loader Loader to be used to compute the output if it is not in the cache.
+     *
+     * @return Output for the input.
+     */
+    public V get(K key, Transformer<? super K, ? extends V> loader) {
+        Object internalKey = (key == null) ? NULL_KEY : key;
+        Entry<V> entry;
+
+        synchronized (this) {
+            entry = entries.get(internalKey);
+            if ((entry != null) && isExpired(entry, currentTimeMillis())) {
+                removeEntry(internalKey);
+                evictionCount++;
+                entry = null;
+            }
+            if (entry == null) {
+                missCount++;
+            } else {
+                hitCount++;
+            }
+        }
+
+        V value;
+        if (entry == null) {
+            // Compute outside the lock
+            value = loader.transform(key);
+            put(internalKey, key, value);
+        } else {
+            value = entry.value;
+        }
+
+        return value;
+    }
+
+    /**
+     * Removes the entry for the specified input, if any.
+     *
+     * @param key Input whose entry is to be removed.
+     */
+    public synchronized void invalidate(K key) {
+        removeEntry((key == null) ? NULL_KEY : key);
+    }
+
+    /**
+     * Removes all the entries.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        totalWeight = 0;
+    }
+
+    /**
+     * Gets the number of entries currently in the cache, including those that expired but were not removed yet.
+     *
+     * @return Number of entries.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the total weight of the entries currently in the cache.
+     *
+     * @return Total weight.
+     */
+    public synchronized long getWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * Gets the number of times an output was found in the cache.
+     *
+     * @return Number of hits.
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of times an output had to be computed.
+     *
+     * @return Number of misses.
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the ratio of the look-ups that were hits.
+     *
+     * @return Hit rate between 0 and 1, or 1 if no look-up was made.
+     */
+    public synchronized double getHitRate() {
+        long requestCount = hitCount + missCount;
+        double hitRate = 1.0;
+        if (requestCount > 0) {
+            hitRate = (double) hitCount / requestCount;
+        }
+        return hitRate;
+    }
+
+    /**
+     * Gets the number of entries that were evicted or that expired.
+     *
+     * @return Number of evictions.
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Resets the hit, miss and eviction counters.
+     */
+    public synchronized void resetStatistics() {
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
+    }
+
+    /**
+     * Puts the specified computed output in the cache and evicts the least recently used entries if needed.
+     *
+     * @param internalKey Key of the entry in the map.
+     * @param key         Input.
+     * @param value       Output computed for the input.
+     */
+    private synchronized void put(Object internalKey, K key, V value) {
+        long weight = 1;
+        if (weigher != null) {
+            weight = weigher.weigh(key, value);
+        }
+
+        // Do not flush the whole cache for an entry that cannot fit anyway
+        if (weight <= maximumWeight) {
+            removeEntry(internalKey);
+            entries.put(internalKey, new Entry<V>(value, weight, currentTimeMillis()));
+            totalWeight += weight;
+
+            Iterator<Map.Entry<Object, Entry<V>>> entryIt = entries.entrySet().iterator();
+            while ((totalWeight > maximumWeight) && entryIt.hasNext()) {
+                totalWeight -= entryIt.next().getValue().weight;
+                entryIt.remove();
+                evictionCount++;
+            }
+        }
+    }
+
+    /**
+     * Removes the entry for the specified key, if any.
+     *
+     * @param internalKey Key of the entry in the map.
+     */
+    private void removeEntry(Object internalKey) {
+        Entry<V> removed = entries.remove(internalKey);
+        if (removed != null) {
+            totalWeight -= removed.weight;
+        }
+    }
+
+    /**
+     * States whether the specified entry has expired.
+     *
+     * @param entry Entry to be checked.
+     * @param now   Current time.
+     *
+     * @return True if the entry has expired, false otherwise.
+     */
+    private boolean isExpired(Entry<V> entry, long now) {
+        return (expireAfterWriteMillis > 0) && ((now - entry.writeTime) >= expireAfterWriteMillis);
+    }
+
+    /**
+     * Gets the current time, only if needed for the expiry.
+     *
+     * @return Current time in milliseconds, or 0 if the entries never expire.
+     */
+    private long currentTimeMillis() {
+        long now = 0;
+        if (expireAfterWriteMillis > 0) {
+            if (clock == null) {
+                now = System.currentTimeMillis();
+            } else {
+                now = clock.currentTimeMillis();
+            }
+        }
+        return now;
+    }
+}
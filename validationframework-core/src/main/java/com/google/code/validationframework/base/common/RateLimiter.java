@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.common;
+
+import com.google.code.validationframework.api.common.Disposable;
+
+/**
+ * Entity reducing the number of events received by emitting fewer events according to a {@link RateLimitingStrategy}.
+ * <p>
+ * Events are received by calling {@link #eventReceived()}, and emitted by running the output task specified at
+ * construction. Emitted events may be run on the calling thread or on a thread of the {@link Clock}, depending on the
+ * strategy.
+ * <p>
+ * The rate limiter also counts the received events, the emitted events and the events that were coalesced, so that it
+ * is possible to measure its effectiveness.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @see RateLimitingStrategy
+ * @see Clock
+ */
+public class RateLimiter implements Disposable {
+
+    /**
+     * Task scheduled on the clock to emit the coalesced events at the end of the delay.
+     */
+    private class TrailingEmitter implements Runnable {
+
+        /**
+         * @see Runnable#run()
+         */
+        @Override
+        public void run() {
+            boolean emit = false;
+            synchronized (RateLimiter.this) {
+                if (pendingTask != null) {
+                    long now = clock.currentTimeMillis();
+                    long remainingDelay = lastReceivedTime + delayMillis - now;
+                    if ((strategy == RateLimitingStrategy.DEBOUNCE) && (remainingDelay > 0)) {
+                        // Events were received in the meantime, so wait a bit more
+                        pendingTask = clock.schedule(this, remainingDelay);
+                    } else {
+                        pendingTask = null;
+                        lastEmittedTime = now;
+                        emittedEventCount++;
+                        emit = true;
+                    }
+                }
+            }
+
+            // Emit outside the lock
+            if (emit) {
+                outputTask.run();
+            }
+        }
+    }
+
+    /**
+     * Strategy used to reduce the number of events.
+     */
+    private final RateLimitingStrategy strategy;
+
+    /**
+     * Delay in milliseconds used by the strategy.
+     */
+    private final long delayMillis;
+
+    /**
+     * Clock used to measure time and schedule the emission of events.
+     */
+    private final Clock clock;
+
+    /**
+     * Task to be run whenever an event is emitted.
+     */
+    private final Runnable outputTask;
+
+    /**
+     * Task to be scheduled on the clock to emit coalesced events.
+     */
+    private final Runnable trailingEmitter = new TrailingEmitter();
+
+    /**
+     * Task currently scheduled on the clock, or null if no event is pending.
+     */
+    private Clock.ScheduledTask pendingTask = null;
+
+    /**
+     * Flag indicating whether at least one event has been emitted.
+     */
+    private boolean emittedOnce = false;
+
+    /**
+     * Time at which the last event was received.
+     */
+    private long lastReceivedTime = 0;
+
+    /**
+     * Time at which the last event was emitted.
+     */
+    private long lastEmittedTime = 0;
+
+    /**
+     * Number of events received.
+     */
+    private long receivedEventCount = 0;
+
+    /**
+     * Number of events emitted.
+     */
+    private long emittedEventCount = 0;
+
+    /**
+     * Number of received events that were coalesced with other events.
+     */
+    private long coalescedEventCount = 0;
+
+    /**
+     * Constructor specifying the strategy, delay, clock and the task to be run whenever an event is emitted.
+     *
+     * @param strategy    Strategy to be used to reduce the number of events.
+     * @param delayMillis Delay in milliseconds used by the strategy.
+     * @param clock       Clock to be used to measure time and schedule the emission of events.
+     * @param outputTask  Task to be run whenever an event is emitted.
+     */
+    public RateLimiter(RateLimitingStrategy strategy, long delayMillis, Clock clock, Runnable outputTask) {
+        this.strategy = strategy;
+        this.delayMillis = delayMillis;
+        this.clock = clock;
+        this.outputTask = outputTask;
+    }
+
+    /**
+     * Gets the strategy used to reduce the number of events.
+     *
+     * @return Rate limiting strategy.
+     */
+    public RateLimitingStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Gets the delay used by the strategy.
+     *
+     * @return Delay in milliseconds.
+     */
+    public long getDelayMillis() {
+        return delayMillis;
+    }
+
+    /**
+     * Notifies the rate limiter that an event has been received.
+     * <p>
+     * Depending on the strategy, this may result in an event being emitted immediately, later, or being coalesced with
+     * an event already pending.
+     */
+    public void eventReceived() {
+        boolean emit = false;
+        synchronized (this) {
+            long now = clock.currentTimeMillis();
+            receivedEventCount++;
+            lastReceivedTime = now;
+
+            if (pendingTask != null) {
+                // An event is already pending, so just coalesce with it
+                coalescedEventCount++;
+            } else if ((strategy == RateLimitingStrategy.THROTTLE) && (!emittedOnce || (now - lastEmittedTime >=
+                    delayMillis))) {
+                // Leading edge
+                emittedOnce = true;
+                lastEmittedTime = now;
+                emittedEventCount++;
+                emit = true;
+            } else if (strategy == RateLimitingStrategy.THROTTLE) {
+                // Trailing edge at the end of the current period
+                pendingTask = clock.schedule(trailingEmitter, lastEmittedTime + delayMillis - now);
+            } else {
+                // Trailing edge after the delay
+                pendingTask = clock.schedule(trailingEmitter, delayMillis);
+            }
+        }
+
+        // Emit outside the lock
+        if (emit) {
+            outputTask.run();
+        }
+    }
+
+    /**
+     * Indicates whether an event is pending and will be emitted later.
+     *
+     * @return True if an event is pending, false otherwise.
+     */
+    public synchronized boolean isEventPending() {
+        return pendingTask != null;
+    }
+
+    /**
+     * Cancels the pending event, if any.
+     * <p>
+     * The events coalesced in the pending event will then not be emitted at all.
+     */
+    public synchronized void cancel() {
+        if (pendingTask != null) {
+            pendingTask.cancel();
+            pendingTask = null;
+        }
+    }
+
+    /**
+     * Gets the number of events received.
+     *
+     * @return Number of received events.
+     */
+    public synchronized long getReceivedEventCount() {
+        return receivedEventCount;
+    }
+
+    /**
+     * Gets the number of events emitted.
+     *
+     * @return Number of emitted events.
+     */
+    public synchronized long getEmittedEventCount() {
+        return emittedEventCount;
+    }
+
+    /**
+     * Gets the number of received events that were coalesced with other events, and therefore did not result in an
+     * event being emitted on their own.
+     *
+     * @return Number of coalesced events.
+     */
+    public synchronized long getCoalescedEventCount() {
+        return coalescedEventCount;
+    }
+
+    /**
+     * Resets all the event counters.
+     */
+    public synchronized void resetCounts() {
+        receivedEventCount = 0;
+        emittedEventCount = 0;
+        coalescedEventCount = 0;
+    }
+
+    /**
+     * @see Disposable#dispose()
+     */
+    @Override
+    public void dispose() {
+        cancel();
+    }
+}
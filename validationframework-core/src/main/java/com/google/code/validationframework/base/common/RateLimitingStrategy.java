@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.common;
+
+/**
+ * Enumeration of the strategies that can be used by a {@link RateLimiter} to reduce the number of events.
+ *
+ * @see RateLimiter
+ */
+public enum RateLimitingStrategy {
+
+    /**
+     * Trailing-edge debouncing: a single event is emitted once no event has been received for the whole delay.
+     * <p>
+     * This is typically suitable for events fired on each keystroke, so that the validation is only performed when the
+     * user stops typing.
+     */
+    DEBOUNCE,
+
+    /**
+     * Leading-edge and trailing-edge throttling: an event is emitted immediately if no event has been emitted during
+     * the last delay, and the events received during the delay are coalesced into a single event emitted at the end of
+     * the delay.
+     */
+    THROTTLE,
+
+    /**
+     * Max-rate sampling: the events received during the delay following the first received event are coalesced into a
+     * single event emitted at the end of the delay, so that at most one event is emitted per delay.
+     */
+    SAMPLE
+}
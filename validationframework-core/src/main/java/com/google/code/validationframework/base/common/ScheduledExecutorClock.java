@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.common;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clock scheduling tasks using a {@link ScheduledExecutorService}.
+ * <p>
+ * Note that the scheduled tasks will be executed on the threads of the executor service. If they need to be executed
+ * on a specific thread (for instance, the Event Dispatch Thread in a Swing application), they will have to be
+ * re-scheduled accordingly, or another clock should be used.
+ *
+ * @see Clock
+ */
+public class ScheduledExecutorClock implements Clock {
+
+    /**
+     * Handle on a task scheduled by the executor service.
+     */
+    private static class ScheduledFutureTask implements ScheduledTask {
+
+        /**
+         * Future of the scheduled task.
+         */
+        private final ScheduledFuture<?> future;
+
+        /**
+         * Constructor specifying the future of the scheduled task.
+         *
+         * @param future Future of the scheduled task.
+         */
+        public ScheduledFutureTask(ScheduledFuture<?> future) {
+            this.future = future;
+        }
+
+        /**
+         * @see ScheduledTask#cancel()
+         */
+        @Override
+        public void cancel() {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * Executor service to be used to schedule the tasks.
+     */
+    private final ScheduledExecutorService executorService;
+
+    /**
+     * Constructor specifying the executor service to be used to schedule the tasks.
+     * <p>
+     * Note that the executor service will not be shut down by this clock.
+     *
+     * @param executorService Executor service to be used.
+     */
+    public ScheduledExecutorClock(ScheduledExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * @see Clock#currentTimeMillis()
+     */
+    @Override
+    public long currentTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    /**
+     * @see Clock#schedule(Runnable, long)
+     */
+    @Override
+    public ScheduledTask schedule(Runnable task, long delayMillis) {
+        return new ScheduledFutureTask(executorService.schedule(task, delayMillis, TimeUnit.MILLISECONDS));
+    }
+}
@@ -51,6 +51,15 @@ public class PropertyValueProvider<DPO> implements DataProvider<DPO> {
         this.property = property;
     }
 
+    /**
+     * Gets the property to get the value from.
+     *
+     * @return Property to get the value from.
+     */
+    public ReadableProperty<DPO> getProperty() {
+        return property;
+    }
+
     /**
      * @see DataProvider#getData()
      * @see ReadableProperty#getValue()
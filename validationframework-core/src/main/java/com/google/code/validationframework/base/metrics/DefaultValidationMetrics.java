@@ -0,0 +1,431 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.metrics;
+
+import com.google.code.validationframework.api.resulthandler.ResultHandler;
+import com.google.code.validationframework.api.rule.Rule;
+import com.google.code.validationframework.api.transform.Transformer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Default implementation of {@link ValidationMetrics} recording the latencies in {@link LatencyHistogram}s: one for
+ * the triggers, and one per rule, transformer and result handler.
+ * <p>
+ * The metrics are identified by a user-assignable validator ID. Once {@link #registerMBeans()} is called, they are
+ * exposed as JMX MBeans in the {@value #JMX_DOMAIN} domain:
+ * <ul>
+ * <li>{@code type=ValidationMetrics,validator=<ID>} for the summary of the validator;</li>
+ * <li>{@code type=LatencyHistogram,validator=<ID>,category=trigger} for the trigger-to-result latency;</li>
+ * <li>{@code type=LatencyHistogram,validator=<ID>,category=<rule|transformer|resultHandler>,name=<component>} for the
+ * latency of each rule, transformer and result handler.</li>
+ * </ul>
+ * The histograms of the rules, transformers and result handlers are created on their first invocation, and registered
+ * as MBeans at that time if the MBeans are already registered. After that, recording does not allocate any object.
+ * <p>
+ * Note that the rules, transformers and result handlers are told apart using their {@link Object#equals(Object)}
+ * method, so equal components share the same histogram.
+ *
+ * @see com.google.code.validationframework.base.validator.AbstractSimpleValidator#setMetrics(ValidationMetrics)
+ * @see com.google.code.validationframework.base.validator.AbstractMappableValidator#setMetrics(ValidationMetrics)
+ */
+public class DefaultValidationMetrics implements ValidationMetrics, DefaultValidationMetricsMBean {
+
+    /**
+     * JMX domain of the registered MBeans.
+     */
+    public static final String JMX_DOMAIN = "com.google.code.validationframework";
+
+    /**
+     * Category of the trigger histogram.
+     */
+    public static final String CATEGORY_TRIGGER = "trigger";
+
+    /**
+     * Category of the rule histograms.
+     */
+    public static final String CATEGORY_RULE = "rule";
+
+    /**
+     * Category of the transformer histograms.
+     */
+    public static final String CATEGORY_TRANSFORMER = "transformer";
+
+    /**
+     * Category of the result handler histograms.
+     */
+    public static final String CATEGORY_RESULT_HANDLER = "resultHandler";
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultValidationMetrics.class);
+
+    /**
+     * ID of the validator whose metrics are recorded.
+     */
+    private final String validatorId;
+
+    /**
+     * Histogram of the trigger-to-result latencies.
+     */
+    private final LatencyHistogram triggerHistogram = new LatencyHistogram();
+
+    /**
+     * Histogram of the latencies of each rule.
+     */
+    private final ConcurrentMap<Object, LatencyHistogram> ruleHistograms = new ConcurrentHashMap<Object,
+            LatencyHistogram>();
+
+    /**
+     * Histogram of the latencies of each transformer.
+     */
+    private final ConcurrentMap<Object, LatencyHistogram> transformerHistograms = new ConcurrentHashMap<Object,
+            LatencyHistogram>();
+
+    /**
+     * Histogram of the latencies of each result handler.
+     */
+    private final ConcurrentMap<Object, LatencyHistogram> resultHandlerHistograms = new ConcurrentHashMap<Object,
+            LatencyHistogram>();
+
+    /**
+     * MBean server in which the MBeans are registered, or null if they are not registered.
+     */
+    private MBeanServer mBeanServer = null;
+
+    /**
+     * Names of the MBeans registered in the MBean server.
+     */
+    private final List<ObjectName> registeredNames = new ArrayList<ObjectName>();
+
+    /**
+     * Constructor specifying the ID of the validator whose metrics are to be recorded.
+     *
+     * @param validatorId Validator ID, used to name the MBeans.
+     */
+    public DefaultValidationMetrics(String validatorId) {
+        this.validatorId = validatorId;
+    }
+
+    /**
+     * @see DefaultValidationMetricsMBean#getValidatorId()
+     */
+    @Override
+    public String getValidatorId() {
+        return validatorId;
+    }
+
+    /**
+     * Gets the histogram of the trigger-to-result latencies.
+     *
+     * @return Trigger histogram.
+     */
+    public LatencyHistogram getTriggerHistogram() {
+        return triggerHistogram;
+    }
+
+    /**
+     * Gets the histograms of the invoked rules.
+     *
+     * @return Unmodifiable map of the histograms per rule.
+     */
+    public Map<Object, LatencyHistogram> getRuleHistograms() {
+        return Collections.unmodifiableMap(ruleHistograms);
+    }
+
+    /**
+     * Gets the histograms of the invoked transformers.
+     *
+     * @return Unmodifiable map of the histograms per transformer.
+     */
+    public Map<Object, LatencyHistogram> getTransformerHistograms() {
+        return Collections.unmodifiableMap(transformerHistograms);
+    }
+
+    /**
+     * Gets the histograms of the invoked result handlers.
+     *
+     * @return Unmodifiable map of the histograms per result handler.
+     */
+    public Map<Object, LatencyHistogram> getResultHandlerHistograms() {
+        return Collections.unmodifiableMap(resultHandlerHistograms);
+    }
+
+    /**
+     * @see ValidationMetrics#recordTrigger(long)
+     */
+    @Override
+    public void recordTrigger(long latencyNanos) {
+        triggerHistogram.record(latencyNanos);
+    }
+
+    /**
+     * @see ValidationMetrics#recordRule(Rule, long)
+     */
+    @Override
+    public void recordRule(Rule<?, ?> rule, long latencyNanos) {
+        getHistogram(ruleHistograms, CATEGORY_RULE, rule).record(latencyNanos);
+    }
+
+    /**
+     * @see ValidationMetrics#recordTransformer(Transformer, long)
+     */
+    @Override
+    public void recordTransformer(Transformer<?, ?> transformer, long latencyNanos) {
+        getHistogram(transformerHistograms, CATEGORY_TRANSFORMER, transformer).record(latencyNanos);
+    }
+
+    /**
+     * @see ValidationMetrics#recordResultHandler(ResultHandler, long)
+     */
+    @Override
+    public void recordResultHandler(ResultHandler<?> resultHandler, long latencyNanos) {
+        getHistogram(resultHandlerHistograms, CATEGORY_RESULT_HANDLER, resultHandler).record(latencyNanos);
+    }
+
+    /**
+     * Gets the histogram of the specified component, creating and possibly registering it if needed.
+     *
+     * @param histograms Histograms of the category of the component.
+     * @param category   Category of the component.
+     * @param component  Rule, transformer or result handler.
+     *
+     * @return Histogram of the component.
+     */
+    private LatencyHistogram getHistogram(ConcurrentMap<Object, LatencyHistogram> histograms, String category,
+                                          Object component) {
+        LatencyHistogram histogram = histograms.get(component);
+        if (histogram == null) {
+            LatencyHistogram newHistogram = new LatencyHistogram();
+            histogram = histograms.putIfAbsent(component, newHistogram);
+            if (histogram == null) {
+                histogram = newHistogram;
+                registerMBean(createHistogramName(category, component), histogram);
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * @see DefaultValidationMetricsMBean#getTriggerCount()
+     */
+    @Override
+    public long getTriggerCount() {
+        return triggerHistogram.getCount();
+    }
+
+    /**
+     * @see DefaultValidationMetricsMBean#getRuleInvocationCount()
+     */
+    @Override
+    public long getRuleInvocationCount() {
+        return getTotalCount(ruleHistograms);
+    }
+
+    /**
+     * @see DefaultValidationMetricsMBean#getTransformerInvocationCount()
+     */
+    @Override
+    public long getTransformerInvocationCount() {
+        return getTotalCount(transformerHistograms);
+    }
+
+    /**
+     * @see DefaultValidationMetricsMBean#getResultHandlerInvocationCount()
+     */
+    @Override
+    public long getResultHandlerInvocationCount() {
+        return getTotalCount(resultHandlerHistograms);
+    }
+
+    /**
+     * Sums the counts of the specified histograms.
+     *
+     * @param histograms Histograms whose counts are to be summed.
+     *
+     * @return Total count.
+     */
+    private static long getTotalCount(Map<Object, LatencyHistogram> histograms) {
+        long count = 0;
+        for (LatencyHistogram histogram : histograms.values()) {
+            count += histogram.getCount();
+        }
+        return count;
+    }
+
+    /**
+     * @see DefaultValidationMetricsMBean#reset()
+     */
+    @Override
+    public void reset() {
+        triggerHistogram.reset();
+        reset(ruleHistograms);
+        reset(transformerHistograms);
+        reset(resultHandlerHistograms);
+    }
+
+    /**
+     * Resets the specified histograms.
+     *
+     * @param histograms Histograms to be reset.
+     */
+    private static void reset(Map<Object, LatencyHistogram> histograms) {
+        for (LatencyHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Registers the MBeans of these metrics in the platform MBean server.
+     *
+     * @see #registerMBeans(MBeanServer)
+     */
+    public void registerMBeans() {
+        registerMBeans(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * Registers the MBeans of these metrics in the specified MBean server.
+     * <p>
+     * The histograms of the rules, transformers and result handlers that will be invoked for the first time will also
+     * be registered, until {@link #unregisterMBeans()} is called.
+     *
+     * @param server MBean server in which the MBeans are to be registered.
+     */
+    public synchronized void registerMBeans(MBeanServer server) {
+        if (mBeanServer == null) {
+            mBeanServer = server;
+            registerMBean(createName("ValidationMetrics", null, null), this);
+            registerMBean(createName("LatencyHistogram", CATEGORY_TRIGGER, null), triggerHistogram);
+            registerMBeans(CATEGORY_RULE, ruleHistograms);
+            registerMBeans(CATEGORY_TRANSFORMER, transformerHistograms);
+            registerMBeans(CATEGORY_RESULT_HANDLER, resultHandlerHistograms);
+        } else {
+            LOGGER.error("MBeans of validator '" + validatorId + "' are already registered");
+        }
+    }
+
+    /**
+     * Registers the MBeans of the specified histograms.
+     *
+     * @param category   Category of the histograms.
+     * @param histograms Histograms to be registered.
+     */
+    private void registerMBeans(String category, Map<Object, LatencyHistogram> histograms) {
+        for (Map.Entry<Object, LatencyHistogram> entry : histograms.entrySet()) {
+            registerMBean(createHistogramName(category, entry.getKey()), entry.getValue());
+        }
+    }
+
+    /**
+     * Registers the specified MBean, if the MBeans of these metrics are to be registered.
+     *
+     * @param name  Name of the MBean, possibly null if it could not be created.
+     * @param mBean MBean to be registered.
+     */
+    private synchronized void registerMBean(ObjectName name, Object mBean) {
+        if ((mBeanServer != null) && (name != null)) {
+            try {
+                mBeanServer.registerMBean(mBean, name);
+                registeredNames.add(name);
+            } catch (JMException e) {
+                LOGGER.error("Failed registering MBean " + name, e);
+            }
+        }
+    }
+
+    /**
+     * Unregisters all the MBeans of these metrics.
+     */
+    public synchronized void unregisterMBeans() {
+        if (mBeanServer != null) {
+            for (ObjectName name : registeredNames) {
+                try {
+                    mBeanServer.unregisterMBean(name);
+                } catch (JMException e) {
+                    LOGGER.error("Failed unregistering MBean " + name, e);
+                }
+            }
+            registeredNames.clear();
+            mBeanServer = null;
+        }
+    }
+
+    /**
+     * Creates the name of the MBean of the histogram of the specified component.
+     *
+     * @param category  Category of the component.
+     * @param component Rule, transformer or result handler.
+     *
+     * @return MBean name, or null if it could not be created.
+     */
+    private ObjectName createHistogramName(String category, Object component) {
+        return createName("LatencyHistogram", category, component.getClass().getName() + "@" + Integer.toHexString
+                (System.identityHashCode(component)));
+    }
+
+    /**
+     * Creates an MBean name for these metrics.
+     *
+     * @param type     Type of MBean.
+     * @param category Category of the histogram, or null.
+     * @param name     Name of the component, or null.
+     *
+     * @return MBean name, or null if it could not be created.
+     */
+    private ObjectName createName(String type, String category, String name) {
+        Hashtable<String, String> properties = new Hashtable<String, String>();
+        properties.put("type", type);
+        properties.put("validator", ObjectName.quote(String.valueOf(validatorId)));
+        if (category != null) {
+            properties.put("category", category);
+        }
+        if (name != null) {
+            properties.put("name", ObjectName.quote(name));
+        }
+
+        ObjectName objectName = null;
+        try {
+            objectName = new ObjectName(JMX_DOMAIN, properties);
+        } catch (JMException e) {
+            LOGGER.error("Invalid MBean name for validator '" + validatorId + "'", e);
+        }
+        return objectName;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.metrics;
+
+/**
+ * JMX management interface of a {@link DefaultValidationMetrics}.
+ * <p>
+ * The latency histograms of the trigger, rules, transformers and result handlers are exposed as separate MBeans.
+ *
+ * @see LatencyHistogramMBean
+ */
+public interface DefaultValidationMetricsMBean {
+
+    /**
+     * Gets the ID of the validator whose metrics are recorded.
+     *
+     * @return Validator ID.
+     */
+    String getValidatorId();
+
+    /**
+     * Gets the number of processed triggers.
+     *
+     * @return Number of processed triggers.
+     */
+    long getTriggerCount();
+
+    /**
+     * Gets the total number of rule invocations.
+     *
+     * @return Number of rule invocations.
+     */
+    long getRuleInvocationCount();
+
+    /**
+     * Gets the total number of transformer invocations.
+     *
+     * @return Number of transformer invocations.
+     */
+    long getTransformerInvocationCount();
+
+    /**
+     * Gets the total number of result handler invocations.
+     *
+     * @return Number of result handler invocations.
+     */
+    long getResultHandlerInvocationCount();
+
+    /**
+     * Forgets all recorded metrics.
+     */
+    void reset();
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe histogram of latencies, whose recording does not allocate any object.
+ * <p>
+ * The latencies are counted in log-linear buckets, in a way similar to HdrHistogram: values below 32 have their own
+ * bucket, and each power of 2 above is split into 16 buckets. The percentiles are therefore reported with a relative
+ * error below 1/16 (about 6%), which is enough to tell where the time goes, while the whole histogram fits in a fixed
+ * array of less than 1000 counters that is allocated once for all.
+ * <p>
+ * The count, minimum, maximum and mean are exact.
+ */
+public class LatencyHistogram implements LatencyHistogramMBean {
+
+    /**
+     * Number of bits of the values that are kept to select the bucket within a power of 2.
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * Number of values having their own bucket.
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Number of buckets per power of 2 above {@link #SUB_BUCKET_COUNT}.
+     */
+    private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT >> 1;
+
+    /**
+     * Number of buckets needed to cover all positive long values.
+     */
+    private static final int BUCKET_COUNT = getBucketIndex(Long.MAX_VALUE) + 1;
+
+    /**
+     * Number of recorded values per bucket.
+     */
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Number of recorded values.
+     */
+    private final AtomicLong count = new AtomicLong(0);
+
+    /**
+     * Sum of the recorded values.
+     */
+    private final AtomicLong sum = new AtomicLong(0);
+
+    /**
+     * Lowest recorded value.
+     */
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+    /**
+     * Highest recorded value.
+     */
+    private final AtomicLong max = new AtomicLong(0);
+
+    /**
+     * Gets the index of the bucket holding the specified value.
+     *
+     * @param value Positive value.
+     *
+     * @return Bucket index.
+     */
+    private static int getBucketIndex(long value) {
+        int index;
+        if (value < SUB_BUCKET_COUNT) {
+            index = (int) value;
+        } else {
+            // Keep the 5 most significant bits, the first of them being always set
+            int shift = (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+            index = (shift * HALF_SUB_BUCKET_COUNT) + (int) (value >>> shift);
+        }
+        return index;
+    }
+
+    /**
+     * Gets the highest value that can be held in the bucket at the specified index.
+     *
+     * @param index Bucket index.
+     *
+     * @return Highest value of the bucket.
+     */
+    private static long getBucketUpperBound(int index) {
+        long upperBound;
+        if (index < SUB_BUCKET_COUNT) {
+            upperBound = index;
+        } else {
+            int shift = (index / HALF_SUB_BUCKET_COUNT) - 1;
+            long subBucket = index - (shift * HALF_SUB_BUCKET_COUNT);
+            // Wraps around to Long.MAX_VALUE for the last bucket
+            upperBound = ((subBucket + 1) << shift) - 1;
+        }
+        return upperBound;
+    }
+
+    /**
+     * Records the specified latency.
+     * <p>
+     * Negative values, which may be produced by a clock going backwards, are recorded as 0.
+     *
+     * @param latencyNanos Latency in nanoseconds.
+     */
+    public void record(long latencyNanos) {
+        long value = Math.max(0, latencyNanos);
+
+        bucketCounts.incrementAndGet(getBucketIndex(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+
+        long currentMin = min.get();
+        while ((value < currentMin) && !min.compareAndSet(currentMin, value)) {
+            currentMin = min.get();
+        }
+        long currentMax = max.get();
+        while ((value > currentMax) && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * @see LatencyHistogramMBean#getCount()
+     */
+    @Override
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @see LatencyHistogramMBean#getMinNanos()
+     */
+    @Override
+    public long getMinNanos() {
+        long value = min.get();
+        if (value == Long.MAX_VALUE) {
+            value = 0;
+        }
+        return value;
+    }
+
+    /**
+     * @see LatencyHistogramMBean#getMaxNanos()
+     */
+    @Override
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    /**
+     * @see LatencyHistogramMBean#getMeanNanos()
+     */
+    @Override
+    public double getMeanNanos() {
+        double mean = 0.0;
+        long currentCount = count.get();
+        if (currentCount > 0) {
+            mean = (double) sum.get() / currentCount;
+        }
+        return mean;
+    }
+
+    /**
+     * @see LatencyHistogramMBean#getMedianNanos()
+     */
+    @Override
+    public long getMedianNanos() {
+        return getPercentileNanos(50.0);
+    }
+
+    /**
+     * @see LatencyHistogramMBean#get90thPercentileNanos()
+     */
+    @Override
+    public long get90thPercentileNanos() {
+        return getPercentileNanos(90.0);
+    }
+
+    /**
+     * @see LatencyHistogramMBean#get99thPercentileNanos()
+     */
+    @Override
+    public long get99thPercentileNanos() {
+        return getPercentileNanos(99.0);
+    }
+
+    /**
+     * @see LatencyHistogramMBean#get999thPercentileNanos()
+     */
+    @Override
+    public long get999thPercentileNanos() {
+        return getPercentileNanos(99.9);
+    }
+
+    /**
+     * @see LatencyHistogramMBean#getPercentileNanos(double)
+     */
+    @Override
+    public long getPercentileNanos(double percentile) {
+        long value = 0;
+
+        long currentCount = count.get();
+        if (currentCount > 0) {
+            double clampedPercentile = Math.min(100.0, Math.max(0.0, percentile));
+            long targetCount = Math.max(1, (long) Math.ceil(clampedPercentile * currentCount / 100.0));
+
+            long cumulatedCount = 0;
+            int index = 0;
+            while ((index < (BUCKET_COUNT - 1)) && (cumulatedCount + bucketCounts.get(index) < targetCount)) {
+                cumulatedCount += bucketCounts.get(index);
+                index++;
+            }
+
+            // Do not report more than what was actually recorded
+            value = Math.min(getBucketUpperBound(index), max.get());
+        }
+
+        return value;
+    }
+
+    /**
+     * @see LatencyHistogramMBean#reset()
+     */
+    @Override
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            bucketCounts.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        min.set(Long.MAX_VALUE);
+        max.set(0);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.metrics;
+
+/**
+ * JMX management interface of a {@link LatencyHistogram}.
+ * <p>
+ * All latencies are expressed in nanoseconds.
+ */
+public interface LatencyHistogramMBean {
+
+    /**
+     * Gets the number of recorded latencies.
+     *
+     * @return Number of recorded latencies.
+     */
+    long getCount();
+
+    /**
+     * Gets the lowest recorded latency.
+     *
+     * @return Lowest recorded latency, or 0 if nothing was recorded.
+     */
+    long getMinNanos();
+
+    /**
+     * Gets the highest recorded latency.
+     *
+     * @return Highest recorded latency, or 0 if nothing was recorded.
+     */
+    long getMaxNanos();
+
+    /**
+     * Gets the mean of the recorded latencies.
+     *
+     * @return Mean latency, or 0 if nothing was recorded.
+     */
+    double getMeanNanos();
+
+    /**
+     * Gets the median of the recorded latencies.
+     *
+     * @return Median latency.
+     */
+    long getMedianNanos();
+
+    /**
+     * Gets the 90th percentile of the recorded latencies.
+     *
+     * @return 90th percentile.
+     */
+    long get90thPercentileNanos();
+
+    /**
+     * Gets the 99th percentile of the recorded latencies.
+     *
+     * @return 99th percentile.
+     */
+    long get99thPercentileNanos();
+
+    /**
+     * Gets the 99.9th percentile of the recorded latencies.
+     *
+     * @return 99.9th percentile.
+     */
+    long get999thPercentileNanos();
+
+    /**
+     * Gets the specified percentile of the recorded latencies.
+     *
+     * @param percentile Percentile between 0 and 100.
+     *
+     * @return Latency below or at which the specified percentage of the recorded latencies fall.
+     */
+    long getPercentileNanos(double percentile);
+
+    /**
+     * Forgets all recorded latencies.
+     */
+    void reset();
+}
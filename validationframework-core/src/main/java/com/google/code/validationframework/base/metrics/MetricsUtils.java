@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.metrics;
+
+import com.google.code.validationframework.api.resulthandler.ResultHandler;
+import com.google.code.validationframework.api.rule.Rule;
+import com.google.code.validationframework.api.transform.Transformer;
+
+/**
+ * Utility methods invoking rules, transformers and result handlers while recording their latency in the specified
+ * {@link ValidationMetrics}, if any.
+ * <p>
+ * When no metrics are specified, the rules, transformers and result handlers are simply invoked: the clock is not even
+ * read.
+ */
+public final class MetricsUtils {
+
+    /**
+     * Private constructor for utility class.
+     */
+    private MetricsUtils() {
+        // Nothing to be done
+    }
+
+    /**
+     * Validates the specified data using the specified rule.
+     *
+     * @param metrics Metrics in which the invocation is to be recorded, or null if metrics are disabled.
+     * @param rule    Rule to be invoked.
+     * @param data    Data to be validated.
+     * @param <RI>    Type of rule input.
+     * @param <RO>    Type of rule output.
+     *
+     * @return Rule output.
+     */
+    public static <RI, RO> RO validate(ValidationMetrics metrics, Rule<? super RI, ? extends RO> rule, RI data) {
+        RO result;
+        if (metrics == null) {
+            result = rule.validate(data);
+        } else {
+            long startTime = System.nanoTime();
+            try {
+                result = rule.validate(data);
+            } finally {
+                metrics.recordRule(rule, System.nanoTime() - startTime);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Transforms the specified input using the specified transformer.
+     *
+     * @param metrics     Metrics in which the invocation is to be recorded, or null if metrics are disabled.
+     * @param transformer Transformer to be invoked.
+     * @param input       Input to be transformed.
+     * @param <I>         Type of transformer input.
+     * @param <O>         Type of transformer output.
+     *
+     * @return Transformer output.
+     */
+    public static <I, O> O transform(ValidationMetrics metrics, Transformer<? super I, ? extends O> transformer,
+                                     I input) {
+        O output;
+        if (metrics == null) {
+            output = transformer.transform(input);
+        } else {
+            long startTime = System.nanoTime();
+            try {
+                output = transformer.transform(input);
+            } finally {
+                metrics.recordTransformer(transformer, System.nanoTime() - startTime);
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Handles the specified result using the specified result handler.
+     *
+     * @param metrics       Metrics in which the invocation is to be recorded, or null if metrics are disabled.
+     * @param resultHandler Result handler to be invoked.
+     * @param result        Result to be handled.
+     * @param <RHI>         Type of result handler input.
+     */
+    public static <RHI> void handleResult(ValidationMetrics metrics, ResultHandler<? super RHI> resultHandler,
+                                          RHI result) {
+        if (metrics == null) {
+            resultHandler.handleResult(result);
+        } else {
+            long startTime = System.nanoTime();
+            try {
+                resultHandler.handleResult(result);
+            } finally {
+                metrics.recordResultHandler(resultHandler, System.nanoTime() - startTime);
+            }
+        }
+    }
+}
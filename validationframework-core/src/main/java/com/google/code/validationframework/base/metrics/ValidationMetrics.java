@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.metrics;
+
+import com.google.code.validationframework.api.resulthandler.ResultHandler;
+import com.google.code.validationframework.api.rule.Rule;
+import com.google.code.validationframework.api.transform.Transformer;
+
+/**
+ * Service provider interface for the recording of the metrics of a validator.
+ * <p>
+ * An instance of this interface is typically set on one validator only, so that the metrics of different validators can
+ * be told apart. When no metrics are set on a validator, which is the default, nothing is measured and nothing is
+ * recorded.
+ * <p>
+ * Note that the methods of this interface are called from the thread processing the trigger (or running the rules or
+ * result handlers when the validation is asynchronous), so implementations should be thread-safe and as cheap as
+ * possible.
+ *
+ * @see com.google.code.validationframework.base.validator.AbstractSimpleValidator#setMetrics(ValidationMetrics)
+ * @see com.google.code.validationframework.base.validator.AbstractMappableValidator#setMetrics(ValidationMetrics)
+ * @see DefaultValidationMetrics
+ */
+public interface ValidationMetrics {
+
+    /**
+     * Records the processing of a trigger.
+     *
+     * @param latencyNanos Time elapsed between the trigger and the handling of the last result, in nanoseconds.
+     */
+    void recordTrigger(long latencyNanos);
+
+    /**
+     * Records the invocation of a rule.
+     *
+     * @param rule         Invoked rule.
+     * @param latencyNanos Duration of the invocation, in nanoseconds.
+     */
+    void recordRule(Rule<?, ?> rule, long latencyNanos);
+
+    /**
+     * Records the invocation of a transformer.
+     *
+     * @param transformer  Invoked transformer.
+     * @param latencyNanos Duration of the invocation, in nanoseconds.
+     */
+    void recordTransformer(Transformer<?, ?> transformer, long latencyNanos);
+
+    /**
+     * Records the invocation of a result handler.
+     *
+     * @param resultHandler Invoked result handler.
+     * @param latencyNanos  Duration of the invocation, in nanoseconds.
+     */
+    void recordResultHandler(ResultHandler<?> resultHandler, long latencyNanos);
+}
@@ -27,6 +27,7 @@ package com.google.code.validationframework.base.property;
 
 import com.google.code.validationframework.api.property.ListValueChangeListener;
 import com.google.code.validationframework.api.property.ReadableListProperty;
+import com.google.code.validationframework.base.common.CopyOnWriteListenerList;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -34,6 +35,13 @@ import java.util.List;
 
 /**
  * Abstract implementation of a {@link ReadableListProperty}.
+ * <p>
+ * This abstract implementation allows to group several modifications in a batch, using {@link #beginBatch()} and
+ * {@link #commitBatch()}. While a batch is in progress, the change events are not fired but recorded: consecutive
+ * changes of the same kind on adjacent ranges are merged together, and removals of items added in the same batch cancel
+ * out. The resulting minimal list of change events is then fired when the batch is committed. The start indices of
+ * these events remain consistent with each other: each of them is relative to the list as it would be after the
+ * previous events.
  *
  * @param <R> Type of values that can be read from this list.
  */
@@ -42,7 +50,18 @@ public abstract class AbstractReadableListProperty<R> implements ReadableListPro
     /**
      * Listeners to changes in the list property.
      */
-    private final List<ListValueChangeListener<R>> listeners = new ArrayList<ListValueChangeListener<R>>();
+    private final CopyOnWriteListenerList<ListValueChangeListener<R>> listeners = new
+            CopyOnWriteListenerList<ListValueChangeListener<R>>();
+
+    /**
+     * Number of batches currently in progress.
+     */
+    private int batchDepth = 0;
+
+    /**
+     * Changes recorded during the current batch, to be fired when the batch is committed.
+     */
+    private final List<PendingChange<R>> pendingChanges = new ArrayList<PendingChange<R>>();
 
     /**
      * Default constructor adding no listener.
@@ -79,20 +98,108 @@ public abstract class AbstractReadableListProperty<R> implements ReadableListPro
         listeners.remove(listener);
     }
 
+    /**
+     * Begins a batch of modifications.
+     * <p>
+     * Until the batch is committed, the change events will be recorded and coalesced instead of being fired. Batches
+     * can be nested: the events are fired only when the outermost batch is committed.
+     * <p>
+     * It is recommended to commit the batch in a finally block.
+     *
+     * @see #commitBatch()
+     */
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * Commits the current batch of modifications.
+     * <p>
+     * If this was the outermost batch, the recorded change events will be fired to the listeners.
+     *
+     * @see #beginBatch()
+     */
+    public void commitBatch() {
+        if (batchDepth > 0) {
+            batchDepth--;
+            if (batchDepth == 0) {
+                firePendingChanges();
+            }
+        }
+    }
+
+    /**
+     * States whether a batch of modifications is in progress.
+     *
+     * @return True if the change events are currently recorded, false if they are fired immediately.
+     */
+    public boolean isBatchInProgress() {
+        return batchDepth > 0;
+    }
+
+    /**
+     * States whether at least one change listener is registered.
+     * <p>
+     * Sub-classes can use this method to avoid building the lists of items to be passed to the listeners when there is
+     * no listener to be notified.
+     *
+     * @return True if there are listeners to be notified, false otherwise.
+     */
+    protected boolean hasValueChangeListeners() {
+        return !listeners.isEmpty();
+    }
+
     /**
      * Notifies the change listeners that items have been added.
      * <p>
      * Note that the specified list of items will be wrapped in an unmodifiable list before being passed to the
-     * listeners.
+     * listeners, unless there is no listener.
      *
      * @param startIndex Index of the first added item.
      * @param newItems   Newly added items.
      */
     protected void doNotifyListenersOfAddedValues(int startIndex, List<R> newItems) {
-        List<ListValueChangeListener<R>> listenersCopy = new ArrayList<ListValueChangeListener<R>>(listeners);
-        List<R> unmodifiable = Collections.unmodifiableList(newItems);
-        for (ListValueChangeListener<R> listener : listenersCopy) {
-            listener.valuesAdded(this, startIndex, unmodifiable);
+        Object[] snapshot = listeners.getSnapshot();
+        if (snapshot.length > 0) {
+            if (batchDepth > 0) {
+                recordAddedValues(startIndex, newItems);
+            } else {
+                fireValuesAdded(snapshot, startIndex, Collections.unmodifiableList(newItems));
+            }
+        }
+    }
+
+    /**
+     * Notifies the change listeners that a single item has been added.
+     * <p>
+     * The item is passed to the listeners as an immutable single-entry list, which is only created if there is at least
+     * one listener.
+     *
+     * @param index   Index of the added item.
+     * @param newItem Newly added item.
+     */
+    protected void doNotifyListenersOfAddedValue(int index, R newItem) {
+        Object[] snapshot = listeners.getSnapshot();
+        if (snapshot.length > 0) {
+            if (batchDepth > 0) {
+                recordAddedValues(index, Collections.singletonList(newItem));
+            } else {
+                fireValuesAdded(snapshot, index, Collections.singletonList(newItem));
+            }
+        }
+    }
+
+    /**
+     * Notifies the specified change listeners that items have been added.
+     *
+     * @param snapshot   Listeners to be notified.
+     * @param startIndex Index of the first added item.
+     * @param newItems   Unmodifiable list of newly added items.
+     */
+    @SuppressWarnings("unchecked")
+    private void fireValuesAdded(Object[] snapshot, int startIndex, List<R> newItems) {
+        for (Object listener : snapshot) {
+            ((ListValueChangeListener<R>) listener).valuesAdded(this, startIndex, newItems);
         }
     }
 
@@ -100,18 +207,58 @@ public abstract class AbstractReadableListProperty<R> implements ReadableListPro
      * Notifies the change listeners that items have been replaced.
      * <p>
      * Note that the specified lists of items will be wrapped in unmodifiable lists before being passed to the
-     * listeners.
+     * listeners, unless there is no listener.
      *
      * @param startIndex Index of the first replaced item.
      * @param oldItems   Previous items.
      * @param newItems   New items.
      */
     protected void doNotifyListenersOfChangedValues(int startIndex, List<R> oldItems, List<R> newItems) {
-        List<ListValueChangeListener<R>> listenersCopy = new ArrayList<ListValueChangeListener<R>>(listeners);
-        List<R> oldUnmodifiable = Collections.unmodifiableList(oldItems);
-        List<R> newUnmodifiable = Collections.unmodifiableList(newItems);
-        for (ListValueChangeListener<R> listener : listenersCopy) {
-            listener.valuesChanged(this, startIndex, oldUnmodifiable, newUnmodifiable);
+        Object[] snapshot = listeners.getSnapshot();
+        if (snapshot.length > 0) {
+            if (batchDepth > 0) {
+                recordChangedValues(startIndex, oldItems, newItems);
+            } else {
+                fireValuesChanged(snapshot, startIndex, Collections.unmodifiableList(oldItems), Collections
+                        .unmodifiableList(newItems));
+            }
+        }
+    }
+
+    /**
+     * Notifies the change listeners that a single item has been replaced.
+     * <p>
+     * The items are passed to the listeners as immutable single-entry lists, which are only created if there is at
+     * least one listener.
+     *
+     * @param index   Index of the replaced item.
+     * @param oldItem Previous item.
+     * @param newItem New item.
+     */
+    protected void doNotifyListenersOfChangedValue(int index, R oldItem, R newItem) {
+        Object[] snapshot = listeners.getSnapshot();
+        if (snapshot.length > 0) {
+            if (batchDepth > 0) {
+                recordChangedValues(index, Collections.singletonList(oldItem), Collections.singletonList(newItem));
+            } else {
+                fireValuesChanged(snapshot, index, Collections.singletonList(oldItem), Collections.singletonList
+                        (newItem));
+            }
+        }
+    }
+
+    /**
+     * Notifies the specified change listeners that items have been replaced.
+     *
+     * @param snapshot   Listeners to be notified.
+     * @param startIndex Index of the first replaced item.
+     * @param oldItems   Unmodifiable list of previous items.
+     * @param newItems   Unmodifiable list of new items.
+     */
+    @SuppressWarnings("unchecked")
+    private void fireValuesChanged(Object[] snapshot, int startIndex, List<R> oldItems, List<R> newItems) {
+        for (Object listener : snapshot) {
+            ((ListValueChangeListener<R>) listener).valuesChanged(this, startIndex, oldItems, newItems);
         }
     }
 
@@ -119,16 +266,237 @@ public abstract class AbstractReadableListProperty<R> implements ReadableListPro
      * Notifies the change listeners that items have been removed.
      * <p>
      * Note that the specified list of items will be wrapped in an unmodifiable list before being passed to the
-     * listeners.
+     * listeners, unless there is no listener.
      *
      * @param startIndex Index of the first removed item.
      * @param oldItems   Removed items.
      */
     protected void doNotifyListenersOfRemovedValues(int startIndex, List<R> oldItems) {
-        List<ListValueChangeListener<R>> listenersCopy = new ArrayList<ListValueChangeListener<R>>(listeners);
-        List<R> unmodifiable = Collections.unmodifiableList(oldItems);
-        for (ListValueChangeListener<R> listener : listenersCopy) {
-            listener.valuesRemoved(this, startIndex, unmodifiable);
+        Object[] snapshot = listeners.getSnapshot();
+        if (snapshot.length > 0) {
+            if (batchDepth > 0) {
+                recordRemovedValues(startIndex, oldItems);
+            } else {
+                fireValuesRemoved(snapshot, startIndex, Collections.unmodifiableList(oldItems));
+            }
+        }
+    }
+
+    /**
+     * Notifies the change listeners that a single item has been removed.
+     * <p>
+     * The item is passed to the listeners as an immutable single-entry list, which is only created if there is at least
+     * one listener.
+     *
+     * @param index   Index of the removed item.
+     * @param oldItem Removed item.
+     */
+    protected void doNotifyListenersOfRemovedValue(int index, R oldItem) {
+        Object[] snapshot = listeners.getSnapshot();
+        if (snapshot.length > 0) {
+            if (batchDepth > 0) {
+                recordRemovedValues(index, Collections.singletonList(oldItem));
+            } else {
+                fireValuesRemoved(snapshot, index, Collections.singletonList(oldItem));
+            }
+        }
+    }
+
+    /**
+     * Notifies the specified change listeners that items have been removed.
+     *
+     * @param snapshot   Listeners to be notified.
+     * @param startIndex Index of the first removed item.
+     * @param oldItems   Unmodifiable list of removed items.
+     */
+    @SuppressWarnings("unchecked")
+    private void fireValuesRemoved(Object[] snapshot, int startIndex, List<R> oldItems) {
+        for (Object listener : snapshot) {
+            ((ListValueChangeListener<R>) listener).valuesRemoved(this, startIndex, oldItems);
+        }
+    }
+
+    /**
+     * Gets the last change recorded during the current batch.
+     *
+     * @return Last recorded change, or null if no change has been recorded yet.
+     */
+    private PendingChange<R> getLastPendingChange() {
+        PendingChange<R> lastChange = null;
+        if (!pendingChanges.isEmpty()) {
+            lastChange = pendingChanges.get(pendingChanges.size() - 1);
+        }
+        return lastChange;
+    }
+
+    /**
+     * Records the addition of items during the current batch, merging it with the last recorded addition if the items
+     * are inserted inside or right next to the range of previously added items.
+     *
+     * @param startIndex Index of the first added item.
+     * @param newItems   Newly added items.
+     */
+    private void recordAddedValues(int startIndex, List<R> newItems) {
+        PendingChange<R> lastChange = getLastPendingChange();
+        if ((lastChange != null) && (lastChange.type == ChangeType.ADDED) && (startIndex >= lastChange.startIndex) &&
+                (startIndex <= lastChange.startIndex + lastChange.newItems.size())) {
+            lastChange.newItems.addAll(startIndex - lastChange.startIndex, newItems);
+        } else {
+            pendingChanges.add(new PendingChange<R>(ChangeType.ADDED, startIndex, null, new ArrayList<R>(newItems)));
+        }
+    }
+
+    /**
+     * Records the replacement of items during the current batch, merging it with the last recorded addition or
+     * replacement if the replaced range overlaps with or is adjacent to it.
+     *
+     * @param startIndex Index of the first replaced item.
+     * @param oldItems   Previous items.
+     * @param newItems   New items.
+     */
+    private void recordChangedValues(int startIndex, List<R> oldItems, List<R> newItems) {
+        PendingChange<R> lastChange = getLastPendingChange();
+        int count = newItems.size();
+
+        if ((lastChange != null) && (lastChange.type == ChangeType.ADDED) && (startIndex >= lastChange.startIndex) &&
+                (startIndex + count <= lastChange.startIndex + lastChange.newItems.size())) {
+            // Replacing items added in the same batch: just add the new items instead
+            for (int i = 0; i < count; i++) {
+                lastChange.newItems.set(startIndex - lastChange.startIndex + i, newItems.get(i));
+            }
+        } else if ((lastChange != null) && (lastChange.type == ChangeType.CHANGED) && (startIndex >= lastChange
+                .startIndex) && (startIndex <= lastChange.startIndex + lastChange.newItems.size())) {
+            // Replacing items overlapping with or following the previously replaced items
+            for (int i = 0; i < count; i++) {
+                int mergedIndex = startIndex - lastChange.startIndex + i;
+                if (mergedIndex < lastChange.newItems.size()) {
+                    lastChange.newItems.set(mergedIndex, newItems.get(i));
+                } else {
+                    lastChange.oldItems.add(oldItems.get(i));
+                    lastChange.newItems.add(newItems.get(i));
+                }
+            }
+        } else if ((lastChange != null) && (lastChange.type == ChangeType.CHANGED) && (startIndex + count ==
+                lastChange.startIndex)) {
+            // Replacing items right before the previously replaced items
+            lastChange.oldItems.addAll(0, oldItems);
+            lastChange.newItems.addAll(0, newItems);
+            lastChange.startIndex = startIndex;
+        } else {
+            pendingChanges.add(new PendingChange<R>(ChangeType.CHANGED, startIndex, new ArrayList<R>(oldItems), new
+                    ArrayList<R>(newItems)));
+        }
+    }
+
+    /**
+     * Records the removal of items during the current batch, cancelling it out with the last recorded addition if the
+     * removed items were added in the same batch, or merging it with the last recorded removal if the removed range is
+     * adjacent to it.
+     *
+     * @param startIndex Index of the first removed item.
+     * @param oldItems   Removed items.
+     */
+    private void recordRemovedValues(int startIndex, List<R> oldItems) {
+        PendingChange<R> lastChange = getLastPendingChange();
+        int count = oldItems.size();
+
+        if ((lastChange != null) && (lastChange.type == ChangeType.ADDED) && (startIndex >= lastChange.startIndex) &&
+                (startIndex + count <= lastChange.startIndex + lastChange.newItems.size())) {
+            // Removing items added in the same batch
+            int fromIndex = startIndex - lastChange.startIndex;
+            lastChange.newItems.subList(fromIndex, fromIndex + count).clear();
+            if (lastChange.newItems.isEmpty()) {
+                pendingChanges.remove(pendingChanges.size() - 1);
+            }
+        } else if ((lastChange != null) && (lastChange.type == ChangeType.REMOVED) && (startIndex == lastChange
+                .startIndex)) {
+            // Removing items following the previously removed items
+            lastChange.oldItems.addAll(oldItems);
+        } else if ((lastChange != null) && (lastChange.type == ChangeType.REMOVED) && (startIndex + count ==
+                lastChange.startIndex)) {
+            // Removing items right before the previously removed items
+            lastChange.oldItems.addAll(0, oldItems);
+            lastChange.startIndex = startIndex;
+        } else {
+            pendingChanges.add(new PendingChange<R>(ChangeType.REMOVED, startIndex, new ArrayList<R>(oldItems), null));
+        }
+    }
+
+    /**
+     * Fires all the changes recorded during the batch that has just been committed.
+     */
+    private void firePendingChanges() {
+        List<PendingChange<R>> changes = new ArrayList<PendingChange<R>>(pendingChanges);
+        pendingChanges.clear();
+
+        Object[] snapshot = listeners.getSnapshot();
+        for (PendingChange<R> change : changes) {
+            switch (change.type) {
+                case ADDED:
+                    fireValuesAdded(snapshot, change.startIndex, Collections.unmodifiableList(change.newItems));
+                    break;
+                case CHANGED:
+                    fireValuesChanged(snapshot, change.startIndex, Collections.unmodifiableList(change.oldItems),
+                            Collections.unmodifiableList(change.newItems));
+                    break;
+                case REMOVED:
+                    fireValuesRemoved(snapshot, change.startIndex, Collections.unmodifiableList(change.oldItems));
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Kind of change recorded during a batch.
+     */
+    private enum ChangeType {
+        ADDED,
+        CHANGED,
+        REMOVED
+    }
+
+    /**
+     * Change recorded during a batch.
+     *
+     * @param <R> Type of values that can be read from the list.
+     */
+    private static class PendingChange<R> {
+
+        /**
+         * Kind of change.
+         */
+        private final ChangeType type;
+
+        /**
+         * Index of the first added, replaced or removed item.
+         */
+        private int startIndex;
+
+        /**
+         * Replaced or removed items, or null for an addition.
+         */
+        private final List<R> oldItems;
+
+        /**
+         * Added or new items, or null for a removal.
+         */
+        private final List<R> newItems;
+
+        /**
+         * Constructor specifying the recorded change.
+         *
+         * @param type       Kind of change.
+         * @param startIndex Index of the first added, replaced or removed item.
+         * @param oldItems   Replaced or removed items, or null for an addition.
+         * @param newItems   Added or new items, or null for a removal.
+         */
+        public PendingChange(ChangeType type, int startIndex, List<R> oldItems, List<R> newItems) {
+            this.type = type;
+            this.startIndex = startIndex;
+            this.oldItems = oldItems;
+            this.newItems = newItems;
         }
     }
 }
@@ -27,14 +27,21 @@ package com.google.code.validationframework.base.property;
 
 import com.google.code.validationframework.api.property.MapValueChangeListener;
 import com.google.code.validationframework.api.property.ReadableMapProperty;
+import com.google.code.validationframework.base.common.CopyOnWriteListenerList;
+import com.google.code.validationframework.base.utils.ValueUtils;
 
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Abstract implementation of a {@link ReadableMapProperty}.
+ * <p>
+ * This abstract implementation allows to group several modifications in a batch, using {@link #beginBatch()} and
+ * {@link #commitBatch()}. While a batch is in progress, the change events are not fired but recorded per key, so that
+ * only the net change of each key is kept (for instance, a value added and then removed in the same batch cancels out).
+ * When the batch is committed, at most one event for all the removed values, one event for all the replaced values and
+ * one event for all the added values are fired.
  *
  * @param <K> Type of keys maintained by this map property.
  * @param <R> Type of mapped values in this map property.
@@ -44,7 +51,33 @@ public abstract class AbstractReadableMapProperty<K, R> implements ReadableMapPr
     /**
      * Listeners to changes in the list property.
      */
-    private final List<MapValueChangeListener<K, R>> listeners = new ArrayList<MapValueChangeListener<K, R>>();
+    private final CopyOnWriteListenerList<MapValueChangeListener<K, R>> listeners = new
+            CopyOnWriteListenerList<MapValueChangeListener<K, R>>();
+
+    /**
+     * Number of batches currently in progress.
+     */
+    private int batchDepth = 0;
+
+    /**
+     * Values added during the current batch.
+     */
+    private final Map<K, R> pendingAddedValues = new HashMap<K, R>();
+
+    /**
+     * Values before they were replaced during the current batch.
+     */
+    private final Map<K, R> pendingChangedOldValues = new HashMap<K, R>();
+
+    /**
+     * Values replacing previous values during the current batch.
+     */
+    private final Map<K, R> pendingChangedNewValues = new HashMap<K, R>();
+
+    /**
+     * Values removed during the current batch.
+     */
+    private final Map<K, R> pendingRemovedValues = new HashMap<K, R>();
 
     /**
      * Default constructor adding no listener.
@@ -81,36 +114,167 @@ public abstract class AbstractReadableMapProperty<K, R> implements ReadableMapPr
         listeners.remove(listener);
     }
 
+    /**
+     * Begins a batch of modifications.
+     * <p>
+     * Until the batch is committed, the change events will be recorded and coalesced instead of being fired. Batches
+     * can be nested: the events are fired only when the outermost batch is committed.
+     * <p>
+     * It is recommended to commit the batch in a finally block.
+     *
+     * @see #commitBatch()
+     */
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * Commits the current batch of modifications.
+     * <p>
+     * If this was the outermost batch, the recorded change events will be fired to the listeners.
+     *
+     * @see #beginBatch()
+     */
+    public void commitBatch() {
+        if (batchDepth > 0) {
+            batchDepth--;
+            if (batchDepth == 0) {
+                firePendingChanges();
+            }
+        }
+    }
+
+    /**
+     * States whether a batch of modifications is in progress.
+     *
+     * @return True if the change events are currently recorded, false if they are fired immediately.
+     */
+    public boolean isBatchInProgress() {
+        return batchDepth > 0;
+    }
+
+    /**
+     * States whether at least one change listener is registered.
+     * <p>
+     * Sub-classes can use this method to avoid building the maps of values to be passed to the listeners when there is
+     * no listener to be notified.
+     *
+     * @return True if there are listeners to be notified, false otherwise.
+     */
+    protected boolean hasValueChangeListeners() {
+        return !listeners.isEmpty();
+    }
+
     /**
      * Notifies the change listeners that values have been added.
      * <p>
      * Note that the specified map of values will be wrapped in an unmodifiable map before being passed to the
-     * listeners.
+     * listeners, unless there is no listener.
      *
      * @param newValues Newly added values.
      */
     protected void doNotifyListenersOfAddedValues(Map<K, R> newValues) {
-        List<MapValueChangeListener<K, R>> listenersCopy = new ArrayList<MapValueChangeListener<K, R>>(listeners);
-        Map<K, R> unmodifiable = Collections.unmodifiableMap(newValues);
-        for (MapValueChangeListener<K, R> listener : listenersCopy) {
-            listener.valuesAdded(this, unmodifiable);
+        Object[] snapshot = listeners.getSnapshot();
+        if (snapshot.length > 0) {
+            if (batchDepth > 0) {
+                for (Map.Entry<K, R> entry : newValues.entrySet()) {
+                    recordAddedValue(entry.getKey(), entry.getValue());
+                }
+            } else {
+                fireValuesAdded(snapshot, Collections.unmodifiableMap(newValues));
+            }
+        }
+    }
+
+    /**
+     * Notifies the change listeners that a single value has been added.
+     * <p>
+     * The value is passed to the listeners as an immutable single-entry map, which is only created if there is at least
+     * one listener.
+     *
+     * @param key      Key of the added value.
+     * @param newValue Newly added value.
+     */
+    protected void doNotifyListenersOfAddedValue(K key, R newValue) {
+        Object[] snapshot = listeners.getSnapshot();
+        if (snapshot.length > 0) {
+            if (batchDepth > 0) {
+                recordAddedValue(key, newValue);
+            } else {
+                fireValuesAdded(snapshot, Collections.singletonMap(key, newValue));
+            }
+        }
+    }
+
+    /**
+     * Notifies the specified change listeners that values have been added.
+     *
+     * @param snapshot  Listeners to be notified.
+     * @param newValues Unmodifiable map of newly added values.
+     */
+    @SuppressWarnings("unchecked")
+    private void fireValuesAdded(Object[] snapshot, Map<K, R> newValues) {
+        for (Object listener : snapshot) {
+            ((MapValueChangeListener<K, R>) listener).valuesAdded(this, newValues);
         }
     }
 
     /**
      * Notifies the change listeners that values have been replaced.
      * <p>
-     * Note that the specified maps of values will be wrapped in unmodifiable maps before being passed to the listeners.
+     * Note that the specified maps of values will be wrapped in unmodifiable maps before being passed to the listeners,
+     * unless there is no listener.
      *
      * @param oldValues Previous values.
      * @param newValues New values.
      */
     protected void doNotifyListenersOfChangedValues(Map<K, R> oldValues, Map<K, R> newValues) {
-        List<MapValueChangeListener<K, R>> listenersCopy = new ArrayList<MapValueChangeListener<K, R>>(listeners);
-        Map<K, R> oldUnmodifiable = Collections.unmodifiableMap(oldValues);
-        Map<K, R> newUnmodifiable = Collections.unmodifiableMap(newValues);
-        for (MapValueChangeListener<K, R> listener : listenersCopy) {
-            listener.valuesChanged(this, oldUnmodifiable, newUnmodifiable);
+        Object[] snapshot = listeners.getSnapshot();
+        if (snapshot.length > 0) {
+            if (batchDepth > 0) {
+                for (Map.Entry<K, R> entry : newValues.entrySet()) {
+                    recordChangedValue(entry.getKey(), oldValues.get(entry.getKey()), entry.getValue());
+                }
+            } else {
+                fireValuesChanged(snapshot, Collections.unmodifiableMap(oldValues), Collections.unmodifiableMap
+                        (newValues));
+            }
+        }
+    }
+
+    /**
+     * Notifies the change listeners that a single value has been replaced.
+     * <p>
+     * The values are passed to the listeners as immutable single-entry maps, which are only created if there is at
+     * least one listener.
+     *
+     * @param key      Key of the replaced value.
+     * @param oldValue Previous value.
+     * @param newValue New value.
+     */
+    protected void doNotifyListenersOfChangedValue(K key, R oldValue, R newValue) {
+        Object[] snapshot = listeners.getSnapshot();
+        if (snapshot.length > 0) {
+            if (batchDepth > 0) {
+                recordChangedValue(key, oldValue, newValue);
+            } else {
+                fireValuesChanged(snapshot, Collections.singletonMap(key, oldValue), Collections.singletonMap(key,
+                        newValue));
+            }
+        }
+    }
+
+    /**
+     * Notifies the specified change listeners that values have been replaced.
+     *
+     * @param snapshot  Listeners to be notified.
+     * @param oldValues Unmodifiable map of previous values.
+     * @param newValues Unmodifiable map of new values.
+     */
+    @SuppressWarnings("unchecked")
+    private void fireValuesChanged(Object[] snapshot, Map<K, R> oldValues, Map<K, R> newValues) {
+        for (Object listener : snapshot) {
+            ((MapValueChangeListener<K, R>) listener).valuesChanged(this, oldValues, newValues);
         }
     }
 
@@ -118,15 +282,147 @@ public abstract class AbstractReadableMapProperty<K, R> implements ReadableMapPr
      * Notifies the change listeners that values have been removed.
      * <p>
      * Note that the specified map of values will be wrapped in an unmodifiable map before being passed to the
-     * listeners.
+     * listeners, unless there is no listener.
      *
      * @param oldValues Removed values.
      */
     protected void doNotifyListenersOfRemovedValues(Map<K, R> oldValues) {
-        List<MapValueChangeListener<K, R>> listenersCopy = new ArrayList<MapValueChangeListener<K, R>>(listeners);
-        Map<K, R> unmodifiable = Collections.unmodifiableMap(oldValues);
-        for (MapValueChangeListener<K, R> listener : listenersCopy) {
-            listener.valuesRemoved(this, unmodifiable);
+        Object[] snapshot = listeners.getSnapshot();
+        if (snapshot.length > 0) {
+            if (batchDepth > 0) {
+                for (Map.Entry<K, R> entry : oldValues.entrySet()) {
+                    recordRemovedValue(entry.getKey(), entry.getValue());
+                }
+            } else {
+                fireValuesRemoved(snapshot, Collections.unmodifiableMap(oldValues));
+            }
+        }
+    }
+
+    /**
+     * Notifies the change listeners that a single value has been removed.
+     * <p>
+     * The value is passed to the listeners as an immutable single-entry map, which is only created if there is at least
+     * one listener.
+     *
+     * @param key      Key of the removed value.
+     * @param oldValue Removed value.
+     */
+    protected void doNotifyListenersOfRemovedValue(K key, R oldValue) {
+        Object[] snapshot = listeners.getSnapshot();
+        if (snapshot.length > 0) {
+            if (batchDepth > 0) {
+                recordRemovedValue(key, oldValue);
+            } else {
+                fireValuesRemoved(snapshot, Collections.singletonMap(key, oldValue));
+            }
+        }
+    }
+
+    /**
+     * Notifies the specified change listeners that values have been removed.
+     *
+     * @param snapshot  Listeners to be notified.
+     * @param oldValues Unmodifiable map of removed values.
+     */
+    @SuppressWarnings("unchecked")
+    private void fireValuesRemoved(Object[] snapshot, Map<K, R> oldValues) {
+        for (Object listener : snapshot) {
+            ((MapValueChangeListener<K, R>) listener).valuesRemoved(this, oldValues);
+        }
+    }
+
+    /**
+     * Records the addition of a value during the current batch.
+     * <p>
+     * If a value was removed for the same key earlier in the same batch, the addition is recorded as a replacement of
+     * the removed value, or as no change at all if both values are equal.
+     *
+     * @param key      Key of the added value.
+     * @param newValue Newly added value.
+     */
+    private void recordAddedValue(K key, R newValue) {
+        if (pendingRemovedValues.containsKey(key)) {
+            R originalValue = pendingRemovedValues.remove(key);
+            if (!ValueUtils.areEqual(originalValue, newValue)) {
+                pendingChangedOldValues.put(key, originalValue);
+                pendingChangedNewValues.put(key, newValue);
+            }
+        } else {
+            pendingAddedValues.put(key, newValue);
+        }
+    }
+
+    /**
+     * Records the replacement of a value during the current batch.
+     * <p>
+     * If the value was added earlier in the same batch, it is still recorded as an addition. If the value was already
+     * replaced earlier in the same batch, the original value is kept, and the replacement is dropped if the value is
+     * restored to its original value.
+     *
+     * @param key      Key of the replaced value.
+     * @param oldValue Previous value.
+     * @param newValue New value.
+     */
+    private void recordChangedValue(K key, R oldValue, R newValue) {
+        if (pendingAddedValues.containsKey(key)) {
+            pendingAddedValues.put(key, newValue);
+        } else if (pendingChangedOldValues.containsKey(key)) {
+            if (ValueUtils.areEqual(pendingChangedOldValues.get(key), newValue)) {
+                pendingChangedOldValues.remove(key);
+                pendingChangedNewValues.remove(key);
+            } else {
+                pendingChangedNewValues.put(key, newValue);
+            }
+        } else {
+            pendingChangedOldValues.put(key, oldValue);
+            pendingChangedNewValues.put(key, newValue);
+        }
+    }
+
+    /**
+     * Records the removal of a value during the current batch.
+     * <p>
+     * If the value was added earlier in the same batch, both the addition and the removal cancel out. If the value was
+     * replaced earlier in the same batch, the original value is recorded as removed.
+     *
+     * @param key      Key of the removed value.
+     * @param oldValue Removed value.
+     */
+    private void recordRemovedValue(K key, R oldValue) {
+        if (pendingAddedValues.containsKey(key)) {
+            pendingAddedValues.remove(key);
+        } else if (pendingChangedOldValues.containsKey(key)) {
+            pendingRemovedValues.put(key, pendingChangedOldValues.remove(key));
+            pendingChangedNewValues.remove(key);
+        } else {
+            pendingRemovedValues.put(key, oldValue);
+        }
+    }
+
+    /**
+     * Fires all the changes recorded during the batch that has just been committed.
+     */
+    private void firePendingChanges() {
+        Map<K, R> removedValues = new HashMap<K, R>(pendingRemovedValues);
+        Map<K, R> changedOldValues = new HashMap<K, R>(pendingChangedOldValues);
+        Map<K, R> changedNewValues = new HashMap<K, R>(pendingChangedNewValues);
+        Map<K, R> addedValues = new HashMap<K, R>(pendingAddedValues);
+        pendingRemovedValues.clear();
+        pendingChangedOldValues.clear();
+        pendingChangedNewValues.clear();
+        pendingAddedValues.clear();
+
+        Object[] snapshot = listeners.getSnapshot();
+        if (!removedValues.isEmpty()) {
+            fireValuesRemoved(snapshot, Collections.unmodifiableMap(removedValues));
+        }
+        if (!changedNewValues.isEmpty()) {
+            fireValuesChanged(snapshot, Collections.unmodifiableMap(changedOldValues), Collections.unmodifiableMap
+                    (changedNewValues));
+        }
+        if (!addedValues.isEmpty()) {
+            fireValuesAdded(snapshot, Collections.unmodifiableMap(addedValues));
         }
     }
 }
@@ -27,12 +27,16 @@ package com.google.code.validationframework.base.property;
 
 import com.google.code.validationframework.api.property.ReadableProperty;
 import com.google.code.validationframework.api.property.ValueChangeListener;
-import com.google.code.validationframework.base.utils.ValueUtils;
+import com.google.code.validationframework.api.property.VersionedReadableProperty;
+import com.google.code.validationframework.base.binding.BondListener;
+import com.google.code.validationframework.base.binding.BondPropagator;
+import com.google.code.validationframework.base.common.CopyOnWriteListenerList;
+import com.google.code.validationframework.base.common.EqualityStrategy;
+import com.google.code.validationframework.base.common.IdentityEqualityStrategy;
+import com.google.code.validationframework.base.common.ValueEqualityStrategy;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.List;
 
 /**
  * Abstract implementation of a {@link ReadableProperty}.
@@ -48,16 +52,30 @@ import java.util.List;
  * <p>
  * By default, the property is not inhibited.
  * <p>
+ * The changes of value are detected using a pluggable {@link EqualityStrategy}. By default, the values are compared
+ * using a {@link ValueEqualityStrategy}. For large immutable values, an {@link IdentityEqualityStrategy} avoids the
+ * deep comparison. Sub-classes that already know that the value changed can also skip the comparison entirely by
+ * calling {@link #notifyListenersOfChange(Object, Object)}.
+ * <p>
+ * The property value is stamped with a version number, incremented whenever a change of value is detected, so that
+ * consumers can cheaply check whether the value changed since a known version.
+ * <p>
  * Note that this class is not thread-safe.
  *
  * @param <R> Type of data that can be read from this property.
  */
-public abstract class AbstractReadableProperty<R> implements ReadableProperty<R> {
+public abstract class AbstractReadableProperty<R> implements VersionedReadableProperty<R> {
+
+    /**
+     * Default strategy used to detect the changes of value.
+     */
+    private static final EqualityStrategy<Object> DEFAULT_CHANGE_DETECTION_STRATEGY = new ValueEqualityStrategy();
 
     /**
      * Writable properties to be updated.
      */
-    private final List<ValueChangeListener<R>> listeners = new ArrayList<ValueChangeListener<R>>();
+    private final CopyOnWriteListenerList<ValueChangeListener<R>> listeners = new
+            CopyOnWriteListenerList<ValueChangeListener<R>>();
 
     /**
      * Flag stating whether the inhibit the firing of value change events.
@@ -92,6 +110,16 @@ public abstract class AbstractReadableProperty<R> implements ReadableProperty<R>
      */
     private boolean notifyingListeners = false;
 
+    /**
+     * Strategy used to detect the changes of value.
+     */
+    private EqualityStrategy<? super R> changeDetectionStrategy = DEFAULT_CHANGE_DETECTION_STRATEGY;
+
+    /**
+     * Version of the property value.
+     */
+    private long version = 0;
+
     /**
      * Gets the registered value change listeners.
      * <p>
@@ -119,6 +147,49 @@ public abstract class AbstractReadableProperty<R> implements ReadableProperty<R>
         listeners.remove(listener);
     }
 
+    /**
+     * @see VersionedReadableProperty#getVersion()
+     */
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Increments the version of the property value, without notifying the listeners.
+     * <p>
+     * Sub-classes whose value may change without notifying the listeners, for instance because it is only computed
+     * when read, should call this method whenever the value may have changed, so that the version still reflects it.
+     *
+     * @see #getVersion()
+     */
+    protected void incrementVersion() {
+        version++;
+    }
+
+    /**
+     * Gets the strategy used to detect the changes of value.
+     *
+     * @return Change detection strategy.
+     */
+    public EqualityStrategy<? super R> getChangeDetectionStrategy() {
+        return changeDetectionStrategy;
+    }
+
+    /**
+     * Sets the strategy used to detect the changes of value.
+     *
+     * @param changeDetectionStrategy Change detection strategy, or null to use the default {@link
+     *                                ValueEqualityStrategy}.
+     */
+    public void setChangeDetectionStrategy(EqualityStrategy<? super R> changeDetectionStrategy) {
+        if (changeDetectionStrategy == null) {
+            this.changeDetectionStrategy = DEFAULT_CHANGE_DETECTION_STRATEGY;
+        } else {
+            this.changeDetectionStrategy = changeDetectionStrategy;
+        }
+    }
+
     /**
      * States whether this property is inhibited.
      *
@@ -138,8 +209,9 @@ public abstract class AbstractReadableProperty<R> implements ReadableProperty<R>
         this.inhibited = inhibited;
 
         if (wasInhibited && !inhibited) {
-            if (inhibitCount > 0) {
-                maybeNotifyListeners(lastNonInhibitedValue, lastInhibitedValue);
+            // The version was already incremented for the inhibited changes
+            if ((inhibitCount > 0) && !changeDetectionStrategy.areEqual(lastNonInhibitedValue, lastInhibitedValue)) {
+                notifyListenersIfUninhibited(lastNonInhibitedValue, lastInhibitedValue);
             }
             inhibitCount = 0;
         }
@@ -156,15 +228,32 @@ public abstract class AbstractReadableProperty<R> implements ReadableProperty<R>
      * @param oldValue Previous value.
      * @param newValue New value.
      *
-     * @see #notifyListenersIfUninhibited(Object, Object)
-     * @see #doNotifyListeners(Object, Object)
+     * @see #getChangeDetectionStrategy()
+     * @see #notifyListenersOfChange(Object, Object)
      */
     protected void maybeNotifyListeners(R oldValue, R newValue) {
-        if (!ValueUtils.areEqual(oldValue, newValue)) {
-            notifyListenersIfUninhibited(oldValue, newValue);
+        if (!changeDetectionStrategy.areEqual(oldValue, newValue)) {
+            notifyListenersOfChange(oldValue, newValue);
         }
     }
 
+    /**
+     * Increments the version and notifies the listeners that the property value has changed, if the property is not
+     * inhibited, without comparing the old and new values.
+     * <p>
+     * Sub-classes may call this method instead of {@link #maybeNotifyListeners(Object, Object)} when they already know
+     * that the value changed, so that no comparison is made.
+     *
+     * @param oldValue Previous value.
+     * @param newValue New value.
+     *
+     * @see #maybeNotifyListeners(Object, Object)
+     */
+    protected void notifyListenersOfChange(R oldValue, R newValue) {
+        version++;
+        notifyListenersIfUninhibited(oldValue, newValue);
+    }
+
     /**
      * Notifies the listeners that the property value has changed, if the property is not inhibited.
      *
@@ -196,16 +285,63 @@ public abstract class AbstractReadableProperty<R> implements ReadableProperty<R>
 
     /**
      * Notifies the listeners that the property value has changed, unconditionally.
+     * <p>
+     * The listeners are notified from a snapshot of the copy-on-write listener list, so that no copy of the list needs
+     * to be made, even if listeners are added or removed during the notification.
+     * <p>
+     * The listeners are notified in the order they were added. However, the bond listeners added one after the other
+     * are notified within a single propagation pass, so that none of their bonds is evaluated before the others are
+     * scheduled. The pass is committed before the next listener is notified, so that this listener sees the slaves of
+     * these bonds already updated.
      *
      * @param oldValue Previous value.
      * @param newValue New value.
+     *
+     * @see BondListener
+     * @see BondPropagator
      */
     private void doNotifyListeners(R oldValue, R newValue) {
-        List<ValueChangeListener<R>> listenersCopy = new ArrayList<ValueChangeListener<R>>(listeners);
-        notifyingListeners = true;
-        for (ValueChangeListener<R> listener : listenersCopy) {
-            listener.valueChanged(this, oldValue, newValue);
+        Object[] snapshot = listeners.getSnapshot();
+        if (snapshot.length > 0) {
+            notifyingListeners = true;
+            boolean passInProgress = false;
+            try {
+                for (Object listener : snapshot) {
+                    if (listener instanceof BondListener) {
+                        if (!passInProgress) {
+                            BondPropagator.beginPass();
+                            passInProgress = true;
+                        }
+                    } else if (passInProgress) {
+                        passInProgress = false;
+                        BondPropagator.commitPass();
+                    }
+                    notifyListener(listener, oldValue, newValue);
+                }
+
+                if (passInProgress) {
+                    passInProgress = false;
+                    BondPropagator.commitPass();
+                }
+            } finally {
+                if (passInProgress) {
+                    // A listener failed: close the pass without replacing its exception
+                    BondPropagator.commitPassAfterFailure();
+                }
+                notifyingListeners = false;
+            }
         }
-        notifyingListeners = false;
+    }
+
+    /**
+     * Notifies the specified listener that the property value has changed.
+     *
+     * @param listener Listener to be notified.
+     * @param oldValue Previous value.
+     * @param newValue New value.
+     */
+    @SuppressWarnings("unchecked")
+    private void notifyListener(Object listener, R oldValue, R newValue) {
+        ((ValueChangeListener<R>) listener).valueChanged(this, oldValue, newValue);
     }
 }
@@ -27,14 +27,20 @@ package com.google.code.validationframework.base.property;
 
 import com.google.code.validationframework.api.property.ReadableSetProperty;
 import com.google.code.validationframework.api.property.SetValueChangeListener;
+import com.google.code.validationframework.base.common.CopyOnWriteListenerList;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.List;
+import java.util.HashSet;
 import java.util.Set;
 
 /**
  * Abstract implementation of a {@link ReadableSetProperty}.
+ * <p>
+ * This abstract implementation allows to group several modifications in a batch, using {@link #beginBatch()} and
+ * {@link #commitBatch()}. While a batch is in progress, the change events are not fired but recorded: items that are
+ * added and then removed in the same batch (or the other way around) cancel out. When the batch is committed, at most
+ * one event for all the removed items and one event for all the added items are fired.
  *
  * @param <R> Type of values that can be read from this set.
  */
@@ -43,7 +49,23 @@ public abstract class AbstractReadableSetProperty<R> implements ReadableSetPrope
     /**
      * Listeners to changes in the list property.
      */
-    private final List<SetValueChangeListener<R>> listeners = new ArrayList<SetValueChangeListener<R>>();
+    private final CopyOnWriteListenerList<SetValueChangeListener<R>> listeners = new
+            CopyOnWriteListenerList<SetValueChangeListener<R>>();
+
+    /**
+     * Number of batches currently in progress.
+     */
+    private int batchDepth = 0;
+
+    /**
+     * Items added during the current batch.
+     */
+    private final Set<R> pendingAddedItems = new HashSet<R>();
+
+    /**
+     * Items removed during the current batch.
+     */
+    private final Set<R> pendingRemovedItems = new HashSet<R>();
 
     /**
      * Default constructor adding no listener.
@@ -80,29 +102,204 @@ public abstract class AbstractReadableSetProperty<R> implements ReadableSetPrope
         listeners.remove(listener);
     }
 
+    /**
+     * Begins a batch of modifications.
+     * <p>
+     * Until the batch is committed, the change events will be recorded and coalesced instead of being fired. Batches
+     * can be nested: the events are fired only when the outermost batch is committed.
+     * <p>
+     * It is recommended to commit the batch in a finally block.
+     *
+     * @see #commitBatch()
+     */
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * Commits the current batch of modifications.
+     * <p>
+     * If this was the outermost batch, the recorded change events will be fired to the listeners.
+     *
+     * @see #beginBatch()
+     */
+    public void commitBatch() {
+        if (batchDepth > 0) {
+            batchDepth--;
+            if (batchDepth == 0) {
+                firePendingChanges();
+            }
+        }
+    }
+
+    /**
+     * States whether a batch of modifications is in progress.
+     *
+     * @return True if the change events are currently recorded, false if they are fired immediately.
+     */
+    public boolean isBatchInProgress() {
+        return batchDepth > 0;
+    }
+
+    /**
+     * States whether at least one change listener is registered.
+     * <p>
+     * Sub-classes can use this method to avoid building the sets of items to be passed to the listeners when there is
+     * no listener to be notified.
+     *
+     * @return True if there are listeners to be notified, false otherwise.
+     */
+    protected boolean hasValueChangeListeners() {
+        return !listeners.isEmpty();
+    }
+
     /**
      * Notifies the change listeners that items have been added.
+     * <p>
+     * Note that the specified set of items will be wrapped in an unmodifiable set before being passed to the
+     * listeners, unless there is no listener.
      *
      * @param newItems Newly added items.
      */
     protected void doNotifyListenersOfAddedValues(Set<R> newItems) {
-        List<SetValueChangeListener<R>> listenersCopy = new ArrayList<SetValueChangeListener<R>>(listeners);
-        Set<R> unmodifiable = Collections.unmodifiableSet(newItems);
-        for (SetValueChangeListener<R> listener : listenersCopy) {
-            listener.valuesAdded(this, unmodifiable);
+        Object[] snapshot = listeners.getSnapshot();
+        if (snapshot.length > 0) {
+            if (batchDepth > 0) {
+                recordAddedValues(newItems);
+            } else {
+                fireValuesAdded(snapshot, Collections.unmodifiableSet(newItems));
+            }
+        }
+    }
+
+    /**
+     * Notifies the change listeners that a single item has been added.
+     * <p>
+     * The item is passed to the listeners as an immutable single-entry set, which is only created if there is at least
+     * one listener.
+     *
+     * @param newItem Newly added item.
+     */
+    protected void doNotifyListenersOfAddedValue(R newItem) {
+        Object[] snapshot = listeners.getSnapshot();
+        if (snapshot.length > 0) {
+            if (batchDepth > 0) {
+                recordAddedValues(Collections.singleton(newItem));
+            } else {
+                fireValuesAdded(snapshot, Collections.singleton(newItem));
+            }
+        }
+    }
+
+    /**
+     * Notifies the specified change listeners that items have been added.
+     *
+     * @param snapshot Listeners to be notified.
+     * @param newItems Unmodifiable set of newly added items.
+     */
+    @SuppressWarnings("unchecked")
+    private void fireValuesAdded(Object[] snapshot, Set<R> newItems) {
+        for (Object listener : snapshot) {
+            ((SetValueChangeListener<R>) listener).valuesAdded(this, newItems);
         }
     }
 
     /**
      * Notifies the change listeners that items have been removed.
+     * <p>
+     * Note that the specified set of items will be wrapped in an unmodifiable set before being passed to the
+     * listeners, unless there is no listener.
      *
      * @param oldItems Removed items.
      */
     protected void doNotifyListenersOfRemovedValues(Set<R> oldItems) {
-        List<SetValueChangeListener<R>> listenersCopy = new ArrayList<SetValueChangeListener<R>>(listeners);
-        Set<R> unmodifiable = Collections.unmodifiableSet(oldItems);
-        for (SetValueChangeListener<R> listener : listenersCopy) {
-            listener.valuesRemoved(this, unmodifiable);
+        Object[] snapshot = listeners.getSnapshot();
+        if (snapshot.length > 0) {
+            if (batchDepth > 0) {
+                recordRemovedValues(oldItems);
+            } else {
+                fireValuesRemoved(snapshot, Collections.unmodifiableSet(oldItems));
+            }
+        }
+    }
+
+    /**
+     * Notifies the change listeners that a single item has been removed.
+     * <p>
+     * The item is passed to the listeners as an immutable single-entry set, which is only created if there is at least
+     * one listener.
+     *
+     * @param oldItem Removed item.
+     */
+    protected void doNotifyListenersOfRemovedValue(R oldItem) {
+        Object[] snapshot = listeners.getSnapshot();
+        if (snapshot.length > 0) {
+            if (batchDepth > 0) {
+                recordRemovedValues(Collections.singleton(oldItem));
+            } else {
+                fireValuesRemoved(snapshot, Collections.singleton(oldItem));
+            }
+        }
+    }
+
+    /**
+     * Notifies the specified change listeners that items have been removed.
+     *
+     * @param snapshot Listeners to be notified.
+     * @param oldItems Unmodifiable set of removed items.
+     */
+    @SuppressWarnings("unchecked")
+    private void fireValuesRemoved(Object[] snapshot, Set<R> oldItems) {
+        for (Object listener : snapshot) {
+            ((SetValueChangeListener<R>) listener).valuesRemoved(this, oldItems);
+        }
+    }
+
+    /**
+     * Records the addition of items during the current batch.
+     * <p>
+     * Items that were removed earlier in the same batch are considered as not changed.
+     *
+     * @param newItems Newly added items.
+     */
+    private void recordAddedValues(Collection<R> newItems) {
+        for (R item : newItems) {
+            if (!pendingRemovedItems.remove(item)) {
+                pendingAddedItems.add(item);
+            }
+        }
+    }
+
+    /**
+     * Records the removal of items during the current batch.
+     * <p>
+     * Items that were added earlier in the same batch are considered as not changed.
+     *
+     * @param oldItems Removed items.
+     */
+    private void recordRemovedValues(Collection<R> oldItems) {
+        for (R item : oldItems) {
+            if (!pendingAddedItems.remove(item)) {
+                pendingRemovedItems.add(item);
+            }
+        }
+    }
+
+    /**
+     * Fires all the changes recorded during the batch that has just been committed.
+     */
+    private void firePendingChanges() {
+        Set<R> removedItems = new HashSet<R>(pendingRemovedItems);
+        Set<R> addedItems = new HashSet<R>(pendingAddedItems);
+        pendingRemovedItems.clear();
+        pendingAddedItems.clear();
+
+        Object[] snapshot = listeners.getSnapshot();
+        if (!removedItems.isEmpty()) {
+            fireValuesRemoved(snapshot, Collections.unmodifiableSet(removedItems));
+        }
+        if (!addedItems.isEmpty()) {
+            fireValuesAdded(snapshot, Collections.unmodifiableSet(addedItems));
         }
     }
 }
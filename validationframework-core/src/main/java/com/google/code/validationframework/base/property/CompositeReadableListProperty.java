@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.property;
+
+import com.google.code.validationframework.api.common.Disposable;
+import com.google.code.validationframework.api.property.ListValueChangeListener;
+import com.google.code.validationframework.api.property.ReadableListProperty;
+import com.google.code.validationframework.api.property.ReadableProperty;
+import com.google.code.validationframework.api.property.ValueChangeListener;
+import com.google.code.validationframework.base.utils.ValueUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * {@link ReadableListProperty} gathering several other readable properties of the same type, and updated
+ * incrementally.
+ * <p>
+ * Each item of this list property is the current value of the sub-property at the same index. Whenever a sub-property
+ * changes, only the corresponding item is updated, and a single {@link ListValueChangeListener#valuesChanged} event is
+ * fired with the index of the sub-property. Listeners, like incremental aggregators, can therefore update themselves
+ * in constant time, whatever the number of sub-properties.
+ * <p>
+ * Contrary to the {@link CompositeReadableProperty}, no new collection of values is created and no collection of values
+ * is compared on every change: the change detection is done only on the value of the changed sub-property.
+ * <p>
+ * Note that the same sub-property can be added several times: it will then be represented by several items.
+ * <p>
+ * Note that this class is not thread-safe.
+ *
+ * @param <R> Type of data that can be read from the sub-properties.
+ *
+ * @see CompositeReadableProperty
+ */
+public class CompositeReadableListProperty<R> extends AbstractReadableListProperty<R> implements Disposable {
+
+    /**
+     * Listener to changes in the sub-property at a specific index.
+     */
+    private class SlotAdapter implements ValueChangeListener<R> {
+
+        /**
+         * Sub-property.
+         */
+        private final ReadableProperty<R> property;
+
+        /**
+         * Current index of the sub-property in this list property.
+         */
+        private int index;
+
+        /**
+         * Constructor specifying the sub-property and its index.
+         *
+         * @param property Sub-property.
+         * @param index    Index of the sub-property in this list property.
+         */
+        public SlotAdapter(ReadableProperty<R> property, int index) {
+            this.property = property;
+            this.index = index;
+        }
+
+        /**
+         * @see ValueChangeListener#valueChanged(ReadableProperty, Object, Object)
+         */
+        @Override
+        public void valueChanged(ReadableProperty<R> property, R oldValue, R newValue) {
+            R oldItem = values.get(index);
+            if (!ValueUtils.areEqual(oldItem, newValue)) {
+                values.set(index, newValue);
+                doNotifyListenersOfChangedValue(index, oldItem, newValue);
+            }
+        }
+    }
+
+    /**
+     * Listeners to the sub-properties, in the same order as the sub-properties.
+     */
+    private final List<SlotAdapter> slots = new ArrayList<SlotAdapter>();
+
+    /**
+     * Current values of the sub-properties, in the same order as the sub-properties.
+     */
+    private final List<R> values = new ArrayList<R>();
+
+    /**
+     * Read-only version of the current values.
+     */
+    private final List<R> unmodifiable = Collections.unmodifiableList(values);
+
+    /**
+     * Default constructor.
+     */
+    public CompositeReadableListProperty() {
+        super();
+    }
+
+    /**
+     * Constructor specifying the sub-properties to be added.
+     *
+     * @param properties Sub-properties to be added.
+     */
+    public CompositeReadableListProperty(Collection<? extends ReadableProperty<R>> properties) {
+        super();
+
+        for (ReadableProperty<R> property : properties) {
+            addProperty(property);
+        }
+    }
+
+    /**
+     * Constructor specifying the sub-properties to be added.
+     *
+     * @param properties Sub-properties to be added.
+     */
+    public CompositeReadableListProperty(ReadableProperty<R>... properties) {
+        super();
+
+        for (ReadableProperty<R> property : properties) {
+            addProperty(property);
+        }
+    }
+
+    /**
+     * Gets all sub-properties.
+     *
+     * @return List containing all sub-properties, in the same order as their values.
+     */
+    public List<ReadableProperty<R>> getProperties() {
+        List<ReadableProperty<R>> properties = new ArrayList<ReadableProperty<R>>(slots.size());
+        for (SlotAdapter slot : slots) {
+            properties.add(slot.property);
+        }
+        return properties;
+    }
+
+    /**
+     * Adds the specified sub-property at the end of the list.
+     * <p>
+     * This will notify the listeners of the added value.
+     *
+     * @param property Sub-property to be added.
+     */
+    public void addProperty(ReadableProperty<R> property) {
+        int index = slots.size();
+        SlotAdapter slot = new SlotAdapter(property, index);
+        slots.add(slot);
+        R value = property.getValue();
+        values.add(value);
+        property.addValueChangeListener(slot);
+        doNotifyListenersOfAddedValue(index, value);
+    }
+
+    /**
+     * Removes the first occurrence of the specified sub-property.
+     * <p>
+     * This will notify the listeners of the removed value.
+     *
+     * @param property Sub-property to be removed.
+     *
+     * @see #clear()
+     */
+    public void removeProperty(ReadableProperty<R> property) {
+        int index = indexOfProperty(property);
+        if (index >= 0) {
+            SlotAdapter slot = slots.remove(index);
+            property.removeValueChangeListener(slot);
+            R oldValue = values.remove(index);
+
+            // Shift the indices of the following sub-properties
+            for (int i = index; i < slots.size(); i++) {
+                slots.get(i).index = i;
+            }
+
+            doNotifyListenersOfRemovedValue(index, oldValue);
+        }
+    }
+
+    /**
+     * Removes all sub-properties.
+     * <p>
+     * This will notify the listeners of the removed values, in a single event.
+     *
+     * @see #removeProperty(ReadableProperty)
+     */
+    public void clear() {
+        if (!slots.isEmpty()) {
+            unhookFromProperties();
+            if (hasValueChangeListeners()) {
+                List<R> oldValues = new ArrayList<R>(values);
+                values.clear();
+                doNotifyListenersOfRemovedValues(0, oldValues);
+            } else {
+                values.clear();
+            }
+        }
+    }
+
+    /**
+     * Stops listening to the sub-properties and removes them, without notifying the listeners.
+     *
+     * @see Disposable#dispose()
+     */
+    @Override
+    public void dispose() {
+        unhookFromProperties();
+        values.clear();
+    }
+
+    /**
+     * Gets the index of the first occurrence of the specified sub-property.
+     *
+     * @param property Sub-property to be looked up.
+     *
+     * @return Index of the sub-property, or -1 if it was not found.
+     */
+    private int indexOfProperty(ReadableProperty<R> property) {
+        int index = -1;
+        for (int i = 0; (i < slots.size()) && (index < 0); i++) {
+            if (slots.get(i).property == property) {
+                index = i;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Stops listening to all sub-properties and forgets about them.
+     */
+    private void unhookFromProperties() {
+        for (SlotAdapter slot : slots) {
+            slot.property.removeValueChangeListener(slot);
+        }
+        slots.clear();
+    }
+
+    /**
+     * @see ReadableListProperty#size()
+     */
+    @Override
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * @see ReadableListProperty#isEmpty()
+     */
+    @Override
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    /**
+     * @see ReadableListProperty#get(int)
+     */
+    @Override
+    public R get(int index) {
+        return values.get(index);
+    }
+
+    /**
+     * @see ReadableListProperty#contains(Object)
+     */
+    @Override
+    public boolean contains(Object item) {
+        return values.contains(item);
+    }
+
+    /**
+     * @see ReadableListProperty#containsAll(Collection)
+     */
+    @Override
+    public boolean containsAll(Collection<?> items) {
+        return values.containsAll(items);
+    }
+
+    /**
+     * @see ReadableListProperty#asUnmodifiableList()
+     */
+    @Override
+    public List<R> asUnmodifiableList() {
+        return unmodifiable;
+    }
+
+    /**
+     * @see ReadableListProperty#iterator()
+     */
+    @Override
+    public Iterator<R> iterator() {
+        return unmodifiable.iterator();
+    }
+}
@@ -41,8 +41,15 @@ import java.util.List;
  * from this property will return the collection of values from all sub-properties.
  * <p>
  * The value returned by {@link #getValue()} will never be null, but it may very well be an empty collection.
+ * <p>
+ * Note that a new collection of values is created whenever a sub-property changes. However, it is not compared to the
+ * previous one, as the change of the sub-property is enough to know that the collection of values changed.
+ * For a large number of sub-properties, consider using a {@link CompositeReadableListProperty} instead, which is
+ * updated incrementally and fires index-aware change events.
  *
  * @param <R> Type of data that can be read from the sub-properties.
+ *
+ * @see CompositeReadableListProperty
  */
 public class CompositeReadableProperty<R> extends AbstractReadableProperty<Collection<R>> {
 
@@ -138,6 +145,9 @@ public class CompositeReadableProperty<R> extends AbstractReadableProperty<Colle
      * @see #removeProperty(ReadableProperty)
      */
     public void clear() {
+        for (ReadableProperty<R> property : properties) {
+            property.removeValueChangeListener(changeAdapter);
+        }
         properties.clear();
         updateFromProperties();
     }
@@ -153,28 +163,34 @@ public class CompositeReadableProperty<R> extends AbstractReadableProperty<Colle
     }
 
     /**
-     * Sets the new collection of values to be returned by {@link #getValue()}.
-     *
-     * @param values New collection of values.
+     * Updates the current collection of values from the sub-properties and notifies the listeners, if the collection
+     * of values changed.
      */
-    private void setValue(Collection<R> values) {
-        Collection<R> oldValues = this.values;
-        this.values = values;
-        maybeNotifyListeners(oldValues, values);
+    private void updateFromProperties() {
+        updateFromProperties(false);
     }
 
     /**
      * Updates the current collection of values from the sub-properties and notifies the listeners.
+     *
+     * @param changed True if the collection of values is known to have changed, so that the old and new collections do
+     *                not need to be compared, false otherwise.
      */
-    private void updateFromProperties() {
+    private void updateFromProperties(boolean changed) {
         // Get value from all properties: use a new collection so that equals() returns false
-        List<R> newValues = new ArrayList<R>();
+        List<R> newValues = new ArrayList<R>(properties.size());
         for (ReadableProperty<R> master : properties) {
             newValues.add(master.getValue());
         }
 
         // Notify slaves
-        setValue(newValues);
+        Collection<R> oldValues = values;
+        values = newValues;
+        if (changed) {
+            notifyListenersOfChange(oldValues, newValues);
+        } else {
+            maybeNotifyListeners(oldValues, newValues);
+        }
     }
 
     /**
@@ -189,8 +205,9 @@ public class CompositeReadableProperty<R> extends AbstractReadableProperty<Colle
          */
         @Override
         public void valueChanged(ReadableProperty<R> property, R oldValue, R newValue) {
+            // One of the values changed, so the collection of values changed as well
             if (!ValueUtils.areEqual(oldValue, newValue)) {
-                updateFromProperties();
+                updateFromProperties(true);
             }
         }
     }
@@ -32,12 +32,18 @@ import com.google.code.validationframework.base.utils.ValueUtils;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Set;
 
 /**
  * Readable/writable list property backed by a {@link List}.
+ * <p>
+ * Bulk modifications, such as {@link #removeAll(Collection)} and {@link #retainAll(Collection)}, are performed in a
+ * single pass and fire one change event per range of contiguous items. Several modifications can also be grouped using
+ * {@link #beginBatch()} and {@link #commitBatch()} to fire a minimal set of coalesced change events.
  *
  * @param <T> Type of values handled by this list property and the proxied list.
  */
@@ -133,9 +139,7 @@ public class SimpleListProperty<T> extends AbstractReadableWritableListProperty<
         T oldItem = internal.set(index, item);
 
         if (!ValueUtils.areEqual(oldItem, item)) {
-            List<T> oldItems = Collections.unmodifiableList(Collections.singletonList(oldItem));
-            List<T> newItems = Collections.unmodifiableList(Collections.singletonList(item));
-            doNotifyListenersOfChangedValues(index, oldItems, newItems);
+            doNotifyListenersOfChangedValue(index, oldItem, item);
         }
 
         return oldItem;
@@ -150,8 +154,7 @@ public class SimpleListProperty<T> extends AbstractReadableWritableListProperty<
         boolean added = internal.add(item);
 
         if (added) {
-            doNotifyListenersOfAddedValues(internal.size() - 1, Collections.unmodifiableList(Collections.singletonList
-                    (item)));
+            doNotifyListenersOfAddedValue(internal.size() - 1, item);
         }
 
         return added;
@@ -164,7 +167,7 @@ public class SimpleListProperty<T> extends AbstractReadableWritableListProperty<
     @Override
     public void add(int index, T item) {
         internal.add(index, item);
-        doNotifyListenersOfAddedValues(index, Collections.singletonList(item));
+        doNotifyListenersOfAddedValue(index, item);
     }
 
     /**
@@ -187,7 +190,7 @@ public class SimpleListProperty<T> extends AbstractReadableWritableListProperty<
     @Override
     public T remove(int index) {
         T oldItem = internal.remove(index);
-        doNotifyListenersOfRemovedValues(index, Collections.singletonList(oldItem));
+        doNotifyListenersOfRemovedValue(index, oldItem);
         return oldItem;
     }
 
@@ -199,7 +202,9 @@ public class SimpleListProperty<T> extends AbstractReadableWritableListProperty<
     public boolean addAll(Collection<? extends T> items) {
         int firstIndex = internal.size();
         boolean added = internal.addAll(items);
-        doNotifyListenersOfAddedValues(firstIndex, new ArrayList<T>(items));
+        if (hasValueChangeListeners()) {
+            doNotifyListenersOfAddedValues(firstIndex, new ArrayList<T>(items));
+        }
         return added;
     }
 
@@ -210,7 +215,9 @@ public class SimpleListProperty<T> extends AbstractReadableWritableListProperty<
     @Override
     public boolean addAll(int index, Collection<? extends T> items) {
         boolean added = internal.addAll(index, items);
-        doNotifyListenersOfAddedValues(index, new ArrayList<T>(items));
+        if (hasValueChangeListeners()) {
+            doNotifyListenersOfAddedValues(index, new ArrayList<T>(items));
+        }
         return added;
     }
 
@@ -220,11 +227,7 @@ public class SimpleListProperty<T> extends AbstractReadableWritableListProperty<
      */
     @Override
     public boolean removeAll(Collection<?> items) {
-        boolean removed = false;
-        for (Object item : items) {
-            removed |= remove(item);
-        }
-        return removed;
+        return removeItems(items, true);
     }
 
     /**
@@ -233,15 +236,67 @@ public class SimpleListProperty<T> extends AbstractReadableWritableListProperty<
      */
     @Override
     public boolean retainAll(Collection<?> items) {
-        Collection<T> toBeRemoved = new ArrayList<T>();
+        return removeItems(items, false);
+    }
+
+    /**
+     * Removes, in a single pass, all the items that are contained or not contained in the specified collection.
+     * <p>
+     * One change event is fired per range of contiguous removed items, after all the items have been removed.
+     *
+     * @param items     Items to be looked up.
+     * @param contained True to remove the items contained in the specified collection, false to remove the items not
+     *                  contained in the specified collection.
+     *
+     * @return True if at least one item was removed, false otherwise.
+     */
+    private boolean removeItems(Collection<?> items, boolean contained) {
+        // Make the look-up in constant time
+        Collection<?> lookUp = items;
+        if (!(items instanceof Set)) {
+            lookUp = new HashSet<Object>(items);
+        }
+
+        boolean notify = hasValueChangeListeners();
+        List<T> keptItems = new ArrayList<T>(internal.size());
+        List<T> removedRange = null;
+        int removedRangeStartIndex = 0;
+        boolean removed = false;
 
-        for (T item : internal) {
-            if (!items.contains(item)) {
-                toBeRemoved.add(item);
+        beginBatch();
+        try {
+            for (T item : internal) {
+                if (lookUp.contains(item) == contained) {
+                    removed = true;
+                    if (notify && (removedRange == null)) {
+                        removedRange = new ArrayList<T>();
+                        removedRangeStartIndex = keptItems.size();
+                    }
+                    if (removedRange != null) {
+                        removedRange.add(item);
+                    }
+                } else {
+                    if (removedRange != null) {
+                        doNotifyListenersOfRemovedValues(removedRangeStartIndex, removedRange);
+                        removedRange = null;
+                    }
+                    keptItems.add(item);
+                }
             }
+            if (removedRange != null) {
+                doNotifyListenersOfRemovedValues(removedRangeStartIndex, removedRange);
+            }
+
+            if (removed) {
+                internal.clear();
+                internal.addAll(keptItems);
+            }
+        } finally {
+            // Fire the change events only after the list has been updated
+            commitBatch();
         }
 
-        return removeAll(toBeRemoved);
+        return removed;
     }
 
     /**
@@ -251,9 +306,13 @@ public class SimpleListProperty<T> extends AbstractReadableWritableListProperty<
     @Override
     public void clear() {
         if (!internal.isEmpty()) {
-            List<T> removed = new ArrayList<T>(internal);
-            internal.clear();
-            doNotifyListenersOfRemovedValues(0, removed);
+            if (hasValueChangeListeners()) {
+                List<T> removed = new ArrayList<T>(internal);
+                internal.clear();
+                doNotifyListenersOfRemovedValues(0, removed);
+            } else {
+                internal.clear();
+            }
         }
     }
 
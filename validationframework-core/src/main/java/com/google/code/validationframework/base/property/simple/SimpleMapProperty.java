@@ -155,17 +155,11 @@ public class SimpleMapProperty<K, V> extends AbstractReadableWritableMapProperty
         if (alreadyExists) {
             // Changed existing entry
             if (!ValueUtils.areEqual(oldValue, value)) {
-                Map<K, V> oldValues = new HashMap<K, V>();
-                oldValues.put(key, oldValue);
-                Map<K, V> newValues = new HashMap<K, V>();
-                newValues.put(key, value);
-                doNotifyListenersOfChangedValues(oldValues, newValues);
+                doNotifyListenersOfChangedValue(key, oldValue, value);
             }
         } else {
             // Added new entry
-            Map<K, V> added = new HashMap<K, V>();
-            added.put(key, value);
-            doNotifyListenersOfAddedValues(added);
+            doNotifyListenersOfAddedValue(key, value);
         }
 
         return oldValue;
@@ -218,9 +212,7 @@ public class SimpleMapProperty<K, V> extends AbstractReadableWritableMapProperty
             previousValue = internal.remove(key);
 
             try {
-                Map<K, V> removed = new HashMap<K, V>();
-                removed.put((K) key, previousValue);
-                doNotifyListenersOfRemovedValues(removed);
+                doNotifyListenersOfRemovedValue((K) key, previousValue);
             } catch (ClassCastException e) {
                 // Just in case
                 LOGGER.error("Inconsistent type of key: " + key);
@@ -236,9 +228,13 @@ public class SimpleMapProperty<K, V> extends AbstractReadableWritableMapProperty
     @Override
     public void clear() {
         if (!internal.isEmpty()) {
-            Map<K, V> removed = new HashMap<K, V>(internal);
-            internal.clear();
-            doNotifyListenersOfRemovedValues(removed);
+            if (hasValueChangeListeners()) {
+                Map<K, V> removed = new HashMap<K, V>(internal);
+                internal.clear();
+                doNotifyListenersOfRemovedValues(removed);
+            } else {
+                internal.clear();
+            }
         }
     }
 
@@ -122,7 +122,7 @@ public class SimpleSetProperty<T> extends AbstractReadableWritableSetProperty<T,
         boolean modified = internal.add(item);
 
         if (modified) {
-            doNotifyListenersOfAddedValues(Collections.singleton(item));
+            doNotifyListenersOfAddedValue(item);
         }
 
         return modified;
@@ -160,7 +160,7 @@ public class SimpleSetProperty<T> extends AbstractReadableWritableSetProperty<T,
 
         if (modified) {
             // Safe to cast because it was removed from the collection in which we could only put objects of this type
-            doNotifyListenersOfRemovedValues(Collections.singleton((T) item));
+            doNotifyListenersOfRemovedValue((T) item);
         }
 
         return modified;
@@ -195,10 +195,16 @@ public class SimpleSetProperty<T> extends AbstractReadableWritableSetProperty<T,
      */
     @Override
     public boolean retainAll(Collection<?> items) {
+        // Make the look-up in constant time
+        Collection<?> lookUp = items;
+        if (!(items instanceof Set)) {
+            lookUp = new HashSet<Object>(items);
+        }
+
         Set<T> toBeRemoved = new HashSet<T>();
 
         for (T item : internal) {
-            if (!items.contains(item)) {
+            if (!lookUp.contains(item)) {
                 toBeRemoved.add(item);
             }
         }
@@ -218,9 +224,13 @@ public class SimpleSetProperty<T> extends AbstractReadableWritableSetProperty<T,
     @Override
     public void clear() {
         if (!internal.isEmpty()) {
-            Set<T> removed = new HashSet<T>(internal);
-            internal.clear();
-            doNotifyListenersOfRemovedValues(removed);
+            if (hasValueChangeListeners()) {
+                Set<T> removed = new HashSet<T>(internal);
+                internal.clear();
+                doNotifyListenersOfRemovedValues(removed);
+            } else {
+                internal.clear();
+            }
         }
     }
 
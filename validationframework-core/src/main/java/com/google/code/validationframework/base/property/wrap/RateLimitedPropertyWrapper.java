@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.property.wrap;
+
+import com.google.code.validationframework.api.common.Disposable;
+import com.google.code.validationframework.api.property.ReadableProperty;
+import com.google.code.validationframework.api.property.ValueChangeListener;
+import com.google.code.validationframework.base.common.Clock;
+import com.google.code.validationframework.base.common.RateLimiter;
+import com.google.code.validationframework.base.common.RateLimitingStrategy;
+import com.google.code.validationframework.base.property.AbstractReadableProperty;
+
+/**
+ * Wrapper for {@link ReadableProperty} reducing the number of notifications of the {@link ValueChangeListener}s
+ * according to a {@link RateLimitingStrategy}.
+ * <p>
+ * The value of this wrapper is only updated when the listeners are notified, so that it remains consistent with the
+ * notifications. Intermediate values of the wrapped property may therefore never be notified.
+ * <p>
+ * Note that, depending on the strategy, the listeners may be notified on a thread of the {@link Clock}.
+ *
+ * @param <R> Type of data that can be read from this property and the wrapped property.
+ *
+ * @see RateLimiter
+ * @see RateLimitingStrategy
+ */
+public class RateLimitedPropertyWrapper<R> extends AbstractReadableProperty<R> implements Disposable {
+
+    /**
+     * Listener to value changes of the wrapped property and passing the events to the rate limiter.
+     */
+    private class ValueChangeLimiter implements ValueChangeListener<R> {
+
+        /**
+         * @see ValueChangeListener#valueChanged(ReadableProperty, Object, Object)
+         */
+        @Override
+        public void valueChanged(ReadableProperty<R> property, R oldValue, R newValue) {
+            rateLimiter.eventReceived();
+        }
+    }
+
+    /**
+     * Task notifying the listeners when the rate limiter emits an event.
+     */
+    private class ValueChangeEmitter implements Runnable {
+
+        /**
+         * @see Runnable#run()
+         */
+        @Override
+        public void run() {
+            if (wrappedProperty != null) {
+                R oldValue = value;
+                value = wrappedProperty.getValue();
+                maybeNotifyListeners(oldValue, value);
+            }
+        }
+    }
+
+    /**
+     * Wrapped property.
+     */
+    private ReadableProperty<R> wrappedProperty;
+
+    /**
+     * Listener to value changes of the wrapped property.
+     */
+    private final ValueChangeListener<R> valueChangeLimiter = new ValueChangeLimiter();
+
+    /**
+     * Entity reducing the number of notifications.
+     */
+    private final RateLimiter rateLimiter;
+
+    /**
+     * Last value notified.
+     */
+    private R value = null;
+
+    /**
+     * Constructor specifying the property to be wrapped, the strategy, the delay and the clock to be used.
+     *
+     * @param wrappedProperty Property to be wrapped.
+     * @param strategy        Strategy to be used to reduce the number of notifications.
+     * @param delayMillis     Delay in milliseconds used by the strategy.
+     * @param clock           Clock to be used to measure time and schedule the notifications.
+     */
+    public RateLimitedPropertyWrapper(ReadableProperty<R> wrappedProperty, RateLimitingStrategy strategy, long
+            delayMillis, Clock clock) {
+        super();
+        this.rateLimiter = new RateLimiter(strategy, delayMillis, clock, new ValueChangeEmitter());
+        this.wrappedProperty = wrappedProperty;
+        this.wrappedProperty.addValueChangeListener(valueChangeLimiter);
+        this.value = wrappedProperty.getValue();
+    }
+
+    /**
+     * Gets the entity reducing the number of notifications.
+     * <p>
+     * It can be used, for instance, to retrieve the number of value changes that were coalesced.
+     *
+     * @return Rate limiter.
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * @see Disposable#dispose()
+     */
+    @Override
+    public void dispose() {
+        rateLimiter.dispose();
+        if (wrappedProperty != null) {
+            wrappedProperty.removeValueChangeListener(valueChangeLimiter);
+            wrappedProperty = null;
+        }
+    }
+
+    /**
+     * @see AbstractReadableProperty#getValue()
+     */
+    @Override
+    public R getValue() {
+        return value;
+    }
+}
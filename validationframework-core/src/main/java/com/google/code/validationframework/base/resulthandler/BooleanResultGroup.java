@@ -0,0 +1,563 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.resulthandler;
+
+import com.google.code.validationframework.api.common.Disposable;
+import com.google.code.validationframework.api.property.ReadableProperty;
+import com.google.code.validationframework.api.property.ValueChangeListener;
+import com.google.code.validationframework.api.resulthandler.ResultHandler;
+import com.google.code.validationframework.api.trigger.TriggerEvent;
+import com.google.code.validationframework.api.trigger.TriggerListener;
+import com.google.code.validationframework.base.property.AbstractReadableProperty;
+import com.google.code.validationframework.base.transform.AndBooleanAggregator;
+import com.google.code.validationframework.base.transform.OrBooleanAggregator;
+import com.google.code.validationframework.base.utils.ValueUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Readable property aggregating boolean results incrementally.
+ * <p>
+ * Instead of re-reading and re-aggregating all the results whenever one of them changes, like an {@link
+ * AndBooleanAggregator} or an {@link OrBooleanAggregator} would do, this group maintains the number of true, false and
+ * null results as each result arrives. The aggregated result is then available in constant time, whatever the number
+ * of results in the group. It is consistent with the result of the corresponding aggregator over the collection of the
+ * current results.
+ * <p>
+ * The results can come from:
+ * <ul>
+ * <li>result handlers created by this group, to be added directly to other validators;</li>
+ * <li>{@link ResultCollector}s, whose data is read each time they are triggered;</li>
+ * <li>other groups, so that hierarchical groups can be built (for instance, field - section - form).</li>
+ * </ul>
+ * The aggregated result of a group is its value as a property. As for any property, the value change listeners are
+ * notified only when the aggregated result actually changes. Therefore, a change of result propagates to the parent
+ * groups only when it flips the aggregated result of the group.
+ * <p>
+ * Note that this class is not thread-safe.
+ *
+ * @see AndBooleanAggregator
+ * @see OrBooleanAggregator
+ */
+public class BooleanResultGroup extends AbstractReadableProperty<Boolean> implements Disposable {
+
+    /**
+     * Operator used to aggregate the results.
+     */
+    public enum Operator {
+
+        /**
+         * Boolean AND operator, as in {@link AndBooleanAggregator}.
+         */
+        AND,
+
+        /**
+         * Boolean OR operator, as in {@link OrBooleanAggregator}.
+         */
+        OR
+    }
+
+    /**
+     * Last result of one of the sources of the group.
+     */
+    private abstract class Member {
+
+        /**
+         * Source of the result.
+         */
+        private final Object source;
+
+        /**
+         * Last result of the source.
+         */
+        private Boolean result = null;
+
+        /**
+         * Constructor specifying the source of the result.
+         *
+         * @param source Source of the result, or null if the member is the source itself.
+         */
+        public Member(Object source) {
+            this.source = (source == null) ? this : source;
+        }
+
+        /**
+         * Updates the counts of the group with the specified new result.
+         *
+         * @param newResult New result of the source.
+         */
+        protected void updateResult(Boolean newResult) {
+            if (!ValueUtils.areEqual(result, newResult)) {
+                Boolean oldResult = result;
+                result = newResult;
+                replaceResult(oldResult, newResult);
+            }
+        }
+
+        /**
+         * Starts listening to the source.
+         */
+        protected abstract void hook();
+
+        /**
+         * Stops listening to the source.
+         */
+        protected abstract void unhook();
+    }
+
+    /**
+     * Member whose results are given by a validator, as a result handler.
+     */
+    private class ResultHandlerMember extends Member implements ResultHandler<Boolean> {
+
+        /**
+         * Default constructor.
+         */
+        public ResultHandlerMember() {
+            super(null);
+        }
+
+        /**
+         * @see ResultHandler#handleResult(Object)
+         */
+        @Override
+        public void handleResult(Boolean result) {
+            updateResult(result);
+        }
+
+        /**
+         * @see Member#hook()
+         */
+        @Override
+        protected void hook() {
+            // Nothing to be done
+        }
+
+        /**
+         * @see Member#unhook()
+         */
+        @Override
+        protected void unhook() {
+            // Nothing to be done
+        }
+    }
+
+    /**
+     * Member whose results are read from a result collector whenever it is triggered.
+     */
+    private class ResultCollectorMember extends Member implements TriggerListener {
+
+        /**
+         * Result collector to read the results from.
+         */
+        private final ResultCollector<?, Boolean> resultCollector;
+
+        /**
+         * Constructor specifying the result collector to read the results from.
+         *
+         * @param resultCollector Result collector to read the results from.
+         */
+        public ResultCollectorMember(ResultCollector<?, Boolean> resultCollector) {
+            super(resultCollector);
+            this.resultCollector = resultCollector;
+        }
+
+        /**
+         * @see TriggerListener#triggerValidation(TriggerEvent)
+         */
+        @Override
+        public void triggerValidation(TriggerEvent event) {
+            updateResult(resultCollector.getData());
+        }
+
+        /**
+         * @see Member#hook()
+         */
+        @Override
+        protected void hook() {
+            resultCollector.addTriggerListener(this);
+            updateResult(resultCollector.getData());
+        }
+
+        /**
+         * @see Member#unhook()
+         */
+        @Override
+        protected void unhook() {
+            resultCollector.removeTriggerListener(this);
+        }
+    }
+
+    /**
+     * Member whose results are the aggregated results of a sub-group.
+     */
+    private class GroupMember extends Member implements ValueChangeListener<Boolean> {
+
+        /**
+         * Sub-group.
+         */
+        private final BooleanResultGroup group;
+
+        /**
+         * Constructor specifying the sub-group.
+         *
+         * @param group Sub-group.
+         */
+        public GroupMember(BooleanResultGroup group) {
+            super(group);
+            this.group = group;
+        }
+
+        /**
+         * @see ValueChangeListener#valueChanged(ReadableProperty, Object, Object)
+         */
+        @Override
+        public void valueChanged(ReadableProperty<Boolean> property, Boolean oldValue, Boolean newValue) {
+            updateResult(newValue);
+        }
+
+        /**
+         * @see Member#hook()
+         */
+        @Override
+        protected void hook() {
+            group.addValueChangeListener(this);
+            updateResult(group.getValue());
+        }
+
+        /**
+         * @see Member#unhook()
+         */
+        @Override
+        protected void unhook() {
+            group.removeValueChangeListener(this);
+        }
+    }
+
+    /**
+     * Operator used to aggregate the results.
+     */
+    private final Operator operator;
+
+    /**
+     * Aggregated result when the group has no member.
+     */
+    private final Boolean emptyValue;
+
+    /**
+     * Value to be used for the null results, or null if the null results should be ignored.
+     */
+    private final Boolean nullElementValue;
+
+    /**
+     * Members of the group.
+     */
+    private final List<Member> members = new ArrayList<Member>();
+
+    /**
+     * Number of members whose last result is true.
+     */
+    private int trueCount = 0;
+
+    /**
+     * Number of members whose last result is false.
+     */
+    private int falseCount = 0;
+
+    /**
+     * Number of members whose last result is null.
+     */
+    private int nullCount = 0;
+
+    /**
+     * Current aggregated result.
+     */
+    private Boolean value;
+
+    /**
+     * Default constructor using the AND operator and the same default values as the {@link AndBooleanAggregator}.
+     */
+    public BooleanResultGroup() {
+        this(Operator.AND);
+    }
+
+    /**
+     * Constructor specifying the operator and using the same default values as the corresponding aggregator.
+     *
+     * @param operator Operator used to aggregate the results.
+     *
+     * @see AndBooleanAggregator#DEFAULT_EMPTY_COLLECTION_VALUE
+     * @see AndBooleanAggregator#DEFAULT_NULL_ELEMENT_VALUE
+     * @see OrBooleanAggregator#DEFAULT_EMPTY_COLLECTION_VALUE
+     * @see OrBooleanAggregator#DEFAULT_NULL_ELEMENT_VALUE
+     */
+    public BooleanResultGroup(Operator operator) {
+        this(operator, //
+                (operator == Operator.OR) ? OrBooleanAggregator.DEFAULT_EMPTY_COLLECTION_VALUE :
+                        AndBooleanAggregator.DEFAULT_EMPTY_COLLECTION_VALUE, //
+                (operator == Operator.OR) ? OrBooleanAggregator.DEFAULT_NULL_ELEMENT_VALUE :
+                        AndBooleanAggregator.DEFAULT_NULL_ELEMENT_VALUE);
+    }
+
+    /**
+     * Constructor specifying the operator and the values for an empty group and for null results.
+     *
+     * @param operator         Operator used to aggregate the results.
+     * @param emptyValue       Aggregated result when the group has no member.
+     * @param nullElementValue Value to be used for the null results.<br>
+     *                         If this value is set to null, then the null results will be ignored from the aggregation.
+     */
+    public BooleanResultGroup(Operator operator, Boolean emptyValue, Boolean nullElementValue) {
+        super();
+        this.operator = operator;
+        this.emptyValue = emptyValue;
+        this.nullElementValue = nullElementValue;
+        this.value = emptyValue;
+    }
+
+    /**
+     * Creates a new member whose results are to be given by a validator, using the returned result handler.
+     * <p>
+     * The initial result of the member is null.
+     *
+     * @return Result handler to be added to a validator.
+     *
+     * @see #removeResultHandler(ResultHandler)
+     */
+    public ResultHandler<Boolean> createResultHandler() {
+        ResultHandlerMember member = new ResultHandlerMember();
+        addMember(member);
+        return member;
+    }
+
+    /**
+     * Removes the member corresponding to the specified result handler, previously created by this group.
+     *
+     * @param resultHandler Result handler created by this group.
+     *
+     * @see #createResultHandler()
+     */
+    public void removeResultHandler(ResultHandler<Boolean> resultHandler) {
+        removeMember(resultHandler);
+    }
+
+    /**
+     * Adds a member whose results are read from the specified result collector whenever it is triggered.
+     *
+     * @param resultCollector Result collector to read the results from.
+     *
+     * @see #removeResultCollector(ResultCollector)
+     */
+    public void addResultCollector(ResultCollector<?, Boolean> resultCollector) {
+        addMember(new ResultCollectorMember(resultCollector));
+    }
+
+    /**
+     * Removes the member corresponding to the specified result collector.
+     *
+     * @param resultCollector Result collector previously added.
+     *
+     * @see #addResultCollector(ResultCollector)
+     */
+    public void removeResultCollector(ResultCollector<?, Boolean> resultCollector) {
+        removeMember(resultCollector);
+    }
+
+    /**
+     * Adds a member whose results are the aggregated results of the specified sub-group.
+     * <p>
+     * The sub-group will notify this group only when its aggregated result changes.
+     *
+     * @param group Sub-group.
+     *
+     * @see #removeGroup(BooleanResultGroup)
+     */
+    public void addGroup(BooleanResultGroup group) {
+        addMember(new GroupMember(group));
+    }
+
+    /**
+     * Removes the member corresponding to the specified sub-group.
+     *
+     * @param group Sub-group previously added.
+     *
+     * @see #addGroup(BooleanResultGroup)
+     */
+    public void removeGroup(BooleanResultGroup group) {
+        removeMember(group);
+    }
+
+    /**
+     * Gets the number of members in the group.
+     *
+     * @return Number of members.
+     */
+    public int getCount() {
+        return trueCount + falseCount + nullCount;
+    }
+
+    /**
+     * Gets the number of members whose last result is true.
+     *
+     * @return Number of true results.
+     */
+    public int getTrueCount() {
+        return trueCount;
+    }
+
+    /**
+     * Gets the number of members whose last result is false.
+     *
+     * @return Number of false results.
+     */
+    public int getFalseCount() {
+        return falseCount;
+    }
+
+    /**
+     * Gets the number of members whose last result is null.
+     *
+     * @return Number of null results.
+     */
+    public int getNullCount() {
+        return nullCount;
+    }
+
+    /**
+     * Gets the aggregated result of the group, in constant time.
+     *
+     * @see AbstractReadableProperty#getValue()
+     */
+    @Override
+    public Boolean getValue() {
+        return value;
+    }
+
+    /**
+     * Removes all members from the group and stops listening to their sources.
+     *
+     * @see Disposable#dispose()
+     */
+    @Override
+    public void dispose() {
+        for (Member member : members) {
+            member.unhook();
+        }
+        members.clear();
+        trueCount = 0;
+        falseCount = 0;
+        nullCount = 0;
+        updateValue();
+    }
+
+    /**
+     * Adds the specified member to the group and starts listening to its source.
+     *
+     * @param member Member to be added.
+     */
+    private void addMember(Member member) {
+        members.add(member);
+        count(member.result, 1);
+        member.hook();
+        updateValue();
+    }
+
+    /**
+     * Removes the member corresponding to the specified source and stops listening to it.
+     *
+     * @param source Source of the member to be removed.
+     */
+    private void removeMember(Object source) {
+        Member removedMember = null;
+        for (int i = 0; (i < members.size()) && (removedMember == null); i++) {
+            if (members.get(i).source == source) {
+                removedMember = members.remove(i);
+            }
+        }
+
+        if (removedMember != null) {
+            removedMember.unhook();
+            count(removedMember.result, -1);
+            updateValue();
+        }
+    }
+
+    /**
+     * Updates the counts and the aggregated result after a member changed its result.
+     *
+     * @param oldResult Previous result of the member.
+     * @param newResult New result of the member.
+     */
+    private void replaceResult(Boolean oldResult, Boolean newResult) {
+        count(oldResult, -1);
+        count(newResult, 1);
+        updateValue();
+    }
+
+    /**
+     * Adds the specified delta to the count corresponding to the specified result.
+     *
+     * @param result Result to be counted.
+     * @param delta  Value to be added to the count.
+     */
+    private void count(Boolean result, int delta) {
+        if (result == null) {
+            nullCount += delta;
+        } else if (result) {
+            trueCount += delta;
+        } else {
+            falseCount += delta;
+        }
+    }
+
+    /**
+     * Re-computes the aggregated result from the counts, and notifies the listeners if it changed.
+     */
+    private void updateValue() {
+        // Apply the value for null results
+        int effectiveTrueCount = trueCount;
+        int effectiveFalseCount = falseCount;
+        if (Boolean.TRUE.equals(nullElementValue)) {
+            effectiveTrueCount += nullCount;
+        } else if (Boolean.FALSE.equals(nullElementValue)) {
+            effectiveFalseCount += nullCount;
+        }
+
+        Boolean newValue;
+        if (getCount() == 0) {
+            newValue = emptyValue;
+        } else if (operator == Operator.OR) {
+            newValue = effectiveTrueCount > 0;
+        } else {
+            newValue = effectiveFalseCount == 0;
+        }
+
+        Boolean oldValue = value;
+        value = newValue;
+        maybeNotifyListeners(oldValue, newValue);
+    }
+}
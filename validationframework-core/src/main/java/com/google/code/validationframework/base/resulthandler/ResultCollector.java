@@ -29,7 +29,6 @@ import com.google.code.validationframework.api.common.Disposable;
 import com.google.code.validationframework.api.dataprovider.DataProvider;
 import com.google.code.validationframework.api.resulthandler.ResultHandler;
 import com.google.code.validationframework.api.transform.Transformer;
-import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.base.transform.CastTransformer;
 import com.google.code.validationframework.base.trigger.AbstractTrigger;
 
@@ -89,7 +88,7 @@ public class ResultCollector<VO, DPO> extends AbstractTrigger implements ResultH
     @Override
     public void handleResult(VO result) {
         lastResult = result; // We expect the method getData() to be called subsequently
-        fireTriggerEvent(new TriggerEvent(this));
+        fireTriggerEvent(getTriggerEvent(this));
     }
 
     /**
@@ -27,6 +27,8 @@ package com.google.code.validationframework.base.rule;
 
 import com.google.code.validationframework.api.common.Disposable;
 import com.google.code.validationframework.api.rule.Rule;
+import com.google.code.validationframework.base.metrics.MetricsUtils;
+import com.google.code.validationframework.base.metrics.ValidationMetrics;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -49,6 +51,21 @@ public abstract class AbstractCompositeRule<RI, RO> implements Rule<RI, RO>, Dis
      */
     protected final List<Rule<RI, RO>> rules = new ArrayList<Rule<RI, RO>>();
 
+    /**
+     * Flag indicating whether the sub-rules should only be evaluated when their results are needed.
+     */
+    private boolean lazyEvaluation = false;
+
+    /**
+     * Entity evaluating the sub-rules in parallel, or null if the sub-rules are to be evaluated sequentially.
+     */
+    private ParallelRuleEvaluator<RI, RO> parallelRuleEvaluator = null;
+
+    /**
+     * Metrics in which the latencies of the sub-rules are to be recorded, or null if metrics are disabled.
+     */
+    private ValidationMetrics metrics = null;
+
     /**
      * Default constructor.
      */
@@ -89,6 +106,126 @@ public abstract class AbstractCompositeRule<RI, RO> implements Rule<RI, RO>, Dis
         rules.remove(rule);
     }
 
+    /**
+     * Indicates whether the sub-rules are only evaluated when their results are needed.
+     *
+     * @return True if the sub-rules are evaluated lazily, false if they are all evaluated.
+     *
+     * @see #setLazyEvaluation(boolean)
+     */
+    public boolean isLazyEvaluation() {
+        return lazyEvaluation;
+    }
+
+    /**
+     * States whether the sub-rules should only be evaluated when their results are needed.
+     * <p>
+     * With lazy evaluation, the evaluation of the sub-rules may stop as soon as the result of the composite rule is
+     * known. This is beneficial when cheap sub-rules are placed before expensive ones, but sub-rules having side effects
+     * may then not be evaluated at all. By default, all sub-rules are evaluated.
+     *
+     * @param lazyEvaluation True to evaluate the sub-rules lazily, false to evaluate them all.
+     *
+     * @see LazyRuleResultList
+     */
+    public void setLazyEvaluation(boolean lazyEvaluation) {
+        this.lazyEvaluation = lazyEvaluation;
+    }
+
+    /**
+     * Gets the entity evaluating the sub-rules in parallel.
+     *
+     * @return Parallel rule evaluator, or null if the sub-rules are evaluated sequentially.
+     */
+    public ParallelRuleEvaluator<RI, RO> getParallelRuleEvaluator() {
+        return parallelRuleEvaluator;
+    }
+
+    /**
+     * Sets the entity evaluating the sub-rules in parallel.
+     * <p>
+     * Parallel evaluation takes precedence over lazy evaluation. Note that the sub-rules must then be thread-safe.
+     *
+     * @param parallelRuleEvaluator Parallel rule evaluator, or null to evaluate the sub-rules sequentially.
+     *
+     * @see #getDecisiveResult()
+     */
+    public void setParallelRuleEvaluator(ParallelRuleEvaluator<RI, RO> parallelRuleEvaluator) {
+        this.parallelRuleEvaluator = parallelRuleEvaluator;
+    }
+
+    /**
+     * Gets the metrics in which the latencies of the sub-rules are recorded.
+     *
+     * @return Metrics, or null if metrics are disabled.
+     */
+    public ValidationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the metrics in which the latencies of the sub-rules are to be recorded, whichever way they are evaluated.
+     * <p>
+     * By default, no metrics are set, meaning that nothing is measured at all.
+     *
+     * @param metrics Metrics, or null to disable metrics.
+     */
+    public void setMetrics(ValidationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Gets the sub-rule result that is sufficient to decide the result of the composite rule, so that the evaluation of
+     * the other sub-rules can be cancelled when evaluated in parallel.
+     * <p>
+     * By default, there is no such result. Sub-classes may override this method.
+     *
+     * @return Decisive result, or null if all the sub-rules are always needed.
+     *
+     * @see #setParallelRuleEvaluator(ParallelRuleEvaluator)
+     */
+    protected RO getDecisiveResult() {
+        return null;
+    }
+
+    /**
+     * Validates the specified data against all the sub-rules and collects their results.
+     * <p>
+     * If a parallel rule evaluator is set, the sub-rules will be evaluated in parallel and the result may be reduced to
+     * the decisive result. Otherwise, if lazy evaluation is enabled, the sub-rules will only be evaluated when their
+     * results are accessed.
+     *
+     * @param data Data to be validated.
+     *
+     * @return Results of the sub-rules, in the order of the sub-rules.
+     *
+     * @see #setLazyEvaluation(boolean)
+     */
+    protected List<RO> collectResults(RI data) {
+        List<RO> results;
+        final ValidationMetrics currentMetrics = metrics;
+        if (parallelRuleEvaluator != null) {
+            results = parallelRuleEvaluator.evaluate(rules, data, getDecisiveResult(), currentMetrics);
+        } else if (lazyEvaluation) {
+            results = new LazyRuleResultList<RI, RO>(rules, data) {
+
+                /**
+                 * @see LazyRuleResultList#evaluate(Rule, Object)
+                 */
+                @Override
+                protected RO evaluate(Rule<? super RI, ? extends RO> rule, RI data) {
+                    return MetricsUtils.validate(currentMetrics, rule, data);
+                }
+            };
+        } else {
+            results = new ArrayList<RO>(rules.size());
+            for (Rule<RI, RO> rule : rules) {
+                results.add(MetricsUtils.validate(currentMetrics, rule, data));
+            }
+        }
+        return results;
+    }
+
     /**
      * @see Disposable#dispose()
      */
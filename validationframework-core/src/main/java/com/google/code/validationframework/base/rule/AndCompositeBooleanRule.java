@@ -30,7 +30,6 @@ import com.google.code.validationframework.api.rule.Rule;
 import com.google.code.validationframework.api.transform.Transformer;
 import com.google.code.validationframework.base.transform.AndBooleanAggregator;
 
-import java.util.ArrayList;
 import java.util.Collection;
 
 /**
@@ -76,15 +75,20 @@ public class AndCompositeBooleanRule<RI> extends AbstractCompositeRule<RI, Boole
      */
     @Override
     public Boolean validate(RI data) {
-        // Collect results
-        Collection<Boolean> results = new ArrayList<Boolean>();
-        for (Rule<RI, Boolean> rule : rules) {
-            Boolean result = rule.validate(data);
-            results.add(result);
-        }
+        // Collect results (possibly lazily) and aggregate them
+        return aggregator.transform(collectResults(data));
+    }
 
-        // Aggregate results
-        return aggregator.transform(results);
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The result of the AND operation is known as soon as any sub-rule returns false.
+     *
+     * @see AbstractCompositeRule#getDecisiveResult()
+     */
+    @Override
+    protected Boolean getDecisiveResult() {
+        return false;
     }
 
     /**
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.rule;
+
+import com.google.code.validationframework.api.common.Disposable;
+import com.google.code.validationframework.api.rule.Rule;
+import com.google.code.validationframework.api.transform.Transformer;
+import com.google.code.validationframework.base.common.MemoizingCache;
+
+/**
+ * Rule decorator caching the results of the decorated rule, so that identical inputs are not validated again.
+ * <p>
+ * This is typically useful for rules that are expensive to evaluate (parsing, regular expressions, etc.) on highly
+ * repetitive inputs, such as codes, dates or identifiers, or when the user undoes and redoes changes.
+ * <p>
+ * The same {@link MemoizingCache} can be shared by several instances of this class decorating equivalent rules, for
+ * instance, when hundreds of fields are validated using the same kind of rule. The decorated rule must be stateless:
+ * its result must only depend on its input.
+ *
+ * @param <RI> Type of data to be validated.
+ * @param <RO> Type of validation result.
+ *
+ * @see MemoizingCache
+ * @see com.google.code.validationframework.base.transform.CachingTransformer
+ */
+public class CachingRule<RI, RO> implements Rule<RI, RO>, Disposable {
+
+    /**
+     * Loader validating the data using the decorated rule on cache misses.
+     */
+    private class RuleLoader implements Transformer<RI, RO> {
+
+        /**
+         * @see Transformer#transform(Object)
+         */
+        @Override
+        public RO transform(RI input) {
+            return delegate.validate(input);
+        }
+    }
+
+    /**
+     * Decorated rule.
+     */
+    private final Rule<RI, RO> delegate;
+
+    /**
+     * Cache of the results.
+     */
+    private final MemoizingCache<RI, RO> cache;
+
+    /**
+     * Flag indicating whether the cache was created by this rule, so that it can be cleared when disposing.
+     */
+    private final boolean ownCache;
+
+    /**
+     * Loader validating the data using the decorated rule on cache misses.
+     */
+    private final Transformer<RI, RO> loader = new RuleLoader();
+
+    /**
+     * Constructor specifying the rule to be decorated and the maximum number of results to be cached.
+     *
+     * @param delegate    Rule to be decorated.
+     * @param maximumSize Maximum number of results to be cached.
+     */
+    public CachingRule(Rule<RI, RO> delegate, long maximumSize) {
+        this.delegate = delegate;
+        this.cache = new MemoizingCache<RI, RO>(maximumSize);
+        this.ownCache = true;
+    }
+
+    /**
+     * Constructor specifying the rule to be decorated and the cache to be used, possibly shared with other rules.
+     *
+     * @param delegate Rule to be decorated.
+     * @param cache    Cache to be used.
+     */
+    public CachingRule(Rule<RI, RO> delegate, MemoizingCache<RI, RO> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.ownCache = false;
+    }
+
+    /**
+     * Gets the decorated rule.
+     *
+     * @return Decorated rule.
+     */
+    public Rule<RI, RO> getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Gets the cache of the results, for instance, to read its statistics or to invalidate it.
+     *
+     * @return Cache of the results.
+     */
+    public MemoizingCache<RI, RO> getCache() {
+        return cache;
+    }
+
+    /**
+     * @see Rule#validate(Object)
+     */
+    @Override
+    public RO validate(RI data) {
+        return cache.get(data, loader);
+    }
+
+    /**
+     * @see Disposable#dispose()
+     */
+    @Override
+    public void dispose() {
+        if (ownCache) {
+            cache.invalidateAll();
+        }
+        if (delegate instanceof Disposable) {
+            ((Disposable) delegate).dispose();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.rule;
+
+import com.google.code.validationframework.api.rule.Rule;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list of the results of several rules validating the same data, evaluating each rule only when its result
+ * is accessed for the first time.
+ * <p>
+ * This list is typically passed to an {@link com.google.code.validationframework.api.transform.Aggregator} that
+ * iterates over the results and stops as soon as the aggregated result is known, for instance at the first false result
+ * for an {@link com.google.code.validationframework.base.transform.AndBooleanAggregator}, or at the first true result
+ * for an {@link com.google.code.validationframework.base.transform.OrBooleanAggregator}. The remaining rules are then
+ * not evaluated at all. So it is beneficial to place the cheapest rules first.
+ * <p>
+ * Each rule is evaluated at most once, even if the list is iterated several times. The size of the list is the number
+ * of rules and does not require any rule to be evaluated.
+ * <p>
+ * Note that the rules are evaluated on the thread accessing the results. Also, for performance reasons, the same list
+ * can be re-used to validate other data using {@link #reset(Object)}.
+ *
+ * @param <RI> Type of data to be validated by the rules.
+ * @param <RO> Type of result produced by the rules.
+ */
+public class LazyRuleResultList<RI, RO> extends AbstractList<RO> implements RandomAccess {
+
+    /**
+     * Rules to be evaluated on demand.
+     */
+    private final List<? extends Rule<? super RI, ? extends RO>> rules;
+
+    /**
+     * Data to be validated by the rules.
+     */
+    private RI data;
+
+    /**
+     * Results of the rules, as they are evaluated.
+     */
+    private final Object[] results;
+
+    /**
+     * Flags indicating which rules have already been evaluated.
+     */
+    private final boolean[] evaluated;
+
+    /**
+     * Number of rules that have been evaluated.
+     */
+    private int evaluatedCount = 0;
+
+    /**
+     * Constructor specifying the rules to be evaluated on demand and the data to be validated.
+     * <p>
+     * Note that the specified list of rules must not be modified as long as this list is used.
+     *
+     * @param rules Rules to be evaluated on demand.
+     * @param data  Data to be validated by the rules.
+     */
+    public LazyRuleResultList(List<? extends Rule<? super RI, ? extends RO>> rules, RI data) {
+        super();
+        this.rules = rules;
+        this.data = data;
+        this.results = new Object[rules.size()];
+        this.evaluated = new boolean[rules.size()];
+    }
+
+    /**
+     * Gets the result of the rule at the specified index, evaluating the rule if it has not been evaluated yet.
+     *
+     * @see AbstractList#get(int)
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public RO get(int index) {
+        if ((index < 0) || (index >= results.length)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + results.length);
+        }
+
+        if (!evaluated[index]) {
+            results[index] = evaluate(rules.get(index), data);
+            evaluated[index] = true;
+            evaluatedCount++;
+        }
+        return (RO) results[index];
+    }
+
+    /**
+     * Evaluates the specified rule on the specified data.
+     * <p>
+     * Sub-classes may override this method, for instance, to transform the result of the rule.
+     *
+     * @param rule Rule to be evaluated.
+     * @param data Data to be validated by the rule.
+     *
+     * @return Result of the rule.
+     */
+    protected RO evaluate(Rule<? super RI, ? extends RO> rule, RI data) {
+        return rule.validate(data);
+    }
+
+    /**
+     * @see AbstractList#size()
+     */
+    @Override
+    public int size() {
+        return results.length;
+    }
+
+    /**
+     * Gets the number of rules that have been evaluated so far.
+     *
+     * @return Number of evaluated rules.
+     */
+    public int getEvaluatedCount() {
+        return evaluatedCount;
+    }
+
+    /**
+     * Forgets all the results evaluated so far and re-uses this list to validate the specified data with the same
+     * rules.
+     *
+     * @param data New data to be validated by the rules.
+     */
+    public void reset(RI data) {
+        Arrays.fill(results, null);
+        Arrays.fill(evaluated, false);
+        evaluatedCount = 0;
+        this.data = data;
+    }
+}
@@ -30,7 +30,6 @@ import com.google.code.validationframework.api.rule.Rule;
 import com.google.code.validationframework.api.transform.Transformer;
 import com.google.code.validationframework.base.transform.OrBooleanAggregator;
 
-import java.util.ArrayList;
 import java.util.Collection;
 
 /**
@@ -74,15 +73,20 @@ public class OrCompositeBooleanRule<RI> extends AbstractCompositeRule<RI, Boolea
      */
     @Override
     public Boolean validate(RI data) {
-        // Collect results
-        Collection<Boolean> results = new ArrayList<Boolean>();
-        for (Rule<RI, Boolean> rule : rules) {
-            Boolean result = rule.validate(data);
-            results.add(result);
-        }
+        // Collect results (possibly lazily) and aggregate them
+        return aggregator.transform(collectResults(data));
+    }
 
-        // Aggregate results
-        return aggregator.transform(results);
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The result of the OR operation is known as soon as any sub-rule returns true.
+     *
+     * @see AbstractCompositeRule#getDecisiveResult()
+     */
+    @Override
+    protected Boolean getDecisiveResult() {
+        return true;
     }
 
     /**
@@ -0,0 +1,560 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.rule;
+
+import com.google.code.validationframework.api.rule.Rule;
+import com.google.code.validationframework.base.metrics.MetricsUtils;
+import com.google.code.validationframework.base.metrics.ValidationMetrics;
+import com.google.code.validationframework.base.utils.ValueUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Entity evaluating several independent rules on the same data in parallel using an {@link ExecutorService}.
+ * <p>
+ * This can be beneficial when many rules, or expensive rules, are to be evaluated on large data. The executor service
+ * can be any implementation, for instance a fixed thread pool or, on Java 7 and above, a ForkJoinPool.
+ * <p>
+ * The results are returned in the order of the rules, so that they can be aggregated as if they were evaluated
+ * sequentially. If a decisive result is specified (for instance, false for an AND aggregation, or true for an OR
+ * aggregation), the evaluation stops as soon as a rule returns this result: the remaining tasks are cancelled and the
+ * decisive result is returned alone.
+ * <p>
+ * If the estimated cost of the evaluation is below the sequential cost threshold, the rules are evaluated sequentially
+ * on the calling thread, because the overhead of the parallelization would not pay off.
+ * <p>
+ * The calling thread takes part in the evaluation: it evaluates itself the rules that the executor service has not
+ * started yet, and only waits for the rules already being evaluated by other threads. The executor service can
+ * therefore be bounded, shared, or used again by the rules themselves (for instance, by composite rules evaluating
+ * their sub-rules in parallel) without starving. If the calling thread is interrupted while waiting, the rules that are
+ * not evaluated yet are evaluated sequentially on the calling thread, and its interrupted status is preserved.
+ * <p>
+ * Note that the rules must be thread-safe, as they may be evaluated concurrently. Also note that, if a rule throws an
+ * exception, it will be re-thrown on the calling thread.
+ * <p>
+ * Finally, if metrics are specified, the latency of each rule is recorded in them, whichever thread evaluates it.
+ *
+ * @param <RI> Type of data to be validated by the rules.
+ * @param <RO> Type of result produced by the rules.
+ */
+public class ParallelRuleEvaluator<RI, RO> {
+
+    /**
+     * Interface to be implemented by entities estimating the cost of the evaluation of a rule on some data.
+     *
+     * @param <RI> Type of data to be validated by the rules.
+     */
+    public interface CostEstimator<RI> {
+
+        /**
+         * Estimates the cost of the evaluation of the specified rule on the specified data.
+         * <p>
+         * The unit of the cost is up to the implementation, but it must be consistent with the sequential cost
+         * threshold of the evaluator.
+         *
+         * @param rule Rule to be evaluated.
+         * @param data Data to be validated by the rule.
+         *
+         * @return Estimated cost.
+         *
+         * @see #setSequentialCostThreshold(long)
+         */
+        long estimateCost(Rule<?, ?> rule, RI data);
+    }
+
+    /**
+     * Cost estimator considering that all rules have the same unit cost, whatever the data.
+     */
+    private static class UnitCostEstimator implements CostEstimator<Object> {
+
+        /**
+         * @see CostEstimator#estimateCost(Rule, Object)
+         */
+        @Override
+        public long estimateCost(Rule<?, ?> rule, Object data) {
+            return 1;
+        }
+    }
+
+    /**
+     * Task evaluating a single rule and storing its result in the shared array of results.
+     * <p>
+     * The task is evaluated only once, either by the executor service or by the calling thread, whichever claims it
+     * first.
+     */
+    private class RuleTask implements Runnable {
+
+        /**
+         * Index of the rule.
+         */
+        private final int index;
+
+        /**
+         * Rule to be evaluated.
+         */
+        private final Rule<? super RI, ? extends RO> rule;
+
+        /**
+         * Data to be validated by the rule.
+         */
+        private final RI data;
+
+        /**
+         * Shared array of results.
+         */
+        private final Object[] results;
+
+        /**
+         * Metrics in which the latency of the rule is to be recorded, or null if metrics are disabled.
+         */
+        private final ValidationMetrics metrics;
+
+        /**
+         * Queue in which the index of the rule is put once evaluated.
+         */
+        private final BlockingQueue<Integer> completedIndexes;
+
+        /**
+         * Flag indicating whether the task has already been claimed by a thread.
+         */
+        private final AtomicBoolean claimed = new AtomicBoolean(false);
+
+        /**
+         * Exception thrown by the rule, if any.
+         */
+        private Throwable failure = null;
+
+        /**
+         * Constructor specifying the rule to be evaluated and where to store its result.
+         *
+         * @param index            Index of the rule.
+         * @param rule             Rule to be evaluated.
+         * @param data             Data to be validated by the rule.
+         * @param results          Shared array of results.
+         * @param metrics          Metrics in which the latency of the rule is to be recorded, or null if metrics are
+         *                         disabled.
+         * @param completedIndexes Queue in which the index of the rule is to be put once evaluated.
+         */
+        public RuleTask(int index, Rule<? super RI, ? extends RO> rule, RI data, Object[] results,
+                        ValidationMetrics metrics, BlockingQueue<Integer> completedIndexes) {
+            this.index = index;
+            this.rule = rule;
+            this.data = data;
+            this.results = results;
+            this.metrics = metrics;
+            this.completedIndexes = completedIndexes;
+        }
+
+        /**
+         * Claims the task so that no other thread evaluates it.
+         *
+         * @return True if the task was claimed by the calling thread, false if another thread already claimed it.
+         */
+        public boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        /**
+         * Gets the exception thrown by the rule.
+         * <p>
+         * Note that this method should only be called once the index of the rule has been taken from the queue.
+         *
+         * @return Exception thrown by the rule, or null if none.
+         */
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        /**
+         * @see Runnable#run()
+         */
+        @Override
+        public void run() {
+            if (claim()) {
+                evaluate();
+            }
+        }
+
+        /**
+         * Evaluates the rule on the calling thread, assuming that the task has been claimed.
+         */
+        public void evaluate() {
+            try {
+                results[index] = MetricsUtils.validate(metrics, rule, data);
+            } catch (Throwable e) {
+                failure = e;
+            } finally {
+                completedIndexes.add(index);
+            }
+        }
+    }
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelRuleEvaluator.class);
+
+    /**
+     * Default sequential cost threshold.
+     * <p>
+     * With the default cost estimator, this means that at least 2 rules are needed for a parallel evaluation.
+     */
+    public static final long DEFAULT_SEQUENTIAL_COST_THRESHOLD = 2;
+
+    /**
+     * Default cost estimator, considering that all rules have the same unit cost.
+     */
+    private static final CostEstimator<Object> DEFAULT_COST_ESTIMATOR = new UnitCostEstimator();
+
+    /**
+     * Executor service to be used to evaluate the rules in parallel.
+     */
+    private final ExecutorService executorService;
+
+    /**
+     * Estimated cost below which the rules are evaluated sequentially.
+     */
+    private long sequentialCostThreshold = DEFAULT_SEQUENTIAL_COST_THRESHOLD;
+
+    /**
+     * Entity estimating the cost of the evaluation of each rule.
+     */
+    private CostEstimator<? super RI> costEstimator = DEFAULT_COST_ESTIMATOR;
+
+    /**
+     * Constructor specifying the executor service to be used to evaluate the rules in parallel.
+     * <p>
+     * Note that the executor service will not be shut down by this evaluator.
+     *
+     * @param executorService Executor service to be used.
+     */
+    public ParallelRuleEvaluator(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Gets the estimated cost below which the rules are evaluated sequentially.
+     *
+     * @return Sequential cost threshold.
+     */
+    public long getSequentialCostThreshold() {
+        return sequentialCostThreshold;
+    }
+
+    /**
+     * Sets the estimated cost below which the rules are evaluated sequentially.
+     *
+     * @param sequentialCostThreshold Sequential cost threshold.
+     *
+     * @see #DEFAULT_SEQUENTIAL_COST_THRESHOLD
+     */
+    public void setSequentialCostThreshold(long sequentialCostThreshold) {
+        this.sequentialCostThreshold = sequentialCostThreshold;
+    }
+
+    /**
+     * Gets the entity estimating the cost of the evaluation of each rule.
+     *
+     * @return Cost estimator.
+     */
+    public CostEstimator<? super RI> getCostEstimator() {
+        return costEstimator;
+    }
+
+    /**
+     * Sets the entity estimating the cost of the evaluation of each rule.
+     *
+     * @param costEstimator Cost estimator, or null to consider that all rules have the same unit cost.
+     */
+    public void setCostEstimator(CostEstimator<? super RI> costEstimator) {
+        if (costEstimator == null) {
+            this.costEstimator = DEFAULT_COST_ESTIMATOR;
+        } else {
+            this.costEstimator = costEstimator;
+        }
+    }
+
+    /**
+     * Evaluates the specified rules on the specified data, possibly in parallel.
+     *
+     * @param rules          Rules to be evaluated.
+     * @param data           Data to be validated by the rules.
+     * @param decisiveResult Result deciding the outcome of the aggregation as soon as any rule returns it, or null if
+     *                       all rules are to be evaluated.
+     *
+     * @return Results of the rules in the order of the rules, or a list containing only the decisive result if it was
+     * returned by any rule.
+     */
+    public List<RO> evaluate(List<? extends Rule<? super RI, ? extends RO>> rules, RI data, RO decisiveResult) {
+        return evaluate(rules, data, decisiveResult, null);
+    }
+
+    /**
+     * Evaluates the specified rules on the specified data, possibly in parallel, and records the latency of each rule
+     * in the specified metrics.
+     *
+     * @param rules          Rules to be evaluated.
+     * @param data           Data to be validated by the rules.
+     * @param decisiveResult Result deciding the outcome of the aggregation as soon as any rule returns it, or null if
+     *                       all rules are to be evaluated.
+     * @param metrics        Metrics in which the latency of each rule is to be recorded, or null if metrics are
+     *                       disabled.
+     *
+     * @return Results of the rules in the order of the rules, or a list containing only the decisive result if it was
+     * returned by any rule.
+     */
+    public List<RO> evaluate(List<? extends Rule<? super RI, ? extends RO>> rules, RI data, RO decisiveResult,
+                             ValidationMetrics metrics) {
+        List<RO> results;
+        if (isParallelizationWorthwhile(rules, data)) {
+            results = evaluateInParallel(rules, data, decisiveResult, metrics);
+        } else {
+            results = evaluateSequentially(rules, data, decisiveResult, metrics);
+        }
+        return results;
+    }
+
+    /**
+     * Estimates whether the cost of the evaluation of the specified rules is high enough to evaluate them in parallel.
+     *
+     * @param rules Rules to be evaluated.
+     * @param data  Data to be validated by the rules.
+     *
+     * @return True if the rules should be evaluated in parallel, false otherwise.
+     */
+    private boolean isParallelizationWorthwhile(List<? extends Rule<? super RI, ? extends RO>> rules, RI data) {
+        boolean worthwhile = false;
+        if (rules.size() > 1) {
+            long cost = 0;
+            for (Rule<? super RI, ? extends RO> rule : rules) {
+                cost += costEstimator.estimateCost(rule, data);
+                if (cost >= sequentialCostThreshold) {
+                    worthwhile = true;
+                    break;
+                }
+            }
+        }
+        return worthwhile;
+    }
+
+    /**
+     * Evaluates the specified rules sequentially on the calling thread.
+     *
+     * @param rules          Rules to be evaluated.
+     * @param data           Data to be validated by the rules.
+     * @param decisiveResult Decisive result, or null.
+     * @param metrics        Metrics in which the latency of each rule is to be recorded, or null.
+     *
+     * @return Results of the rules.
+     */
+    private List<RO> evaluateSequentially(List<? extends Rule<? super RI, ? extends RO>> rules, RI data,
+                                          RO decisiveResult, ValidationMetrics metrics) {
+        List<RO> results = new ArrayList<RO>(rules.size());
+        for (Rule<? super RI, ? extends RO> rule : rules) {
+            RO result = MetricsUtils.<RI, RO>validate(metrics, rule, data);
+            if (isDecisive(result, decisiveResult)) {
+                results = Collections.singletonList(result);
+                break;
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    /**
+     * Evaluates the specified rules in parallel using the executor service, with the help of the calling thread.
+     *
+     * @param rules          Rules to be evaluated.
+     * @param data           Data to be validated by the rules.
+     * @param decisiveResult Decisive result, or null.
+     * @param metrics        Metrics in which the latency of each rule is to be recorded, or null.
+     *
+     * @return Results of the rules.
+     */
+    @SuppressWarnings("unchecked")
+    private List<RO> evaluateInParallel(List<? extends Rule<? super RI, ? extends RO>> rules, RI data,
+                                        RO decisiveResult, ValidationMetrics metrics) {
+        Object[] results = new Object[rules.size()];
+        boolean[] completed = new boolean[rules.size()];
+        int completedCount = 0;
+        List<RO> decidedResults = null;
+
+        // Fan out the rules
+        BlockingQueue<Integer> completedIndexes = new LinkedBlockingQueue<Integer>();
+        List<RuleTask> tasks = new ArrayList<RuleTask>(rules.size());
+        List<Future<?>> futures = new ArrayList<Future<?>>(rules.size());
+        for (int i = 0; i < rules.size(); i++) {
+            RuleTask task = new RuleTask(i, rules.get(i), data, results, metrics, completedIndexes);
+            tasks.add(task);
+            futures.add(executorService.submit(task));
+        }
+
+        try {
+            // Evaluate on the calling thread the rules not started yet, starting from the last ones
+            for (int i = tasks.size() - 1; (i >= 0) && (decidedResults == null); i--) {
+                RuleTask task = tasks.get(i);
+                if (task.claim()) {
+                    task.evaluate();
+                }
+
+                // Process the rules evaluated so far
+                Integer index = completedIndexes.poll();
+                while ((index != null) && (decidedResults == null)) {
+                    completedCount++;
+                    decidedResults = processCompletedTask(tasks.get(index), results, completed, decisiveResult);
+                    index = completedIndexes.poll();
+                }
+            }
+
+            // Wait for the rules still being evaluated by other threads
+            while ((completedCount < tasks.size()) && (decidedResults == null)) {
+                int index = completedIndexes.take();
+                completedCount++;
+                decidedResults = processCompletedTask(tasks.get(index), results, completed, decisiveResult);
+            }
+        } catch (InterruptedException e) {
+            LOGGER.warn("Interrupted while evaluating rules in parallel, remaining rules will be evaluated " +
+                    "sequentially", e);
+            Thread.currentThread().interrupt();
+
+            // Detach from the tasks that may still be running and complete the results on the calling thread
+            cancel(futures);
+            decidedResults = evaluateRemainingSequentially(rules, data, decisiveResult, metrics, results, completed);
+        } finally {
+            // Cancel the remaining tasks, if any
+            cancel(futures);
+        }
+
+        if (decidedResults == null) {
+            decidedResults = (List<RO>) Arrays.asList(results);
+        }
+        return decidedResults;
+    }
+
+    /**
+     * Processes the specified task whose rule has been evaluated.
+     *
+     * @param task           Task whose index has been taken from the queue of completed indexes.
+     * @param results        Shared array of results.
+     * @param completed      Flags indicating which rules have been evaluated.
+     * @param decisiveResult Decisive result, or null.
+     *
+     * @return List containing only the decisive result if the rule returned it, null otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    private List<RO> processCompletedTask(RuleTask task, Object[] results, boolean[] completed,
+                                          RO decisiveResult) {
+        List<RO> decidedResults = null;
+        completed[task.index] = true;
+        if (task.getFailure() != null) {
+            rethrow(task.getFailure());
+        } else if (isDecisive(results[task.index], decisiveResult)) {
+            decidedResults = Collections.singletonList((RO) results[task.index]);
+        }
+        return decidedResults;
+    }
+
+    /**
+     * Evaluates sequentially on the calling thread the specified rules that have not been evaluated yet.
+     *
+     * @param rules          Rules to be evaluated.
+     * @param data           Data to be validated by the rules.
+     * @param decisiveResult Decisive result, or null.
+     * @param metrics        Metrics in which the latency of each rule is to be recorded, or null.
+     * @param results        Shared array of results.
+     * @param completed      Flags indicating which rules have already been evaluated.
+     *
+     * @return Results of the rules.
+     */
+    @SuppressWarnings("unchecked")
+    private List<RO> evaluateRemainingSequentially(List<? extends Rule<? super RI, ? extends RO>> rules, RI data,
+                                                   RO decisiveResult, ValidationMetrics metrics, Object[] results,
+                                                   boolean[] completed) {
+        List<RO> completedResults = new ArrayList<RO>(rules.size());
+        for (int i = 0; i < rules.size(); i++) {
+            RO result;
+            if (completed[i]) {
+                result = (RO) results[i];
+            } else {
+                result = MetricsUtils.<RI, RO>validate(metrics, rules.get(i), data);
+            }
+            if (isDecisive(result, decisiveResult)) {
+                completedResults = Collections.singletonList(result);
+                break;
+            }
+            completedResults.add(result);
+        }
+        return completedResults;
+    }
+
+    /**
+     * Checks whether the specified result is the decisive result.
+     *
+     * @param result         Result of a rule.
+     * @param decisiveResult Decisive result, or null.
+     *
+     * @return True if the result is decisive, false otherwise.
+     */
+    private static boolean isDecisive(Object result, Object decisiveResult) {
+        return (decisiveResult != null) && ValueUtils.areEqual(result, decisiveResult);
+    }
+
+    /**
+     * Cancels and interrupts the specified tasks, if they are not yet done.
+     *
+     * @param futures Futures of the tasks to be cancelled.
+     */
+    private static void cancel(List<Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Re-throws the specified exception thrown by a rule on the calling thread.
+     *
+     * @param cause Exception thrown by a rule.
+     */
+    private static void rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        } else {
+            throw new IllegalStateException("Rule could not be evaluated", cause);
+        }
+    }
+}
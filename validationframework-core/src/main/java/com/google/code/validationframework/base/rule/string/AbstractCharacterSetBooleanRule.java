@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.rule.string;
+
+import com.google.code.validationframework.base.utils.CharacterSet;
+
+/**
+ * Abstract implementation of a rule checking the characters of the input against a set of characters, and returning a
+ * boolean as a result.
+ * <p>
+ * The characters are looked up in a precomputed {@link CharacterSet}, and the input is scanned in a single loop,
+ * without any allocation: when the input is to be trimmed, the leading and trailing white spaces are skipped rather
+ * than removed from a copy.
+ * <p>
+ * A null input is validated as an empty input.
+ *
+ * @see CharacterSet
+ * @see IllegalCharacterBooleanRule
+ * @see AllowedCharacterBooleanRule
+ * @see RequiredCharacterBooleanRule
+ */
+public abstract class AbstractCharacterSetBooleanRule extends AbstractStringBooleanRule {
+
+    /**
+     * String containing all the characters of the set.
+     */
+    private String characters;
+
+    /**
+     * Set of characters to be looked up.
+     */
+    private CharacterSet characterSet;
+
+    /**
+     * String containing all the characters of the set separated by a white space.
+     */
+    private String charactersSeparatedBySpaces;
+
+    /**
+     * Constructor specifying the characters of the set.
+     *
+     * @param characters String containing all the characters of the set.
+     */
+    public AbstractCharacterSetBooleanRule(final String characters) {
+        super();
+        setCharacters(characters);
+    }
+
+    /**
+     * Gets the characters of the set.
+     *
+     * @return String containing all the characters of the set.
+     */
+    public String getCharacters() {
+        return characters;
+    }
+
+    /**
+     * Sets the characters of the set.
+     *
+     * @param characters String containing all the characters of the set.
+     */
+    public void setCharacters(final String characters) {
+        this.characterSet = new CharacterSet(characters);
+        this.characters = characters;
+
+        // Create a nicely space-separated list of characters
+        final StringBuilder charactersSeparatedBySpacesBuilder = new StringBuilder(characters.length() * 2);
+        for (int i = 0; i < characters.length(); i++) {
+            if ((i > 0) && !Character.isLowSurrogate(characters.charAt(i))) {
+                charactersSeparatedBySpacesBuilder.append(' ');
+            }
+            charactersSeparatedBySpacesBuilder.append(characters.charAt(i));
+        }
+        charactersSeparatedBySpaces = charactersSeparatedBySpacesBuilder.toString();
+    }
+
+    /**
+     * Gets the characters of the set, separated by a white space.<br>This may be useful for error message purposes.
+     *
+     * @return String containing all the characters of the set, separated by a white space.
+     */
+    public String getCharactersSeparatedBySpaces() {
+        return charactersSeparatedBySpaces;
+    }
+
+    /**
+     * Gets the set of characters to be looked up.
+     *
+     * @return Set of characters.
+     */
+    protected CharacterSet getCharacterSet() {
+        return characterSet;
+    }
+
+    /**
+     * @see AbstractStringBooleanRule#validate(Object)
+     */
+    @Override
+    public Boolean validate(final String data) {
+        return validate((CharSequence) data);
+    }
+
+    /**
+     * @see AbstractStringBooleanRule#validate(CharSequence)
+     */
+    @Override
+    public Boolean validate(final CharSequence data) {
+        CharSequence text = data;
+        if (text == null) {
+            text = "";
+        }
+
+        int start = 0;
+        int end = text.length();
+        if (trimDataBeforeValidation) {
+            while ((start < end) && (text.charAt(start) <= ' ')) {
+                start++;
+            }
+            while ((end > start) && (text.charAt(end - 1) <= ' ')) {
+                end--;
+            }
+        }
+
+        return validate(text, start, end);
+    }
+
+    /**
+     * Validates the specified range of the input.
+     *
+     * @param text  Input to be validated.
+     * @param start Index of the first character of the range, after trimming if needed.
+     * @param end   Index following the last character of the range, after trimming if needed.
+     *
+     * @return Validation result.
+     */
+    protected abstract Boolean validate(CharSequence text, int start, int end);
+}
@@ -26,19 +26,45 @@
 package com.google.code.validationframework.base.rule.string;
 
 import com.google.code.validationframework.api.rule.Rule;
+import com.google.code.validationframework.base.utils.CharSequenceUtils;
 
 /**
  * Abstract implementation of a rule validating strings and return a boolean as a result.
+ * <p>
+ * The rule can also validate any {@link CharSequence} using {@link #validate(CharSequence)}, or be used as a rule on
+ * character sequences using {@link #asCharSequenceRule()}. This allows to validate, for instance, views on the content
+ * of a text document without copying it into a string. Sub-classes should override {@link #validate(CharSequence)} so
+ * that the character sequence is not copied, as the default implementation converts it to a string.
  *
  * @see Rule
+ * @see CharSequenceUtils
  */
 public abstract class AbstractStringBooleanRule implements Rule<String, Boolean> {
 
+    /**
+     * Adapter allowing to use this rule on character sequences.
+     */
+    private class CharSequenceRuleAdapter implements Rule<CharSequence, Boolean> {
+
+        /**
+         * @see Rule#validate(Object)
+         */
+        @Override
+        public Boolean validate(CharSequence data) {
+            return AbstractStringBooleanRule.this.validate(data);
+        }
+    }
+
     /**
      * Flag stating whether the data string should be trimmed before validation.
      */
     protected boolean trimDataBeforeValidation = true;
 
+    /**
+     * Adapter allowing to use this rule on character sequences.
+     */
+    private final Rule<CharSequence, Boolean> charSequenceRule = new CharSequenceRuleAdapter();
+
     /**
      * Default constructor.
      */
@@ -91,4 +117,51 @@ public abstract class AbstractStringBooleanRule implements Rule<String, Boolean>
 
         return resultData;
     }
+
+    /**
+     * Trims the data character sequence if the {@link #trimDataBeforeValidation} is set, without copying it.<br>This
+     * method is to be called by concrete sub-classes before validation.
+     *
+     * @param data Data to be maybe trimmed before validation.
+     *
+     * @return Trimmed data or untrimmed data.
+     *
+     * @see CharSequenceUtils#trim(CharSequence)
+     */
+    protected CharSequence trimIfNeeded(final CharSequence data) {
+        CharSequence resultData = data;
+
+        if (trimDataBeforeValidation) {
+            resultData = CharSequenceUtils.trim(data);
+        }
+
+        return resultData;
+    }
+
+    /**
+     * Validates the specified character sequence.
+     * <p>
+     * By default, the character sequence is converted to a string and validated using {@link #validate(Object)}.
+     * Sub-classes should override this method to avoid the copy.
+     *
+     * @param data Data to be validated.
+     *
+     * @return Validation result.
+     */
+    public Boolean validate(final CharSequence data) {
+        String stringData = null;
+        if (data != null) {
+            stringData = data.toString();
+        }
+        return validate(stringData);
+    }
+
+    /**
+     * Gets a view of this rule that can be used to validate character sequences.
+     *
+     * @return Rule validating character sequences using {@link #validate(CharSequence)}.
+     */
+    public Rule<CharSequence, Boolean> asCharSequenceRule() {
+        return charSequenceRule;
+    }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.rule.string;
+
+/**
+ * Rule checking that the input contains only characters from a specified string.<br>This is a simple and fast
+ * alternative to the {@link StringRegexRule}.
+ *
+ * @see AbstractCharacterSetBooleanRule
+ * @see IllegalCharacterBooleanRule
+ */
+public class AllowedCharacterBooleanRule extends AbstractCharacterSetBooleanRule {
+
+    /**
+     * Constructor specifying the allowed characters.
+     *
+     * @param allowedCharacters String containing all allowed characters.
+     */
+    public AllowedCharacterBooleanRule(final String allowedCharacters) {
+        super(allowedCharacters);
+    }
+
+    /**
+     * @see AbstractCharacterSetBooleanRule#validate(CharSequence, int, int)
+     */
+    @Override
+    protected Boolean validate(final CharSequence text, final int start, final int end) {
+        return getCharacterSet().indexOf(text, start, end, false) < 0;
+    }
+}
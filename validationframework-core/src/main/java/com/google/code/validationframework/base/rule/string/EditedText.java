@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.rule.string;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Text to be validated, along with the modifications made to it since it was last validated.
+ * <p>
+ * The modifications allow an {@link IncrementalTextRule} to re-validate only the affected regions of the text.
+ *
+ * @see IncrementalTextRule
+ * @see TextEdit
+ */
+public final class EditedText {
+
+    /**
+     * Text after the modifications.
+     */
+    private final CharSequence text;
+
+    /**
+     * Modifications since the text was last validated, in the order in which they were made, or null if unknown.
+     */
+    private final List<TextEdit> edits;
+
+    /**
+     * Constructor specifying the text whose modifications are unknown, so that it is entirely validated.
+     *
+     * @param text Text to be validated.
+     */
+    public EditedText(CharSequence text) {
+        this(text, null);
+    }
+
+    /**
+     * Constructor specifying the text and the modifications made to it since it was last validated.
+     *
+     * @param text  Text after the modifications.
+     * @param edits Modifications in the order in which they were made, or null if unknown.
+     */
+    public EditedText(CharSequence text, List<TextEdit> edits) {
+        this.text = text;
+        if (edits == null) {
+            this.edits = null;
+        } else {
+            this.edits = Collections.unmodifiableList(edits);
+        }
+    }
+
+    /**
+     * Gets the text after the modifications.
+     *
+     * @return Text to be validated.
+     */
+    public CharSequence getText() {
+        return text;
+    }
+
+    /**
+     * Gets the modifications made to the text since it was last validated.
+     *
+     * @return Unmodifiable list of modifications in the order in which they were made, or null if unknown.
+     */
+    public List<TextEdit> getEdits() {
+        return edits;
+    }
+}
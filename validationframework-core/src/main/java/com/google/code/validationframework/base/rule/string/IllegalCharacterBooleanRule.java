@@ -25,33 +25,18 @@
 
 package com.google.code.validationframework.base.rule.string;
 
-import com.google.code.validationframework.api.rule.Rule;
-import com.google.code.validationframework.base.rule.NegateBooleanRule;
-
-import java.util.regex.Pattern;
-
 /**
- * Rule checking that the input does not contain any characters from  a specified string.<br>This is a simple
+ * Rule checking that the input does not contain any characters from  a specified string.<br>This is a simple and fast
  * alternative to the {@link StringRegexRule}.
+ * <p>
+ * The illegal characters are looked up in a precomputed table, so the input is scanned in linear time and the
+ * evaluation cannot run away as a regular expression could.
  *
+ * @see AbstractCharacterSetBooleanRule
+ * @see AllowedCharacterBooleanRule
  * @see StringRegexRule
  */
-public class IllegalCharacterBooleanRule extends AbstractStringBooleanRule {
-
-    /**
-     * Simple implementation of the rule that will actually do the check.
-     */
-    private Rule<String, Boolean> delegatePattern;
-
-    /**
-     * String containing all illegal characters.
-     */
-    private String illegalCharacters;
-
-    /**
-     * String containing all illegal characters separated by a white space.
-     */
-    private String illegalCharactersSeparatedBySpaces;
+public class IllegalCharacterBooleanRule extends AbstractCharacterSetBooleanRule {
 
     /**
      * Constructor specifying the list of illegal characters in a string.
@@ -59,7 +44,7 @@ public class IllegalCharacterBooleanRule extends AbstractStringBooleanRule {
      * @param illegalCharacters String containing all illegal characters.
      */
     public IllegalCharacterBooleanRule(final String illegalCharacters) {
-        setIllegalCharacters(illegalCharacters);
+        super(illegalCharacters);
     }
 
     /**
@@ -68,7 +53,7 @@ public class IllegalCharacterBooleanRule extends AbstractStringBooleanRule {
      * @return String containing all illegal characters.
      */
     public String getIllegalCharacters() {
-        return illegalCharacters;
+        return getCharacters();
     }
 
     /**
@@ -77,22 +62,7 @@ public class IllegalCharacterBooleanRule extends AbstractStringBooleanRule {
      * @param illegalCharacters String containing all illegal characters.
      */
     public void setIllegalCharacters(final String illegalCharacters) {
-        // Create a simple sub-rule taking care of the check
-        this.illegalCharacters = illegalCharacters;
-        delegatePattern = new NegateBooleanRule<String>(new StringRegexRule("[" + Pattern.quote(illegalCharacters) +
-                "]"));
-
-        // Create a nicely space-separated list of illegal characters
-        final int illegalCharacterCount = illegalCharacters.length();
-        final StringBuilder illegalCharactersSeparatedBySpacesStringBuilder = new StringBuilder(illegalCharacterCount
-                * 2);
-        for (int i = 0; i < illegalCharacterCount; i++) {
-            illegalCharactersSeparatedBySpacesStringBuilder.append(illegalCharacters.toCharArray()[i]);
-            if (i < (illegalCharacterCount - 1)) {
-                illegalCharactersSeparatedBySpacesStringBuilder.append(' ');
-            }
-        }
-        illegalCharactersSeparatedBySpaces = illegalCharactersSeparatedBySpacesStringBuilder.toString();
+        setCharacters(illegalCharacters);
     }
 
     /**
@@ -102,15 +72,14 @@ public class IllegalCharacterBooleanRule extends AbstractStringBooleanRule {
      * @return List of illegal characters in a string, separated by a white space.
      */
     public String getIllegalCharactersSeparatedBySpaces() {
-        return illegalCharactersSeparatedBySpaces;
+        return getCharactersSeparatedBySpaces();
     }
 
     /**
-     * @see AbstractStringBooleanRule#validate(Object)
+     * @see AbstractCharacterSetBooleanRule#validate(CharSequence, int, int)
      */
     @Override
-    public Boolean validate(final String text) {
-        final String trimmedText = trimIfNeeded(text);
-        return delegatePattern.validate(trimmedText);
+    protected Boolean validate(final CharSequence text, final int start, final int end) {
+        return getCharacterSet().indexOf(text, start, end, true) < 0;
     }
 }
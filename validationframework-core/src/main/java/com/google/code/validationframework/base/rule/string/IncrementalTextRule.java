@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.rule.string;
+
+import com.google.code.validationframework.api.rule.Rule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Rule validating large texts incrementally, by re-validating only the regions affected by the modifications made to
+ * the text since the last validation.
+ * <p>
+ * The text is split into regions according to the {@link TextLocality} of the rule validating the regions, and the
+ * invalid regions are kept in an index. Whenever the text is modified, the index is shifted accordingly, and only the
+ * regions overlapping the modifications are re-validated. The result for the whole text (valid if and only if there is
+ * no invalid region) is therefore maintained incrementally.
+ * <p>
+ * For the {@link TextLocality#CHARACTER} locality, the modified ranges are first validated at once, and the individual
+ * characters are only validated if the range is invalid.
+ * <p>
+ * If the modifications are unknown (for instance, on the first validation), or if they are not consistent with the
+ * length of the text, the whole text is validated again.
+ * <p>
+ * Note that this class is not thread-safe. Also note that, because it keeps track of the state of the validated text,
+ * an instance of this class should be used to validate only one text.
+ *
+ * @see TextLocality
+ * @see EditedText
+ */
+public class IncrementalTextRule implements Rule<EditedText, Boolean> {
+
+    /**
+     * Rule validating a single region of the text.
+     */
+    private final Rule<CharSequence, Boolean> regionRule;
+
+    /**
+     * Locality of the region rule.
+     */
+    private final TextLocality locality;
+
+    /**
+     * Index of the invalid regions: start of each invalid region mapped to its end.
+     */
+    private final TreeMap<Integer, Integer> invalidRegions = new TreeMap<Integer, Integer>();
+
+    /**
+     * Unmodifiable view on the index of the invalid regions.
+     */
+    private final SortedMap<Integer, Integer> unmodifiableInvalidRegions = Collections.unmodifiableSortedMap
+            (invalidRegions);
+
+    /**
+     * Length of the text at the last validation, or -1 if no text has been validated yet.
+     */
+    private int validatedLength = -1;
+
+    /**
+     * Number of regions validated during the last validation.
+     */
+    private int lastValidatedRegionCount = 0;
+
+    /**
+     * Constructor specifying the rule validating a single region of the text and its locality.
+     *
+     * @param regionRule Rule validating a single region of the text, returning true if the region is valid.
+     * @param locality   Locality of the region rule.
+     */
+    public IncrementalTextRule(Rule<CharSequence, Boolean> regionRule, TextLocality locality) {
+        this.regionRule = regionRule;
+        this.locality = locality;
+    }
+
+    /**
+     * Gets the rule validating a single region of the text.
+     *
+     * @return Region rule.
+     */
+    public Rule<CharSequence, Boolean> getRegionRule() {
+        return regionRule;
+    }
+
+    /**
+     * Gets the locality of the region rule.
+     *
+     * @return Locality of the region rule.
+     */
+    public TextLocality getLocality() {
+        return locality;
+    }
+
+    /**
+     * Gets the invalid regions of the text at the last validation.
+     *
+     * @return Unmodifiable map of the start of each invalid region to its end.
+     */
+    public SortedMap<Integer, Integer> getInvalidRegions() {
+        return unmodifiableInvalidRegions;
+    }
+
+    /**
+     * Gets the number of regions validated during the last validation.
+     * <p>
+     * This can be used to measure the effectiveness of the incremental validation.
+     *
+     * @return Number of validated regions.
+     */
+    public int getLastValidatedRegionCount() {
+        return lastValidatedRegionCount;
+    }
+
+    /**
+     * Forgets the state of the validated text, so that it will be entirely validated next time.
+     */
+    public void reset() {
+        invalidRegions.clear();
+        validatedLength = -1;
+    }
+
+    /**
+     * @see Rule#validate(Object)
+     */
+    @Override
+    public Boolean validate(EditedText data) {
+        lastValidatedRegionCount = 0;
+
+        if ((data == null) || (data.getText() == null)) {
+            reset();
+        } else {
+            CharSequence text = data.getText();
+            List<int[]> dirtyRanges = applyEdits(data.getEdits(), text.length());
+            if (dirtyRanges == null) {
+                // Modifications unknown or inconsistent
+                invalidRegions.clear();
+                validateRange(text, 0, text.length());
+            } else {
+                for (int[] dirtyRange : dirtyRanges) {
+                    validateRange(text, Math.min(dirtyRange[0], text.length()), Math.min(dirtyRange[1],
+                            text.length()));
+                }
+            }
+            validatedLength = text.length();
+        }
+
+        return invalidRegions.isEmpty();
+    }
+
+    /**
+     * Shifts the index of the invalid regions according to the specified modifications, and computes the ranges of the
+     * text that need to be validated again.
+     *
+     * @param edits     Modifications made to the text since the last validation, or null if unknown.
+     * @param newLength Length of the text after the modifications.
+     *
+     * @return Ranges to be validated again, or null if the whole text needs to be validated again.
+     */
+    private List<int[]> applyEdits(List<TextEdit> edits, int newLength) {
+        List<int[]> dirtyRanges = null;
+
+        if ((edits != null) && (validatedLength >= 0) && (getLengthAfter(edits) == newLength)) {
+            dirtyRanges = new ArrayList<int[]>(edits.size());
+            for (TextEdit edit : edits) {
+                // Shift the previous dirty ranges
+                for (int[] dirtyRange : dirtyRanges) {
+                    dirtyRange[0] = edit.shift(dirtyRange[0]);
+                    dirtyRange[1] = edit.shift(dirtyRange[1]);
+                }
+                shiftInvalidRegions(edit);
+
+                if (edit.getType() == TextEdit.Type.INSERT) {
+                    dirtyRanges.add(new int[]{edit.getOffset(), edit.getOffset() + edit.getLength()});
+                } else {
+                    dirtyRanges.add(new int[]{edit.getOffset(), edit.getOffset()});
+                }
+            }
+        }
+
+        return dirtyRanges;
+    }
+
+    /**
+     * Computes the length of the text after the specified modifications, based on the length at the last validation.
+     *
+     * @param edits Modifications made to the text since the last validation.
+     *
+     * @return Expected length of the text, or -1 if the modifications are not consistent.
+     */
+    private int getLengthAfter(List<TextEdit> edits) {
+        int length = validatedLength;
+        for (TextEdit edit : edits) {
+            if (length >= 0) {
+                if (edit.getType() == TextEdit.Type.INSERT) {
+                    length = (edit.getOffset() <= length) ? (length + edit.getLength()) : -1;
+                } else {
+                    length = (edit.getOffset() + edit.getLength() <= length) ? (length - edit.getLength()) : -1;
+                }
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Shifts the index of the invalid regions according to the specified modification.
+     * <p>
+     * The invalid regions starting in a removed range are dropped, as they will be validated again anyway.
+     *
+     * @param edit Modification made to the text.
+     */
+    private void shiftInvalidRegions(TextEdit edit) {
+        SortedMap<Integer, Integer> tail = invalidRegions.tailMap(edit.getOffset());
+        if (!tail.isEmpty()) {
+            List<int[]> shifted = new ArrayList<int[]>(tail.size());
+            for (Map.Entry<Integer, Integer> region : tail.entrySet()) {
+                boolean removed = (edit.getType() == TextEdit.Type.REMOVE) && (region.getKey() < edit.getOffset() +
+                        edit.getLength());
+                if (!removed) {
+                    shifted.add(new int[]{edit.shift(region.getKey()), edit.shift(region.getValue())});
+                }
+            }
+            tail.clear();
+            for (int[] region : shifted) {
+                invalidRegions.put(region[0], region[1]);
+            }
+        }
+    }
+
+    /**
+     * Validates again all the regions overlapping the specified range of the text, and updates the index of the
+     * invalid regions accordingly.
+     *
+     * @param text  Whole text.
+     * @param start Start of the range.
+     * @param end   End of the range.
+     */
+    private void validateRange(CharSequence text, int start, int end) {
+        int rangeStart = locality.getRegionStart(text, start);
+        int rangeEnd = locality.getRegionEnd(text, end);
+
+        // Drop the previous results for the regions in the range
+        boolean characters = locality == TextLocality.CHARACTER;
+        int dropEnd = characters ? rangeEnd : (rangeEnd + 1);
+        Iterator<Integer> startIt = invalidRegions.subMap(rangeStart, dropEnd).keySet().iterator();
+        while (startIt.hasNext()) {
+            startIt.next();
+            startIt.remove();
+        }
+
+        if (characters) {
+            // Validate the range at once, and only look for the invalid characters if needed
+            if ((rangeEnd > rangeStart) && !isValid(text, rangeStart, rangeEnd)) {
+                for (int i = rangeStart; i < rangeEnd; i++) {
+                    if (!isValid(text, i, i + 1)) {
+                        invalidRegions.put(i, i + 1);
+                    }
+                }
+            }
+        } else {
+            int regionStart = rangeStart;
+            boolean done = false;
+            while (!done) {
+                int regionEnd = locality.getRegionEnd(text, regionStart);
+                if (!isValid(text, regionStart, regionEnd)) {
+                    invalidRegions.put(regionStart, regionEnd);
+                }
+                done = regionEnd >= rangeEnd;
+                regionStart = locality.getNextRegionStart(text, regionEnd);
+            }
+        }
+    }
+
+    /**
+     * Validates the specified range of the text using the region rule.
+     *
+     * @param text  Whole text.
+     * @param start Start of the range.
+     * @param end   End of the range.
+     *
+     * @return True if the range is valid, false otherwise.
+     */
+    private boolean isValid(CharSequence text, int start, int end) {
+        lastValidatedRegionCount++;
+        return Boolean.TRUE.equals(regionRule.validate(text.subSequence(start, end)));
+    }
+}
@@ -0,0 +1,394 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.rule.string;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Engine finding whether at least one of several patterns can be found in an input, in a single pass over the input
+ * whenever possible.
+ * <p>
+ * The patterns are split into three groups:
+ * <ul>
+ * <li>Literal patterns (without any regex meta-character, or compiled with the {@link Pattern#LITERAL} flag only) are
+ * looked up all at once using an Aho-Corasick automaton.</li>
+ * <li>Other patterns whose flags can be embedded are combined into a single alternation, each pattern being wrapped
+ * into its own non-capturing group with its flags.</li>
+ * <li>Patterns that cannot be safely combined (because of back references, named groups, quotes or flags that cannot
+ * be embedded) are matched one after the other.</li>
+ * </ul>
+ * The groups are always evaluated in the same order, and the patterns in the order in which they were specified.
+ * <p>
+ * Instances of this class are immutable and thread-safe. The matchers are reused per thread.
+ *
+ * @see StringRegexRule
+ */
+public class MultiPatternMatcher {
+
+    /**
+     * Aho-Corasick automaton finding whether at least one of several literals can be found in an input.
+     */
+    private static class LiteralAutomaton {
+
+        /**
+         * Sorted characters of the transitions of each state.
+         */
+        private final char[][] transitionChars;
+
+        /**
+         * Target states of the transitions of each state, in the same order as the characters.
+         */
+        private final int[][] transitionTargets;
+
+        /**
+         * Failure state of each state.
+         */
+        private final int[] failures;
+
+        /**
+         * Flag indicating for each state whether a literal ends at that state (or at one of its failure states).
+         */
+        private final boolean[] outputs;
+
+        /**
+         * Constructor specifying the literals to be found.
+         *
+         * @param literals Non-empty literals to be found.
+         */
+        public LiteralAutomaton(Collection<String> literals) {
+            // Build the trie
+            List<TreeMap<Character, Integer>> trie = new ArrayList<TreeMap<Character, Integer>>();
+            List<Boolean> terminals = new ArrayList<Boolean>();
+            trie.add(new TreeMap<Character, Integer>());
+            terminals.add(false);
+            for (String literal : literals) {
+                int state = 0;
+                for (int i = 0; i < literal.length(); i++) {
+                    Integer next = trie.get(state).get(literal.charAt(i));
+                    if (next == null) {
+                        next = trie.size();
+                        trie.add(new TreeMap<Character, Integer>());
+                        terminals.add(false);
+                        trie.get(state).put(literal.charAt(i), next);
+                    }
+                    state = next;
+                }
+                terminals.set(state, true);
+            }
+
+            // Flatten the trie
+            int stateCount = trie.size();
+            transitionChars = new char[stateCount][];
+            transitionTargets = new int[stateCount][];
+            failures = new int[stateCount];
+            outputs = new boolean[stateCount];
+            for (int state = 0; state < stateCount; state++) {
+                TreeMap<Character, Integer> transitions = trie.get(state);
+                transitionChars[state] = new char[transitions.size()];
+                transitionTargets[state] = new int[transitions.size()];
+                int i = 0;
+                for (Map.Entry<Character, Integer> transition : transitions.entrySet()) {
+                    transitionChars[state][i] = transition.getKey();
+                    transitionTargets[state][i] = transition.getValue();
+                    i++;
+                }
+                outputs[state] = terminals.get(state);
+            }
+
+            // Compute the failure states breadth-first
+            Queue<Integer> queue = new LinkedList<Integer>();
+            for (int target : transitionTargets[0]) {
+                failures[target] = 0;
+                queue.add(target);
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.remove();
+                for (int i = 0; i < transitionChars[state].length; i++) {
+                    char c = transitionChars[state][i];
+                    int target = transitionTargets[state][i];
+                    int failure = failures[state];
+                    while ((failure != 0) && (getTransition(failure, c) < 0)) {
+                        failure = failures[failure];
+                    }
+                    int failureTarget = getTransition(failure, c);
+                    failures[target] = (failureTarget < 0) ? 0 : failureTarget;
+                    outputs[target] |= outputs[failures[target]];
+                    queue.add(target);
+                }
+            }
+        }
+
+        /**
+         * Gets the target of the transition of the specified state for the specified character.
+         *
+         * @param state State.
+         * @param c     Character.
+         *
+         * @return Target state, or -1 if there is no such transition.
+         */
+        private int getTransition(int state, char c) {
+            char[] chars = transitionChars[state];
+            int low = 0;
+            int high = chars.length - 1;
+            int target = -1;
+            while ((target < 0) && (low <= high)) {
+                int middle = (low + high) >>> 1;
+                if (chars[middle] < c) {
+                    low = middle + 1;
+                } else if (chars[middle] > c) {
+                    high = middle - 1;
+                } else {
+                    target = transitionTargets[state][middle];
+                }
+            }
+            return target;
+        }
+
+        /**
+         * States whether at least one of the literals can be found in the specified input.
+         *
+         * @param input Input to be scanned.
+         *
+         * @return True if a literal was found, false otherwise.
+         */
+        public boolean find(CharSequence input) {
+            boolean found = false;
+            int state = 0;
+            int length = input.length();
+            for (int i = 0; (i < length) && !found; i++) {
+                char c = input.charAt(i);
+                int target = getTransition(state, c);
+                while ((target < 0) && (state != 0)) {
+                    state = failures[state];
+                    target = getTransition(state, c);
+                }
+                state = (target < 0) ? 0 : target;
+                found = outputs[state];
+            }
+            return found;
+        }
+    }
+
+    /**
+     * Characters having a special meaning in regular expressions.
+     */
+    private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    /**
+     * Pattern flags that can be embedded in a regular expression, with their embedded form.
+     */
+    private static final Object[][] EMBEDDABLE_FLAGS = { //
+            {Pattern.CASE_INSENSITIVE, 'i'}, //
+            {Pattern.UNIX_LINES, 'd'}, //
+            {Pattern.MULTILINE, 'm'}, //
+            {Pattern.DOTALL, 's'}, //
+            {Pattern.UNICODE_CASE, 'u'}};
+
+    /**
+     * Pattern detecting the constructs that prevent a regular expression from being combined with others: back
+     * references, named groups, quotes and embedded comments flags.
+     */
+    private static final Pattern NOT_COMBINABLE_CONSTRUCTS = Pattern.compile(//
+            "\\\\[1-9kQ]|\\(\\?<[a-zA-Z]|\\(\\?[a-zA-Z-]*x");
+
+    /**
+     * Flag indicating whether one of the literals is empty, in which case any input matches.
+     */
+    private final boolean emptyLiteral;
+
+    /**
+     * Automaton finding the literals, or null if there is no non-empty literal.
+     */
+    private final LiteralAutomaton literalAutomaton;
+
+    /**
+     * Patterns to be matched by the matchers: the combined pattern (if any) first, then the patterns that could not be
+     * combined.
+     */
+    private final Pattern[] matchedPatterns;
+
+    /**
+     * Matchers of the matched patterns, reused per thread.
+     */
+    private final ThreadLocal<Matcher[]> matchers = new ThreadLocal<Matcher[]>();
+
+    /**
+     * Constructor specifying the patterns to be found.
+     *
+     * @param patterns Patterns to be found, in the order in which they are to be tried.
+     */
+    public MultiPatternMatcher(Collection<Pattern> patterns) {
+        List<String> literals = new ArrayList<String>();
+        List<Pattern> combinable = new ArrayList<Pattern>();
+        List<Pattern> notCombinable = new ArrayList<Pattern>();
+
+        for (Pattern pattern : patterns) {
+            if (isLiteral(pattern)) {
+                literals.add(pattern.pattern());
+            } else if (isCombinable(pattern)) {
+                combinable.add(pattern);
+            } else {
+                notCombinable.add(pattern);
+            }
+        }
+
+        // Literals
+        emptyLiteral = literals.contains("");
+        literals.remove("");
+        if (literals.isEmpty()) {
+            literalAutomaton = null;
+        } else {
+            literalAutomaton = new LiteralAutomaton(literals);
+        }
+
+        // Regular expressions
+        List<Pattern> toBeMatched = new ArrayList<Pattern>();
+        if (combinable.size() == 1) {
+            toBeMatched.add(combinable.get(0));
+        } else if (combinable.size() > 1) {
+            Pattern combined = combine(combinable);
+            if (combined == null) {
+                toBeMatched.addAll(combinable);
+            } else {
+                toBeMatched.add(combined);
+            }
+        }
+        toBeMatched.addAll(notCombinable);
+        matchedPatterns = toBeMatched.toArray(new Pattern[toBeMatched.size()]);
+    }
+
+    /**
+     * States whether the specified pattern matches literally.
+     *
+     * @param pattern Pattern to be checked.
+     *
+     * @return True if the pattern is a literal, false otherwise.
+     */
+    private static boolean isLiteral(Pattern pattern) {
+        boolean literal = pattern.flags() == Pattern.LITERAL;
+        if (!literal && (pattern.flags() == 0)) {
+            literal = true;
+            String regex = pattern.pattern();
+            for (int i = 0; (i < regex.length()) && literal; i++) {
+                literal = META_CHARACTERS.indexOf(regex.charAt(i)) < 0;
+            }
+        }
+        return literal;
+    }
+
+    /**
+     * States whether the specified pattern can be combined with other patterns into a single alternation.
+     *
+     * @param pattern Pattern to be checked.
+     *
+     * @return True if the pattern can be combined, false otherwise.
+     */
+    private static boolean isCombinable(Pattern pattern) {
+        int otherFlags = pattern.flags();
+        for (Object[] embeddableFlag : EMBEDDABLE_FLAGS) {
+            otherFlags &= ~(Integer) embeddableFlag[0];
+        }
+        return (otherFlags == 0) && !NOT_COMBINABLE_CONSTRUCTS.matcher(pattern.pattern()).find();
+    }
+
+    /**
+     * Combines the specified patterns into a single alternation.
+     *
+     * @param patterns Patterns to be combined.
+     *
+     * @return Combined pattern, or null if the patterns could not be combined.
+     */
+    private static Pattern combine(List<Pattern> patterns) {
+        StringBuilder regex = new StringBuilder();
+        for (Pattern pattern : patterns) {
+            if (regex.length() > 0) {
+                regex.append('|');
+            }
+            regex.append("(?");
+            for (Object[] embeddableFlag : EMBEDDABLE_FLAGS) {
+                if ((pattern.flags() & (Integer) embeddableFlag[0]) != 0) {
+                    regex.append(embeddableFlag[1]);
+                }
+            }
+            regex.append(':').append(pattern.pattern()).append(')');
+        }
+
+        Pattern combined;
+        try {
+            combined = Pattern.compile(regex.toString());
+        } catch (PatternSyntaxException e) {
+            // Should not happen, but better be safe
+            combined = null;
+        }
+        return combined;
+    }
+
+    /**
+     * States whether at least one of the patterns can be found in the specified input, as per {@link Matcher#find()}.
+     *
+     * @param input Input to be scanned.
+     *
+     * @return True if at least one of the patterns was found, false otherwise.
+     */
+    public boolean find(CharSequence input) {
+        boolean found = emptyLiteral || ((literalAutomaton != null) && literalAutomaton.find(input));
+
+        if (!found && (matchedPatterns.length > 0)) {
+            Matcher[] threadMatchers = matchers.get();
+            if (threadMatchers == null) {
+                threadMatchers = new Matcher[matchedPatterns.length];
+                matchers.set(threadMatchers);
+            }
+
+            for (int i = 0; (i < matchedPatterns.length) && !found; i++) {
+                Matcher matcher = threadMatchers[i];
+                if (matcher == null) {
+                    matcher = matchedPatterns[i].matcher(input);
+                    threadMatchers[i] = matcher;
+                } else {
+                    matcher.reset(input);
+                }
+                try {
+                    found = matcher.find();
+                } finally {
+                    // Do not retain the input, even if the matching was aborted
+                    matcher.reset("");
+                }
+            }
+        }
+
+        return found;
+    }
+}
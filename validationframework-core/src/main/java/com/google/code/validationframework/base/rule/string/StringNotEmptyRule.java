@@ -61,13 +61,21 @@ public class StringNotEmptyRule extends AbstractStringBooleanRule {
      */
     @Override
     public Boolean validate(String data) {
+        return validate((CharSequence) data);
+    }
+
+    /**
+     * @see AbstractStringBooleanRule#validate(CharSequence)
+     */
+    @Override
+    public Boolean validate(CharSequence data) {
         Boolean result;
 
         if (data == null) {
             result = nullResult;
         } else {
-            String trimmedData = trimIfNeeded(data);
-            result = !trimmedData.isEmpty();
+            CharSequence trimmedData = trimIfNeeded(data);
+            result = trimmedData.length() > 0;
         }
 
         return result;
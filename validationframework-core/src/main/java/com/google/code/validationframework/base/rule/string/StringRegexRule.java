@@ -25,8 +25,13 @@
 
 package com.google.code.validationframework.base.rule.string;
 
-import java.util.HashMap;
+import com.google.code.validationframework.base.utils.DeadlineCharSequence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -35,18 +40,54 @@ import java.util.regex.Pattern;
  * result will be valid if the data matches at least one of the patterns (OR operation).<br>Note that the validation is
  * based on the method {@link Matcher#find()} and not {@link Matcher#matches()}. As a result, if you need the matching
  * to be done strictly on the whole input data, you should surround the patterns with the '^' and '$' characters.
+ * <p>
+ * All the patterns are checked using a {@link MultiPatternMatcher}, so that the data is scanned in a single pass
+ * whenever possible, even with a large number of patterns. The patterns are tried in the order in which they were
+ * added.
+ * <p>
+ * A time budget can be set for each evaluation, so that large inputs or patterns causing catastrophic backtracking do
+ * not freeze the calling thread (typically, the Event Dispatch Thread). When the budget is exceeded, or when the thread
+ * is interrupted, the evaluation is aborted and the timeout result is returned. The number of aborted evaluations is
+ * counted.
  *
  * @see AbstractStringBooleanRule
+ * @see MultiPatternMatcher
+ * @see DeadlineCharSequence
  * @see Pattern
  * @see Matcher
  * @see StringRegexRule
  */
 public class StringRegexRule extends AbstractStringBooleanRule {
 
+    /**
+     * Logger for this class.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(StringRegexRule.class);
+
     /**
      * Mapping between regex expression string and compiled patterns.
      */
-    private final Map<String, Pattern> patterns = new HashMap<String, Pattern>();
+    private final Map<String, Pattern> patterns = new LinkedHashMap<String, Pattern>();
+
+    /**
+     * Engine matching all the patterns at once, or null if it needs to be rebuilt after the patterns changed.
+     */
+    private volatile MultiPatternMatcher multiPatternMatcher = null;
+
+    /**
+     * Time budget in milliseconds for each evaluation, or 0 if the evaluation is not time-bounded.
+     */
+    private long timeoutMillis = 0;
+
+    /**
+     * Result to be returned when the time budget is exceeded.
+     */
+    private Boolean timeoutResult = false;
+
+    /**
+     * Number of evaluations aborted because the time budget was exceeded or the thread was interrupted.
+     */
+    private final AtomicLong timeoutCount = new AtomicLong(0);
 
     /**
      * Default constructor.
@@ -102,6 +143,7 @@ public class StringRegexRule extends AbstractStringBooleanRule {
      */
     public void addPattern(final String pattern, final int flags) {
         patterns.put(pattern, Pattern.compile(pattern, flags));
+        multiPatternMatcher = null;
     }
 
     /**
@@ -111,6 +153,64 @@ public class StringRegexRule extends AbstractStringBooleanRule {
      */
     public void removePattern(final String pattern) {
         patterns.remove(pattern);
+        multiPatternMatcher = null;
+    }
+
+    /**
+     * Gets the time budget for each evaluation.
+     *
+     * @return Time budget in milliseconds, or 0 if the evaluation is not time-bounded.
+     */
+    public long getTimeout() {
+        return timeoutMillis;
+    }
+
+    /**
+     * Sets the time budget for each evaluation.
+     *
+     * @param timeoutMillis Time budget in milliseconds, or 0 if the evaluation should not be time-bounded.
+     */
+    public void setTimeout(long timeoutMillis) {
+        if (timeoutMillis < 0) {
+            throw new IllegalArgumentException("Timeout cannot be negative: " + timeoutMillis);
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Gets the result returned when the time budget is exceeded.
+     *
+     * @return Timeout result.
+     */
+    public Boolean getTimeoutResult() {
+        return timeoutResult;
+    }
+
+    /**
+     * Sets the result to be returned when the time budget is exceeded.
+     * <p>
+     * By default, the data is considered invalid.
+     *
+     * @param timeoutResult Timeout result.
+     */
+    public void setTimeoutResult(Boolean timeoutResult) {
+        this.timeoutResult = timeoutResult;
+    }
+
+    /**
+     * Gets the number of evaluations aborted because the time budget was exceeded or the thread was interrupted.
+     *
+     * @return Number of timeouts.
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    /**
+     * Resets the number of evaluations aborted because the time budget was exceeded or the thread was interrupted.
+     */
+    public void resetTimeoutCount() {
+        timeoutCount.set(0);
     }
 
     /**
@@ -119,16 +219,35 @@ public class StringRegexRule extends AbstractStringBooleanRule {
      */
     @Override
     public Boolean validate(final String data) {
+        return validate((CharSequence) data);
+    }
+
+    /**
+     * @see AbstractStringBooleanRule#validate(CharSequence)
+     * @see Matcher#find()
+     */
+    @Override
+    public Boolean validate(final CharSequence data) {
         Boolean result = false;
 
         if (data != null) {
-            final String dataToBeValidated = trimIfNeeded(data);
-            for (final Pattern pattern : patterns.values()) {
-                final Matcher matcher = pattern.matcher(dataToBeValidated);
-                if (matcher.find()) {
-                    result = true;
-                    break;
+            final CharSequence dataToBeValidated = trimIfNeeded(data);
+            MultiPatternMatcher matcher = multiPatternMatcher;
+            if (matcher == null) {
+                matcher = new MultiPatternMatcher(patterns.values());
+                multiPatternMatcher = matcher;
+            }
+            if (timeoutMillis > 0) {
+                try {
+                    result = matcher.find(new DeadlineCharSequence(dataToBeValidated, timeoutMillis));
+                } catch (DeadlineCharSequence.DeadlineExceededException e) {
+                    timeoutCount.incrementAndGet();
+                    LOGGER.warn("Regular expression evaluation aborted after " + timeoutMillis + " ms: " + e
+                            .getMessage());
+                    result = timeoutResult;
                 }
+            } else {
+                result = matcher.find(dataToBeValidated);
             }
         }
 
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.rule.string;
+
+/**
+ * Immutable description of a modification of a text, typically built from a document event.
+ *
+ * @see EditedText
+ * @see IncrementalTextRule
+ */
+public final class TextEdit {
+
+    /**
+     * Type of modification.
+     */
+    public enum Type {
+
+        /**
+         * Characters were inserted.
+         */
+        INSERT,
+
+        /**
+         * Characters were removed.
+         */
+        REMOVE
+    }
+
+    /**
+     * Type of modification.
+     */
+    private final Type type;
+
+    /**
+     * Offset of the modification in the text.
+     */
+    private final int offset;
+
+    /**
+     * Number of characters inserted or removed.
+     */
+    private final int length;
+
+    /**
+     * Constructor specifying the type, offset and length of the modification.
+     *
+     * @param type   Type of modification.
+     * @param offset Offset of the modification in the text.
+     * @param length Number of characters inserted or removed.
+     */
+    public TextEdit(Type type, int offset, int length) {
+        if (type == null) {
+            throw new IllegalArgumentException("Type of modification cannot be null");
+        }
+        if ((offset < 0) || (length < 0)) {
+            throw new IllegalArgumentException("Invalid modification: offset " + offset + ", length " + length);
+        }
+        this.type = type;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Gets the type of modification.
+     *
+     * @return Type of modification.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the offset of the modification in the text.
+     *
+     * @return Offset of the modification.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the number of characters inserted or removed.
+     *
+     * @return Length of the modification.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Gets the new position of the specified position after this modification.
+     * <p>
+     * Positions inside a removed range are moved to the offset of the modification.
+     *
+     * @param position Position before the modification.
+     *
+     * @return Position after the modification.
+     */
+    public int shift(int position) {
+        int shifted = position;
+        if (type == Type.INSERT) {
+            if (position >= offset) {
+                shifted = position + length;
+            }
+        } else if (position >= offset + length) {
+            shifted = position - length;
+        } else if (position > offset) {
+            shifted = offset;
+        }
+        return shifted;
+    }
+
+    /**
+     * @see Object#toString()
+     */
+    @Override
+    public String toString() {
+        return type + "[offset=" + offset + ", length=" + length + "]";
+    }
+}
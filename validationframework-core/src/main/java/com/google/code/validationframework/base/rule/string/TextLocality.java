@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.rule.string;
+
+/**
+ * Extent of the text that a rule needs to look at to validate a given character.
+ * <p>
+ * A rule having a given locality can validate the text region by region: the text is valid if and only if each region
+ * is valid on its own. This allows to re-validate only the regions affected by a modification of the text.
+ * <p>
+ * The regions are delimited by separators that do not belong to any region: nothing for {@link #CHARACTER}, a line
+ * feed for {@link #LINE}, and a run of at least two line feeds (that is, at least one empty line) for {@link
+ * #PARAGRAPH}.
+ *
+ * @see IncrementalTextRule
+ */
+public enum TextLocality {
+
+    /**
+     * Each character can be validated on its own, for instance, when checking for illegal characters.
+     */
+    CHARACTER,
+
+    /**
+     * Each line can be validated on its own, for instance, when matching a regular expression per line.
+     */
+    LINE,
+
+    /**
+     * Each paragraph can be validated on its own, paragraphs being separated by empty lines.
+     */
+    PARAGRAPH;
+
+    /**
+     * Line feed character.
+     */
+    private static final char LINE_FEED = '\n';
+
+    /**
+     * Gets the start of the region containing the character at the specified index.
+     * <p>
+     * If the index is inside or right after a separator, the start of the region preceding the separator may be
+     * returned, so that the returned index is always the start of a region.
+     *
+     * @param text  Text to be looked up.
+     * @param index Index of the character, between 0 and the length of the text.
+     *
+     * @return Index of the first character of the region.
+     */
+    public int getRegionStart(CharSequence text, int index) {
+        int start = index;
+        switch (this) {
+            case LINE:
+                while ((start > 0) && (text.charAt(start - 1) != LINE_FEED)) {
+                    start--;
+                }
+                break;
+            case PARAGRAPH:
+                // Get out of the separator, if any
+                while ((start > 0) && (text.charAt(start - 1) == LINE_FEED)) {
+                    start--;
+                }
+                while ((start > 1) && !((text.charAt(start - 1) == LINE_FEED) && (text.charAt(start - 2) ==
+                        LINE_FEED))) {
+                    start--;
+                }
+                if (start == 1) {
+                    start = 0;
+                }
+                break;
+            default:
+                break;
+        }
+        return start;
+    }
+
+    /**
+     * Gets the end of the region containing the character at the specified index, that is, the start of the first
+     * separator found from the specified index.
+     *
+     * @param text  Text to be looked up.
+     * @param index Index of the character, between 0 and the length of the text.
+     *
+     * @return Index following the last character of the region, which is either the index of the next separator or
+     * the length of the text.
+     */
+    public int getRegionEnd(CharSequence text, int index) {
+        int length = text.length();
+        int end = index;
+        switch (this) {
+            case LINE:
+                while ((end < length) && (text.charAt(end) != LINE_FEED)) {
+                    end++;
+                }
+                break;
+            case PARAGRAPH:
+                while ((end < length) && !((text.charAt(end) == LINE_FEED) && (end + 1 < length) && (text.charAt(end +
+                        1) == LINE_FEED))) {
+                    end++;
+                }
+                break;
+            default:
+                end = Math.min(index + 1, length);
+                break;
+        }
+        return end;
+    }
+
+    /**
+     * Gets the start of the region following the separator starting at the specified index.
+     *
+     * @param text      Text to be looked up.
+     * @param regionEnd End of the previous region, as returned by {@link #getRegionEnd(CharSequence, int)}.
+     *
+     * @return Index of the first character of the next region, which may be the length of the text.
+     */
+    public int getNextRegionStart(CharSequence text, int regionEnd) {
+        int length = text.length();
+        int start = regionEnd;
+        switch (this) {
+            case LINE:
+                start = Math.min(regionEnd + 1, length);
+                break;
+            case PARAGRAPH:
+                while ((start < length) && (text.charAt(start) == LINE_FEED)) {
+                    start++;
+                }
+                break;
+            default:
+                break;
+        }
+        return start;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.transform;
+
+import com.google.code.validationframework.api.common.Disposable;
+import com.google.code.validationframework.api.transform.Transformer;
+import com.google.code.validationframework.base.common.MemoizingCache;
+
+/**
+ * Transformer decorator caching the outputs of the decorated transformer, so that identical inputs are not transformed
+ * again.
+ * <p>
+ * This is typically useful for transformers that are expensive to evaluate, such as the {@link ParseTransformer}, on
+ * highly repetitive inputs.
+ * <p>
+ * The same {@link MemoizingCache} can be shared by several instances of this class decorating equivalent transformers.
+ * The decorated transformer must be stateless: its output must only depend on its input. Also note that the outputs
+ * are shared between all identical inputs, so they should be immutable.
+ *
+ * @param <I> Type of input.
+ * @param <O> Type of output.
+ *
+ * @see MemoizingCache
+ * @see com.google.code.validationframework.base.rule.CachingRule
+ */
+public class CachingTransformer<I, O> implements Transformer<I, O>, Disposable {
+
+    /**
+     * Decorated transformer.
+     */
+    private final Transformer<I, O> delegate;
+
+    /**
+     * Cache of the outputs.
+     */
+    private final MemoizingCache<I, O> cache;
+
+    /**
+     * Flag indicating whether the cache was created by this transformer, so that it can be cleared when disposing.
+     */
+    private final boolean ownCache;
+
+    /**
+     * Constructor specifying the transformer to be decorated and the maximum number of outputs to be cached.
+     *
+     * @param delegate    Transformer to be decorated.
+     * @param maximumSize Maximum number of outputs to be cached.
+     */
+    public CachingTransformer(Transformer<I, O> delegate, long maximumSize) {
+        this.delegate = delegate;
+        this.cache = new MemoizingCache<I, O>(maximumSize);
+        this.ownCache = true;
+    }
+
+    /**
+     * Constructor specifying the transformer to be decorated and the cache to be used, possibly shared with other
+     * transformers.
+     *
+     * @param delegate Transformer to be decorated.
+     * @param cache    Cache to be used.
+     */
+    public CachingTransformer(Transformer<I, O> delegate, MemoizingCache<I, O> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.ownCache = false;
+    }
+
+    /**
+     * Gets the decorated transformer.
+     *
+     * @return Decorated transformer.
+     */
+    public Transformer<I, O> getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Gets the cache of the outputs, for instance, to read its statistics or to invalidate it.
+     *
+     * @return Cache of the outputs.
+     */
+    public MemoizingCache<I, O> getCache() {
+        return cache;
+    }
+
+    /**
+     * @see Transformer#transform(Object)
+     */
+    @Override
+    public O transform(I input) {
+        return cache.get(input, delegate);
+    }
+
+    /**
+     * @see Disposable#dispose()
+     */
+    @Override
+    public void dispose() {
+        if (ownCache) {
+            cache.invalidateAll();
+        }
+        if (delegate instanceof Disposable) {
+            ((Disposable) delegate).dispose();
+        }
+    }
+}
@@ -26,27 +26,27 @@
 package com.google.code.validationframework.base.transform;
 
 import com.google.code.validationframework.api.transform.Transformer;
-
-import java.util.ArrayList;
-import java.util.Collection;
+import com.google.code.validationframework.base.utils.TransformerUtils;
 
 /**
  * Composite transformer.
+ * <p>
+ * The chain is fused into a single flat array of transformers. Stages known to return their input as is, like null
+ * transformers and {@link CastTransformer}s, are eliminated from the chain when they are added.
  *
  * @param <I> Type of input of the first transformer of the chain.
  * @param <O> Type of output of the last transformer of the chain.
+ *
+ * @see TransformerUtils#isIdentity(Transformer)
  */
 public class ChainedTransformer<I, O> implements Transformer<I, O> {
 
     /**
      * Transformers that are part of the chain.
+     * <p>
+     * The array is replaced, and never modified, whenever a transformer is added to the chain.
      */
-    private final Collection<Transformer<?, ?>> transformers = new ArrayList<Transformer<?, ?>>();
-
-    /**
-     * Last transformer casting the output to the wanted type.
-     */
-    private final Transformer<Object, O> lastTransformer = new CastTransformer<Object, O>();
+    private Transformer[] transformers = new Transformer[0];
 
     /**
      * Constructor specifying the first transformer.
@@ -54,9 +54,7 @@ public class ChainedTransformer<I, O> implements Transformer<I, O> {
      * @param transformer First transformer.
      */
     public ChainedTransformer(Transformer<I, O> transformer) {
-        if (transformer != null) {
-            transformers.add(transformer);
-        }
+        transformers = TransformerUtils.append(transformers, transformer);
     }
 
     /**
@@ -68,9 +66,7 @@ public class ChainedTransformer<I, O> implements Transformer<I, O> {
      */
     @SuppressWarnings("unchecked")
     public <TO> ChainedTransformer<I, TO> chain(Transformer<O, TO> transformer) {
-        if (transformer != null) {
-            transformers.add(transformer);
-        }
+        transformers = TransformerUtils.append(transformers, transformer);
         return (ChainedTransformer<I, TO>) this;
     }
 
@@ -82,12 +78,6 @@ public class ChainedTransformer<I, O> implements Transformer<I, O> {
     @SuppressWarnings("unchecked")
     @Override
     public O transform(I input) {
-        Object rawOutput = input;
-
-        for (Transformer transformer : transformers) {
-            rawOutput = transformer.transform(rawOutput);
-        }
-
-        return lastTransformer.transform(rawOutput);
+        return (O) TransformerUtils.transform(transformers, input);
     }
 }
@@ -31,6 +31,7 @@ import com.google.code.validationframework.api.transform.Transformer;
  * Transformer that trims the input string.
  *
  * @see String#trim()
+ * @see CharSequenceTrimTransformer
  */
 public class TrimTransformer implements Transformer<String, String> {
 
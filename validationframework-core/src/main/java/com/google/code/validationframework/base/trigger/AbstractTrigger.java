@@ -29,10 +29,10 @@ import com.google.code.validationframework.api.common.Disposable;
 import com.google.code.validationframework.api.trigger.Trigger;
 import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.api.trigger.TriggerListener;
+import com.google.code.validationframework.base.common.CopyOnWriteListenerList;
 import com.google.code.validationframework.base.common.RethrowUncheckedExceptionHandler;
 import com.google.code.validationframework.base.common.UncheckedExceptionHandler;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -54,10 +54,26 @@ public abstract class AbstractTrigger implements Trigger, Disposable {
      */
     protected final UncheckedExceptionHandler uncheckedExceptionHandler;
 
+    /**
+     * Copy-on-write list of trigger listeners, so that trigger events can be fired without copying the list, even if
+     * listeners are added or removed during the firing.
+     */
+    private final CopyOnWriteListenerList<TriggerListener> listenerList = new
+            CopyOnWriteListenerList<TriggerListener>();
+
     /**
      * Trigger listeners.
+     * <p>
+     * This is the copy-on-write list itself, exposed as a plain list to the sub-classes.
+     */
+    protected final List<TriggerListener> listeners = listenerList;
+
+    /**
+     * Last trigger event created by {@link #getTriggerEvent(Object)}.
+     * <p>
+     * Trigger events are immutable, so the same instance can be fired again as long as the source does not change.
      */
-    protected final List<TriggerListener> listeners = new ArrayList<TriggerListener>();
+    private volatile TriggerEvent lastTriggerEvent = null;
 
     /**
      * Default constructor.
@@ -103,6 +119,25 @@ public abstract class AbstractTrigger implements Trigger, Disposable {
         listeners.remove(listener);
     }
 
+    /**
+     * Gets a trigger event for the specified source.
+     * <p>
+     * The trigger event created for the previous call is returned again if it has the same source, so that sub-classes
+     * firing events repeatedly for the same source do not create a new event each time.
+     *
+     * @param source Source of the trigger event.
+     *
+     * @return Trigger event for the specified source.
+     */
+    protected TriggerEvent getTriggerEvent(Object source) {
+        TriggerEvent event = lastTriggerEvent;
+        if ((event == null) || (event.getSource() != source)) {
+            event = new TriggerEvent(source);
+            lastTriggerEvent = event;
+        }
+        return event;
+    }
+
     /**
      * Fires the specified trigger event.<br>Calling this method is left to the sub-classes.
      *
@@ -110,8 +145,8 @@ public abstract class AbstractTrigger implements Trigger, Disposable {
      */
     protected void fireTriggerEvent(TriggerEvent event) {
         try {
-            for (TriggerListener listener : listeners) {
-                listener.triggerValidation(event);
+            for (Object listener : listenerList.getSnapshot()) {
+                ((TriggerListener) listener).triggerValidation(event);
             }
         } catch (RuntimeException e) {
             uncheckedExceptionHandler.handleException(e);
@@ -125,7 +160,7 @@ public abstract class AbstractTrigger implements Trigger, Disposable {
      */
     @Override
     public void dispose() {
-        for (TriggerListener listener : listeners) {
+        for (Object listener : listenerList.getSnapshot()) {
             if (listener instanceof Disposable) {
                 ((Disposable) listener).dispose();
             }
@@ -55,7 +55,7 @@ public class ManualTrigger extends AbstractTrigger {
      * @see TriggerEvent
      */
     public void trigger() {
-        super.fireTriggerEvent(new TriggerEvent(this));
+        super.fireTriggerEvent(getTriggerEvent(this));
     }
 
     /**
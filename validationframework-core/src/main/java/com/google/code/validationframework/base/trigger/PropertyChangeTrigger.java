@@ -25,7 +25,6 @@
 
 package com.google.code.validationframework.base.trigger;
 
-import com.google.code.validationframework.api.trigger.TriggerEvent;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
@@ -92,7 +91,7 @@ public class PropertyChangeTrigger extends AbstractTrigger implements PropertyCh
     public void propertyChange(PropertyChangeEvent propertyChangeEvent) {
         if ((triggerProperties == null) || triggerProperties.isEmpty() || triggerProperties.contains
                 (propertyChangeEvent.getPropertyName())) {
-            fireTriggerEvent(new TriggerEvent(propertyChangeEvent.getSource()));
+            fireTriggerEvent(getTriggerEvent(propertyChangeEvent.getSource()));
         }
     }
 }
@@ -27,7 +27,6 @@ package com.google.code.validationframework.base.trigger;
 
 import com.google.code.validationframework.api.property.ReadableProperty;
 import com.google.code.validationframework.api.property.ValueChangeListener;
-import com.google.code.validationframework.api.trigger.TriggerEvent;
 
 /**
  * Trigger initiating the validation whenever the value of a {@link ReadableProperty} has changed.
@@ -44,7 +43,7 @@ public class PropertyValueChangeTrigger extends AbstractTrigger {
 
         @Override
         public void valueChanged(ReadableProperty<Object> property, Object oldValue, Object newValue) {
-            fireTriggerEvent(new TriggerEvent(property));
+            fireTriggerEvent(getTriggerEvent(property));
         }
     }
 
@@ -71,6 +70,15 @@ public class PropertyValueChangeTrigger extends AbstractTrigger {
         this.property.addValueChangeListener((ValueChangeListener) changeAdapter);
     }
 
+    /**
+     * Gets the property whose value changes trigger the validation.
+     *
+     * @return Property whose value changes trigger the validation, or null if the trigger is disposed.
+     */
+    public ReadableProperty<?> getProperty() {
+        return property;
+    }
+
     /**
      * @see AbstractTrigger#dispose()
      */
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.trigger;
+
+import com.google.code.validationframework.api.trigger.Trigger;
+import com.google.code.validationframework.api.trigger.TriggerEvent;
+import com.google.code.validationframework.api.trigger.TriggerListener;
+import com.google.code.validationframework.base.common.Clock;
+import com.google.code.validationframework.base.common.RateLimiter;
+import com.google.code.validationframework.base.common.RateLimitingStrategy;
+
+/**
+ * Trigger wrapper reducing the number of trigger events fired by the wrapped trigger according to a {@link
+ * RateLimitingStrategy}.
+ * <p>
+ * This can be useful when the wrapped trigger fires many events in a short time, for instance on every keystroke or
+ * on every mouse move, and each event would otherwise result in a full validation.
+ * <p>
+ * Note that, depending on the strategy, the trigger events may be fired on a thread of the {@link Clock}. If the
+ * validation must be performed on a specific thread, the trigger can be re-scheduled accordingly, or an appropriate
+ * clock should be used.
+ *
+ * @see RateLimiter
+ * @see RateLimitingStrategy
+ */
+public class RateLimitedTrigger extends AbstractTrigger {
+
+    /**
+     * Listener to the wrapped trigger and passing the events to the rate limiter.
+     */
+    private class TriggerEventLimiter implements TriggerListener {
+
+        /**
+         * @see TriggerListener#triggerValidation(TriggerEvent)
+         */
+        @Override
+        public void triggerValidation(TriggerEvent event) {
+            rateLimiter.eventReceived();
+        }
+    }
+
+    /**
+     * Task firing a trigger event when the rate limiter emits an event.
+     */
+    private class TriggerEventEmitter implements Runnable {
+
+        /**
+         * @see Runnable#run()
+         */
+        @Override
+        public void run() {
+            fireTriggerEvent(getTriggerEvent(RateLimitedTrigger.this));
+        }
+    }
+
+    /**
+     * Wrapped trigger.
+     */
+    private Trigger wrappedTrigger;
+
+    /**
+     * Listener to the wrapped trigger.
+     */
+    private final TriggerListener triggerEventLimiter = new TriggerEventLimiter();
+
+    /**
+     * Entity reducing the number of trigger events.
+     */
+    private final RateLimiter rateLimiter;
+
+    /**
+     * Constructor specifying the trigger to be wrapped, the strategy, the delay and the clock to be used.
+     *
+     * @param wrappedTrigger Trigger to be wrapped.
+     * @param strategy       Strategy to be used to reduce the number of trigger events.
+     * @param delayMillis    Delay in milliseconds used by the strategy.
+     * @param clock          Clock to be used to measure time and schedule the trigger events.
+     */
+    public RateLimitedTrigger(Trigger wrappedTrigger, RateLimitingStrategy strategy, long delayMillis, Clock clock) {
+        super();
+        this.rateLimiter = new RateLimiter(strategy, delayMillis, clock, new TriggerEventEmitter());
+        this.wrappedTrigger = wrappedTrigger;
+        this.wrappedTrigger.addTriggerListener(triggerEventLimiter);
+    }
+
+    /**
+     * Gets the entity reducing the number of trigger events.
+     * <p>
+     * It can be used, for instance, to retrieve the number of trigger events that were coalesced.
+     *
+     * @return Rate limiter.
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * @see AbstractTrigger#dispose()
+     */
+    @Override
+    public void dispose() {
+        rateLimiter.dispose();
+        if (wrappedTrigger != null) {
+            wrappedTrigger.removeTriggerListener(triggerEventLimiter);
+            wrappedTrigger = null;
+        }
+        super.dispose();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.utils;
+
+import java.nio.CharBuffer;
+
+/**
+ * Utility class dealing with character sequences, without copying their content.
+ */
+public final class CharSequenceUtils {
+
+    /**
+     * Private constructor for utility class.
+     */
+    private CharSequenceUtils() {
+        // Nothing to be done
+    }
+
+    /**
+     * Trims the specified character sequence, as per {@link String#trim()}.
+     * <p>
+     * If the character sequence is a string, the trimmed string is returned. Otherwise, a read-only view on the
+     * trimmed range of the character sequence is returned, so that its content is not copied. If there is nothing to
+     * be trimmed, the character sequence itself is returned.
+     *
+     * @param data Character sequence to be trimmed, possibly null.
+     *
+     * @return Trimmed character sequence, or null if the specified character sequence is null.
+     */
+    public static CharSequence trim(CharSequence data) {
+        CharSequence trimmedData = data;
+
+        if (data instanceof String) {
+            trimmedData = ((String) data).trim();
+        } else if (data != null) {
+            int length = data.length();
+            int start = 0;
+            while ((start < length) && (data.charAt(start) <= ' ')) {
+                start++;
+            }
+            int end = length;
+            while ((end > start) && (data.charAt(end - 1) <= ' ')) {
+                end--;
+            }
+            if ((start > 0) || (end < length)) {
+                trimmedData = CharBuffer.wrap(data, start, end);
+            }
+        }
+
+        return trimmedData;
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.utils;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of characters allowing fast membership tests, without any allocation.
+ * <p>
+ * The characters of the Basic Multilingual Plane are looked up in a precomputed bit table, sized according to the
+ * highest character of the set. The supplementary code points are kept as sorted ranges and looked up by binary search.
+ * <p>
+ * Unpaired surrogates are handled as regular characters of the Basic Multilingual Plane.
+ */
+public final class CharacterSet {
+
+    /**
+     * Number of bits per word of the bit table.
+     */
+    private static final int WORD_SHIFT = 6;
+
+    /**
+     * Bit table of the characters of the Basic Multilingual Plane.
+     */
+    private final long[] bmpTable;
+
+    /**
+     * Sorted bounds of the ranges of supplementary code points: the first and last code point of each range (both
+     * inclusive) follow each other.
+     */
+    private final int[] supplementaryRanges;
+
+    /**
+     * Number of code points in the set.
+     */
+    private final int size;
+
+    /**
+     * Constructor specifying the characters of the set.
+     *
+     * @param characters Characters of the set, possibly containing supplementary code points.
+     */
+    public CharacterSet(CharSequence characters) {
+        // Collect the code points
+        int[] codePoints = new int[characters.length()];
+        int codePointCount = 0;
+        for (int i = 0; i < characters.length(); i++) {
+            char c = characters.charAt(i);
+            if (Character.isHighSurrogate(c) && (i + 1 < characters.length()) && Character.isLowSurrogate
+                    (characters.charAt(i + 1))) {
+                codePoints[codePointCount] = Character.toCodePoint(c, characters.charAt(i + 1));
+                i++;
+            } else {
+                codePoints[codePointCount] = c;
+            }
+            codePointCount++;
+        }
+        Arrays.sort(codePoints, 0, codePointCount);
+
+        // Build the bit table for the characters of the Basic Multilingual Plane
+        int highestBmpCharacter = -1;
+        int supplementaryStart = 0;
+        while ((supplementaryStart < codePointCount) && (codePoints[supplementaryStart] < Character
+                .MIN_SUPPLEMENTARY_CODE_POINT)) {
+            highestBmpCharacter = codePoints[supplementaryStart];
+            supplementaryStart++;
+        }
+        bmpTable = new long[(highestBmpCharacter >> WORD_SHIFT) + 1];
+        for (int i = 0; i < supplementaryStart; i++) {
+            bmpTable[codePoints[i] >> WORD_SHIFT] |= 1L << codePoints[i];
+        }
+
+        // Build the ranges for the supplementary code points
+        int[] ranges = new int[2 * (codePointCount - supplementaryStart)];
+        int rangeBoundCount = 0;
+        for (int i = supplementaryStart; i < codePointCount; i++) {
+            if ((rangeBoundCount > 0) && (codePoints[i] <= ranges[rangeBoundCount - 1] + 1)) {
+                ranges[rangeBoundCount - 1] = codePoints[i];
+            } else {
+                ranges[rangeBoundCount] = codePoints[i];
+                ranges[rangeBoundCount + 1] = codePoints[i];
+                rangeBoundCount += 2;
+            }
+        }
+        supplementaryRanges = Arrays.copyOf(ranges, rangeBoundCount);
+
+        // Count the distinct code points
+        int distinctCount = 0;
+        for (long word : bmpTable) {
+            distinctCount += Long.bitCount(word);
+        }
+        for (int i = 0; i < supplementaryRanges.length; i += 2) {
+            distinctCount += supplementaryRanges[i + 1] - supplementaryRanges[i] + 1;
+        }
+        size = distinctCount;
+    }
+
+    /**
+     * Gets the number of distinct code points in the set.
+     *
+     * @return Size of the set.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * States whether the specified code point belongs to the set.
+     *
+     * @param codePoint Code point to be looked up.
+     *
+     * @return True if the code point belongs to the set, false otherwise.
+     */
+    public boolean contains(int codePoint) {
+        boolean contained;
+        if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            int wordIndex = codePoint >> WORD_SHIFT;
+            contained = (codePoint >= 0) && (wordIndex < bmpTable.length) && ((bmpTable[wordIndex] & (1L <<
+                    codePoint)) != 0);
+        } else {
+            contained = containsSupplementary(codePoint);
+        }
+        return contained;
+    }
+
+    /**
+     * States whether the specified supplementary code point belongs to the set.
+     *
+     * @param codePoint Supplementary code point to be looked up.
+     *
+     * @return True if the code point belongs to the set, false otherwise.
+     */
+    private boolean containsSupplementary(int codePoint) {
+        int low = 0;
+        int high = (supplementaryRanges.length >> 1) - 1;
+        boolean contained = false;
+        while (!contained && (low <= high)) {
+            int middle = (low + high) >>> 1;
+            if (supplementaryRanges[2 * middle + 1] < codePoint) {
+                low = middle + 1;
+            } else if (supplementaryRanges[2 * middle] > codePoint) {
+                high = middle - 1;
+            } else {
+                contained = true;
+            }
+        }
+        return contained;
+    }
+
+    /**
+     * Finds the first code point of the specified range of the character sequence that belongs or does not belong to
+     * the set.
+     *
+     * @param text      Character sequence to be scanned.
+     * @param start     Index of the first character of the range.
+     * @param end       Index following the last character of the range.
+     * @param contained True to find the first code point belonging to the set, false to find the first code point not
+     *                  belonging to the set.
+     *
+     * @return Index of the first matching code point, or -1 if none was found.
+     */
+    public int indexOf(CharSequence text, int start, int end, boolean contained) {
+        int index = -1;
+        int i = start;
+        while ((index < 0) && (i < end)) {
+            int codePoint = text.charAt(i);
+            int codePointStart = i;
+            i++;
+            if (Character.isHighSurrogate((char) codePoint) && (i < end) && Character.isLowSurrogate(text.charAt
+                    (i))) {
+                codePoint = Character.toCodePoint((char) codePoint, text.charAt(i));
+                i++;
+            }
+            if (contains(codePoint) == contained) {
+                index = codePointStart;
+            }
+        }
+        return index;
+    }
+}
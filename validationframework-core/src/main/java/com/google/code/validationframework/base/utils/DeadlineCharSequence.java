@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.utils;
+
+/**
+ * Character sequence wrapper aborting the processing of the wrapped character sequence once a deadline is reached or
+ * the current thread is interrupted.
+ * <p>
+ * This is typically used to bound the time spent by regular expressions on large inputs or with patterns causing
+ * catastrophic backtracking: the regular expression engine reads the input through {@link #charAt(int)}, which throws a
+ * {@link DeadlineExceededException} when the deadline is reached.
+ * <p>
+ * To keep the overhead low, the deadline and the interrupt flag are only checked every {@link #CHECK_INTERVAL} reads.
+ * <p>
+ * Note that this class is not thread-safe: it is meant to be used by a single evaluation on a single thread.
+ */
+public class DeadlineCharSequence implements CharSequence {
+
+    /**
+     * Exception thrown when the deadline is reached or the thread is interrupted while reading the character sequence.
+     */
+    public static class DeadlineExceededException extends RuntimeException {
+
+        /**
+         * Generated serial UID.
+         */
+        private static final long serialVersionUID = -3452349146011839170L;
+
+        /**
+         * Constructor specifying the detail message.
+         *
+         * @param message Detail message.
+         */
+        public DeadlineExceededException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * State shared by a character sequence and its sub-sequences.
+     */
+    private static class Budget {
+
+        /**
+         * Deadline, as given by {@link System#nanoTime()}.
+         */
+        private final long deadlineNanos;
+
+        /**
+         * Number of reads until the next check.
+         */
+        private int readsUntilCheck = CHECK_INTERVAL;
+
+        /**
+         * Constructor specifying the deadline.
+         *
+         * @param deadlineNanos Deadline, as given by {@link System#nanoTime()}.
+         */
+        public Budget(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Counts a read and checks the deadline and the interrupt flag when needed.
+         *
+         * @throws DeadlineExceededException If the deadline is reached or the current thread is interrupted.
+         */
+        public void read() {
+            readsUntilCheck--;
+            if (readsUntilCheck <= 0) {
+                readsUntilCheck = CHECK_INTERVAL;
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new DeadlineExceededException("Thread interrupted");
+                }
+                if (System.nanoTime() - deadlineNanos >= 0) {
+                    throw new DeadlineExceededException("Deadline reached");
+                }
+            }
+        }
+    }
+
+    /**
+     * Number of reads between two checks of the deadline and of the interrupt flag.
+     */
+    public static final int CHECK_INTERVAL = 1024;
+
+    /**
+     * Wrapped character sequence.
+     */
+    private final CharSequence wrapped;
+
+    /**
+     * Deadline shared with the sub-sequences.
+     */
+    private final Budget budget;
+
+    /**
+     * Constructor specifying the character sequence to be wrapped and the time budget from now.
+     *
+     * @param wrapped      Character sequence to be wrapped.
+     * @param budgetMillis Time budget in milliseconds.
+     */
+    public DeadlineCharSequence(CharSequence wrapped, long budgetMillis) {
+        this(wrapped, new Budget(System.nanoTime() + budgetMillis * 1000000L));
+    }
+
+    /**
+     * Constructor specifying the character sequence to be wrapped and the shared deadline.
+     *
+     * @param wrapped Character sequence to be wrapped.
+     * @param budget  Deadline shared with the sub-sequences.
+     */
+    private DeadlineCharSequence(CharSequence wrapped, Budget budget) {
+        this.wrapped = wrapped;
+        this.budget = budget;
+    }
+
+    /**
+     * @see CharSequence#length()
+     */
+    @Override
+    public int length() {
+        return wrapped.length();
+    }
+
+    /**
+     * @see CharSequence#charAt(int)
+     */
+    @Override
+    public char charAt(int index) {
+        budget.read();
+        return wrapped.charAt(index);
+    }
+
+    /**
+     * @see CharSequence#subSequence(int, int)
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new DeadlineCharSequence(wrapped.subSequence(start, end), budget);
+    }
+
+    /**
+     * @see Object#toString()
+     */
+    @Override
+    public String toString() {
+        return wrapped.toString();
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.utils;
+
+import com.google.code.validationframework.api.transform.Transformer;
+import com.google.code.validationframework.base.transform.CastTransformer;
+
+import java.util.Collection;
+
+/**
+ * Utility class dealing with {@link Transformer}s and chains of transformers.
+ * <p>
+ * A chain of transformers is a flat array of transformers to be applied in sequence. When building such a chain, the
+ * stages that are known to leave their input untouched are eliminated: null transformers and plain {@link
+ * CastTransformer}s (because of type erasure, the cast is unchecked and never fails inside the transformer).
+ */
+public final class TransformerUtils {
+
+    /**
+     * Empty transformer chain.
+     */
+    private static final Transformer[] NO_TRANSFORMERS = new Transformer[0];
+
+    /**
+     * Private constructor for utility class.
+     */
+    private TransformerUtils() {
+        // Nothing to be done
+    }
+
+    /**
+     * States whether the specified transformer is known to return its input as is.
+     *
+     * @param transformer Transformer to be checked, possibly null.
+     *
+     * @return True if the transformer is null or a plain {@link CastTransformer}, false otherwise.
+     */
+    public static boolean isIdentity(Transformer<?, ?> transformer) {
+        return (transformer == null) || (transformer.getClass() == CastTransformer.class);
+    }
+
+    /**
+     * Concatenates the specified transformer collections into a single chain, without the identity stages.
+     *
+     * @param first  First transformers of the chain, possibly null.
+     * @param second Last transformers of the chain, possibly null.
+     *
+     * @return Transformer chain, never null.
+     *
+     * @see #isIdentity(Transformer)
+     */
+    public static Transformer[] toChain(Collection<Transformer> first, Collection<Transformer> second) {
+        int count = countStages(first) + countStages(second);
+
+        Transformer[] chain;
+        if (count == 0) {
+            chain = NO_TRANSFORMERS;
+        } else {
+            chain = new Transformer[count];
+            int i = copyStages(first, chain, 0);
+            copyStages(second, chain, i);
+        }
+        return chain;
+    }
+
+    /**
+     * Appends the specified transformer to the specified chain, unless it is an identity stage.
+     * <p>
+     * The specified chain is left untouched.
+     *
+     * @param chain       Transformer chain.
+     * @param transformer Transformer to be appended, possibly null.
+     *
+     * @return New transformer chain, or the specified chain if the transformer is an identity stage.
+     *
+     * @see #isIdentity(Transformer)
+     */
+    public static Transformer[] append(Transformer[] chain, Transformer<?, ?> transformer) {
+        Transformer[] newChain = chain;
+        if (!isIdentity(transformer)) {
+            newChain = new Transformer[chain.length + 1];
+            System.arraycopy(chain, 0, newChain, 0, chain.length);
+            newChain[chain.length] = transformer;
+        }
+        return newChain;
+    }
+
+    /**
+     * Passes the specified input through the specified transformer chain.
+     * <p>
+     * The most common short chains are unrolled.
+     *
+     * @param chain Transformer chain.
+     * @param input Input of the first transformer.
+     *
+     * @return Output of the last transformer, or the input itself if the chain is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public static Object transform(Transformer[] chain, Object input) {
+        Object output;
+        switch (chain.length) {
+            case 0:
+                output = input;
+                break;
+            case 1:
+                output = chain[0].transform(input);
+                break;
+            case 2:
+                output = chain[1].transform(chain[0].transform(input));
+                break;
+            default:
+                output = input;
+                for (Transformer transformer : chain) {
+                    output = transformer.transform(output);
+                }
+        }
+        return output;
+    }
+
+    /**
+     * Counts the non-identity transformers in the specified collection.
+     *
+     * @param transformers Transformers, possibly null.
+     *
+     * @return Number of non-identity transformers.
+     */
+    private static int countStages(Collection<Transformer> transformers) {
+        int count = 0;
+        if (transformers != null) {
+            for (Transformer transformer : transformers) {
+                if (!isIdentity(transformer)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Copies the non-identity transformers of the specified collection into the specified chain.
+     *
+     * @param transformers Transformers, possibly null.
+     * @param chain        Chain to copy the transformers to.
+     * @param offset       Index in the chain of the first transformer to be copied.
+     *
+     * @return Index in the chain following the last transformer copied.
+     */
+    private static int copyStages(Collection<Transformer> transformers, Transformer[] chain, int offset) {
+        int i = offset;
+        if (transformers != null) {
+            for (Transformer transformer : transformers) {
+                if (!isIdentity(transformer)) {
+                    chain[i++] = transformer;
+                }
+            }
+        }
+        return i;
+    }
+}
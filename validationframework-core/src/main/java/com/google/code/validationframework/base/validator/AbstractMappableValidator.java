@@ -33,18 +33,27 @@ import com.google.code.validationframework.api.trigger.Trigger;
 import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.api.trigger.TriggerListener;
 import com.google.code.validationframework.api.validator.MappableValidator;
+import com.google.code.validationframework.base.metrics.ValidationMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Abstract implementation of a mappable validator.<br>It merely implements the methods to map triggers to data
  * providers, data providers to rules, and rules to result handlers. However, the use triggers, data providers, rules
  * and result handlers, as well as all the validation logic is left to the sub-classes.
+ * <p>
+ * Each mapping is registered only once, even if the corresponding map method is called several times. Besides the
+ * mappings themselves, reverse indexes (data provider to triggers, rule to data providers, and result handler to rules)
+ * are maintained, so that unmapping an element from all the elements it is mapped to only costs as much as the number
+ * of these elements, and not the total number of mappings. A trigger is listened to only as long as it is mapped to at
+ * least one data provider.
  *
  * @param <T>   Type of trigger initiating the validation.
  * @param <DP>  Type of data provider providing the input data to be validated.
@@ -92,7 +101,7 @@ public abstract class AbstractMappableValidator<T extends Trigger, DP extends Da
         @Override
         public void triggerValidation(final TriggerEvent event) {
             // Start validation logic
-            processTrigger(trigger);
+            initiateValidation(trigger);
         }
     }
 
@@ -127,6 +136,51 @@ public abstract class AbstractMappableValidator<T extends Trigger, DP extends Da
      */
     protected final Map<R, List<RH>> rulesToResultHandlers = new HashMap<R, List<RH>>();
 
+    /**
+     * Reverse index of {@link #triggersToDataProviders}.
+     */
+    private final Map<DP, Set<T>> dataProvidersToTriggers = new HashMap<DP, Set<T>>();
+
+    /**
+     * Reverse index of {@link #dataProvidersToRules}.
+     */
+    private final Map<R, Set<DP>> rulesToDataProviders = new HashMap<R, Set<DP>>();
+
+    /**
+     * Reverse index of {@link #rulesToResultHandlers}.
+     */
+    private final Map<RH, Set<R>> resultHandlersToRules = new HashMap<RH, Set<R>>();
+
+    /**
+     * Metrics in which the latencies are to be recorded, or null if metrics are disabled.
+     */
+    protected ValidationMetrics metrics = null;
+
+    /**
+     * Gets the metrics in which the latencies are recorded.
+     *
+     * @return Metrics, or null if metrics are disabled.
+     */
+    public ValidationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the metrics in which the latencies of the triggers, rules and result handlers are to be recorded.
+     * <p>
+     * It is up to the sub-classes to record the latencies of the rules and result handlers, typically using {@link
+     * com.google.code.validationframework.base.metrics.MetricsUtils}.
+     * <p>
+     * By default, no metrics are set, meaning that nothing is measured at all.
+     *
+     * @param metrics Metrics, or null to disable metrics.
+     *
+     * @see com.google.code.validationframework.base.metrics.DefaultValidationMetrics
+     */
+    public void setMetrics(final ValidationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     /**
      * Registers a trigger listener to start the validation flow.<br>If a trigger listener was already previously
      * registered, calling this method will have no effect.
@@ -143,19 +197,14 @@ public abstract class AbstractMappableValidator<T extends Trigger, DP extends Da
     }
 
     /**
-     * De-registers the trigger listener.
+     * De-registers the trigger listener, if it was registered.
      *
      * @param trigger Trigger to unhook from.
      */
     private void unhookFromTrigger(final T trigger) {
-        // Unhook from trigger
-        final TriggerListener triggerAdapter = triggersToTriggerAdapters.get(trigger);
-        trigger.removeTriggerListener(triggerAdapter);
-
-        // Check if trigger was added several times
-        if (!triggersToTriggerAdapters.containsKey(trigger)) {
-            // All occurrences of the same trigger have been removed
-            triggersToTriggerAdapters.remove(trigger);
+        final TriggerListener triggerAdapter = triggersToTriggerAdapters.remove(trigger);
+        if (triggerAdapter != null) {
+            trigger.removeTriggerListener(triggerAdapter);
         }
     }
 
@@ -175,12 +224,7 @@ public abstract class AbstractMappableValidator<T extends Trigger, DP extends Da
             hookToTrigger(trigger);
 
             // Do the mapping
-            List<DP> mappedDataProviders = triggersToDataProviders.get(trigger);
-            if (mappedDataProviders == null) {
-                mappedDataProviders = new ArrayList<DP>();
-                triggersToDataProviders.put(trigger, mappedDataProviders);
-            }
-            mappedDataProviders.add(dataProvider);
+            map(triggersToDataProviders, dataProvidersToTriggers, trigger, dataProvider);
         }
     }
 
@@ -192,7 +236,7 @@ public abstract class AbstractMappableValidator<T extends Trigger, DP extends Da
     private void unmapTriggerFromAllDataProviders(final T trigger) {
         if (trigger != null) {
             unhookFromTrigger(trigger);
-            triggersToDataProviders.remove(trigger);
+            unmapKey(triggersToDataProviders, dataProvidersToTriggers, trigger);
         }
     }
 
@@ -203,8 +247,9 @@ public abstract class AbstractMappableValidator<T extends Trigger, DP extends Da
      */
     private void unmapDataProviderFromAllTriggers(final DP dataProvider) {
         if (dataProvider != null) {
-            for (final List<DP> mappedDataProviders : triggersToDataProviders.values()) {
-                mappedDataProviders.remove(dataProvider);
+            // Stop listening to the triggers that are no longer mapped to any data provider
+            for (final T trigger : unmapValue(triggersToDataProviders, dataProvidersToTriggers, dataProvider)) {
+                unhookFromTrigger(trigger);
             }
         }
     }
@@ -221,12 +266,7 @@ public abstract class AbstractMappableValidator<T extends Trigger, DP extends Da
         } else if (rule == null) {
             unmapDataProviderFromAllRules(dataProvider);
         } else {
-            List<R> mappedRules = dataProvidersToRules.get(dataProvider);
-            if (mappedRules == null) {
-                mappedRules = new ArrayList<R>();
-                dataProvidersToRules.put(dataProvider, mappedRules);
-            }
-            mappedRules.add(rule);
+            map(dataProvidersToRules, rulesToDataProviders, dataProvider, rule);
         }
     }
 
@@ -237,7 +277,7 @@ public abstract class AbstractMappableValidator<T extends Trigger, DP extends Da
      */
     private void unmapDataProviderFromAllRules(final DP dataProvider) {
         if (dataProvider != null) {
-            dataProvidersToRules.remove(dataProvider);
+            unmapKey(dataProvidersToRules, rulesToDataProviders, dataProvider);
         }
     }
 
@@ -248,9 +288,7 @@ public abstract class AbstractMappableValidator<T extends Trigger, DP extends Da
      */
     private void unmapRuleFromAllDataProviders(final R rule) {
         if (rule != null) {
-            for (final List<R> mappedRules : dataProvidersToRules.values()) {
-                mappedRules.remove(rule);
-            }
+            unmapValue(dataProvidersToRules, rulesToDataProviders, rule);
         }
     }
 
@@ -266,12 +304,7 @@ public abstract class AbstractMappableValidator<T extends Trigger, DP extends Da
         } else if (resultHandler == null) {
             unmapRuleFromAllResultHandlers(rule);
         } else {
-            List<RH> mappedResultHandlers = rulesToResultHandlers.get(rule);
-            if (mappedResultHandlers == null) {
-                mappedResultHandlers = new ArrayList<RH>();
-                rulesToResultHandlers.put(rule, mappedResultHandlers);
-            }
-            mappedResultHandlers.add(resultHandler);
+            map(rulesToResultHandlers, resultHandlersToRules, rule, resultHandler);
         }
     }
 
@@ -282,7 +315,7 @@ public abstract class AbstractMappableValidator<T extends Trigger, DP extends Da
      */
     private void unmapRuleFromAllResultHandlers(final R rule) {
         if (rule != null) {
-            rulesToResultHandlers.remove(rule);
+            unmapKey(rulesToResultHandlers, resultHandlersToRules, rule);
         }
     }
 
@@ -293,10 +326,93 @@ public abstract class AbstractMappableValidator<T extends Trigger, DP extends Da
      */
     private void unmapResultHandlerFromAllRules(final RH resultHandler) {
         if (resultHandler != null) {
-            for (final List<RH> mappedResultHandlers : rulesToResultHandlers.values()) {
-                mappedResultHandlers.remove(resultHandler);
+            unmapValue(rulesToResultHandlers, resultHandlersToRules, resultHandler);
+        }
+    }
+
+    /**
+     * Maps the specified key to the specified value, unless they are already mapped to each other.
+     *
+     * @param keysToValues Mapping between keys and values.
+     * @param valuesToKeys Reverse index of the mapping.
+     * @param key          Key to be mapped.
+     * @param value        Value to be mapped.
+     * @param <K>          Type of keys.
+     * @param <V>          Type of values.
+     */
+    private static <K, V> void map(final Map<K, List<V>> keysToValues, final Map<V, Set<K>> valuesToKeys,
+                                   final K key, final V value) {
+        Set<K> mappedKeys = valuesToKeys.get(value);
+        if (mappedKeys == null) {
+            mappedKeys = new HashSet<K>();
+            valuesToKeys.put(value, mappedKeys);
+        }
+
+        if (mappedKeys.add(key)) {
+            List<V> mappedValues = keysToValues.get(key);
+            if (mappedValues == null) {
+                mappedValues = new ArrayList<V>();
+                keysToValues.put(key, mappedValues);
+            }
+            mappedValues.add(value);
+        }
+    }
+
+    /**
+     * Unmaps the specified key from all the values it is mapped to.
+     *
+     * @param keysToValues Mapping between keys and values.
+     * @param valuesToKeys Reverse index of the mapping.
+     * @param key          Key to be unmapped.
+     * @param <K>          Type of keys.
+     * @param <V>          Type of values.
+     */
+    private static <K, V> void unmapKey(final Map<K, List<V>> keysToValues, final Map<V, Set<K>> valuesToKeys,
+                                        final K key) {
+        final List<V> mappedValues = keysToValues.remove(key);
+        if (mappedValues != null) {
+            for (final V value : mappedValues) {
+                final Set<K> mappedKeys = valuesToKeys.get(value);
+                if (mappedKeys != null) {
+                    mappedKeys.remove(key);
+                    if (mappedKeys.isEmpty()) {
+                        valuesToKeys.remove(value);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Unmaps the specified value from all the keys it is mapped to.
+     *
+     * @param keysToValues Mapping between keys and values.
+     * @param valuesToKeys Reverse index of the mapping.
+     * @param value        Value to be unmapped.
+     * @param <K>          Type of keys.
+     * @param <V>          Type of values.
+     *
+     * @return Keys that are no longer mapped to any value, possibly empty.
+     */
+    private static <K, V> List<K> unmapValue(final Map<K, List<V>> keysToValues, final Map<V, Set<K>> valuesToKeys,
+                                             final V value) {
+        final List<K> unmappedKeys = new ArrayList<K>();
+
+        final Set<K> mappedKeys = valuesToKeys.remove(value);
+        if (mappedKeys != null) {
+            for (final K key : mappedKeys) {
+                final List<V> mappedValues = keysToValues.get(key);
+                if (mappedValues != null) {
+                    mappedValues.remove(value);
+                    if (mappedValues.isEmpty()) {
+                        keysToValues.remove(key);
+                        unmappedKeys.add(key);
+                    }
+                }
             }
         }
+
+        return unmappedKeys;
     }
 
     /**
@@ -336,6 +452,7 @@ public abstract class AbstractMappableValidator<T extends Trigger, DP extends Da
 
         // Clears all triggers
         triggersToDataProviders.clear();
+        dataProvidersToTriggers.clear();
     }
 
     /**
@@ -364,6 +481,7 @@ public abstract class AbstractMappableValidator<T extends Trigger, DP extends Da
 
         // Clears all triggers
         dataProvidersToRules.clear();
+        rulesToDataProviders.clear();
     }
 
     /**
@@ -390,6 +508,28 @@ public abstract class AbstractMappableValidator<T extends Trigger, DP extends Da
 
         // Clears all triggers
         rulesToResultHandlers.clear();
+        resultHandlersToRules.clear();
+    }
+
+    /**
+     * Processes the specified trigger, recording its latency if metrics are set.
+     *
+     * @param trigger Trigger actually initiated.
+     *
+     * @see #setMetrics(ValidationMetrics)
+     */
+    protected void initiateValidation(final T trigger) {
+        final ValidationMetrics currentMetrics = metrics;
+        if (currentMetrics == null) {
+            processTrigger(trigger);
+        } else {
+            final long startTime = System.nanoTime();
+            try {
+                processTrigger(trigger);
+            } finally {
+                currentMetrics.recordTrigger(System.nanoTime() - startTime);
+            }
+        }
     }
 
     /**
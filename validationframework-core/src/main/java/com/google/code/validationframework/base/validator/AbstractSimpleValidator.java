@@ -33,12 +33,18 @@ import com.google.code.validationframework.api.trigger.Trigger;
 import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.api.trigger.TriggerListener;
 import com.google.code.validationframework.api.validator.SimpleValidator;
+import com.google.code.validationframework.base.dataprovider.PropertyValueProvider;
+import com.google.code.validationframework.base.metrics.MetricsUtils;
+import com.google.code.validationframework.base.metrics.ValidationMetrics;
+import com.google.code.validationframework.base.trigger.PropertyValueChangeTrigger;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Abstract implementation of a simple validator.
@@ -46,6 +52,14 @@ import java.util.Map;
  * It merely implements the methods to add and remove triggers, data providers, rules and result handlers. However, the
  * use the connection between triggers, data providers, rules and result handlers, as well as all the validation logic
  * is left to the sub-classes.
+ * <p>
+ * Optionally, the validator can take into account the affinity between triggers and data providers, so that a trigger
+ * only causes the data providers it affects to be processed. See {@link #setTriggerAffinityEnabled(boolean)}.
+ * <p>
+ * Also, sub-classes can support the asynchronous execution of the rules. See {@link #setRuleExecutor(Executor)}.
+ * <p>
+ * Finally, the latency of the triggers, rules, transformers and result handlers can be recorded. See {@link
+ * #setMetrics(ValidationMetrics)}.
  *
  * @param <T>   Type of trigger initiating the validation.
  * @param <DP>  Type of data provider providing the input data to be validated.
@@ -93,7 +107,132 @@ public abstract class AbstractSimpleValidator<T extends Trigger, DP extends Data
         @Override
         public void triggerValidation(TriggerEvent event) {
             // Start validation logic
-            processTrigger(trigger);
+            initiateValidation(trigger);
+        }
+    }
+
+    /**
+     * Validation of a rule input to be performed asynchronously by the rule executor, and whose results are to be
+     * handled by the result handler executor.
+     * <p>
+     * Each asynchronous validation is stamped with a version for its source (typically, a data provider) when it is
+     * created. As soon as a newer validation is created for the same source, the older one becomes stale: if it has not
+     * started yet, it will not be started; if it is running, it can stop as soon as it checks {@link #isStale()}; and in
+     * any case, its results will be discarded instead of being handled.
+     *
+     * @param <X> Type of results of the validation, to be passed from the rule executor to the result handler
+     *            executor.
+     *
+     * @see #setRuleExecutor(Executor)
+     * @see #setResultHandlerExecutor(Executor)
+     */
+    protected abstract class AsyncValidation<X> implements Runnable {
+
+        /**
+         * Source of the rule input, typically a data provider.
+         */
+        private final Object source;
+
+        /**
+         * Version stamp of this validation for its source.
+         */
+        private final long versionStamp;
+
+        /**
+         * Time at which this validation was created, in nanoseconds.
+         * <p>
+         * It is always captured, so that the latency is still meaningful if metrics are set while the validation is
+         * in progress.
+         */
+        private final long creationTime;
+
+        /**
+         * Constructor specifying the source of the rule input.
+         * <p>
+         * Constructing the validation makes any previous validation for the same source stale.
+         *
+         * @param source Source of the rule input, typically a data provider.
+         */
+        protected AsyncValidation(Object source) {
+            this.source = source;
+            this.versionStamp = stampValidation(source);
+            this.creationTime = System.nanoTime();
+        }
+
+        /**
+         * States whether a newer validation was created for the same source, meaning that the results of this
+         * validation are no longer relevant.
+         *
+         * @return True if this validation is stale, false otherwise.
+         */
+        protected boolean isStale() {
+            return !isLatestValidation(source, versionStamp);
+        }
+
+        /**
+         * Validates the rule input with the rules.
+         * <p>
+         * This method is called by the rule executor. Implementations should check {@link #isStale()} between
+         * expensive steps in order to stop as early as possible.
+         *
+         * @return Results to be handled, or null if the validation was stopped because it became stale.
+         */
+        protected abstract X validate();
+
+        /**
+         * Validates the specified rule input with each of the specified rules, checking {@link #isStale()} before each
+         * rule in order to stop as early as possible.
+         * <p>
+         * Sub-classes can call this method from {@link #validate()} and only aggregate or transform the rule results.
+         *
+         * @param rulesToValidate Rules to validate the rule input with, typically the rules at the time the validation
+         *                        was initiated.
+         * @param ruleInput       Rule input to be validated.
+         *
+         * @return Rule results in the order of the rules, or null if the validation was stopped because it became
+         * stale.
+         */
+        protected List<RO> validateRules(Collection<? extends Rule<RI, RO>> rulesToValidate, RI ruleInput) {
+            List<RO> results = new ArrayList<RO>(rulesToValidate.size());
+            for (Rule<RI, RO> rule : rulesToValidate) {
+                if (isStale()) {
+                    results = null;
+                    break;
+                }
+                results.add(MetricsUtils.validate(metrics, rule, ruleInput));
+            }
+            return results;
+        }
+
+        /**
+         * Handles the specified results with the result handlers.
+         * <p>
+         * This method is called by the result handler executor, and only if the validation is not stale.
+         *
+         * @param results Results of the validation.
+         */
+        protected abstract void handle(X results);
+
+        /**
+         * @see Runnable#run()
+         */
+        @Override
+        public final void run() {
+            if (!isStale()) {
+                final X results = validate();
+                if (!isStale()) {
+                    executeResultHandling(new Runnable() {
+                        @Override
+                        public void run() {
+                            // Check again because a newer validation may have been created in the meantime
+                            if (!isStale()) {
+                                handle(results);
+                                recordTrigger(creationTime);
+                            }
+                        }
+                    });
+                }
+            }
         }
     }
 
@@ -122,6 +261,57 @@ public abstract class AbstractSimpleValidator<T extends Trigger, DP extends Data
      */
     protected final List<RH> resultHandlers = new ArrayList<RH>();
 
+    /**
+     * Memoizer used to skip the rules and result handlers when the rule input did not change, or null to always process
+     * the rule input.
+     */
+    private RuleInputMemoizer<RI> ruleInputMemoizer = null;
+
+    /**
+     * Flag indicating whether a trigger should only cause the data providers it affects to be processed.
+     */
+    private boolean triggerAffinityEnabled = false;
+
+    /**
+     * Data providers explicitly associated to the triggers affecting them.
+     */
+    private final Map<T, List<DP>> triggersToLinkedDataProviders = new HashMap<T, List<DP>>();
+
+    /**
+     * Data providers affected by the triggers, as resolved from the explicit and automatic affinities.
+     * <p>
+     * This cache is cleared whenever a trigger, data provider or affinity is added or removed.
+     */
+    private final Map<T, List<DP>> triggersToAffectedDataProviders = new HashMap<T, List<DP>>();
+
+    /**
+     * Executor used to execute the rules asynchronously, or null to execute them synchronously.
+     */
+    private Executor ruleExecutor = null;
+
+    /**
+     * Executor used to execute the result handlers after the asynchronous execution of the rules, or null to execute
+     * them directly from the rule executor.
+     */
+    private Executor resultHandlerExecutor = null;
+
+    /**
+     * Metrics in which the latencies are to be recorded, or null if metrics are disabled.
+     */
+    protected ValidationMetrics metrics = null;
+
+    /**
+     * Version stamp of the latest asynchronous validation for each source of rule input.
+     * <p>
+     * All accesses to this map and to {@link #lastVersionStamp} must be synchronized on this map.
+     */
+    private final Map<Object, Long> latestVersionStamps = new IdentityHashMap<Object, Long>();
+
+    /**
+     * Last version stamp given to an asynchronous validation.
+     */
+    private long lastVersionStamp = 0;
+
     /**
      * Gets the triggers known to this validator.
      *
@@ -137,6 +327,7 @@ public abstract class AbstractSimpleValidator<T extends Trigger, DP extends Data
     @Override
     public void addTrigger(T trigger) {
         triggers.add(trigger);
+        triggersToAffectedDataProviders.clear();
 
         // Hook to trigger only if not already done (the same trigger listener will be used if it was already hooked)
         if (!triggersToTriggerAdapters.containsKey(trigger)) {
@@ -152,6 +343,7 @@ public abstract class AbstractSimpleValidator<T extends Trigger, DP extends Data
     @Override
     public void removeTrigger(T trigger) {
         triggers.remove(trigger);
+        triggersToAffectedDataProviders.clear();
 
         // Unhook from trigger
         TriggerListener triggerAdapter = triggersToTriggerAdapters.get(trigger);
@@ -179,6 +371,7 @@ public abstract class AbstractSimpleValidator<T extends Trigger, DP extends Data
     @Override
     public void addDataProvider(DP dataProvider) {
         dataProviders.add(dataProvider);
+        triggersToAffectedDataProviders.clear();
     }
 
     /**
@@ -187,6 +380,204 @@ public abstract class AbstractSimpleValidator<T extends Trigger, DP extends Data
     @Override
     public void removeDataProvider(DP dataProvider) {
         dataProviders.remove(dataProvider);
+        triggersToAffectedDataProviders.clear();
+
+        if (!dataProviders.contains(dataProvider)) {
+            // Forget the last data processed from this data provider
+            if (ruleInputMemoizer != null) {
+                ruleInputMemoizer.forget(dataProvider);
+            }
+
+            // Discard the results of the pending validations for this data provider
+            synchronized (latestVersionStamps) {
+                latestVersionStamps.remove(dataProvider);
+            }
+        }
+    }
+
+    /**
+     * States whether a trigger only causes the data providers it affects to be processed.
+     *
+     * @return True if trigger affinity is taken into account, false if all data providers are processed on any trigger.
+     *
+     * @see #setTriggerAffinityEnabled(boolean)
+     */
+    public boolean isTriggerAffinityEnabled() {
+        return triggerAffinityEnabled;
+    }
+
+    /**
+     * Enables or disables the trigger affinity.
+     * <p>
+     * When enabled, a trigger only causes the data providers it affects to be processed. A data provider is linked to a
+     * trigger if it was explicitly associated to it (see {@link #addTriggerAffinity(Trigger, DataProvider)}), if it is
+     * the trigger itself (for instance, a {@link com.google.code.validationframework.base.resulthandler.ResultCollector}),
+     * or if it is a {@link PropertyValueProvider} reading the property of a {@link PropertyValueChangeTrigger}.
+     * <p>
+     * A data provider is considered affected by a trigger if it is linked to it, or if it is linked to none of the
+     * triggers of the validator (because nothing else could tell when its data changed). If a trigger is linked to none
+     * of the data providers, or if the validation is triggered programmatically, all data providers are considered
+     * affected.
+     * <p>
+     * By default, trigger affinity is disabled, meaning that all data providers are processed on any trigger.
+     *
+     * @param enabled True to take trigger affinity into account, false otherwise.
+     */
+    public void setTriggerAffinityEnabled(boolean enabled) {
+        boolean changed = (this.triggerAffinityEnabled != enabled);
+        this.triggerAffinityEnabled = enabled;
+        triggersToAffectedDataProviders.clear();
+
+        if (changed) {
+            triggerAffinityEnabledChanged(enabled);
+        }
+    }
+
+    /**
+     * Called whenever the trigger affinity is enabled or disabled.
+     * <p>
+     * Sub-classes remembering the data of the data providers not affected by a trigger should forget it here, because
+     * it is not kept up-to-date while the trigger affinity is disabled. By default, this method does nothing.
+     *
+     * @param enabled True if trigger affinity is now taken into account, false otherwise.
+     *
+     * @see #setTriggerAffinityEnabled(boolean)
+     */
+    protected void triggerAffinityEnabledChanged(boolean enabled) {
+        // Nothing to be done by default
+    }
+
+    /**
+     * Explicitly associates the specified data provider to the specified trigger, meaning that the data provided by it
+     * may change whenever the trigger initiates the validation.
+     *
+     * @param trigger      Trigger affecting the data provider.
+     * @param dataProvider Data provider affected by the trigger.
+     *
+     * @see #setTriggerAffinityEnabled(boolean)
+     */
+    public void addTriggerAffinity(T trigger, DP dataProvider) {
+        List<DP> linkedDataProviders = triggersToLinkedDataProviders.get(trigger);
+        if (linkedDataProviders == null) {
+            linkedDataProviders = new ArrayList<DP>();
+            triggersToLinkedDataProviders.put(trigger, linkedDataProviders);
+        }
+        linkedDataProviders.add(dataProvider);
+        triggersToAffectedDataProviders.clear();
+    }
+
+    /**
+     * Removes the explicit association between the specified data provider and the specified trigger.
+     *
+     * @param trigger      Trigger affecting the data provider.
+     * @param dataProvider Data provider affected by the trigger.
+     *
+     * @see #addTriggerAffinity(Trigger, DataProvider)
+     */
+    public void removeTriggerAffinity(T trigger, DP dataProvider) {
+        List<DP> linkedDataProviders = triggersToLinkedDataProviders.get(trigger);
+        if (linkedDataProviders != null) {
+            linkedDataProviders.remove(dataProvider);
+            if (linkedDataProviders.isEmpty()) {
+                triggersToLinkedDataProviders.remove(trigger);
+            }
+        }
+        triggersToAffectedDataProviders.clear();
+    }
+
+    /**
+     * Gets the data providers affected by the specified trigger, in the order they were added to the validator.
+     * <p>
+     * Sub-classes should call this method to know which data providers need to be processed for a trigger.
+     * <p>
+     * Note that the returned list is the list of all data providers itself when all of them are affected, for instance
+     * when trigger affinity is disabled. The returned list must therefore not be modified.
+     *
+     * @param trigger Trigger actually initiated, or null if the validation was initiated programmatically.
+     *
+     * @return Data providers affected by the trigger.
+     *
+     * @see #setTriggerAffinityEnabled(boolean)
+     */
+    protected List<DP> getAffectedDataProviders(T trigger) {
+        List<DP> affectedDataProviders;
+
+        if (!triggerAffinityEnabled || (trigger == null)) {
+            affectedDataProviders = dataProviders;
+        } else {
+            affectedDataProviders = triggersToAffectedDataProviders.get(trigger);
+            if (affectedDataProviders == null) {
+                affectedDataProviders = resolveAffectedDataProviders(trigger);
+                triggersToAffectedDataProviders.put(trigger, affectedDataProviders);
+            }
+        }
+
+        return affectedDataProviders;
+    }
+
+    /**
+     * Resolves the data providers affected by the specified trigger.
+     *
+     * @param trigger Trigger actually initiated.
+     *
+     * @return Data providers affected by the trigger.
+     */
+    private List<DP> resolveAffectedDataProviders(T trigger) {
+        List<DP> affectedDataProviders = new ArrayList<DP>();
+        boolean linkFound = false;
+
+        for (DP dataProvider : dataProviders) {
+            if (isLinked(trigger, dataProvider)) {
+                affectedDataProviders.add(dataProvider);
+                linkFound = true;
+            } else if (!isLinkedToAnyTrigger(dataProvider)) {
+                // Nothing else could tell when the data changes
+                affectedDataProviders.add(dataProvider);
+            }
+        }
+
+        if (!linkFound) {
+            // The trigger is not related to any specific data provider
+            affectedDataProviders = dataProviders;
+        }
+
+        return affectedDataProviders;
+    }
+
+    /**
+     * States whether the specified data provider is linked to any of the triggers.
+     *
+     * @param dataProvider Data provider.
+     *
+     * @return True if the data provider is linked to at least one trigger, false otherwise.
+     */
+    private boolean isLinkedToAnyTrigger(DP dataProvider) {
+        boolean linked = false;
+        for (T trigger : triggers) {
+            if (isLinked(trigger, dataProvider)) {
+                linked = true;
+                break;
+            }
+        }
+        return linked;
+    }
+
+    /**
+     * States whether the specified data provider is explicitly or automatically linked to the specified trigger.
+     *
+     * @param trigger      Trigger.
+     * @param dataProvider Data provider.
+     *
+     * @return True if the data provider is linked to the trigger, false otherwise.
+     */
+    private boolean isLinked(T trigger, DP dataProvider) {
+        List<DP> linkedDataProviders = triggersToLinkedDataProviders.get(trigger);
+        return ((linkedDataProviders != null) && linkedDataProviders.contains(dataProvider)) || //
+                (trigger == dataProvider) || //
+                ((trigger instanceof PropertyValueChangeTrigger) && (dataProvider instanceof PropertyValueProvider)
+                        && (((PropertyValueChangeTrigger) trigger).getProperty() != null) && //
+                        (((PropertyValueChangeTrigger) trigger).getProperty() == ((PropertyValueProvider<?>)
+                                dataProvider).getProperty()));
     }
 
     /**
@@ -204,6 +595,9 @@ public abstract class AbstractSimpleValidator<T extends Trigger, DP extends Data
     @Override
     public void addRule(R rule) {
         rules.add(rule);
+
+        // Make sure the new configuration is applied on the next trigger
+        clearRuleInputMemoizer();
     }
 
     /**
@@ -212,6 +606,9 @@ public abstract class AbstractSimpleValidator<T extends Trigger, DP extends Data
     @Override
     public void removeRule(R rule) {
         rules.remove(rule);
+
+        // Make sure the new configuration is applied on the next trigger
+        clearRuleInputMemoizer();
     }
 
     /**
@@ -229,6 +626,9 @@ public abstract class AbstractSimpleValidator<T extends Trigger, DP extends Data
     @Override
     public void addResultHandler(RH resultHandler) {
         resultHandlers.add(resultHandler);
+
+        // Make sure the new configuration is applied on the next trigger
+        clearRuleInputMemoizer();
     }
 
     /**
@@ -237,6 +637,240 @@ public abstract class AbstractSimpleValidator<T extends Trigger, DP extends Data
     @Override
     public void removeResultHandler(RH resultHandler) {
         resultHandlers.remove(resultHandler);
+
+        // Make sure the new configuration is applied on the next trigger
+        clearRuleInputMemoizer();
+    }
+
+    /**
+     * Gets the memoizer used to skip the rules and result handlers when the rule input did not change.
+     *
+     * @return Rule input memoizer, or null if disabled.
+     */
+    public RuleInputMemoizer<RI> getRuleInputMemoizer() {
+        return ruleInputMemoizer;
+    }
+
+    /**
+     * Sets the memoizer to be used to skip the rules and result handlers when the rule input did not change.
+     * <p>
+     * By default, no memoizer is set, meaning that the rules and result handlers are processed on every trigger.
+     *
+     * @param ruleInputMemoizer Rule input memoizer, or null to disable memoization.
+     */
+    public void setRuleInputMemoizer(RuleInputMemoizer<RI> ruleInputMemoizer) {
+        this.ruleInputMemoizer = ruleInputMemoizer;
+    }
+
+    /**
+     * Checks whether the specified rule input is unchanged since the last time it was processed for the specified
+     * source, and remembers it otherwise.
+     * <p>
+     * Sub-classes should call this method before processing a rule input with the rules, and skip the rules and result
+     * handlers if it returns true.
+     *
+     * @param source    Source of the rule input, typically a data provider.
+     * @param ruleInput Rule input about to be processed.
+     *
+     * @return True if the rule input is unchanged and does not need to be processed again, false otherwise or if no
+     * memoizer is set.
+     *
+     * @see #setRuleInputMemoizer(RuleInputMemoizer)
+     */
+    protected boolean isRuleInputUnchanged(Object source, RI ruleInput) {
+        boolean unchanged = false;
+
+        if (ruleInputMemoizer != null) {
+            unchanged = ruleInputMemoizer.isUnchanged(source, ruleInput);
+            if (!unchanged) {
+                ruleInputMemoizer.remember(source, ruleInput);
+            }
+        }
+
+        return unchanged;
+    }
+
+    /**
+     * Forgets all the rule inputs remembered by the memoizer, if any, so that they are all processed on the next
+     * trigger.
+     */
+    protected void clearRuleInputMemoizer() {
+        if (ruleInputMemoizer != null) {
+            ruleInputMemoizer.clear();
+        }
+    }
+
+    /**
+     * Gets the executor used to execute the rules asynchronously.
+     *
+     * @return Rule executor, or null if the rules are executed synchronously.
+     */
+    public Executor getRuleExecutor() {
+        return ruleExecutor;
+    }
+
+    /**
+     * Sets the executor to be used to execute the rules asynchronously.
+     * <p>
+     * When a rule executor is set, the data providers are still read on the thread initiating the validation, but the
+     * rules are executed by the rule executor, and the results are then handled by the result handler executor. Any
+     * validation initiated while an older one is pending or in progress makes the older one stale: its results are
+     * discarded, so that the result handlers never handle outdated results.
+     * <p>
+     * Note that the rules (and the result handlers if no result handler executor is set) must then be thread-safe, or
+     * the executor must use a single thread.
+     * <p>
+     * By default, no rule executor is set, meaning that the rules are executed synchronously. Also note that it is up
+     * to the sub-classes to support asynchronous validation.
+     *
+     * @param ruleExecutor Rule executor, or null to execute the rules synchronously.
+     *
+     * @see #setResultHandlerExecutor(Executor)
+     */
+    public void setRuleExecutor(Executor ruleExecutor) {
+        this.ruleExecutor = ruleExecutor;
+
+        // Discard the results of all pending validations
+        synchronized (latestVersionStamps) {
+            latestVersionStamps.clear();
+        }
+    }
+
+    /**
+     * Gets the executor used to execute the result handlers after the asynchronous execution of the rules.
+     *
+     * @return Result handler executor, or null if the result handlers are executed directly by the rule executor.
+     */
+    public Executor getResultHandlerExecutor() {
+        return resultHandlerExecutor;
+    }
+
+    /**
+     * Sets the executor to be used to execute the result handlers after the asynchronous execution of the rules.
+     * <p>
+     * Typically, this executor should schedule the result handlers on the UI thread.
+     * <p>
+     * By default, no result handler executor is set, meaning that the result handlers are executed directly by the
+     * rule executor.
+     *
+     * @param resultHandlerExecutor Result handler executor, or null to execute the result handlers directly by the
+     *                              rule executor.
+     *
+     * @see #setRuleExecutor(Executor)
+     */
+    public void setResultHandlerExecutor(Executor resultHandlerExecutor) {
+        this.resultHandlerExecutor = resultHandlerExecutor;
+    }
+
+    /**
+     * Gets the metrics in which the latencies are recorded.
+     *
+     * @return Metrics, or null if metrics are disabled.
+     */
+    public ValidationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the metrics in which the latencies of the triggers, rules, transformers and result handlers are to be
+     * recorded.
+     * <p>
+     * The trigger latency is measured from the trigger to the handling of the last result, including when the rules are
+     * executed asynchronously. It is up to the sub-classes to record the latencies of the rules, transformers and result
+     * handlers, typically using {@link com.google.code.validationframework.base.metrics.MetricsUtils}.
+     * <p>
+     * By default, no metrics are set, meaning that nothing is measured at all.
+     *
+     * @param metrics Metrics, or null to disable metrics.
+     *
+     * @see com.google.code.validationframework.base.metrics.DefaultValidationMetrics
+     */
+    public void setMetrics(ValidationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Records the latency of a trigger whose processing started at the specified time.
+     *
+     * @param startTime Time at which the processing of the trigger started, in nanoseconds.
+     */
+    private void recordTrigger(long startTime) {
+        ValidationMetrics currentMetrics = metrics;
+        if (currentMetrics != null) {
+            currentMetrics.recordTrigger(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * States whether the rules are executed asynchronously.
+     *
+     * @return True if a rule executor is set, false otherwise.
+     *
+     * @see #setRuleExecutor(Executor)
+     */
+    protected boolean isAsynchronous() {
+        return ruleExecutor != null;
+    }
+
+    /**
+     * Schedules the specified validation on the rule executor, or runs it directly if no rule executor is set.
+     *
+     * @param validation Validation to be executed.
+     */
+    protected void executeAsynchronously(AsyncValidation<?> validation) {
+        Executor executor = ruleExecutor;
+        if (executor == null) {
+            validation.run();
+        } else {
+            executor.execute(validation);
+        }
+    }
+
+    /**
+     * Schedules the specified result handling on the result handler executor, or runs it directly if no result handler
+     * executor is set.
+     *
+     * @param resultHandling Result handling to be executed.
+     */
+    private void executeResultHandling(Runnable resultHandling) {
+        Executor executor = resultHandlerExecutor;
+        if (executor == null) {
+            resultHandling.run();
+        } else {
+            executor.execute(resultHandling);
+        }
+    }
+
+    /**
+     * Creates a new version stamp for an asynchronous validation of the specified source, making older validations of
+     * the same source stale.
+     *
+     * @param source Source of the rule input, typically a data provider.
+     *
+     * @return New version stamp.
+     */
+    private long stampValidation(Object source) {
+        synchronized (latestVersionStamps) {
+            lastVersionStamp++;
+            latestVersionStamps.put(source, lastVersionStamp);
+            return lastVersionStamp;
+        }
+    }
+
+    /**
+     * States whether the specified version stamp is the one of the latest asynchronous validation of the specified
+     * source.
+     *
+     * @param source       Source of the rule input, typically a data provider.
+     * @param versionStamp Version stamp of the validation.
+     *
+     * @return True if it is the latest validation of the source, false otherwise.
+     */
+    private boolean isLatestValidation(Object source, long versionStamp) {
+        synchronized (latestVersionStamps) {
+            Long latestVersionStamp = latestVersionStamps.get(source);
+            return (latestVersionStamp != null) && (latestVersionStamp == versionStamp);
+        }
     }
 
     /**
@@ -253,6 +887,16 @@ public abstract class AbstractSimpleValidator<T extends Trigger, DP extends Data
             }
         }
 
+        // Forget about the last processed data and affinities
+        clearRuleInputMemoizer();
+        triggersToLinkedDataProviders.clear();
+        triggersToAffectedDataProviders.clear();
+
+        // Discard the results of all pending validations
+        synchronized (latestVersionStamps) {
+            latestVersionStamps.clear();
+        }
+
         // Dispose everything
         dispose(triggers);
         dispose(dataProviders);
@@ -277,6 +921,28 @@ public abstract class AbstractSimpleValidator<T extends Trigger, DP extends Data
         dataProviders.clear();
     }
 
+    /**
+     * Processes the specified trigger, recording its latency if metrics are set.
+     * <p>
+     * When the rules are executed asynchronously, the latency is recorded once the results have been handled instead.
+     *
+     * @param trigger Trigger actually initiated, or null if the validation was initiated programmatically.
+     *
+     * @see #setMetrics(ValidationMetrics)
+     */
+    protected void initiateValidation(T trigger) {
+        if ((metrics == null) || isAsynchronous()) {
+            processTrigger(trigger);
+        } else {
+            long startTime = System.nanoTime();
+            try {
+                processTrigger(trigger);
+            } finally {
+                recordTrigger(startTime);
+            }
+        }
+    }
+
     /**
      * Performs the whole validation logic for the specified trigger.
      * <p>
@@ -29,6 +29,7 @@ import com.google.code.validationframework.api.dataprovider.DataProvider;
 import com.google.code.validationframework.api.resulthandler.ResultHandler;
 import com.google.code.validationframework.api.rule.Rule;
 import com.google.code.validationframework.api.trigger.Trigger;
+import com.google.code.validationframework.base.metrics.MetricsUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -114,7 +115,7 @@ public class DefaultMappableValidator<RI, RO> extends AbstractMappableValidator<
             LOGGER.warn("No matching result handler in mappable validator for rule: " + rule);
         } else {
             // Check rule
-            final RO result = rule.validate(data);
+            final RO result = MetricsUtils.validate(metrics, rule, data);
 
             // Process result with all matching result handlers
             for (final ResultHandler<RO> resultHandler : mappedResultHandlers) {
@@ -130,6 +131,6 @@ public class DefaultMappableValidator<RI, RO> extends AbstractMappableValidator<
      * @param result        Result to be processed by the result handler.
      */
     private void processResultHandler(final ResultHandler<RO> resultHandler, final RO result) {
-        resultHandler.handleResult(result);
+        MetricsUtils.handleResult(metrics, resultHandler, result);
     }
 }
@@ -29,9 +29,13 @@ import com.google.code.validationframework.api.dataprovider.DataProvider;
 import com.google.code.validationframework.api.resulthandler.ResultHandler;
 import com.google.code.validationframework.api.rule.Rule;
 import com.google.code.validationframework.api.trigger.Trigger;
+import com.google.code.validationframework.base.metrics.MetricsUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Concrete default implementation of a simple validator.<br>A simple validator has data providers and rules that are
  * bound to a known specific type of data, and result handlers that are bound to a known specific type of
@@ -55,6 +59,52 @@ import org.slf4j.LoggerFactory;
 public class DefaultSimpleValidator<RI, RO> extends AbstractSimpleValidator<Trigger, DataProvider<RI>, RI, Rule<RI,
         RO>, RI, RO, ResultHandler<RO>, RO> {
 
+    /**
+     * Asynchronous validation of the data from a data provider against all rules.
+     */
+    private class DataValidation extends AsyncValidation<List<RO>> {
+
+        /**
+         * Data to be validated.
+         */
+        private final RI data;
+
+        /**
+         * Rules at the time the validation was initiated.
+         */
+        private final List<Rule<RI, RO>> rulesSnapshot;
+
+        /**
+         * Constructor specifying the data provider and the data read from it.
+         *
+         * @param dataProvider Data provider the data was read from.
+         * @param data         Data to be validated.
+         */
+        public DataValidation(DataProvider<RI> dataProvider, RI data) {
+            super(dataProvider);
+            this.data = data;
+            this.rulesSnapshot = new ArrayList<Rule<RI, RO>>(rules);
+        }
+
+        /**
+         * @see AsyncValidation#validate()
+         */
+        @Override
+        protected List<RO> validate() {
+            return validateRules(rulesSnapshot, data);
+        }
+
+        /**
+         * @see AsyncValidation#handle(Object)
+         */
+        @Override
+        protected void handle(List<RO> results) {
+            for (RO result : results) {
+                processResult(result);
+            }
+        }
+    }
+
     /**
      * Logger for this class.
      */
@@ -68,9 +118,16 @@ public class DefaultSimpleValidator<RI, RO> extends AbstractSimpleValidator<Trig
         if (dataProviders.isEmpty()) {
             LOGGER.warn("No data providers in validator: " + this);
         } else {
-            // Process data from all providers
-            for (DataProvider<RI> dataProvider : dataProviders) {
-                processData(dataProvider.getData());
+            // Process data from all providers affected by the trigger
+            for (DataProvider<RI> dataProvider : getAffectedDataProviders(trigger)) {
+                RI data = dataProvider.getData();
+                if (!isRuleInputUnchanged(dataProvider, data)) {
+                    if (isAsynchronous()) {
+                        executeAsynchronously(new DataValidation(dataProvider, data));
+                    } else {
+                        processData(data);
+                    }
+                }
             }
         }
     }
@@ -83,7 +140,7 @@ public class DefaultSimpleValidator<RI, RO> extends AbstractSimpleValidator<Trig
     protected void processData(RI data) {
         // Check data against all rules
         for (Rule<RI, RO> rule : rules) {
-            processResult(rule.validate(data));
+            processResult(MetricsUtils.validate(metrics, rule, data));
         }
     }
 
@@ -94,7 +151,7 @@ public class DefaultSimpleValidator<RI, RO> extends AbstractSimpleValidator<Trig
      */
     protected void processResult(RO result) {
         for (ResultHandler<RO> resultHandler : resultHandlers) {
-            resultHandler.handleResult(result);
+            MetricsUtils.handleResult(metrics, resultHandler, result);
         }
     }
 }
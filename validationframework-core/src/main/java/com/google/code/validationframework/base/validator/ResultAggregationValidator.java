@@ -30,11 +30,18 @@ import com.google.code.validationframework.api.resulthandler.ResultHandler;
 import com.google.code.validationframework.api.rule.Rule;
 import com.google.code.validationframework.api.transform.Aggregator;
 import com.google.code.validationframework.api.trigger.Trigger;
+import com.google.code.validationframework.base.metrics.MetricsUtils;
+import com.google.code.validationframework.base.metrics.ValidationMetrics;
+import com.google.code.validationframework.base.rule.LazyRuleResultList;
+import com.google.code.validationframework.base.rule.ParallelRuleEvaluator;
+import com.google.code.validationframework.base.transform.AndBooleanAggregator;
+import com.google.code.validationframework.base.transform.OrBooleanAggregator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Concrete implementation of a simple validator that aggregates the results of all the rules into a single result
@@ -60,6 +67,83 @@ import java.util.Collection;
 public class ResultAggregationValidator<RI, RO, RHI> extends AbstractSimpleValidator<Trigger, DataProvider<RI>, RI,
         Rule<RI, RO>, RI, RO, ResultHandler<RHI>, RHI> {
 
+    /**
+     * Asynchronous validation of the data from a data provider against all rules, and aggregation of the results.
+     */
+    private class DataValidation extends AsyncValidation<RHI> {
+
+        /**
+         * Data to be validated.
+         */
+        private final RI data;
+
+        /**
+         * Rules at the time the validation was initiated.
+         */
+        private final List<Rule<RI, RO>> rulesSnapshot;
+
+        /**
+         * Result aggregator at the time the validation was initiated.
+         */
+        private final Aggregator<RO, RHI> aggregatorSnapshot;
+
+        /**
+         * Lazy evaluation flag at the time the validation was initiated.
+         */
+        private final boolean lazyEvaluationSnapshot;
+
+        /**
+         * Parallel rule evaluator at the time the validation was initiated.
+         */
+        private final ParallelRuleEvaluator<RI, RO> parallelRuleEvaluatorSnapshot;
+
+        /**
+         * Constructor specifying the data provider and the data read from it.
+         *
+         * @param dataProvider Data provider the data was read from.
+         * @param data         Data to be validated.
+         */
+        public DataValidation(DataProvider<RI> dataProvider, RI data) {
+            super(dataProvider);
+            this.data = data;
+            this.rulesSnapshot = new ArrayList<Rule<RI, RO>>(rules);
+            this.aggregatorSnapshot = resultAggregator;
+            this.lazyEvaluationSnapshot = lazyEvaluation;
+            this.parallelRuleEvaluatorSnapshot = parallelRuleEvaluator;
+        }
+
+        /**
+         * @see AsyncValidation#validate()
+         */
+        @Override
+        protected RHI validate() {
+            RHI aggregatedResult = null;
+
+            Collection<RO> results;
+            if (parallelRuleEvaluatorSnapshot != null) {
+                results = parallelRuleEvaluatorSnapshot.evaluate(rulesSnapshot, data, getDecisiveResult(
+                        aggregatorSnapshot), metrics);
+            } else if (lazyEvaluationSnapshot) {
+                results = createLazyResults(rulesSnapshot, data);
+            } else {
+                results = validateRules(rulesSnapshot, data);
+            }
+
+            if (results != null) {
+                aggregatedResult = MetricsUtils.transform(metrics, aggregatorSnapshot, results);
+            }
+            return aggregatedResult;
+        }
+
+        /**
+         * @see AsyncValidation#handle(Object)
+         */
+        @Override
+        protected void handle(RHI aggregatedResult) {
+            processResult(aggregatedResult);
+        }
+    }
+
     /**
      * Logger for this class.
      */
@@ -70,6 +154,16 @@ public class ResultAggregationValidator<RI, RO, RHI> extends AbstractSimpleValid
      */
     private Aggregator<RO, RHI> resultAggregator = null;
 
+    /**
+     * Flag indicating whether the rules should only be evaluated when their results are needed by the aggregator.
+     */
+    private boolean lazyEvaluation = false;
+
+    /**
+     * Entity evaluating the rules in parallel, or null if the rules are to be evaluated sequentially.
+     */
+    private ParallelRuleEvaluator<RI, RO> parallelRuleEvaluator = null;
+
     /**
      * Constructor specifying the transformer aggregating the rule results into a single result to be passed to the
      * result handlers.
@@ -80,6 +174,76 @@ public class ResultAggregationValidator<RI, RO, RHI> extends AbstractSimpleValid
         this.resultAggregator = resultAggregator;
     }
 
+    /**
+     * Indicates whether the rules are only evaluated when their results are needed by the aggregator.
+     *
+     * @return True if the rules are evaluated lazily, false if they are all evaluated.
+     *
+     * @see #setLazyEvaluation(boolean)
+     */
+    public boolean isLazyEvaluation() {
+        return lazyEvaluation;
+    }
+
+    /**
+     * States whether the rules should only be evaluated when their results are needed by the aggregator.
+     * <p>
+     * With lazy evaluation, the aggregator pulls the rule results on demand, so that, for instance, an {@link
+     * com.google.code.validationframework.base.transform.AndBooleanAggregator} stops evaluating the rules at the first
+     * false result, and an {@link com.google.code.validationframework.base.transform.OrBooleanAggregator} at the first
+     * true result. This is beneficial when cheap rules are added before expensive ones, but rules having side effects
+     * may then not be evaluated at all. By default, all rules are evaluated before the aggregation.
+     *
+     * @param lazyEvaluation True to evaluate the rules lazily, false to evaluate them all.
+     *
+     * @see LazyRuleResultList
+     */
+    public void setLazyEvaluation(boolean lazyEvaluation) {
+        this.lazyEvaluation = lazyEvaluation;
+    }
+
+    /**
+     * Gets the entity evaluating the rules in parallel.
+     *
+     * @return Parallel rule evaluator, or null if the rules are evaluated sequentially.
+     */
+    public ParallelRuleEvaluator<RI, RO> getParallelRuleEvaluator() {
+        return parallelRuleEvaluator;
+    }
+
+    /**
+     * Sets the entity evaluating the rules in parallel.
+     * <p>
+     * The results are passed to the aggregator in the order of the rules. If the aggregator is an {@link
+     * AndBooleanAggregator} or an {@link OrBooleanAggregator}, the evaluation of the remaining rules is cancelled as soon
+     * as a rule returns false or true, respectively.
+     * <p>
+     * Parallel evaluation takes precedence over lazy evaluation. Note that the rules must then be thread-safe.
+     *
+     * @param parallelRuleEvaluator Parallel rule evaluator, or null to evaluate the rules sequentially.
+     */
+    public void setParallelRuleEvaluator(ParallelRuleEvaluator<RI, RO> parallelRuleEvaluator) {
+        this.parallelRuleEvaluator = parallelRuleEvaluator;
+    }
+
+    /**
+     * Gets the rule result that is sufficient to decide the result of the specified aggregator.
+     *
+     * @param aggregator Result aggregator.
+     *
+     * @return Decisive result, or null if all the rule results are always needed by the aggregator.
+     */
+    @SuppressWarnings("unchecked")
+    private static <RO> RO getDecisiveResult(Aggregator<RO, ?> aggregator) {
+        Object decisiveResult = null;
+        if (aggregator instanceof AndBooleanAggregator) {
+            decisiveResult = false;
+        } else if (aggregator instanceof OrBooleanAggregator) {
+            decisiveResult = true;
+        }
+        return (RO) decisiveResult;
+    }
+
     /**
      * @see AbstractSimpleValidator#processTrigger(Trigger)
      */
@@ -88,9 +252,16 @@ public class ResultAggregationValidator<RI, RO, RHI> extends AbstractSimpleValid
         if (dataProviders.isEmpty()) {
             LOGGER.warn("No data providers in validator: " + this);
         } else {
-            // Process data from all providers
-            for (DataProvider<RI> dataProvider : dataProviders) {
-                processData(dataProvider.getData());
+            // Process data from all providers affected by the trigger
+            for (DataProvider<RI> dataProvider : getAffectedDataProviders(trigger)) {
+                RI data = dataProvider.getData();
+                if (!isRuleInputUnchanged(dataProvider, data)) {
+                    if (isAsynchronous()) {
+                        executeAsynchronously(new DataValidation(dataProvider, data));
+                    } else {
+                        processData(data);
+                    }
+                }
             }
         }
     }
@@ -102,16 +273,51 @@ public class ResultAggregationValidator<RI, RO, RHI> extends AbstractSimpleValid
      */
     protected void processData(RI data) {
         // Check data against all rules
-        Collection<RO> results = new ArrayList<RO>(resultHandlers.size());
-        for (Rule<RI, RO> rule : rules) {
-            results.add(rule.validate(data));
+        Collection<RO> results;
+        if (parallelRuleEvaluator != null) {
+            results = parallelRuleEvaluator.evaluate(rules, data, getDecisiveResult(resultAggregator), metrics);
+        } else if (lazyEvaluation) {
+            results = createLazyResults(rules, data);
+        } else {
+            results = new ArrayList<RO>(rules.size());
+            for (Rule<RI, RO> rule : rules) {
+                results.add(MetricsUtils.validate(metrics, rule, data));
+            }
         }
 
         // Aggregate all results and process the output
-        RHI aggregatedResult = resultAggregator.transform(results);
+        RHI aggregatedResult = MetricsUtils.transform(metrics, resultAggregator, results);
         processResult(aggregatedResult);
     }
 
+    /**
+     * Creates a lazy list of the results of the specified rules, recording their latency if metrics are set.
+     *
+     * @param rules Rules to be evaluated on demand.
+     * @param data  Data to be validated.
+     *
+     * @return Lazy list of rule results.
+     */
+    private List<RO> createLazyResults(List<? extends Rule<RI, RO>> rules, RI data) {
+        List<RO> results;
+        final ValidationMetrics currentMetrics = metrics;
+        if (currentMetrics == null) {
+            results = new LazyRuleResultList<RI, RO>(rules, data);
+        } else {
+            results = new LazyRuleResultList<RI, RO>(rules, data) {
+
+                /**
+                 * @see LazyRuleResultList#evaluate(Rule, Object)
+                 */
+                @Override
+                protected RO evaluate(Rule<? super RI, ? extends RO> rule, RI data) {
+                    return MetricsUtils.validate(currentMetrics, rule, data);
+                }
+            };
+        }
+        return results;
+    }
+
     /**
      * Handles the specified aggregated result using all result handlers.
      *
@@ -120,7 +326,7 @@ public class ResultAggregationValidator<RI, RO, RHI> extends AbstractSimpleValid
     protected void processResult(RHI aggregatedResult) {
         // Process the result with all result handlers
         for (ResultHandler<RHI> resultHandler : resultHandlers) {
-            resultHandler.handleResult(aggregatedResult);
+            MetricsUtils.handleResult(metrics, resultHandler, aggregatedResult);
         }
     }
 }
@@ -29,12 +29,16 @@ import com.google.code.validationframework.api.dataprovider.DataProvider;
 import com.google.code.validationframework.api.resulthandler.ResultHandler;
 import com.google.code.validationframework.api.rule.Rule;
 import com.google.code.validationframework.api.trigger.Trigger;
+import com.google.code.validationframework.base.metrics.MetricsUtils;
 import com.google.code.validationframework.base.resulthandler.ResultCollector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Concrete implementation of a simple validator that is collecting the results from other validators and performs
@@ -46,6 +50,10 @@ import java.util.Collection;
  * collector validator can be useful to aggregate the validation from a group of components (for instance, from
  * different tabs) to enable/disable some buttons accordingly.
  * <p>
+ * Note that all the results are read and validated again whenever any of them changes. To aggregate a large number of
+ * boolean results, consider using a {@link com.google.code.validationframework.base.resulthandler.BooleanResultGroup}
+ * instead, which maintains the aggregated result incrementally.
+ * <p>
  * Use {@link com.google.code.validationframework.base.validator.generalvalidator.GeneralValidator} or
  * {@link com.google.code.validationframework.base.validator.generalvalidator.dsl.GeneralValidatorBuilder} instead.
  *
@@ -63,11 +71,73 @@ import java.util.Collection;
 public class ResultCollectorValidator<RI, RO> extends AbstractSimpleValidator<Trigger, DataProvider<RI>, RI,
         Rule<Collection<RI>, RO>, Collection<RI>, RO, ResultHandler<RO>, RO> {
 
+    /**
+     * Asynchronous validation of the collected results against all rules.
+     */
+    private class CollectedResultsValidation extends AsyncValidation<List<RO>> {
+
+        /**
+         * Collected results to be validated.
+         */
+        private final Collection<RI> collectedResults;
+
+        /**
+         * Rules at the time the validation was initiated.
+         */
+        private final List<Rule<Collection<RI>, RO>> rulesSnapshot;
+
+        /**
+         * Constructor specifying the collected results to be validated.
+         *
+         * @param collectedResults Collected results to be validated.
+         */
+        public CollectedResultsValidation(Collection<RI> collectedResults) {
+            super(ResultCollectorValidator.this);
+            this.collectedResults = collectedResults;
+            this.rulesSnapshot = new ArrayList<Rule<Collection<RI>, RO>>(rules);
+        }
+
+        /**
+         * @see AsyncValidation#validate()
+         */
+        @Override
+        protected List<RO> validate() {
+            return validateRules(rulesSnapshot, collectedResults);
+        }
+
+        /**
+         * @see AsyncValidation#handle(Object)
+         */
+        @Override
+        protected void handle(List<RO> results) {
+            for (RO result : results) {
+                processResult(result);
+            }
+        }
+    }
+
     /**
      * Logger for this class.
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(ResultCollectorValidator.class);
 
+    /**
+     * Last results collected from each data provider, to be re-used for the data providers that are not affected by a
+     * trigger.
+     *
+     * @see #setTriggerAffinityEnabled(boolean)
+     */
+    private final Map<DataProvider<RI>, RI> lastCollectedResults = new IdentityHashMap<DataProvider<RI>, RI>();
+
+    /**
+     * @see AbstractSimpleValidator#triggerAffinityEnabledChanged(boolean)
+     */
+    @Override
+    protected void triggerAffinityEnabledChanged(boolean enabled) {
+        // The last results are not remembered while trigger affinity is disabled
+        lastCollectedResults.clear();
+    }
+
     /**
      * Adds the specified result collector as trigger and data provider for this validator.
      *
@@ -88,6 +158,17 @@ public class ResultCollectorValidator<RI, RO> extends AbstractSimpleValidator<Tr
         removeDataProvider(resultCollector);
     }
 
+    /**
+     * @see AbstractSimpleValidator#removeDataProvider(DataProvider)
+     */
+    @Override
+    public void removeDataProvider(DataProvider<RI> dataProvider) {
+        super.removeDataProvider(dataProvider);
+        if (!dataProviders.contains(dataProvider)) {
+            lastCollectedResults.remove(dataProvider);
+        }
+    }
+
     /**
      * @see AbstractSimpleValidator#processTrigger(Trigger)
      */
@@ -96,14 +177,31 @@ public class ResultCollectorValidator<RI, RO> extends AbstractSimpleValidator<Tr
         if (dataProviders.isEmpty()) {
             LOGGER.warn("No data providers in validator: " + this);
         } else {
-            // Collect results
+            // Collect results, re-using the last ones from the data providers that are not affected by the trigger
+            List<DataProvider<RI>> affectedDataProviders = getAffectedDataProviders(trigger);
             Collection<RI> collectedResults = new ArrayList<RI>();
             for (DataProvider<RI> dataProvider : dataProviders) {
-                collectedResults.add(dataProvider.getData());
+                RI result;
+                if ((affectedDataProviders == dataProviders) || affectedDataProviders.contains(dataProvider) ||
+                        !lastCollectedResults.containsKey(dataProvider)) {
+                    result = dataProvider.getData();
+                    if (isTriggerAffinityEnabled()) {
+                        lastCollectedResults.put(dataProvider, result);
+                    }
+                } else {
+                    result = lastCollectedResults.get(dataProvider);
+                }
+                collectedResults.add(result);
             }
 
             // Process results
-            processData(collectedResults);
+            if (!isRuleInputUnchanged(this, collectedResults)) {
+                if (isAsynchronous()) {
+                    executeAsynchronously(new CollectedResultsValidation(collectedResults));
+                } else {
+                    processData(collectedResults);
+                }
+            }
         }
     }
 
@@ -115,7 +213,7 @@ public class ResultCollectorValidator<RI, RO> extends AbstractSimpleValidator<Tr
     protected void processData(Collection<RI> data) {
         // Check data against all rules
         for (Rule<Collection<RI>, RO> rule : rules) {
-            processResult(rule.validate(data));
+            processResult(MetricsUtils.validate(metrics, rule, data));
         }
     }
 
@@ -126,7 +224,7 @@ public class ResultCollectorValidator<RI, RO> extends AbstractSimpleValidator<Tr
      */
     protected void processResult(RO result) {
         for (ResultHandler<RO> resultHandler : resultHandlers) {
-            resultHandler.handleResult(result);
+            MetricsUtils.handleResult(metrics, resultHandler, result);
         }
     }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.validator;
+
+import com.google.code.validationframework.base.common.EqualityStrategy;
+import com.google.code.validationframework.base.common.ValueEqualityStrategy;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Entity remembering the last rule input processed by a validator for each source of rule input (typically, for each
+ * data provider), in order to skip the rules and result handlers when the rule input did not change.
+ * <p>
+ * The rule inputs are compared using a pluggable {@link EqualityStrategy}. By default, they are compared using
+ * {@link ValueEqualityStrategy}.
+ * <p>
+ * Note that the remembered rule inputs are compared to the new rule inputs as is. If a data provider returns the same
+ * mutable object over and over again, the identity check will always consider it unchanged.
+ *
+ * @param <RI> Type of rule input.
+ *
+ * @see AbstractSimpleValidator#setRuleInputMemoizer(RuleInputMemoizer)
+ * @see EqualityStrategy
+ */
+public class RuleInputMemoizer<RI> {
+
+    /**
+     * Last rule input per source of rule input.
+     */
+    private final Map<Object, RI> lastRuleInputs = new IdentityHashMap<Object, RI>();
+
+    /**
+     * Strategy used to compare the last rule input with the new one.
+     */
+    private final EqualityStrategy<? super RI> equalityStrategy;
+
+    /**
+     * Number of times the rule input was found unchanged.
+     */
+    private long hitCount = 0;
+
+    /**
+     * Number of times the rule input was found changed or unknown.
+     */
+    private long missCount = 0;
+
+    /**
+     * Default constructor using a {@link ValueEqualityStrategy}.
+     */
+    public RuleInputMemoizer() {
+        this(new ValueEqualityStrategy());
+    }
+
+    /**
+     * Constructor specifying the strategy to be used to compare the last rule input with the new one.
+     *
+     * @param equalityStrategy Strategy to compare rule inputs.
+     */
+    public RuleInputMemoizer(EqualityStrategy<? super RI> equalityStrategy) {
+        this.equalityStrategy = equalityStrategy;
+    }
+
+    /**
+     * States whether the specified rule input is the same as the last one remembered for the specified source.
+     * <p>
+     * Calling this method updates the hit/miss counts, but does not remember the specified rule input.
+     *
+     * @param source    Source of the rule input, typically a data provider.
+     * @param ruleInput New rule input.
+     *
+     * @return True if the rule input is unchanged, false if it changed or if nothing is remembered for the source.
+     *
+     * @see #remember(Object, Object)
+     */
+    public boolean isUnchanged(Object source, RI ruleInput) {
+        boolean unchanged = lastRuleInputs.containsKey(source) && equalityStrategy.areEqual(lastRuleInputs.get
+                (source), ruleInput);
+        if (unchanged) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return unchanged;
+    }
+
+    /**
+     * Remembers the specified rule input as the last one for the specified source.
+     *
+     * @param source    Source of the rule input, typically a data provider.
+     * @param ruleInput Rule input to be remembered.
+     */
+    public void remember(Object source, RI ruleInput) {
+        lastRuleInputs.put(source, ruleInput);
+    }
+
+    /**
+     * Forgets the last rule input remembered for the specified source.
+     *
+     * @param source Source of the rule input, typically a data provider.
+     */
+    public void forget(Object source) {
+        lastRuleInputs.remove(source);
+    }
+
+    /**
+     * Forgets all the remembered rule inputs, so that the next rule inputs will all be considered changed.
+     * <p>
+     * Note that the hit/miss counts are not reset.
+     *
+     * @see #resetCounts()
+     */
+    public void clear() {
+        lastRuleInputs.clear();
+    }
+
+    /**
+     * Gets the number of times the rule input was found unchanged.
+     *
+     * @return Hit count.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of times the rule input was found changed or unknown.
+     *
+     * @return Miss count.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Resets the hit/miss counts.
+     */
+    public void resetCounts() {
+        hitCount = 0;
+        missCount = 0;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.validator.bulk;
+
+import com.google.code.validationframework.base.utils.ValueUtils;
+
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.RandomAccess;
+
+/**
+ * Compact result of a bulk validation, holding the output of the validation of each record, in the order of the
+ * records.
+ *
+ * @param <O> Type of output of the validation of each record.
+ *
+ * @see BulkValidator
+ */
+public class BulkResult<O> extends AbstractList<O> implements RandomAccess {
+
+    /**
+     * Output of the validation of each record.
+     */
+    private final Object[] outputs;
+
+    /**
+     * Constructor specifying the output of the validation of each record.
+     * <p>
+     * Note that the array is not copied.
+     *
+     * @param outputs Output of the validation of each record.
+     */
+    BulkResult(Object[] outputs) {
+        super();
+        this.outputs = outputs;
+    }
+
+    /**
+     * Gets the output of the validation of the record at the specified index.
+     *
+     * @see AbstractList#get(int)
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public O get(int index) {
+        return (O) outputs[index];
+    }
+
+    /**
+     * Gets the number of records validated.
+     *
+     * @see AbstractList#size()
+     */
+    @Override
+    public int size() {
+        return outputs.length;
+    }
+
+    /**
+     * Gets the indexes of the records whose output is equal to the specified output.
+     * <p>
+     * This can be used, for instance, to retrieve the indexes of the invalid records with a boolean output.
+     *
+     * @param output Output to look for.
+     *
+     * @return Indexes of the records with the specified output.
+     */
+    public BitSet getIndexesOf(O output) {
+        BitSet indexes = new BitSet(outputs.length);
+        for (int i = 0; i < outputs.length; i++) {
+            if (ValueUtils.areEqual(output, outputs[i])) {
+                indexes.set(i);
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Counts the records whose output is equal to the specified output.
+     *
+     * @param output Output to look for.
+     *
+     * @return Number of records with the specified output.
+     */
+    public int count(O output) {
+        return getIndexesOf(output).cardinality();
+    }
+}
@@ -0,0 +1,423 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.validator.bulk;
+
+import com.google.code.validationframework.api.rule.Rule;
+import com.google.code.validationframework.api.transform.Transformer;
+import com.google.code.validationframework.base.validator.generalvalidator.GeneralValidator;
+import com.google.code.validationframework.base.validator.generalvalidator.GeneralValidator.MappingStrategy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Stateless and thread-safe validator of records, without triggers, data providers and result handlers.
+ * <p>
+ * This validator reuses the same transformers and rules as a {@link GeneralValidator}, so that, for instance, the data
+ * imported from a file can be validated with the same definition as the data entered in a form. Each record is
+ * processed as follows:
+ * <ol>
+ * <li>the record is transformed by the input transformers into the rule input, like with the data provider output and
+ * rule input transformers of a {@link GeneralValidator} in {@link MappingStrategy#SPLIT} mode;</li>
+ * <li>the rule input is validated by each rule, and each rule output is transformed by the rule output
+ * transformers;</li>
+ * <li>the list of transformed rule outputs is transformed by the result transformers (typically an aggregator) into
+ * the output of the record, like with the result handler input transformers of a {@link GeneralValidator} in {@link
+ * MappingStrategy#JOIN} mode.</li>
+ * </ol>
+ * The transformers and rules are frozen at construction. Each thread uses its own scratch list to collect the rule
+ * outputs, so no allocation is needed by the validator itself for each record. However, the transformers and rules must
+ * be thread-safe if the validator is used concurrently, and the result transformers must not keep a reference to the
+ * list of rule outputs they are given. If there is no result transformer, the output of a record is a copy of the list
+ * of transformed rule outputs.
+ * <p>
+ * Records can be validated one by one, sequentially, or in parallel using an {@link ExecutorService}.
+ *
+ * @param <I>  Type of record.
+ * @param <RI> Type of rule input.
+ * @param <RO> Type of rule output.
+ * @param <O>  Type of output of the validation of each record.
+ *
+ * @see BulkResult
+ */
+public class BulkValidator<I, RI, RO, O> {
+
+    /**
+     * Per-thread scratch list to collect the transformed rule outputs.
+     */
+    private static class ScratchListHolder extends ThreadLocal<List<Object>> {
+
+        /**
+         * @see ThreadLocal#initialValue()
+         */
+        @Override
+        protected List<Object> initialValue() {
+            return new ArrayList<Object>();
+        }
+    }
+
+    /**
+     * Transformer wrapping a record into a list, as if it was the output of a single data provider.
+     */
+    private static class SingletonListTransformer implements Transformer<Object, List<Object>> {
+
+        /**
+         * @see Transformer#transform(Object)
+         */
+        @Override
+        public List<Object> transform(Object input) {
+            return Collections.singletonList(input);
+        }
+    }
+
+    /**
+     * Task validating a chunk of records in parallel.
+     */
+    private class ChunkValidation implements Callable<Void> {
+
+        /**
+         * Records to be validated.
+         */
+        private final List<? extends I> records;
+
+        /**
+         * Index of the first record of the chunk.
+         */
+        private final int from;
+
+        /**
+         * Index after the last record of the chunk.
+         */
+        private final int to;
+
+        /**
+         * Shared array of outputs.
+         */
+        private final Object[] outputs;
+
+        /**
+         * Constructor specifying the chunk of records to be validated and where to store their outputs.
+         *
+         * @param records Records to be validated.
+         * @param from    Index of the first record of the chunk.
+         * @param to      Index after the last record of the chunk.
+         * @param outputs Shared array of outputs.
+         */
+        public ChunkValidation(List<? extends I> records, int from, int to, Object[] outputs) {
+            this.records = records;
+            this.from = from;
+            this.to = to;
+            this.outputs = outputs;
+        }
+
+        /**
+         * @see Callable#call()
+         */
+        @Override
+        public Void call() {
+            for (int i = from; i < to; i++) {
+                outputs[i] = validate(records.get(i));
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Default number of records validated by each parallel task.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    /**
+     * Empty transformer chain.
+     */
+    private static final Transformer[] NO_TRANSFORMERS = new Transformer[0];
+
+    /**
+     * Transformers transforming each record into rule input.
+     */
+    private final Transformer[] inputTransformers;
+
+    /**
+     * Rules validating the rule input.
+     */
+    private final Rule<RI, RO>[] rules;
+
+    /**
+     * Transformers transforming each rule output.
+     */
+    private final Transformer[] ruleOutputTransformers;
+
+    /**
+     * Transformers transforming the list of transformed rule outputs into the output of a record.
+     */
+    private final Transformer[] resultTransformers;
+
+    /**
+     * Per-thread scratch list to collect the transformed rule outputs.
+     */
+    private final ThreadLocal<List<Object>> scratchLists = new ScratchListHolder();
+
+    /**
+     * Constructor specifying the transformers and rules to be used.
+     *
+     * @param inputTransformers      Transformers transforming each record into rule input, possibly null.
+     * @param rules                  Rules validating the rule input.
+     * @param ruleOutputTransformers Transformers transforming each rule output, possibly null.
+     * @param resultTransformers     Transformers transforming the list of transformed rule outputs into the output of
+     *                               a record, possibly null.
+     */
+    @SuppressWarnings("unchecked")
+    public BulkValidator(Collection<Transformer> inputTransformers, Collection<? extends Rule<RI, RO>> rules,
+                         Collection<Transformer> ruleOutputTransformers, Collection<Transformer> resultTransformers) {
+        this.inputTransformers = toArray(inputTransformers);
+        this.rules = rules.toArray(new Rule[rules.size()]);
+        this.ruleOutputTransformers = toArray(ruleOutputTransformers);
+        this.resultTransformers = toArray(resultTransformers);
+    }
+
+    /**
+     * Constructor specifying the validator whose transformers and rules are to be used.
+     * <p>
+     * Each record is processed as if it was the output of a single data provider of the specified validator, and the
+     * output of the record is what a result handler of the specified validator would receive: a single result in {@link
+     * MappingStrategy#JOIN} mode, or the list of the results of all rules in {@link MappingStrategy#SPLIT} mode.
+     * <p>
+     * Note that the transformers and rules are shared with the specified validator, and that later changes to the
+     * specified validator will not be reflected in this bulk validator.
+     *
+     * @param definition Validator whose transformers and rules are to be used.
+     */
+    @SuppressWarnings("unchecked")
+    public BulkValidator(GeneralValidator<I, RI, RO, ?> definition) {
+        // Input side
+        List<Transformer> inputTransformerList = new ArrayList<Transformer>();
+        addAll(inputTransformerList, definition.getDataProviderOutputTransformers());
+        if (definition.getDataProviderToRuleMappingStrategy() == MappingStrategy.JOIN) {
+            // The rule input transformers expect the list of all data provider outputs
+            inputTransformerList.add(new SingletonListTransformer());
+        }
+        addAll(inputTransformerList, definition.getRuleInputTransformers());
+
+        // Output side
+        List<Transformer> ruleOutputTransformerList = new ArrayList<Transformer>();
+        addAll(ruleOutputTransformerList, definition.getRuleOutputTransformers());
+        List<Transformer> resultTransformerList = new ArrayList<Transformer>();
+        if (definition.getRuleToResultHandlerMappingStrategy() == MappingStrategy.JOIN) {
+            addAll(resultTransformerList, definition.getResultHandlerInputTransformers());
+        } else {
+            addAll(ruleOutputTransformerList, definition.getResultHandlerInputTransformers());
+        }
+
+        Collection<Rule<RI, RO>> definitionRules = definition.getRules();
+        this.inputTransformers = toArray(inputTransformerList);
+        this.rules = definitionRules.toArray(new Rule[definitionRules.size()]);
+        this.ruleOutputTransformers = toArray(ruleOutputTransformerList);
+        this.resultTransformers = toArray(resultTransformerList);
+    }
+
+    /**
+     * Adds the specified transformers, if any, to the specified list.
+     *
+     * @param list         List to add the transformers to.
+     * @param transformers Transformers to be added, possibly null.
+     */
+    private static void addAll(List<Transformer> list, Transformer[] transformers) {
+        if (transformers != null) {
+            Collections.addAll(list, transformers);
+        }
+    }
+
+    /**
+     * Copies the specified transformers into an array.
+     *
+     * @param transformers Transformers, possibly null.
+     *
+     * @return Array of transformers, never null.
+     */
+    private static Transformer[] toArray(Collection<Transformer> transformers) {
+        Transformer[] array;
+        if ((transformers == null) || transformers.isEmpty()) {
+            array = NO_TRANSFORMERS;
+        } else {
+            array = transformers.toArray(new Transformer[transformers.size()]);
+        }
+        return array;
+    }
+
+    /**
+     * Passes the specified input through the specified transformers.
+     *
+     * @param transformers Transformers to be applied in sequence.
+     * @param input        Input of the first transformer.
+     *
+     * @return Output of the last transformer, or the input itself if there is no transformer.
+     */
+    @SuppressWarnings("unchecked")
+    private static Object transform(Transformer[] transformers, Object input) {
+        Object output = input;
+        for (Transformer transformer : transformers) {
+            output = transformer.transform(output);
+        }
+        return output;
+    }
+
+    /**
+     * Validates the specified record.
+     *
+     * @param record Record to be validated.
+     *
+     * @return Output of the validation of the record.
+     */
+    @SuppressWarnings("unchecked")
+    public O validate(I record) {
+        RI ruleInput = (RI) transform(inputTransformers, record);
+
+        // Use the scratch list of the current thread, unless it is already in use (re-entrant call)
+        List<Object> ruleOutputs = scratchLists.get();
+        boolean scratch = ruleOutputs.isEmpty();
+        if (!scratch) {
+            ruleOutputs = new ArrayList<Object>(rules.length);
+        }
+
+        Object output;
+        try {
+            for (Rule<RI, RO> rule : rules) {
+                ruleOutputs.add(transform(ruleOutputTransformers, rule.validate(ruleInput)));
+            }
+
+            if (resultTransformers.length == 0) {
+                output = new ArrayList<Object>(ruleOutputs);
+            } else {
+                output = transform(resultTransformers, ruleOutputs);
+            }
+        } finally {
+            if (scratch) {
+                ruleOutputs.clear();
+            }
+        }
+
+        return (O) output;
+    }
+
+    /**
+     * Validates the specified records sequentially on the calling thread.
+     *
+     * @param records Records to be validated.
+     *
+     * @return Outputs of the validation of the records, in the order of the records.
+     */
+    public BulkResult<O> validateAll(Iterable<? extends I> records) {
+        List<Object> outputs = new ArrayList<Object>();
+        for (I record : records) {
+            outputs.add(validate(record));
+        }
+        return new BulkResult<O>(outputs.toArray());
+    }
+
+    /**
+     * Validates the specified records in parallel using the specified executor service, by chunks of {@link
+     * #DEFAULT_CHUNK_SIZE} records.
+     *
+     * @param records         Records to be validated.
+     * @param executorService Executor service to be used, or null to validate the records sequentially.
+     *
+     * @return Outputs of the validation of the records, in the order of the records.
+     *
+     * @see #validateAll(List, ExecutorService, int)
+     */
+    public BulkResult<O> validateAll(List<? extends I> records, ExecutorService executorService) {
+        return validateAll(records, executorService, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Validates the specified records in parallel using the specified executor service, by chunks of the specified
+     * number of records.
+     * <p>
+     * If the executor service is null, or if there are not more records than the chunk size, the records are validated
+     * sequentially on the calling thread. If the validation of a record throws an exception, it will be re-thrown on the
+     * calling thread.
+     *
+     * @param records         Records to be validated.
+     * @param executorService Executor service to be used, or null to validate the records sequentially.
+     * @param chunkSize       Number of records validated by each parallel task.
+     *
+     * @return Outputs of the validation of the records, in the order of the records.
+     */
+    public BulkResult<O> validateAll(List<? extends I> records, ExecutorService executorService, int chunkSize) {
+        Object[] outputs = new Object[records.size()];
+        int effectiveChunkSize = Math.max(1, chunkSize);
+
+        if ((executorService == null) || (outputs.length <= effectiveChunkSize)) {
+            new ChunkValidation(records, 0, outputs.length, outputs).call();
+        } else {
+            // Fan out the chunks
+            List<Future<Void>> futures = new ArrayList<Future<Void>>();
+            for (int from = 0; from < outputs.length; from += effectiveChunkSize) {
+                int to = Math.min(outputs.length, from + effectiveChunkSize);
+                futures.add(executorService.submit(new ChunkValidation(records, from, to, outputs)));
+            }
+
+            // Wait for all chunks
+            try {
+                for (Future<Void> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while validating records in parallel", e);
+            } catch (ExecutionException e) {
+                rethrow(e.getCause());
+            } finally {
+                for (Future<Void> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+
+        return new BulkResult<O>(outputs);
+    }
+
+    /**
+     * Re-throws the specified exception thrown by a parallel task on the calling thread.
+     *
+     * @param cause Exception thrown by a parallel task.
+     */
+    private static void rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        } else {
+            throw new IllegalStateException("Records could not be validated", cause);
+        }
+    }
+}
@@ -0,0 +1,670 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.validator.generalvalidator;
+
+import com.google.code.validationframework.api.dataprovider.DataProvider;
+import com.google.code.validationframework.api.resulthandler.ResultHandler;
+import com.google.code.validationframework.api.rule.Rule;
+import com.google.code.validationframework.api.transform.Transformer;
+import com.google.code.validationframework.base.metrics.MetricsUtils;
+import com.google.code.validationframework.base.metrics.ValidationMetrics;
+import com.google.code.validationframework.base.utils.TransformerUtils;
+import com.google.code.validationframework.base.validator.RuleInputMemoizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Frozen, array-backed evaluation plan of a compiled {@link GeneralValidator}.
+ * <p>
+ * The plan is specialized for one combination of data provider to rule mapping and rule to result handler mapping, so
+ * that no mapping strategy needs to be resolved when processing a trigger. The transformer lists of the validator are
+ * also fused into arrays: in {@link GeneralValidator.MappingStrategy#SPLIT} mode, the data provider output
+ * transformers and the rule input transformers form a single chain, and so do the rule output transformers and the
+ * result handler input transformers. The stages known to return their input as is are eliminated from the chains.
+ * <p>
+ * In {@link GeneralValidator.MappingStrategy#JOIN} mode, the joined outputs are collected in reusable scratch lists
+ * instead of newly allocated lists. If the plan is re-entered (for instance, because a result handler triggers the
+ * same validator again), the nested execution uses its own temporary lists.
+ * <p>
+ * If a {@link RuleInputMemoizer} is used, the rule input is remembered for each data provider in
+ * {@link GeneralValidator.MappingStrategy#SPLIT} mode, and for the plan itself in
+ * {@link GeneralValidator.MappingStrategy#JOIN} mode.
+ * <p>
+ * If only some of the data providers are affected by a trigger, only these are read. In
+ * {@link GeneralValidator.MappingStrategy#JOIN} mode, the last transformed output of the other data providers is
+ * re-used.
+ * <p>
+ * If metrics are set on the validator when it is compiled, the latency of each rule, transformer and result handler
+ * invocation is recorded.
+ *
+ * @see GeneralValidator#compile()
+ */
+abstract class ExecutionPlan {
+
+    /**
+     * Empty transformer chain.
+     */
+    private static final Transformer[] NO_TRANSFORMERS = new Transformer[0];
+
+    /**
+     * Marker for data providers that have not been read yet.
+     */
+    private static final Object NOT_READ = new Object();
+
+    /**
+     * Data providers of the validator.
+     */
+    protected final DataProvider[] dataProviders;
+
+    /**
+     * Rules of the validator.
+     */
+    protected final Rule[] rules;
+
+    /**
+     * Result handlers of the validator.
+     */
+    protected final ResultHandler[] resultHandlers;
+
+    /**
+     * Metrics in which the latencies are to be recorded, or null if metrics are disabled.
+     */
+    protected final ValidationMetrics metrics;
+
+    /**
+     * Number of nested executions of this plan currently in progress.
+     */
+    private int executionDepth = 0;
+
+    /**
+     * Constructor specifying the elements of the validator.
+     *
+     * @param dataProviders  Data providers of the validator.
+     * @param rules          Rules of the validator.
+     * @param resultHandlers Result handlers of the validator.
+     * @param metrics        Metrics in which the latencies are to be recorded, or null.
+     */
+    protected ExecutionPlan(DataProvider[] dataProviders, Rule[] rules, ResultHandler[] resultHandlers,
+                            ValidationMetrics metrics) {
+        this.dataProviders = dataProviders;
+        this.rules = rules;
+        this.resultHandlers = resultHandlers;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Creates the execution plan corresponding to the specified configuration of a {@link GeneralValidator}.
+     *
+     * @param dataProviders                  Data providers.
+     * @param dataProviderOutputTransformers Data provider output transformers, possibly null.
+     * @param dataProviderToRuleMapping      Data provider to rule mapping.
+     * @param ruleInputTransformers          Rule input transformers, possibly null.
+     * @param rules                          Rules.
+     * @param ruleOutputTransformers         Rule output transformers, possibly null.
+     * @param ruleToResultHandlerMapping     Rule to result handler mapping.
+     * @param resultHandlerInputTransformers Result handler input transformers, possibly null.
+     * @param resultHandlers                 Result handlers.
+     * @param lazyEvaluation                 True to evaluate the rules lazily in {@link
+     *                                       GeneralValidator.MappingStrategy#JOIN} mode, false otherwise.
+     * @param metrics                        Metrics in which the latencies are to be recorded, or null.
+     *
+     * @return Execution plan.
+     */
+    static ExecutionPlan create(Collection<? extends DataProvider> dataProviders, //
+                                Collection<Transformer> dataProviderOutputTransformers, //
+                                GeneralValidator.MappingStrategy dataProviderToRuleMapping, //
+                                Collection<Transformer> ruleInputTransformers, //
+                                Collection<? extends Rule> rules, //
+                                Collection<Transformer> ruleOutputTransformers, //
+                                GeneralValidator.MappingStrategy ruleToResultHandlerMapping, //
+                                Collection<Transformer> resultHandlerInputTransformers, //
+                                Collection<? extends ResultHandler> resultHandlers, //
+                                boolean lazyEvaluation, //
+                                ValidationMetrics metrics) {
+        DataProvider[] dataProviderArray = dataProviders.toArray(new DataProvider[dataProviders.size()]);
+        Rule[] ruleArray = rules.toArray(new Rule[rules.size()]);
+        ResultHandler[] resultHandlerArray = resultHandlers.toArray(new ResultHandler[resultHandlers.size()]);
+
+        // Fuse the transformer chains on the input side
+        Transformer[] dataProviderOutputChain;
+        Transformer[] ruleInputChain;
+        if (dataProviderToRuleMapping == GeneralValidator.MappingStrategy.JOIN) {
+            dataProviderOutputChain = TransformerUtils.toChain(dataProviderOutputTransformers, null);
+            ruleInputChain = TransformerUtils.toChain(ruleInputTransformers, null);
+        } else {
+            dataProviderOutputChain = TransformerUtils.toChain(dataProviderOutputTransformers,
+                    ruleInputTransformers);
+            ruleInputChain = NO_TRANSFORMERS;
+        }
+
+        // Fuse the transformer chains on the output side
+        Transformer[] ruleOutputChain;
+        Transformer[] resultHandlerInputChain;
+        if (ruleToResultHandlerMapping == GeneralValidator.MappingStrategy.JOIN) {
+            ruleOutputChain = TransformerUtils.toChain(ruleOutputTransformers, null);
+            resultHandlerInputChain = TransformerUtils.toChain(resultHandlerInputTransformers, null);
+        } else {
+            ruleOutputChain = TransformerUtils.toChain(ruleOutputTransformers, resultHandlerInputTransformers);
+            resultHandlerInputChain = NO_TRANSFORMERS;
+        }
+
+        // Pick the specialized plan
+        ExecutionPlan plan;
+        if (dataProviderToRuleMapping == GeneralValidator.MappingStrategy.JOIN) {
+            if (ruleToResultHandlerMapping == GeneralValidator.MappingStrategy.JOIN) {
+                plan = new JoinJoinPlan(dataProviderArray, dataProviderOutputChain, ruleInputChain, ruleArray,
+                        ruleOutputChain, resultHandlerInputChain, resultHandlerArray, lazyEvaluation, metrics);
+            } else {
+                plan = new JoinSplitPlan(dataProviderArray, dataProviderOutputChain, ruleInputChain, ruleArray,
+                        ruleOutputChain, resultHandlerArray, metrics);
+            }
+        } else {
+            if (ruleToResultHandlerMapping == GeneralValidator.MappingStrategy.JOIN) {
+                plan = new SplitJoinPlan(dataProviderArray, dataProviderOutputChain, ruleArray, ruleOutputChain,
+                        resultHandlerInputChain, resultHandlerArray, lazyEvaluation, metrics);
+            } else {
+                plan = new SplitSplitPlan(dataProviderArray, dataProviderOutputChain, ruleArray, ruleOutputChain,
+                        resultHandlerArray, metrics);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Passes the specified input through the specified transformer chain.
+     *
+     * @param metrics Metrics in which the latencies are to be recorded, or null.
+     * @param chain   Transformer chain.
+     * @param input   Input of the first transformer.
+     *
+     * @return Output of the last transformer, or the input itself if the chain is empty.
+     */
+    @SuppressWarnings("unchecked")
+    static Object transform(ValidationMetrics metrics, Transformer[] chain, Object input) {
+        Object output;
+        if (metrics == null) {
+            output = TransformerUtils.transform(chain, input);
+        } else {
+            output = input;
+            for (Transformer transformer : chain) {
+                output = MetricsUtils.transform(metrics, transformer, output);
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Passes the specified input through the specified transformer chain.
+     *
+     * @param chain Transformer chain.
+     * @param input Input of the first transformer.
+     *
+     * @return Output of the last transformer, or the input itself if the chain is empty.
+     */
+    protected final Object transform(Transformer[] chain, Object input) {
+        return transform(metrics, chain, input);
+    }
+
+    /**
+     * Validates the specified rule input with the specified rule.
+     *
+     * @param rule      Rule to be invoked.
+     * @param ruleInput Rule input to be validated.
+     *
+     * @return Rule output.
+     */
+    @SuppressWarnings("unchecked")
+    protected final Object validate(Rule rule, Object ruleInput) {
+        return MetricsUtils.validate(metrics, rule, ruleInput);
+    }
+
+    /**
+     * Checks whether the specified rule input is unchanged since the last time it was processed for the specified
+     * source, and remembers it otherwise.
+     *
+     * @param memoizer  Rule input memoizer, possibly null.
+     * @param source    Source of the rule input.
+     * @param ruleInput Rule input about to be processed.
+     * @param buffer    Scratch list possibly used as rule input, or null.
+     *
+     * @return True if the rule input is unchanged and does not need to be processed again, false otherwise or if no
+     * memoizer is specified.
+     */
+    @SuppressWarnings("unchecked")
+    protected static boolean isUnchanged(RuleInputMemoizer memoizer, Object source, Object ruleInput,
+                                         ScratchList buffer) {
+        boolean unchanged = false;
+
+        if (memoizer != null) {
+            unchanged = memoizer.isUnchanged(source, ruleInput);
+            if (!unchanged) {
+                // Remember a copy of the scratch list because its content will be overwritten
+                memoizer.remember(source, (ruleInput == buffer) ? new ArrayList<Object>(buffer) : ruleInput);
+            }
+        }
+
+        return unchanged;
+    }
+
+    /**
+     * States whether the specified list contains the specified data provider instance.
+     *
+     * @param dataProviders List of data providers.
+     * @param dataProvider  Data provider to be looked for.
+     *
+     * @return True if the list contains the data provider, false otherwise.
+     */
+    private static boolean containsInstance(List<? extends DataProvider> dataProviders, DataProvider dataProvider) {
+        boolean found = false;
+        for (int i = 0; !found && (i < dataProviders.size()); i++) {
+            found = (dataProviders.get(i) == dataProvider);
+        }
+        return found;
+    }
+
+    /**
+     * Performs the whole validation logic.
+     *
+     * @param memoizer              Rule input memoizer to be used, or null to always process the rule input.
+     * @param affectedDataProviders Data providers affected by the trigger, or null if all of them are affected.
+     */
+    public final void execute(RuleInputMemoizer memoizer, List<? extends DataProvider> affectedDataProviders) {
+        executionDepth++;
+        try {
+            doExecute(memoizer, affectedDataProviders, executionDepth > 1);
+        } finally {
+            executionDepth--;
+        }
+    }
+
+    /**
+     * Performs the whole validation logic.
+     *
+     * @param memoizer              Rule input memoizer to be used, or null to always process the rule input.
+     * @param affectedDataProviders Data providers affected by the trigger, or null if all of them are affected.
+     * @param nested                True if this execution is nested in another execution of the same plan, in which
+     *                              case the shared scratch lists must not be used.
+     */
+    protected abstract void doExecute(RuleInputMemoizer memoizer, List<? extends DataProvider> affectedDataProviders,
+                                      boolean nested);
+
+    /**
+     * Gets the transformed output of the data provider at the specified index, re-using the last one if the data
+     * provider is not affected by the trigger.
+     *
+     * @param index                 Index of the data provider.
+     * @param chain                 Data provider output transformers.
+     * @param lastOutputs           Last transformed output of each data provider.
+     * @param affectedDataProviders Data providers affected by the trigger, or null if all of them are affected.
+     *
+     * @return Transformed data provider output.
+     */
+    protected final Object getDataProviderOutput(int index, Transformer[] chain, Object[] lastOutputs,
+                                                 List<? extends DataProvider> affectedDataProviders) {
+        Object output;
+        DataProvider dataProvider = dataProviders[index];
+        if ((affectedDataProviders == null) || (lastOutputs[index] == NOT_READ) || containsInstance
+                (affectedDataProviders, dataProvider)) {
+            output = transform(chain, dataProvider.getData());
+            lastOutputs[index] = output;
+        } else {
+            output = lastOutputs[index];
+        }
+        return output;
+    }
+
+    /**
+     * Creates the array holding the last transformed output of each data provider.
+     *
+     * @param count Number of data providers.
+     *
+     * @return Array filled with {@link #NOT_READ}.
+     */
+    protected static Object[] createLastOutputs(int count) {
+        Object[] lastOutputs = new Object[count];
+        Arrays.fill(lastOutputs, NOT_READ);
+        return lastOutputs;
+    }
+
+    /**
+     * Creates a lazy list of transformed rule outputs for the rules of this plan.
+     *
+     * @param ruleOutputChain Rule output transformers.
+     *
+     * @return Lazy list of transformed rule outputs.
+     */
+    protected LazyRuleOutputList createLazyRulesOutput(Transformer[] ruleOutputChain) {
+        return new LazyRuleOutputList(Arrays.asList(rules), ruleOutputChain, null, metrics);
+    }
+
+    /**
+     * Processes the specified rule input with the rules lazily, and processes the lazy list of their transformed
+     * outputs, all at once, with each result handler.
+     *
+     * @param lazyRulesOutput         Lazy list of transformed rule outputs to be used.
+     * @param ruleInput               Rule input to be validated.
+     * @param resultHandlerInputChain Result handler input transformers.
+     */
+    protected void processLazily(LazyRuleOutputList lazyRulesOutput, Object ruleInput,
+                                 Transformer[] resultHandlerInputChain) {
+        lazyRulesOutput.reset(ruleInput);
+        try {
+            processResultHandlers(transform(resultHandlerInputChain, lazyRulesOutput));
+        } finally {
+            lazyRulesOutput.reset(null);
+        }
+    }
+
+    /**
+     * Processes the specified result handler input with each result handler.
+     *
+     * @param resultHandlerInput Result handler input to be handled.
+     */
+    @SuppressWarnings("unchecked")
+    protected final void processResultHandlers(Object resultHandlerInput) {
+        for (ResultHandler resultHandler : resultHandlers) {
+            MetricsUtils.handleResult(metrics, resultHandler, resultHandlerInput);
+        }
+    }
+
+    /**
+     * Plan processing the output of each data provider one by one, and the output of each rule one by one.
+     */
+    private static final class SplitSplitPlan extends ExecutionPlan {
+
+        /**
+         * Fused data provider output and rule input transformers.
+         */
+        private final Transformer[] inputChain;
+
+        /**
+         * Fused rule output and result handler input transformers.
+         */
+        private final Transformer[] outputChain;
+
+        SplitSplitPlan(DataProvider[] dataProviders, Transformer[] inputChain, Rule[] rules,
+                       Transformer[] outputChain, ResultHandler[] resultHandlers, ValidationMetrics metrics) {
+            super(dataProviders, rules, resultHandlers, metrics);
+            this.inputChain = inputChain;
+            this.outputChain = outputChain;
+        }
+
+        /**
+         * @see ExecutionPlan#doExecute(RuleInputMemoizer, List, boolean)
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        protected void doExecute(RuleInputMemoizer memoizer, List<? extends DataProvider> affectedDataProviders,
+                                 boolean nested) {
+            int count = (affectedDataProviders == null) ? dataProviders.length : affectedDataProviders.size();
+            for (int i = 0; i < count; i++) {
+                DataProvider dataProvider = (affectedDataProviders == null) ? dataProviders[i] :
+                        affectedDataProviders.get(i);
+                Object ruleInput = transform(inputChain, dataProvider.getData());
+                if (!isUnchanged(memoizer, dataProvider, ruleInput, null)) {
+                    for (Rule rule : rules) {
+                        processResultHandlers(transform(outputChain, validate(rule, ruleInput)));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Plan processing the output of each data provider one by one, and the output of all rules at once.
+     */
+    private static final class SplitJoinPlan extends ExecutionPlan {
+
+        /**
+         * Fused data provider output and rule input transformers.
+         */
+        private final Transformer[] inputChain;
+
+        /**
+         * Rule output transformers.
+         */
+        private final Transformer[] ruleOutputChain;
+
+        /**
+         * Result handler input transformers.
+         */
+        private final Transformer[] resultHandlerInputChain;
+
+        /**
+         * Reusable list of transformed rule outputs.
+         */
+        private final ScratchList rulesOutput;
+
+        /**
+         * Reusable lazy list of transformed rule outputs, or null if the rules are not to be evaluated lazily.
+         */
+        private final LazyRuleOutputList lazyRulesOutput;
+
+        SplitJoinPlan(DataProvider[] dataProviders, Transformer[] inputChain, Rule[] rules,
+                      Transformer[] ruleOutputChain, Transformer[] resultHandlerInputChain,
+                      ResultHandler[] resultHandlers, boolean lazyEvaluation, ValidationMetrics metrics) {
+            super(dataProviders, rules, resultHandlers, metrics);
+            this.inputChain = inputChain;
+            this.ruleOutputChain = ruleOutputChain;
+            this.resultHandlerInputChain = resultHandlerInputChain;
+            this.rulesOutput = new ScratchList(rules.length);
+            this.lazyRulesOutput = lazyEvaluation ? createLazyRulesOutput(ruleOutputChain) : null;
+        }
+
+        /**
+         * @see ExecutionPlan#doExecute(RuleInputMemoizer, List, boolean)
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        protected void doExecute(RuleInputMemoizer memoizer, List<? extends DataProvider> affectedDataProviders,
+                                 boolean nested) {
+            ScratchList buffer = nested ? new ScratchList(rules.length) : rulesOutput;
+            int count = (affectedDataProviders == null) ? dataProviders.length : affectedDataProviders.size();
+            for (int i = 0; i < count; i++) {
+                DataProvider dataProvider = (affectedDataProviders == null) ? dataProviders[i] :
+                        affectedDataProviders.get(i);
+                Object ruleInput = transform(inputChain, dataProvider.getData());
+                if (!isUnchanged(memoizer, dataProvider, ruleInput, null)) {
+                    if (lazyRulesOutput != null) {
+                        processLazily(nested ? createLazyRulesOutput(ruleOutputChain) : lazyRulesOutput, ruleInput,
+                                resultHandlerInputChain);
+                    } else {
+                        try {
+                            for (Rule rule : rules) {
+                                buffer.append(transform(ruleOutputChain, validate(rule, ruleInput)));
+                            }
+                            processResultHandlers(transform(resultHandlerInputChain, buffer));
+                        } finally {
+                            buffer.reset();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Plan processing the output of all data providers at once, and the output of each rule one by one.
+     */
+    private static final class JoinSplitPlan extends ExecutionPlan {
+
+        /**
+         * Data provider output transformers.
+         */
+        private final Transformer[] dataProviderOutputChain;
+
+        /**
+         * Rule input transformers.
+         */
+        private final Transformer[] ruleInputChain;
+
+        /**
+         * Fused rule output and result handler input transformers.
+         */
+        private final Transformer[] outputChain;
+
+        /**
+         * Reusable list of transformed data provider outputs.
+         */
+        private final ScratchList dataProvidersOutput;
+
+        /**
+         * Last transformed output of each data provider.
+         */
+        private final Object[] lastOutputs;
+
+        JoinSplitPlan(DataProvider[] dataProviders, Transformer[] dataProviderOutputChain,
+                      Transformer[] ruleInputChain, Rule[] rules, Transformer[] outputChain,
+                      ResultHandler[] resultHandlers, ValidationMetrics metrics) {
+            super(dataProviders, rules, resultHandlers, metrics);
+            this.dataProviderOutputChain = dataProviderOutputChain;
+            this.ruleInputChain = ruleInputChain;
+            this.outputChain = outputChain;
+            this.dataProvidersOutput = new ScratchList(dataProviders.length);
+            this.lastOutputs = createLastOutputs(dataProviders.length);
+        }
+
+        /**
+         * @see ExecutionPlan#doExecute(RuleInputMemoizer, List, boolean)
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        protected void doExecute(RuleInputMemoizer memoizer, List<? extends DataProvider> affectedDataProviders,
+                                 boolean nested) {
+            ScratchList buffer = nested ? new ScratchList(dataProviders.length) : dataProvidersOutput;
+            try {
+                for (int i = 0; i < dataProviders.length; i++) {
+                    buffer.append(getDataProviderOutput(i, dataProviderOutputChain, lastOutputs,
+                            affectedDataProviders));
+                }
+                Object ruleInput = transform(ruleInputChain, buffer);
+                if (!isUnchanged(memoizer, this, ruleInput, buffer)) {
+                    for (Rule rule : rules) {
+                        processResultHandlers(transform(outputChain, validate(rule, ruleInput)));
+                    }
+                }
+            } finally {
+                buffer.reset();
+            }
+        }
+    }
+
+    /**
+     * Plan processing the output of all data providers at once, and the output of all rules at once.
+     */
+    private static final class JoinJoinPlan extends ExecutionPlan {
+
+        /**
+         * Data provider output transformers.
+         */
+        private final Transformer[] dataProviderOutputChain;
+
+        /**
+         * Rule input transformers.
+         */
+        private final Transformer[] ruleInputChain;
+
+        /**
+         * Rule output transformers.
+         */
+        private final Transformer[] ruleOutputChain;
+
+        /**
+         * Result handler input transformers.
+         */
+        private final Transformer[] resultHandlerInputChain;
+
+        /**
+         * Reusable list of transformed data provider outputs.
+         */
+        private final ScratchList dataProvidersOutput;
+
+        /**
+         * Last transformed output of each data provider.
+         */
+        private final Object[] lastOutputs;
+
+        /**
+         * Reusable list of transformed rule outputs.
+         */
+        private final ScratchList rulesOutput;
+
+        /**
+         * Reusable lazy list of transformed rule outputs, or null if the rules are not to be evaluated lazily.
+         */
+        private final LazyRuleOutputList lazyRulesOutput;
+
+        JoinJoinPlan(DataProvider[] dataProviders, Transformer[] dataProviderOutputChain,
+                     Transformer[] ruleInputChain, Rule[] rules, Transformer[] ruleOutputChain,
+                     Transformer[] resultHandlerInputChain, ResultHandler[] resultHandlers, boolean lazyEvaluation,
+                     ValidationMetrics metrics) {
+            super(dataProviders, rules, resultHandlers, metrics);
+            this.dataProviderOutputChain = dataProviderOutputChain;
+            this.ruleInputChain = ruleInputChain;
+            this.ruleOutputChain = ruleOutputChain;
+            this.resultHandlerInputChain = resultHandlerInputChain;
+            this.dataProvidersOutput = new ScratchList(dataProviders.length);
+            this.lastOutputs = createLastOutputs(dataProviders.length);
+            this.rulesOutput = new ScratchList(rules.length);
+            this.lazyRulesOutput = lazyEvaluation ? createLazyRulesOutput(ruleOutputChain) : null;
+        }
+
+        /**
+         * @see ExecutionPlan#doExecute(RuleInputMemoizer, List, boolean)
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        protected void doExecute(RuleInputMemoizer memoizer, List<? extends DataProvider> affectedDataProviders,
+                                 boolean nested) {
+            ScratchList inputBuffer = nested ? new ScratchList(dataProviders.length) : dataProvidersOutput;
+            ScratchList outputBuffer = nested ? new ScratchList(rules.length) : rulesOutput;
+            try {
+                for (int i = 0; i < dataProviders.length; i++) {
+                    inputBuffer.append(getDataProviderOutput(i, dataProviderOutputChain, lastOutputs,
+                            affectedDataProviders));
+                }
+                Object ruleInput = transform(ruleInputChain, inputBuffer);
+                if (!isUnchanged(memoizer, this, ruleInput, inputBuffer)) {
+                    if (lazyRulesOutput != null) {
+                        processLazily(nested ? createLazyRulesOutput(ruleOutputChain) : lazyRulesOutput, ruleInput,
+                                resultHandlerInputChain);
+                    } else {
+                        for (Rule rule : rules) {
+                            outputBuffer.append(transform(ruleOutputChain, validate(rule, ruleInput)));
+                        }
+                        processResultHandlers(transform(resultHandlerInputChain, outputBuffer));
+                    }
+                }
+            } finally {
+                inputBuffer.reset();
+                outputBuffer.reset();
+            }
+        }
+    }
+}
@@ -31,7 +31,10 @@ import com.google.code.validationframework.api.resulthandler.ResultHandler;
 import com.google.code.validationframework.api.rule.Rule;
 import com.google.code.validationframework.api.transform.Transformer;
 import com.google.code.validationframework.api.trigger.Trigger;
+import com.google.code.validationframework.base.metrics.MetricsUtils;
+import com.google.code.validationframework.base.metrics.ValidationMetrics;
 import com.google.code.validationframework.base.resulthandler.ResultCollector;
+import com.google.code.validationframework.base.utils.TransformerUtils;
 import com.google.code.validationframework.base.validator.AbstractSimpleValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,7 +42,10 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Simple validator allowing to have different mapping between data providers, rules and result handlers.
@@ -73,6 +79,22 @@ import java.util.List;
  * <p>
  * Note that the use of transformers is optional. By default, the data provider to rule mapping is set to {@link
  * MappingStrategy#SPLIT} and the rule to result handler mapping is set to {@link MappingStrategy#SPLIT}.
+ * <p>
+ * Once fully configured, the validator can be compiled using {@link #compile()} to speed up the processing of the
+ * triggers. A compiled validator can no longer be modified, except for its triggers.
+ * <p>
+ * Also, a {@link com.google.code.validationframework.base.validator.RuleInputMemoizer} can be set to skip the rules and
+ * result handlers when the rule input did not change since the last trigger. In {@link MappingStrategy#SPLIT} mode, the
+ * rule input is remembered for each data provider.
+ * <p>
+ * If trigger affinity is enabled, only the data providers affected by a trigger are read. In
+ * {@link MappingStrategy#SPLIT} mode, the rules and result handlers are only processed for these data providers, and in
+ * {@link MappingStrategy#JOIN} mode, the last transformed output of the other data providers is re-used.
+ * <p>
+ * Finally, if a rule executor is set, the data providers are read and their output transformed on the thread
+ * initiating the validation, but the rules, the rule output transformers and the result handler input transformers are
+ * executed by the rule executor. The result handlers are then executed by the result handler executor, unless a newer
+ * validation was initiated in the meantime. Note that the compiled plan is not used in that case.
  *
  * @param <DPO> Type of data provider output.<br>
  *              This may or may not be the same type as the rule input.
@@ -99,6 +121,112 @@ public class GeneralValidator<DPO, RI, RO, RHI> extends AbstractSimpleValidator<
         JOIN
     }
 
+    /**
+     * Asynchronous validation of a rule input against all rules.
+     * <p>
+     * The rules, transformers and mapping strategy are captured when the validation is initiated, so that they can be
+     * modified while the validation is in progress.
+     */
+    private class RuleInputValidation extends AsyncValidation<List<RHI>> {
+
+        /**
+         * Rule input to be validated.
+         */
+        private final RI ruleInput;
+
+        /**
+         * Rules at the time the validation was initiated.
+         */
+        private final List<Rule<RI, RO>> rulesSnapshot;
+
+        /**
+         * Rule output transformers at the time the validation was initiated.
+         */
+        private final Transformer[] ruleOutputTransformersSnapshot;
+
+        /**
+         * Rule to result handler mapping at the time the validation was initiated.
+         */
+        private final MappingStrategy ruleToResultHandlerMappingSnapshot;
+
+        /**
+         * Result handler input transformers at the time the validation was initiated.
+         */
+        private final Transformer[] resultHandlerInputTransformersSnapshot;
+
+        /**
+         * Lazy evaluation flag at the time the validation was initiated.
+         */
+        private final boolean lazyEvaluationSnapshot;
+
+        /**
+         * Constructor specifying the source of the rule input and the rule input itself.
+         *
+         * @param source    Data provider in {@link MappingStrategy#SPLIT} mode, or the validator itself in {@link
+         *                  MappingStrategy#JOIN} mode.
+         * @param ruleInput Rule input to be validated.
+         */
+        public RuleInputValidation(Object source, RI ruleInput) {
+            super(source);
+            this.ruleInput = ruleInput;
+            this.rulesSnapshot = new ArrayList<Rule<RI, RO>>(rules);
+            this.ruleOutputTransformersSnapshot = ruleOutputChain;
+            this.ruleToResultHandlerMappingSnapshot = ruleToResultHandlerMapping;
+            this.resultHandlerInputTransformersSnapshot = resultHandlerInputChain;
+            this.lazyEvaluationSnapshot = lazyEvaluation;
+        }
+
+        /**
+         * @see AsyncValidation#validate()
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        protected List<RHI> validate() {
+            List<RHI> resultHandlerInputs = new ArrayList<RHI>();
+
+            if (lazyEvaluationSnapshot && (ruleToResultHandlerMappingSnapshot == MappingStrategy.JOIN)) {
+                // Rules will only be evaluated when their transformed outputs are accessed
+                resultHandlerInputs.add((RHI) transform(resultHandlerInputTransformersSnapshot,
+                        createLazyRulesOutput(rulesSnapshot, ruleOutputTransformersSnapshot, ruleInput, metrics)));
+            } else {
+                List<RO> rulesOutput = validateRules(rulesSnapshot, ruleInput);
+                if (rulesOutput == null) {
+                    // Stopped because a newer validation was initiated
+                    resultHandlerInputs = null;
+                } else {
+                    // Transform the rule outputs
+                    List<Object> combinedRulesOutput = new ArrayList<Object>(rulesOutput.size());
+                    for (RO ruleOutput : rulesOutput) {
+                        Object transformedRuleOutput = transform(ruleOutputTransformersSnapshot, ruleOutput);
+                        if (ruleToResultHandlerMappingSnapshot == MappingStrategy.JOIN) {
+                            combinedRulesOutput.add(transformedRuleOutput);
+                        } else {
+                            resultHandlerInputs.add((RHI) transform(resultHandlerInputTransformersSnapshot,
+                                    transformedRuleOutput));
+                        }
+                    }
+
+                    if (ruleToResultHandlerMappingSnapshot == MappingStrategy.JOIN) {
+                        resultHandlerInputs.add((RHI) transform(resultHandlerInputTransformersSnapshot,
+                                combinedRulesOutput));
+                    }
+                }
+            }
+
+            return resultHandlerInputs;
+        }
+
+        /**
+         * @see AsyncValidation#handle(Object)
+         */
+        @Override
+        protected void handle(List<RHI> resultHandlerInputs) {
+            for (RHI resultHandlerInput : resultHandlerInputs) {
+                processResultHandlers(resultHandlerInput);
+            }
+        }
+    }
+
     /**
      * Logger for this class.
      */
@@ -157,12 +285,69 @@ public class GeneralValidator<DPO, RI, RO, RHI> extends AbstractSimpleValidator<
      */
     private List<Transformer> resultHandlerInputTransformers = new ArrayList<Transformer>();
 
+    /**
+     * Data provider output transformers fused into a chain.
+     * <p>
+     * The chains are rebuilt, without the identity stages, whenever the transformer lists are set, and are never
+     * modified afterwards. They can therefore be captured as is by the asynchronous validations.
+     *
+     * @see TransformerUtils#toChain(Collection, Collection)
+     */
+    private Transformer[] dataProviderOutputChain = TransformerUtils.toChain(null, null);
+
+    /**
+     * Rule input transformers fused into a chain.
+     *
+     * @see #dataProviderOutputChain
+     */
+    private Transformer[] ruleInputChain = dataProviderOutputChain;
+
+    /**
+     * Rule output transformers fused into a chain.
+     *
+     * @see #dataProviderOutputChain
+     */
+    private Transformer[] ruleOutputChain = dataProviderOutputChain;
+
+    /**
+     * Result handler input transformers fused into a chain.
+     *
+     * @see #dataProviderOutputChain
+     */
+    private Transformer[] resultHandlerInputChain = dataProviderOutputChain;
+
+    /**
+     * Flag indicating whether the rules should only be evaluated when their outputs are needed, in {@link
+     * MappingStrategy#JOIN} mode.
+     *
+     * @see #setLazyEvaluation(boolean)
+     */
+    private boolean lazyEvaluation = false;
+
+    /**
+     * Frozen evaluation plan used to process the triggers once the validator is compiled, or null if the validator is
+     * not compiled.
+     *
+     * @see #compile()
+     */
+    private ExecutionPlan compiledPlan = null;
+
+    /**
+     * Last transformed output of each data provider, to be re-used in {@link MappingStrategy#JOIN} mode for the data
+     * providers that are not affected by a trigger.
+     *
+     * @see #setTriggerAffinityEnabled(boolean)
+     */
+    private final Map<DataProvider<DPO>, Object> lastDataProviderOutputs = new IdentityHashMap<DataProvider<DPO>,
+            Object>();
+
     /**
      * Adds the specified result collector to the triggers and data providers.
      *
      * @param resultCollector Result collector to be added.
      */
     public void addResultCollector(ResultCollector<?, DPO> resultCollector) {
+        checkModifiable();
         if (resultCollector != null) {
             addTrigger(resultCollector);
             addDataProvider(resultCollector);
@@ -175,6 +360,7 @@ public class GeneralValidator<DPO, RI, RO, RHI> extends AbstractSimpleValidator<
      * @param resultCollector Result collector to be removed.
      */
     public void removeResultCollector(ResultCollector<?, DPO> resultCollector) {
+        checkModifiable();
         if (resultCollector != null) {
             removeTrigger(resultCollector);
             removeDataProvider(resultCollector);
@@ -205,12 +391,16 @@ public class GeneralValidator<DPO, RI, RO, RHI> extends AbstractSimpleValidator<
      * @param dataProviderOutputTransformers Data provider output transformers.
      */
     public void setDataProviderOutputTransformers(Transformer... dataProviderOutputTransformers) {
+        checkModifiable();
         if (dataProviderOutputTransformers == null) {
             this.dataProviderOutputTransformers = null;
         } else {
             this.dataProviderOutputTransformers = new ArrayList<Transformer>();
             Collections.addAll(this.dataProviderOutputTransformers, dataProviderOutputTransformers);
         }
+        dataProviderOutputChain = TransformerUtils.toChain(this.dataProviderOutputTransformers, null);
+        clearRuleInputMemoizer();
+        lastDataProviderOutputs.clear();
     }
 
     /**
@@ -219,12 +409,16 @@ public class GeneralValidator<DPO, RI, RO, RHI> extends AbstractSimpleValidator<
      * @param dataProviderOutputTransformers Data provider output transformers.
      */
     public void setDataProviderOutputTransformers(Collection<Transformer> dataProviderOutputTransformers) {
+        checkModifiable();
         if (dataProviderOutputTransformers == null) {
             this.dataProviderOutputTransformers = null;
         } else {
             this.dataProviderOutputTransformers = new ArrayList<Transformer>();
             this.dataProviderOutputTransformers.addAll(dataProviderOutputTransformers);
         }
+        dataProviderOutputChain = TransformerUtils.toChain(this.dataProviderOutputTransformers, null);
+        clearRuleInputMemoizer();
+        lastDataProviderOutputs.clear();
     }
 
     public MappingStrategy getDataProviderToRuleMappingStrategy() {
@@ -232,7 +426,9 @@ public class GeneralValidator<DPO, RI, RO, RHI> extends AbstractSimpleValidator<
     }
 
     public void setDataProviderToRuleMappingStrategy(MappingStrategy dataProviderToRuleMapping) {
+        checkModifiable();
         this.dataProviderToRuleMapping = dataProviderToRuleMapping;
+        clearRuleInputMemoizer();
     }
 
     public Transformer[] getRuleInputTransformers() {
@@ -248,21 +444,27 @@ public class GeneralValidator<DPO, RI, RO, RHI> extends AbstractSimpleValidator<
     }
 
     public void setRuleInputTransformers(Transformer... ruleInputTransformers) {
+        checkModifiable();
         if (ruleInputTransformers == null) {
             this.ruleInputTransformers = null;
         } else {
             this.ruleInputTransformers = new ArrayList<Transformer>();
             Collections.addAll(this.ruleInputTransformers, ruleInputTransformers);
         }
+        ruleInputChain = TransformerUtils.toChain(this.ruleInputTransformers, null);
+        clearRuleInputMemoizer();
     }
 
     public void setRuleInputTransformers(Collection<Transformer> ruleInputTransformers) {
+        checkModifiable();
         if (ruleInputTransformers == null) {
             this.ruleInputTransformers = null;
         } else {
             this.ruleInputTransformers = new ArrayList<Transformer>();
             this.ruleInputTransformers.addAll(ruleInputTransformers);
         }
+        ruleInputChain = TransformerUtils.toChain(this.ruleInputTransformers, null);
+        clearRuleInputMemoizer();
     }
 
     public Transformer[] getRuleOutputTransformers() {
@@ -278,21 +480,27 @@ public class GeneralValidator<DPO, RI, RO, RHI> extends AbstractSimpleValidator<
     }
 
     public void setRuleOutputTransformers(Transformer... ruleOutputTransformers) {
+        checkModifiable();
         if (ruleOutputTransformers == null) {
             this.ruleOutputTransformers = null;
         } else {
             this.ruleOutputTransformers = new ArrayList<Transformer>();
             Collections.addAll(this.ruleOutputTransformers, ruleOutputTransformers);
         }
+        ruleOutputChain = TransformerUtils.toChain(this.ruleOutputTransformers, null);
+        clearRuleInputMemoizer();
     }
 
     public void setRuleOutputTransformers(Collection<Transformer> ruleOutputTransformers) {
+        checkModifiable();
         if (ruleOutputTransformers == null) {
             this.ruleOutputTransformers = null;
         } else {
             this.ruleOutputTransformers = new ArrayList<Transformer>();
             this.ruleOutputTransformers.addAll(ruleOutputTransformers);
         }
+        ruleOutputChain = TransformerUtils.toChain(this.ruleOutputTransformers, null);
+        clearRuleInputMemoizer();
     }
 
     public MappingStrategy getRuleToResultHandlerMappingStrategy() {
@@ -300,7 +508,9 @@ public class GeneralValidator<DPO, RI, RO, RHI> extends AbstractSimpleValidator<
     }
 
     public void setRuleToResultHandlerMappingStrategy(MappingStrategy ruleToResultHandlerMapping) {
+        checkModifiable();
         this.ruleToResultHandlerMapping = ruleToResultHandlerMapping;
+        clearRuleInputMemoizer();
     }
 
     public Transformer[] getResultHandlerInputTransformers() {
@@ -317,21 +527,226 @@ public class GeneralValidator<DPO, RI, RO, RHI> extends AbstractSimpleValidator<
     }
 
     public void setResultHandlerInputTransformers(Transformer... resultHandlerInputTransformers) {
+        checkModifiable();
         if (resultHandlerInputTransformers == null) {
             this.resultHandlerInputTransformers = null;
         } else {
             this.resultHandlerInputTransformers = new ArrayList<Transformer>();
             Collections.addAll(this.resultHandlerInputTransformers, resultHandlerInputTransformers);
         }
+        resultHandlerInputChain = TransformerUtils.toChain(this.resultHandlerInputTransformers, null);
+        clearRuleInputMemoizer();
     }
 
     public void setResultHandlerInputTransformers(Collection<Transformer> resultHandlerInputTransformers) {
+        checkModifiable();
         if (resultHandlerInputTransformers == null) {
             this.resultHandlerInputTransformers = null;
         } else {
             this.resultHandlerInputTransformers = new ArrayList<Transformer>();
             this.resultHandlerInputTransformers.addAll(resultHandlerInputTransformers);
         }
+        resultHandlerInputChain = TransformerUtils.toChain(this.resultHandlerInputTransformers, null);
+        clearRuleInputMemoizer();
+    }
+
+    /**
+     * Indicates whether the rules are only evaluated when their outputs are needed, in {@link MappingStrategy#JOIN}
+     * mode.
+     *
+     * @return True if the rules are evaluated lazily, false if they are all evaluated.
+     *
+     * @see #setLazyEvaluation(boolean)
+     */
+    public boolean isLazyEvaluation() {
+        return lazyEvaluation;
+    }
+
+    /**
+     * States whether the rules should only be evaluated when their outputs are needed, in {@link MappingStrategy#JOIN}
+     * mode.
+     * <p>
+     * With lazy evaluation and a rule to result handler mapping set to {@link MappingStrategy#JOIN}, the list of rule
+     * outputs passed to the first result handler input transformer evaluates each rule (and transforms its output) only
+     * when the corresponding element is accessed. An aggregator, like {@link
+     * com.google.code.validationframework.base.transform.AndBooleanAggregator} or {@link
+     * com.google.code.validationframework.base.transform.OrBooleanAggregator}, then stops evaluating the rules as soon as
+     * the aggregated result is known. This is beneficial when cheap rules are added before expensive ones, but rules
+     * having side effects may then not be evaluated at all. The lazy list must not be used after the result handlers
+     * have been processed.
+     * <p>
+     * This setting has no effect in {@link MappingStrategy#SPLIT} mode. By default, all rules are evaluated.
+     *
+     * @param lazyEvaluation True to evaluate the rules lazily, false to evaluate them all.
+     *
+     * @see com.google.code.validationframework.base.rule.LazyRuleResultList
+     */
+    public void setLazyEvaluation(boolean lazyEvaluation) {
+        checkModifiable();
+        this.lazyEvaluation = lazyEvaluation;
+    }
+
+    /**
+     * @see AbstractSimpleValidator#setMetrics(ValidationMetrics)
+     */
+    @Override
+    public void setMetrics(ValidationMetrics metrics) {
+        super.setMetrics(metrics);
+
+        // Re-compile the plan so that it records the latencies in the new metrics
+        if (compiledPlan != null) {
+            compiledPlan = null;
+            compile();
+        }
+    }
+
+    /**
+     * Sets the executor to be used to execute the rules asynchronously.
+     * <p>
+     * Note that the compiled plan, if any, is only used when the rules are executed synchronously: while a rule executor
+     * is set, the triggers are processed by resolving the mapping strategies and transformers on the fly, and a warning
+     * is logged.
+     *
+     * @param ruleExecutor Rule executor, or null to execute the rules synchronously.
+     *
+     * @see AbstractSimpleValidator#setRuleExecutor(Executor)
+     * @see #compile()
+     */
+    @Override
+    public void setRuleExecutor(Executor ruleExecutor) {
+        super.setRuleExecutor(ruleExecutor);
+        warnIfCompiledPlanUnused();
+    }
+
+    /**
+     * @see AbstractSimpleValidator#triggerAffinityEnabledChanged(boolean)
+     */
+    @Override
+    protected void triggerAffinityEnabledChanged(boolean enabled) {
+        // The last outputs are not remembered while trigger affinity is disabled
+        lastDataProviderOutputs.clear();
+    }
+
+    /**
+     * @see AbstractSimpleValidator#addDataProvider(DataProvider)
+     */
+    @Override
+    public void addDataProvider(DataProvider<DPO> dataProvider) {
+        checkModifiable();
+        super.addDataProvider(dataProvider);
+    }
+
+    /**
+     * @see AbstractSimpleValidator#removeDataProvider(DataProvider)
+     */
+    @Override
+    public void removeDataProvider(DataProvider<DPO> dataProvider) {
+        checkModifiable();
+        super.removeDataProvider(dataProvider);
+        if (!dataProviders.contains(dataProvider)) {
+            lastDataProviderOutputs.remove(dataProvider);
+        }
+    }
+
+    /**
+     * @see AbstractSimpleValidator#addRule(Rule)
+     */
+    @Override
+    public void addRule(Rule<RI, RO> rule) {
+        checkModifiable();
+        super.addRule(rule);
+    }
+
+    /**
+     * @see AbstractSimpleValidator#removeRule(Rule)
+     */
+    @Override
+    public void removeRule(Rule<RI, RO> rule) {
+        checkModifiable();
+        super.removeRule(rule);
+    }
+
+    /**
+     * @see AbstractSimpleValidator#addResultHandler(ResultHandler)
+     */
+    @Override
+    public void addResultHandler(ResultHandler<RHI> resultHandler) {
+        checkModifiable();
+        super.addResultHandler(resultHandler);
+    }
+
+    /**
+     * @see AbstractSimpleValidator#removeResultHandler(ResultHandler)
+     */
+    @Override
+    public void removeResultHandler(ResultHandler<RHI> resultHandler) {
+        checkModifiable();
+        super.removeResultHandler(resultHandler);
+    }
+
+    /**
+     * Freezes the data providers, rules, result handlers, transformers and mapping strategies of this validator into a
+     * single specialized evaluation plan.
+     * <p>
+     * Once compiled, the processing of a trigger no longer needs to resolve the mapping strategies, the transformer
+     * lists are fused into arrays, and, in {@link MappingStrategy#JOIN} mode, the joined outputs are collected in
+     * reusable lists. This avoids any allocation by the validator itself when processing a trigger.
+     * <p>
+     * Note that, after compilation, only the triggers can still be added or removed. Any other modification, including
+     * the addition or removal of a result collector, will throw an {@link IllegalStateException}. Also, in
+     * {@link MappingStrategy#JOIN} mode, the collections passed to the transformers, rules and result handlers are only
+     * valid during the processing of the trigger: they should not keep a reference to them.
+     * <p>
+     * Finally, the compiled plan is only used when the rules are executed synchronously. While a rule executor is set,
+     * the triggers are processed as if the validator was not compiled, and a warning is logged.
+     *
+     * @see #setRuleExecutor(Executor)
+     */
+    public void compile() {
+        if (compiledPlan == null) {
+            compiledPlan = ExecutionPlan.create(dataProviders, dataProviderOutputTransformers,
+                    dataProviderToRuleMapping, ruleInputTransformers, rules, ruleOutputTransformers,
+                    ruleToResultHandlerMapping, resultHandlerInputTransformers, resultHandlers, lazyEvaluation,
+                    metrics);
+            warnIfCompiledPlanUnused();
+        }
+    }
+
+    /**
+     * Logs a warning if this validator is compiled but its compiled plan cannot be used because the rules are executed
+     * asynchronously.
+     *
+     * @see #compile()
+     * @see #setRuleExecutor(Executor)
+     */
+    private void warnIfCompiledPlanUnused() {
+        if ((compiledPlan != null) && isAsynchronous()) {
+            LOGGER.warn("Compiled plan not used while a rule executor is set: " + this);
+        }
+    }
+
+    /**
+     * States whether this validator is compiled or not.
+     *
+     * @return True if the validator is compiled, false otherwise.
+     *
+     * @see #compile()
+     */
+    public boolean isCompiled() {
+        return compiledPlan != null;
+    }
+
+    /**
+     * Checks that this validator can still be modified.
+     *
+     * @throws IllegalStateException If the validator is compiled.
+     *
+     * @see #compile()
+     */
+    private void checkModifiable() {
+        if (compiledPlan != null) {
+            throw new IllegalStateException("Validator cannot be modified once compiled: " + this);
+        }
     }
 
     /**
@@ -339,7 +754,7 @@ public class GeneralValidator<DPO, RI, RO, RHI> extends AbstractSimpleValidator<
      * {@link com.google.code.validationframework.base.trigger.ManualTrigger}.
      */
     public void trigger() {
-        processTrigger(null);
+        initiateValidation(null);
     }
 
     /**
@@ -347,12 +762,39 @@ public class GeneralValidator<DPO, RI, RO, RHI> extends AbstractSimpleValidator<
      */
     @Override
     protected void processTrigger(Trigger trigger) {
+        if ((compiledPlan != null) && !isAsynchronous()) {
+            List<DataProvider<DPO>> affectedDataProviders = getAffectedDataProviders(trigger);
+            compiledPlan.execute(getRuleInputMemoizer(), (affectedDataProviders == dataProviders) ? null :
+                    affectedDataProviders);
+        } else {
+            processTriggerWithoutPlan(trigger);
+        }
+    }
+
+    /**
+     * Passes the specified input through the specified transformer chain.
+     *
+     * @param chain Transformer chain.
+     * @param input Input of the first transformer.
+     *
+     * @return Output of the last transformer, or the input itself if the chain is empty.
+     */
+    private Object transform(Transformer[] chain, Object input) {
+        return ExecutionPlan.transform(metrics, chain, input);
+    }
+
+    /**
+     * Performs the whole validation logic by resolving the mapping strategies and transformers on the fly.
+     *
+     * @param trigger Trigger actually initiated, or null if the validation was initiated programmatically.
+     */
+    private void processTriggerWithoutPlan(Trigger trigger) {
         switch (dataProviderToRuleMapping) {
             case SPLIT:
-                processEachDataProviderWithEachRule();
+                processEachDataProviderWithEachRule(trigger);
                 break;
             case JOIN:
-                processAllDataProvidersWithEachRule();
+                processAllDataProvidersWithEachRule(trigger);
                 break;
             default:
                 LOGGER.error("Unsupported " + com.google.code.validationframework.base.validator.generalvalidator
@@ -363,50 +805,58 @@ public class GeneralValidator<DPO, RI, RO, RHI> extends AbstractSimpleValidator<
 
     /**
      * Processes the output of each data provider one by one with each rule.
+     *
+     * @param trigger Trigger actually initiated, or null if the validation was initiated programmatically.
      */
     @SuppressWarnings("unchecked") // NOSONAR (Avoid Duplicate Literals)
-    private void processEachDataProviderWithEachRule() {
-        // For each data provider
-        for (DataProvider<DPO> dataProvider : dataProviders) {
+    private void processEachDataProviderWithEachRule(Trigger trigger) {
+        // For each data provider affected by the trigger
+        for (DataProvider<DPO> dataProvider : getAffectedDataProviders(trigger)) {
             // Get the data provider output
             Object transformedOutput = dataProvider.getData();
 
             // Transform the data provider output
-            if (dataProviderOutputTransformers != null) {
-                for (Transformer transformer : dataProviderOutputTransformers) {
-                    transformedOutput = transformer.transform(transformedOutput);
-                }
-            }
+            transformedOutput = transform(dataProviderOutputChain, transformedOutput);
 
             // Transform the transformed data provider output to rule input
-            if (ruleInputTransformers != null) {
-                for (Transformer transformer : ruleInputTransformers) {
-                    transformedOutput = transformer.transform(transformedOutput);
-                }
-            }
+            transformedOutput = transform(ruleInputChain, transformedOutput);
             RI ruleInput = (RI) transformedOutput;
 
-            // Process the rule input with the rules
-            processRules(ruleInput);
+            // Process the rule input with the rules, unless it did not change since last time
+            if (!isRuleInputUnchanged(dataProvider, ruleInput)) {
+                processRuleInput(dataProvider, ruleInput);
+            }
         }
     }
 
     /**
      * Processes the output of all data providers, all at once, with each rule.
+     *
+     * @param trigger Trigger actually initiated, or null if the validation was initiated programmatically.
      */
     @SuppressWarnings("unchecked") // NOSONAR (Avoid Duplicate Literals)
-    private void processAllDataProvidersWithEachRule() {
+    private void processAllDataProvidersWithEachRule(Trigger trigger) {
+        List<DataProvider<DPO>> affectedDataProviders = getAffectedDataProviders(trigger);
+
         // For each data provider
         List<Object> transformedDataProvidersOutput = new ArrayList<Object>(dataProviders.size());
         for (DataProvider<DPO> dataProvider : dataProviders) {
-            // Get the data provider output
-            Object transformedOutput = dataProvider.getData();
-
-            // Transform the data provider output
-            if (dataProviderOutputTransformers != null) {
-                for (Transformer transformer : dataProviderOutputTransformers) {
-                    transformedOutput = transformer.transform(transformedOutput);
+            Object transformedOutput;
+            if ((affectedDataProviders == dataProviders) || affectedDataProviders.contains(dataProvider) ||
+                    !lastDataProviderOutputs.containsKey(dataProvider)) {
+                // Get the data provider output
+                transformedOutput = dataProvider.getData();
+
+                // Transform the data provider output
+                transformedOutput = transform(dataProviderOutputChain, transformedOutput);
+
+                // Remember the transformed output for the triggers not affecting this data provider
+                if (isTriggerAffinityEnabled()) {
+                    lastDataProviderOutputs.put(dataProvider, transformedOutput);
                 }
+            } else {
+                // Re-use the last transformed output of the data provider
+                transformedOutput = lastDataProviderOutputs.get(dataProvider);
             }
 
             // Put the transformed data provider output in a list
@@ -415,15 +865,28 @@ public class GeneralValidator<DPO, RI, RO, RHI> extends AbstractSimpleValidator<
 
         // Transform the list of transformed data provider output to rule input
         Object transformedRulesInput = transformedDataProvidersOutput;
-        if (ruleInputTransformers != null) {
-            for (Transformer transformer : ruleInputTransformers) {
-                transformedRulesInput = transformer.transform(transformedRulesInput);
-            }
-        }
+        transformedRulesInput = transform(ruleInputChain, transformedRulesInput);
         RI ruleInput = (RI) transformedRulesInput;
 
-        // Process the rule input with the rules
-        processRules(ruleInput);
+        // Process the rule input with the rules, unless it did not change since last time
+        if (!isRuleInputUnchanged(this, ruleInput)) {
+            processRuleInput(this, ruleInput);
+        }
+    }
+
+    /**
+     * Processes the specified rule input, either synchronously or asynchronously.
+     *
+     * @param source    Data provider in {@link MappingStrategy#SPLIT} mode, or the validator itself in {@link
+     *                  MappingStrategy#JOIN} mode.
+     * @param ruleInput Rule input to be validated.
+     */
+    private void processRuleInput(Object source, RI ruleInput) {
+        if (isAsynchronous()) {
+            executeAsynchronously(new RuleInputValidation(source, ruleInput));
+        } else {
+            processRules(ruleInput);
+        }
     }
 
     /**
@@ -437,7 +900,11 @@ public class GeneralValidator<DPO, RI, RO, RHI> extends AbstractSimpleValidator<
                 processEachRuleWithEachResultHandler(ruleInput);
                 break;
             case JOIN:
-                processAllRulesWithEachResultHandler(ruleInput);
+                if (lazyEvaluation) {
+                    processAllRulesLazilyWithEachResultHandler(ruleInput);
+                } else {
+                    processAllRulesWithEachResultHandler(ruleInput);
+                }
                 break;
             default:
                 LOGGER.error("Unsupported " + MappingStrategy.class.getSimpleName() + ": " +
@@ -456,21 +923,13 @@ public class GeneralValidator<DPO, RI, RO, RHI> extends AbstractSimpleValidator<
         // For each rule
         for (Rule<RI, RO> rule : rules) {
             // Validate the data and get the rule output
-            Object ruleOutput = rule.validate(ruleInput);
+            Object ruleOutput = MetricsUtils.validate(metrics, rule, ruleInput);
 
             // Transform the rule output
-            if (ruleOutputTransformers != null) {
-                for (Transformer transformer : ruleOutputTransformers) {
-                    ruleOutput = transformer.transform(ruleOutput);
-                }
-            }
+            ruleOutput = transform(ruleOutputChain, ruleOutput);
 
             // Transform the transformed rule output to result handler input
-            if (resultHandlerInputTransformers != null) {
-                for (Transformer transformer : resultHandlerInputTransformers) {
-                    ruleOutput = transformer.transform(ruleOutput);
-                }
-            }
+            ruleOutput = transform(resultHandlerInputChain, ruleOutput);
             RHI resultHandlerInput = (RHI) ruleOutput;
 
             // Process the result handler input with the result handlers
@@ -490,14 +949,10 @@ public class GeneralValidator<DPO, RI, RO, RHI> extends AbstractSimpleValidator<
         List<Object> combinedRulesOutput = new ArrayList<Object>(rules.size());
         for (Rule<RI, RO> rule : rules) {
             // Validate the data and get the rule output
-            Object data = rule.validate(ruleInput);
+            Object data = MetricsUtils.validate(metrics, rule, ruleInput);
 
             // Transform the rule output
-            if (ruleOutputTransformers != null) {
-                for (Transformer transformer : ruleOutputTransformers) {
-                    data = transformer.transform(data);
-                }
-            }
+            data = transform(ruleOutputChain, data);
 
             // Put the transformed rule output in a list
             combinedRulesOutput.add(data);
@@ -505,17 +960,49 @@ public class GeneralValidator<DPO, RI, RO, RHI> extends AbstractSimpleValidator<
 
         // Transform the list of transformed rule output to result handler input
         Object ruleOutput = combinedRulesOutput;
-        if (resultHandlerInputTransformers != null) {
-            for (Transformer transformer : resultHandlerInputTransformers) {
-                ruleOutput = transformer.transform(ruleOutput);
-            }
-        }
+        ruleOutput = transform(resultHandlerInputChain, ruleOutput);
+        RHI resultHandlerInput = (RHI) ruleOutput;
+
+        // Process the result handler input with the result handlers
+        processResultHandlers(resultHandlerInput);
+    }
+
+    /**
+     * Processes the specified rule input with each rule lazily, and processes the lazy list of the results of all rules,
+     * all at once, with each result handler.
+     *
+     * @param ruleInput Rule input to be validated.
+     *
+     * @see #setLazyEvaluation(boolean)
+     */
+    @SuppressWarnings("unchecked") // NOSONAR (Avoid Duplicate Literals)
+    private void processAllRulesLazilyWithEachResultHandler(RI ruleInput) {
+        // Rules will only be evaluated when their transformed outputs are accessed
+        Object ruleOutput = createLazyRulesOutput(rules, ruleOutputChain, ruleInput, metrics);
+
+        // Transform the lazy list of transformed rule output to result handler input
+        ruleOutput = transform(resultHandlerInputChain, ruleOutput);
         RHI resultHandlerInput = (RHI) ruleOutput;
 
         // Process the result handler input with the result handlers
         processResultHandlers(resultHandlerInput);
     }
 
+    /**
+     * Creates a lazy list of the transformed outputs of the specified rules.
+     *
+     * @param rules                  Rules to be evaluated on demand.
+     * @param ruleOutputChain        Rule output transformer chain.
+     * @param ruleInput              Rule input to be validated.
+     * @param metrics                Metrics in which the latencies are to be recorded, or null.
+     *
+     * @return Lazy list of transformed rule outputs.
+     */
+    private static List<Object> createLazyRulesOutput(List<? extends Rule> rules, Transformer[] ruleOutputChain,
+                                                      Object ruleInput, ValidationMetrics metrics) {
+        return new LazyRuleOutputList(new ArrayList<Rule>(rules), ruleOutputChain, ruleInput, metrics);
+    }
+
     /**
      * Processes the specified result handler input with each result handler.
      *
@@ -523,7 +1010,7 @@ public class GeneralValidator<DPO, RI, RO, RHI> extends AbstractSimpleValidator<
      */
     private void processResultHandlers(RHI resultHandlerInput) {
         for (ResultHandler<RHI> resultHandler : resultHandlers) {
-            resultHandler.handleResult(resultHandlerInput);
+            MetricsUtils.handleResult(metrics, resultHandler, resultHandlerInput);
         }
     }
 
@@ -532,6 +1019,10 @@ public class GeneralValidator<DPO, RI, RO, RHI> extends AbstractSimpleValidator<
      */
     @Override
     public void dispose() {
+        // Forget about the compiled plan and the last data provider outputs
+        compiledPlan = null;
+        lastDataProviderOutputs.clear();
+
         // Dispose triggers, data providers, rules and result handlers
         super.dispose();
 
@@ -540,6 +1031,10 @@ public class GeneralValidator<DPO, RI, RO, RHI> extends AbstractSimpleValidator<
         dispose(ruleInputTransformers);
         dispose(ruleOutputTransformers);
         dispose(resultHandlerInputTransformers);
+        dataProviderOutputChain = TransformerUtils.toChain(null, null);
+        ruleInputChain = dataProviderOutputChain;
+        ruleOutputChain = dataProviderOutputChain;
+        resultHandlerInputChain = dataProviderOutputChain;
     }
 
     /**
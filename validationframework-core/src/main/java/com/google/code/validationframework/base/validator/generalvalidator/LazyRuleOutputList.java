@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.validator.generalvalidator;
+
+import com.google.code.validationframework.api.rule.Rule;
+import com.google.code.validationframework.api.transform.Transformer;
+import com.google.code.validationframework.base.metrics.MetricsUtils;
+import com.google.code.validationframework.base.metrics.ValidationMetrics;
+import com.google.code.validationframework.base.rule.LazyRuleResultList;
+
+import java.util.List;
+
+/**
+ * Lazy list of rule results, additionally passing each rule result through the rule output transformers when it is
+ * evaluated.
+ *
+ * @see GeneralValidator#setLazyEvaluation(boolean)
+ */
+final class LazyRuleOutputList extends LazyRuleResultList<Object, Object> {
+
+    /**
+     * Rule output transformers.
+     */
+    private final Transformer[] ruleOutputChain;
+
+    /**
+     * Metrics in which the latencies are to be recorded, or null if metrics are disabled.
+     */
+    private final ValidationMetrics metrics;
+
+    /**
+     * Constructor specifying the rules, the rule output transformers, the rule input and the metrics.
+     *
+     * @param rules           Rules to be evaluated on demand.
+     * @param ruleOutputChain Rule output transformers, never null.
+     * @param ruleInput       Rule input to be validated.
+     * @param metrics         Metrics in which the latencies are to be recorded, or null.
+     */
+    @SuppressWarnings("unchecked")
+    LazyRuleOutputList(List<? extends Rule> rules, Transformer[] ruleOutputChain, Object ruleInput,
+                       ValidationMetrics metrics) {
+        super((List) rules, ruleInput);
+        this.ruleOutputChain = ruleOutputChain;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @see LazyRuleResultList#evaluate(Rule, Object)
+     */
+    @Override
+    protected Object evaluate(Rule<? super Object, ?> rule, Object data) {
+        return ExecutionPlan.transform(metrics, ruleOutputChain, MetricsUtils.validate(metrics, rule, data));
+    }
+}
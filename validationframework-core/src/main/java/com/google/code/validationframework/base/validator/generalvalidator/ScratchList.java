@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.validator.generalvalidator;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Fixed-capacity, array-backed list used as a reusable scratch buffer by the compiled {@link ExecutionPlan}s.
+ * <p>
+ * It avoids allocating a new list on every trigger when the output of several data providers or rules needs to be
+ * joined. The list is read-only from the outside: only the execution plan fills and clears it.
+ * <p>
+ * Note that the content of the list is only valid during the execution of the plan. Transformers, rules and result
+ * handlers receiving this list should therefore not keep a reference to it.
+ */
+final class ScratchList extends AbstractList<Object> implements RandomAccess {
+
+    /**
+     * Elements of the list.
+     */
+    private final Object[] elements;
+
+    /**
+     * Number of elements currently in the list.
+     */
+    private int size = 0;
+
+    /**
+     * Constructor specifying the maximum number of elements of the list.
+     *
+     * @param capacity Maximum number of elements.
+     */
+    public ScratchList(int capacity) {
+        elements = new Object[capacity];
+    }
+
+    /**
+     * Appends the specified element to the list.
+     * <p>
+     * Note that this method is used by the execution plan instead of {@link #add(Object)} so that the list still
+     * appears as read-only to the rest of the world.
+     *
+     * @param element Element to be appended.
+     */
+    void append(Object element) {
+        elements[size++] = element;
+    }
+
+    /**
+     * Removes all elements from the list and releases the references to them.
+     */
+    void reset() {
+        for (int i = 0; i < size; i++) {
+            elements[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * @see AbstractList#get(int)
+     */
+    @Override
+    public Object get(int index) {
+        if ((index < 0) || (index >= size)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return elements[index];
+    }
+
+    /**
+     * @see AbstractList#size()
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+}
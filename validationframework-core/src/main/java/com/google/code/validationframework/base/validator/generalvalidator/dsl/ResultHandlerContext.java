@@ -32,6 +32,7 @@ import com.google.code.validationframework.api.rule.Rule;
 import com.google.code.validationframework.api.transform.Transformer;
 import com.google.code.validationframework.api.trigger.Trigger;
 import com.google.code.validationframework.base.resulthandler.PropertyResultHandler;
+import com.google.code.validationframework.base.validator.bulk.BulkValidator;
 import com.google.code.validationframework.base.validator.generalvalidator.GeneralValidator;
 
 import java.util.Collection;
@@ -217,6 +218,37 @@ public class ResultHandlerContext<DPO, RI, RO, RHI> {
         return builtValidator;
     }
 
+    /**
+     * Compiles and gets the fully constructed validator.
+     * <p>
+     * This method is provided as a convenience, as it has the same effect as calling {@link GeneralValidator#compile()}
+     * on the fully constructed validator returned by {@link #getValidator()}. Note that no result handler can be added
+     * to the validator after its compilation.
+     *
+     * @return Fully constructed and compiled validator.
+     *
+     * @see GeneralValidator#compile()
+     */
+    public GeneralValidator<DPO, RI, RO, RHI> compile() {
+        builtValidator.compile();
+        return builtValidator;
+    }
+
+    /**
+     * Creates a stateless bulk validator using the transformers and rules of the fully constructed validator.
+     * <p>
+     * This method is provided as a convenience, as it has the same effect as calling {@link
+     * BulkValidator#BulkValidator(GeneralValidator)} with the fully constructed validator returned by {@link
+     * #getValidator()}.
+     *
+     * @return Bulk validator using the same transformers and rules.
+     *
+     * @see BulkValidator
+     */
+    public BulkValidator<DPO, RI, RO, RHI> toBulkValidator() {
+        return new BulkValidator<DPO, RI, RO, RHI>(builtValidator);
+    }
+
     /**
      * Triggers the validation of the fully constructor validator.
      * <p>
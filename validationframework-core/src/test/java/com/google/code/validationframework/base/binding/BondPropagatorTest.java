@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.binding;
+
+import com.google.code.validationframework.api.property.ReadableProperty;
+import com.google.code.validationframework.api.property.ValueChangeListener;
+import com.google.code.validationframework.api.transform.Transformer;
+import com.google.code.validationframework.base.property.simple.SimpleIntegerProperty;
+import com.google.code.validationframework.base.property.simple.SimpleProperty;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static com.google.code.validationframework.base.binding.Binder.read;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @see BondPropagator
+ */
+public class BondPropagatorTest {
+
+    /**
+     * Transformer summing the values and recording all the sums it computed.
+     */
+    private static class SumTransformer implements Transformer<Collection<Integer>, Integer> {
+
+        private final List<Integer> sums = new ArrayList<Integer>();
+
+        @Override
+        public Integer transform(Collection<Integer> input) {
+            int sum = 0;
+            for (Integer value : input) {
+                sum += value;
+            }
+            sums.add(sum);
+            return sum;
+        }
+    }
+
+    /**
+     * Transformer adding a constant to the value.
+     */
+    private static class AddTransformer implements Transformer<Integer, Integer> {
+
+        private final int addend;
+
+        public AddTransformer(int addend) {
+            this.addend = addend;
+        }
+
+        @Override
+        public Integer transform(Integer input) {
+            return input + addend;
+        }
+    }
+
+    @Test
+    public void testDiamondEvaluatedOnce() {
+        SimpleIntegerProperty master = new SimpleIntegerProperty(0);
+        SimpleIntegerProperty left = new SimpleIntegerProperty(0);
+        SimpleIntegerProperty right = new SimpleIntegerProperty(0);
+        SimpleIntegerProperty bottom = new SimpleIntegerProperty(0);
+        SumTransformer sumTransformer = new SumTransformer();
+
+        read(master).transform(new AddTransformer(1)).write(left);
+        read(master).transform(new AddTransformer(2)).write(right);
+        read(left, right).transform(sumTransformer).write(bottom);
+        assertEquals(Integer.valueOf(3), bottom.getValue());
+        sumTransformer.sums.clear();
+
+        master.setValue(10);
+
+        assertEquals(Integer.valueOf(23), bottom.getValue());
+        assertEquals(1, sumTransformer.sums.size());
+        assertEquals(Integer.valueOf(23), sumTransformer.sums.get(0));
+    }
+
+    @Test
+    public void testDeepDiamondConsistent() {
+        SimpleIntegerProperty master = new SimpleIntegerProperty(0);
+        SimpleIntegerProperty left = new SimpleIntegerProperty(0);
+        SimpleIntegerProperty right1 = new SimpleIntegerProperty(0);
+        SimpleIntegerProperty right2 = new SimpleIntegerProperty(0);
+        SimpleIntegerProperty bottom = new SimpleIntegerProperty(0);
+        SumTransformer sumTransformer = new SumTransformer();
+
+        read(left, right2).transform(sumTransformer).write(bottom);
+        read(right1).transform(new AddTransformer(1)).write(right2);
+        read(master).write(left);
+        read(master).write(right1);
+
+        master.setValue(10);
+        assertEquals(Integer.valueOf(21), bottom.getValue());
+
+        // Once the depths are known, no intermediate value should be seen anymore
+        sumTransformer.sums.clear();
+        master.setValue(20);
+        assertEquals(Integer.valueOf(41), bottom.getValue());
+        assertEquals(1, sumTransformer.sums.size());
+    }
+
+    @Test
+    public void testGroupedPass() {
+        SimpleIntegerProperty master1 = new SimpleIntegerProperty(0);
+        SimpleIntegerProperty master2 = new SimpleIntegerProperty(0);
+        SimpleIntegerProperty slave = new SimpleIntegerProperty(0);
+        SumTransformer sumTransformer = new SumTransformer();
+        read(master1, master2).transform(sumTransformer).write(slave);
+        sumTransformer.sums.clear();
+
+        BondPropagator.beginPass();
+        assertTrue(BondPropagator.isPassInProgress());
+        master1.setValue(1);
+        master2.setValue(2);
+        assertEquals(Integer.valueOf(0), slave.getValue());
+        BondPropagator.commitPass();
+        assertFalse(BondPropagator.isPassInProgress());
+
+        assertEquals(Integer.valueOf(3), slave.getValue());
+        assertEquals(1, sumTransformer.sums.size());
+    }
+
+    @Test
+    public void testCycle() {
+        SimpleProperty<Integer> first = new SimpleProperty<Integer>(1);
+        SimpleProperty<Integer> second = new SimpleProperty<Integer>(0);
+
+        // The following should neither result in a StackOverflowError nor in an infinite loop
+        read(first).transform(new AddTransformer(1)).write(second);
+        read(second).transform(new AddTransformer(1)).write(first);
+
+        first.setValue(5);
+        assertEquals(Integer.valueOf(6), second.getValue());
+        assertFalse(BondPropagator.isPassInProgress());
+    }
+
+    @Test
+    public void testDisposedBondNotEvaluated() {
+        SimpleIntegerProperty master = new SimpleIntegerProperty(0);
+        SimpleIntegerProperty slave = new SimpleIntegerProperty(0);
+        SimpleBond<Integer, Integer> bond = read(master).write(slave);
+
+        BondPropagator.beginPass();
+        master.setValue(1);
+        bond.dispose();
+        BondPropagator.commitPass();
+
+        assertEquals(Integer.valueOf(0), slave.getValue());
+    }
+
+    @Test
+    public void testListenerOrderPreserved() {
+        final SimpleIntegerProperty master = new SimpleIntegerProperty(0);
+        final SimpleIntegerProperty slave = new SimpleIntegerProperty(0);
+        final List<Integer> slaveValuesBefore = new ArrayList<Integer>();
+        final List<Integer> slaveValuesAfter = new ArrayList<Integer>();
+
+        master.addValueChangeListener(new ValueChangeListener<Integer>() {
+            @Override
+            public void valueChanged(ReadableProperty<Integer> property, Integer oldValue, Integer newValue) {
+                slaveValuesBefore.add(slave.getValue());
+            }
+        });
+        read(master).write(slave);
+        master.addValueChangeListener(new ValueChangeListener<Integer>() {
+            @Override
+            public void valueChanged(ReadableProperty<Integer> property, Integer oldValue, Integer newValue) {
+                slaveValuesAfter.add(slave.getValue());
+            }
+        });
+
+        master.setValue(5);
+
+        assertEquals(Collections.singletonList(0), slaveValuesBefore);
+        assertEquals(Collections.singletonList(5), slaveValuesAfter);
+        assertFalse(BondPropagator.isPassInProgress());
+    }
+
+    @Test
+    public void testBondCreatedInPassInitializesSlave() {
+        SimpleIntegerProperty master = new SimpleIntegerProperty(3);
+        SimpleIntegerProperty slave = new SimpleIntegerProperty(0);
+
+        BondPropagator.beginPass();
+        try {
+            read(master).write(slave);
+            assertEquals(Integer.valueOf(3), slave.getValue());
+        } finally {
+            BondPropagator.commitPass();
+        }
+    }
+
+    @Test
+    public void testListenerExceptionNotMasked() {
+        SimpleIntegerProperty master = new SimpleIntegerProperty(0);
+        SimpleIntegerProperty slave = new SimpleIntegerProperty(0);
+        read(master).transform(new Transformer<Integer, Integer>() {
+            @Override
+            public Integer transform(Integer input) {
+                if (input != 0) {
+                    throw new IllegalArgumentException();
+                }
+                return input;
+            }
+        }).write(slave);
+        master.addValueChangeListener(new BondListener<Integer>() {
+            @Override
+            public void valueChanged(ReadableProperty<Integer> property, Integer oldValue, Integer newValue) {
+                throw new IllegalStateException();
+            }
+        });
+
+        try {
+            master.setValue(1);
+            fail();
+        } catch (IllegalStateException e) {
+            // Expected: the exception of the listener, not the one of the bond
+        }
+        assertFalse(BondPropagator.isPassInProgress());
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.binding;
+
+import com.google.code.validationframework.api.property.ReadableProperty;
+import com.google.code.validationframework.api.property.ValueChangeListener;
+import com.google.code.validationframework.api.transform.Transformer;
+import com.google.code.validationframework.base.property.simple.SimpleIntegerProperty;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.code.validationframework.base.binding.Binder.read;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see LazyProperty
+ */
+public class LazyPropertyTest {
+
+    /**
+     * Transformer doubling the value and counting its calls.
+     */
+    private static class CountingDoubleTransformer implements Transformer<Integer, Integer> {
+
+        private int count = 0;
+
+        @Override
+        public Integer transform(Integer input) {
+            count++;
+            return input * 2;
+        }
+    }
+
+    /**
+     * Listener recording the new values.
+     */
+    private static class RecordingListener implements ValueChangeListener<Integer> {
+
+        private final List<Integer> newValues = new ArrayList<Integer>();
+
+        @Override
+        public void valueChanged(ReadableProperty<Integer> property, Integer oldValue, Integer newValue) {
+            newValues.add(newValue);
+        }
+    }
+
+    @Test
+    public void testLazyEvaluation() {
+        SimpleIntegerProperty master = new SimpleIntegerProperty(1);
+        CountingDoubleTransformer transformer = new CountingDoubleTransformer();
+        LazyProperty<Integer, Integer> lazy = read(master).transform(transformer).toLazyProperty();
+
+        assertEquals(0, transformer.count);
+        assertFalse(lazy.isValid());
+
+        master.setValue(2);
+        master.setValue(3);
+        assertEquals(0, transformer.count);
+
+        assertEquals(Integer.valueOf(6), lazy.getValue());
+        assertEquals(Integer.valueOf(6), lazy.getValue());
+        assertEquals(1, transformer.count);
+        assertTrue(lazy.isValid());
+
+        master.setValue(4);
+        assertFalse(lazy.isValid());
+        assertEquals(Integer.valueOf(8), lazy.getValue());
+        assertEquals(2, transformer.count);
+    }
+
+    @Test
+    public void testVersion() {
+        SimpleIntegerProperty master = new SimpleIntegerProperty(1);
+        LazyProperty<Integer, Integer> lazy1 = read(master).transform(new CountingDoubleTransformer())
+                .toLazyProperty();
+        LazyProperty<Integer, Integer> lazy2 = read(lazy1).transform(new CountingDoubleTransformer())
+                .toLazyProperty();
+
+        assertEquals(Integer.valueOf(4), lazy2.getValue());
+        long version1 = lazy1.getVersion();
+        long version2 = lazy2.getVersion();
+
+        master.setValue(2);
+        assertTrue(lazy1.getVersion() > version1);
+        assertTrue(lazy2.getVersion() > version2);
+        assertEquals(Integer.valueOf(8), lazy2.getValue());
+
+        // With listeners
+        version1 = lazy1.getVersion();
+        lazy1.addValueChangeListener(new RecordingListener());
+        master.setValue(3);
+        assertTrue(lazy1.getVersion() > version1);
+        assertEquals(Integer.valueOf(6), lazy1.getValue());
+    }
+
+    @Test
+    public void testEagerWithListeners() {
+        SimpleIntegerProperty master = new SimpleIntegerProperty(1);
+        CountingDoubleTransformer transformer = new CountingDoubleTransformer();
+        LazyProperty<Integer, Integer> lazy = read(master).transform(transformer).toLazyProperty();
+        RecordingListener listener = new RecordingListener();
+
+        lazy.addValueChangeListener(listener);
+        master.setValue(2);
+        master.setValue(3);
+        assertEquals(2, listener.newValues.size());
+        assertEquals(Integer.valueOf(4), listener.newValues.get(0));
+        assertEquals(Integer.valueOf(6), listener.newValues.get(1));
+
+        // Lazy again
+        lazy.removeValueChangeListener(listener);
+        int count = transformer.count;
+        master.setValue(4);
+        master.setValue(5);
+        assertEquals(count, transformer.count);
+        assertEquals(Integer.valueOf(10), lazy.getValue());
+        assertEquals(2, listener.newValues.size());
+    }
+
+    @Test
+    public void testChainedLazyProperties() {
+        SimpleIntegerProperty master = new SimpleIntegerProperty(1);
+        CountingDoubleTransformer transformer1 = new CountingDoubleTransformer();
+        CountingDoubleTransformer transformer2 = new CountingDoubleTransformer();
+        LazyProperty<Integer, Integer> lazy1 = read(master).transform(transformer1).toLazyProperty();
+        LazyProperty<Integer, Integer> lazy2 = read(lazy1).transform(transformer2).toLazyProperty();
+
+        assertEquals(Integer.valueOf(4), lazy2.getValue());
+
+        master.setValue(2);
+        master.setValue(3);
+        assertFalse(lazy1.isValid());
+        assertFalse(lazy2.isValid());
+        assertEquals(1, transformer1.count);
+        assertEquals(1, transformer2.count);
+
+        assertEquals(Integer.valueOf(12), lazy2.getValue());
+        assertEquals(2, transformer1.count);
+        assertEquals(2, transformer2.count);
+    }
+
+    @Test
+    public void testEagerMasterOfLazyProperty() {
+        SimpleIntegerProperty master = new SimpleIntegerProperty(1);
+        LazyProperty<Integer, Integer> lazy1 = read(master).transform(new CountingDoubleTransformer())
+                .toLazyProperty();
+        CountingDoubleTransformer transformer2 = new CountingDoubleTransformer();
+        LazyProperty<Integer, Integer> lazy2 = read(lazy1).transform(transformer2).toLazyProperty();
+        RecordingListener listener = new RecordingListener();
+        lazy1.addValueChangeListener(listener);
+
+        assertEquals(Integer.valueOf(4), lazy2.getValue());
+        master.setValue(2);
+        assertEquals(Integer.valueOf(4), listener.newValues.get(0));
+        assertFalse(lazy2.isValid());
+        assertEquals(Integer.valueOf(8), lazy2.getValue());
+        assertEquals(2, transformer2.count);
+    }
+
+    @Test
+    public void testDispose() {
+        SimpleIntegerProperty master = new SimpleIntegerProperty(1);
+        CountingDoubleTransformer transformer = new CountingDoubleTransformer();
+        LazyProperty<Integer, Integer> lazy = read(master).transform(transformer).toLazyProperty();
+        lazy.addValueChangeListener(new RecordingListener());
+        int count = transformer.count;
+
+        lazy.dispose();
+        master.setValue(2);
+
+        assertEquals(count, transformer.count);
+        assertTrue(master.getValueChangeListeners().isEmpty());
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.common;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see CopyOnWriteListenerList
+ */
+public class CopyOnWriteListenerListTest {
+
+    @Test
+    public void testAddRemove() {
+        CopyOnWriteListenerList<String> listeners = new CopyOnWriteListenerList<String>();
+        assertTrue(listeners.isEmpty());
+
+        listeners.add("a");
+        listeners.add("b");
+        listeners.add(1, "c");
+        assertEquals(Arrays.asList("a", "c", "b"), listeners);
+
+        assertTrue(listeners.remove("c"));
+        assertFalse(listeners.remove("d"));
+        assertEquals(Arrays.asList("a", "b"), listeners);
+
+        assertEquals("a", listeners.remove(0));
+        assertEquals("b", listeners.set(0, "e"));
+        assertEquals(Collections.singletonList("e"), listeners);
+
+        listeners.clear();
+        assertTrue(listeners.isEmpty());
+        assertEquals(0, listeners.getSnapshot().length);
+    }
+
+    @Test
+    public void testSnapshotNotAffectedByModifications() {
+        CopyOnWriteListenerList<String> listeners = new CopyOnWriteListenerList<String>();
+        listeners.add("a");
+        listeners.add("b");
+
+        Object[] snapshot = listeners.getSnapshot();
+        assertSame(snapshot, listeners.getSnapshot());
+
+        listeners.remove("a");
+        listeners.add("c");
+        assertArrayEquals(new Object[]{"a", "b"}, snapshot);
+        assertArrayEquals(new Object[]{"b", "c"}, listeners.getSnapshot());
+    }
+
+    @Test
+    public void testIteratorNotAffectedByModifications() {
+        CopyOnWriteListenerList<String> listeners = new CopyOnWriteListenerList<String>();
+        listeners.add("a");
+        listeners.add("b");
+
+        Iterator<String> iterator = listeners.iterator();
+        assertEquals("a", iterator.next());
+        listeners.clear();
+        assertEquals("b", iterator.next());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testToArrayReturnsCopy() {
+        CopyOnWriteListenerList<String> listeners = new CopyOnWriteListenerList<String>();
+        listeners.add("a");
+
+        Object[] array = listeners.toArray();
+        array[0] = "b";
+        assertEquals("a", listeners.get(0));
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.common;
+
+import com.google.code.validationframework.api.transform.Transformer;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @see MemoizingCache
+ */
+public class MemoizingCacheTest {
+
+    private static class CountingLoader implements Transformer<String, Integer> {
+
+        private int callCount = 0;
+
+        @Override
+        public Integer transform(String input) {
+            callCount++;
+            return (input == null) ? null : input.length();
+        }
+    }
+
+    private static class ManualClock implements Clock {
+
+        private long now = 0;
+
+        @Override
+        public long currentTimeMillis() {
+            return now;
+        }
+
+        @Override
+        public ScheduledTask schedule(Runnable task, long delayMillis) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        MemoizingCache<String, Integer> cache = new MemoizingCache<String, Integer>(10);
+        CountingLoader loader = new CountingLoader();
+
+        assertEquals(Integer.valueOf(3), cache.get("abc", loader));
+        assertEquals(Integer.valueOf(3), cache.get("abc", loader));
+        assertNull(cache.get(null, loader));
+        assertNull(cache.get(null, loader));
+
+        assertEquals(2, loader.callCount);
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate(), 0.0);
+        assertEquals(2, cache.size());
+
+        cache.invalidate("abc");
+        cache.get("abc", loader);
+        assertEquals(3, loader.callCount);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        MemoizingCache<String, Integer> cache = new MemoizingCache<String, Integer>(2);
+        CountingLoader loader = new CountingLoader();
+
+        cache.get("a", loader);
+        cache.get("bb", loader);
+        cache.get("a", loader); // "bb" is now the least recently used
+        cache.get("ccc", loader);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        cache.get("a", loader);
+        assertEquals(3, loader.callCount);
+        cache.get("bb", loader);
+        assertEquals(4, loader.callCount);
+    }
+
+    @Test
+    public void testWeigher() {
+        MemoizingCache<String, Integer> cache = new MemoizingCache<String, Integer>(5,
+                new MemoizingCache.Weigher<String, Integer>() {
+                    @Override
+                    public long weigh(String key, Integer value) {
+                        return key.length();
+                    }
+                }, 0, null);
+        CountingLoader loader = new CountingLoader();
+
+        cache.get("aa", loader);
+        cache.get("bbb", loader);
+        assertEquals(5, cache.getWeight());
+        cache.get("c", loader);
+        assertEquals(2, cache.size());
+        assertEquals(4, cache.getWeight());
+
+        // Too heavy to be cached
+        cache.get("dddddd", loader);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testExpiry() {
+        ManualClock clock = new ManualClock();
+        MemoizingCache<String, Integer> cache = new MemoizingCache<String, Integer>(10, null, 100, clock);
+        CountingLoader loader = new CountingLoader();
+
+        cache.get("a", loader);
+        clock.now = 99;
+        cache.get("a", loader);
+        assertEquals(1, loader.callCount);
+        clock.now = 100;
+        cache.get("a", loader);
+        assertEquals(2, loader.callCount);
+        assertEquals(1, cache.getEvictionCount());
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.metrics;
+
+import com.google.code.validationframework.api.dataprovider.DataProvider;
+import com.google.code.validationframework.api.resulthandler.ResultHandler;
+import com.google.code.validationframework.base.rule.object.NotNullBooleanRule;
+import com.google.code.validationframework.base.rule.object.NullBooleanRule;
+import com.google.code.validationframework.base.transform.NegateBooleanTransformer;
+import com.google.code.validationframework.base.trigger.ManualTrigger;
+import com.google.code.validationframework.base.validator.DefaultMappableValidator;
+import com.google.code.validationframework.base.validator.generalvalidator.GeneralValidator;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see DefaultValidationMetrics
+ */
+public class DefaultValidationMetricsTest {
+
+    private static class ConstantDataProvider implements DataProvider<Object> {
+
+        @Override
+        public Object getData() {
+            return "data";
+        }
+    }
+
+    private static class CountingResultHandler<RHI> implements ResultHandler<RHI> {
+
+        private int count = 0;
+
+        @Override
+        public void handleResult(RHI result) {
+            count++;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+    private static GeneralValidator<Object, Object, Boolean, Object> createValidator() {
+        GeneralValidator<Object, Object, Boolean, Object> validator = new GeneralValidator<Object, Object, Boolean,
+                Object>();
+        validator.addDataProvider(new ConstantDataProvider());
+        validator.addRule(new NotNullBooleanRule<Object>());
+        validator.addRule(new NullBooleanRule<Object>());
+        validator.setRuleOutputTransformers(new NegateBooleanTransformer());
+        validator.addResultHandler(new CountingResultHandler<Object>());
+        return validator;
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        assertNull(createValidator().getMetrics());
+    }
+
+    @Test
+    public void testGeneralValidator() {
+        GeneralValidator<Object, Object, Boolean, Object> validator = createValidator();
+        DefaultValidationMetrics metrics = new DefaultValidationMetrics("test");
+        validator.setMetrics(metrics);
+
+        validator.trigger();
+        validator.trigger();
+
+        assertEquals(2, metrics.getTriggerCount());
+        assertEquals(4, metrics.getRuleInvocationCount());
+        assertEquals(2, metrics.getRuleHistograms().size());
+        assertEquals(4, metrics.getTransformerInvocationCount());
+        assertEquals(4, metrics.getResultHandlerInvocationCount());
+
+        metrics.reset();
+        assertEquals(0, metrics.getTriggerCount());
+        assertEquals(0, metrics.getRuleInvocationCount());
+    }
+
+    @Test
+    public void testMetricsSetDuringAsynchronousValidation() {
+        GeneralValidator<Object, Object, Boolean, Object> validator = createValidator();
+        final List<Runnable> pendingValidations = new ArrayList<Runnable>();
+        validator.setRuleExecutor(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                pendingValidations.add(command);
+            }
+        });
+
+        validator.trigger();
+        assertEquals(1, pendingValidations.size());
+
+        // Set metrics while the validation is in progress
+        DefaultValidationMetrics metrics = new DefaultValidationMetrics("test");
+        validator.setMetrics(metrics);
+        pendingValidations.get(0).run();
+
+        assertEquals(1, metrics.getTriggerCount());
+        assertTrue(metrics.getTriggerHistogram().getMaxNanos() < TimeUnit.MINUTES.toNanos(1));
+    }
+
+    @Test
+    public void testCompiledGeneralValidator() {
+        GeneralValidator<Object, Object, Boolean, Object> validator = createValidator();
+        validator.compile();
+
+        // Set metrics after compilation
+        DefaultValidationMetrics metrics = new DefaultValidationMetrics("test");
+        validator.setMetrics(metrics);
+        assertTrue(validator.isCompiled());
+
+        validator.trigger();
+
+        assertEquals(1, metrics.getTriggerCount());
+        assertEquals(2, metrics.getRuleInvocationCount());
+        assertEquals(2, metrics.getTransformerInvocationCount());
+        assertEquals(2, metrics.getResultHandlerInvocationCount());
+
+        // Disable metrics
+        validator.setMetrics(null);
+        validator.trigger();
+        assertEquals(1, metrics.getTriggerCount());
+        assertEquals(2, metrics.getRuleInvocationCount());
+    }
+
+    @Test
+    public void testMappableValidator() {
+        ManualTrigger trigger = new ManualTrigger();
+        ConstantDataProvider dataProvider = new ConstantDataProvider();
+        NotNullBooleanRule<Object> rule = new NotNullBooleanRule<Object>();
+        CountingResultHandler<Boolean> resultHandler = new CountingResultHandler<Boolean>();
+
+        DefaultMappableValidator<Object, Boolean> validator = new DefaultMappableValidator<Object, Boolean>();
+        validator.mapTriggerToDataProvider(trigger, dataProvider);
+        validator.mapDataProviderToRule(dataProvider, rule);
+        validator.mapRuleToResultHandler(rule, new CountingResultHandler<Boolean>());
+        validator.mapRuleToResultHandler(rule, resultHandler);
+
+        DefaultValidationMetrics metrics = new DefaultValidationMetrics("test");
+        validator.setMetrics(metrics);
+        trigger.trigger();
+
+        assertEquals(1, metrics.getTriggerCount());
+        assertEquals(1, metrics.getRuleInvocationCount());
+        assertEquals(2, metrics.getResultHandlerInvocationCount());
+        assertEquals(1, metrics.getResultHandlerHistograms().get(resultHandler).getCount());
+    }
+
+    @Test
+    public void testMBeans() throws Exception {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        ObjectName allNames = new ObjectName(DefaultValidationMetrics.JMX_DOMAIN + ":validator=\"test\",*");
+
+        GeneralValidator<Object, Object, Boolean, Object> validator = createValidator();
+        DefaultValidationMetrics metrics = new DefaultValidationMetrics("test");
+        validator.setMetrics(metrics);
+        metrics.registerMBeans(server);
+
+        // Only the summary and the trigger histogram are known so far
+        assertEquals(2, server.queryNames(allNames, null).size());
+
+        // Histograms are registered on the first invocation
+        validator.trigger();
+        assertEquals(2 + 2 + 1 + 1, server.queryNames(allNames, null).size());
+
+        ObjectName summaryName = new ObjectName(DefaultValidationMetrics.JMX_DOMAIN +
+                ":type=ValidationMetrics,validator=\"test\"");
+        assertEquals(1L, server.getAttribute(summaryName, "TriggerCount"));
+        assertEquals(2L, server.getAttribute(summaryName, "RuleInvocationCount"));
+
+        metrics.unregisterMBeans();
+        assertFalse(server.isRegistered(summaryName));
+        assertEquals(0, server.queryNames(allNames, null).size());
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see LatencyHistogram
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMinNanos());
+        assertEquals(0, histogram.getMaxNanos());
+        assertEquals(0.0, histogram.getMeanNanos(), 0.0);
+        assertEquals(0, histogram.get99thPercentileNanos());
+    }
+
+    @Test
+    public void testExactStatistics() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10);
+        histogram.record(20);
+        histogram.record(30);
+
+        assertEquals(3, histogram.getCount());
+        assertEquals(10, histogram.getMinNanos());
+        assertEquals(30, histogram.getMaxNanos());
+        assertEquals(20.0, histogram.getMeanNanos(), 0.0);
+        assertEquals(20, histogram.getMedianNanos());
+        assertEquals(30, histogram.getPercentileNanos(100.0));
+    }
+
+    @Test
+    public void testPercentilesWithinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10000; i++) {
+            histogram.record(i * 1000);
+        }
+
+        assertWithinPrecision(5000000, histogram.getMedianNanos());
+        assertWithinPrecision(9000000, histogram.get90thPercentileNanos());
+        assertWithinPrecision(9900000, histogram.get99thPercentileNanos());
+        assertEquals(10000000, histogram.getPercentileNanos(100.0));
+    }
+
+    @Test
+    public void testExtremeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(0, histogram.getMinNanos());
+        assertEquals(0, histogram.getMedianNanos());
+        assertEquals(Long.MAX_VALUE, histogram.getMaxNanos());
+        assertEquals(Long.MAX_VALUE, histogram.getPercentileNanos(100.0));
+    }
+
+    @Test
+    public void testReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1000);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxNanos());
+        assertEquals(0, histogram.getMedianNanos());
+
+        histogram.record(5);
+        assertEquals(5, histogram.getMinNanos());
+        assertEquals(5, histogram.getMedianNanos());
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertTrue("Expected about " + expected + " but was " + actual, Math.abs(actual - expected) <= (expected /
+                16));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.property;
+
+import com.google.code.validationframework.api.property.ReadableProperty;
+import com.google.code.validationframework.api.property.ValueChangeListener;
+import com.google.code.validationframework.base.common.IdentityEqualityStrategy;
+import com.google.code.validationframework.base.property.simple.SimpleIntegerProperty;
+import com.google.code.validationframework.base.property.simple.SimpleProperty;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @see AbstractReadableProperty
+ */
+public class AbstractReadablePropertyTest {
+
+    /**
+     * Listener counting the value change events.
+     */
+    private static class CountingListener<R> implements ValueChangeListener<R> {
+
+        private int count = 0;
+
+        @Override
+        public void valueChanged(ReadableProperty<R> property, R oldValue, R newValue) {
+            count++;
+        }
+    }
+
+    @Test
+    public void testVersion() {
+        SimpleIntegerProperty property = new SimpleIntegerProperty(1);
+        assertEquals(0, property.getVersion());
+
+        property.setValue(2);
+        property.setValue(2);
+        assertEquals(1, property.getVersion());
+
+        property.setInhibited(true);
+        property.setValue(3);
+        property.setValue(4);
+        assertEquals(3, property.getVersion());
+
+        // Un-inhibiting does not change the value
+        property.setInhibited(false);
+        assertEquals(3, property.getVersion());
+    }
+
+    @Test
+    public void testValueChangeDetection() {
+        SimpleProperty<List<Integer>> property = new SimpleProperty<List<Integer>>(Arrays.asList(1, 2));
+        CountingListener<List<Integer>> listener = new CountingListener<List<Integer>>();
+        property.addValueChangeListener(listener);
+
+        property.setValue(new ArrayList<Integer>(Arrays.asList(1, 2)));
+        assertEquals(0, listener.count);
+        assertEquals(0, property.getVersion());
+    }
+
+    @Test
+    public void testIdentityChangeDetection() {
+        List<Integer> value = Arrays.asList(1, 2);
+        SimpleProperty<List<Integer>> property = new SimpleProperty<List<Integer>>(value);
+        property.setChangeDetectionStrategy(new IdentityEqualityStrategy());
+        CountingListener<List<Integer>> listener = new CountingListener<List<Integer>>();
+        property.addValueChangeListener(listener);
+
+        property.setValue(value);
+        assertEquals(0, listener.count);
+
+        property.setValue(new ArrayList<Integer>(Arrays.asList(1, 2)));
+        assertEquals(1, listener.count);
+        assertEquals(1, property.getVersion());
+    }
+
+    @Test
+    public void testCompositeKnownChange() {
+        SimpleIntegerProperty property1 = new SimpleIntegerProperty(1);
+        SimpleIntegerProperty property2 = new SimpleIntegerProperty(2);
+        CompositeReadableProperty<Integer> compositeProperty = new CompositeReadableProperty<Integer>(property1,
+                property2);
+        long version = compositeProperty.getVersion();
+
+        property1.setValue(3);
+        property1.setValue(3);
+        assertEquals(version + 1, compositeProperty.getVersion());
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.property;
+
+import com.google.code.validationframework.api.property.ListValueChangeListener;
+import com.google.code.validationframework.api.property.ReadableListProperty;
+import com.google.code.validationframework.base.property.simple.SimpleIntegerProperty;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see CompositeReadableListProperty
+ */
+public class CompositeReadableListPropertyTest {
+
+    /**
+     * Listener recording the change events as strings.
+     */
+    private static class RecordingListener implements ListValueChangeListener<Integer> {
+
+        private final List<String> events = new ArrayList<String>();
+
+        @Override
+        public void valuesAdded(ReadableListProperty<Integer> listProperty, int startIndex, List<Integer> newValues) {
+            events.add("added " + startIndex + " " + newValues);
+        }
+
+        @Override
+        public void valuesChanged(ReadableListProperty<Integer> listProperty, int startIndex, List<Integer>
+                oldValues, List<Integer> newValues) {
+            events.add("changed " + startIndex + " " + oldValues + " " + newValues);
+        }
+
+        @Override
+        public void valuesRemoved(ReadableListProperty<Integer> listProperty, int startIndex, List<Integer>
+                oldValues) {
+            events.add("removed " + startIndex + " " + oldValues);
+        }
+    }
+
+    @Test
+    public void testChangeEvents() {
+        SimpleIntegerProperty property1 = new SimpleIntegerProperty(1);
+        SimpleIntegerProperty property2 = new SimpleIntegerProperty(2);
+        SimpleIntegerProperty property3 = new SimpleIntegerProperty(3);
+        CompositeReadableListProperty<Integer> compositeProperty = new CompositeReadableListProperty<Integer>
+                (property1, property2, property3);
+        RecordingListener listener = new RecordingListener();
+        compositeProperty.addValueChangeListener(listener);
+
+        property2.setValue(5);
+        property2.setValue(5);
+        property3.setValue(6);
+
+        assertEquals(Arrays.asList(1, 5, 6), compositeProperty.asUnmodifiableList());
+        assertEquals(Arrays.asList("changed 1 [2] [5]", "changed 2 [3] [6]"), listener.events);
+    }
+
+    @Test
+    public void testAddRemoveProperty() {
+        SimpleIntegerProperty property1 = new SimpleIntegerProperty(1);
+        SimpleIntegerProperty property2 = new SimpleIntegerProperty(2);
+        SimpleIntegerProperty property3 = new SimpleIntegerProperty(3);
+        CompositeReadableListProperty<Integer> compositeProperty = new CompositeReadableListProperty<Integer>
+                (property1, property2);
+        RecordingListener listener = new RecordingListener();
+        compositeProperty.addValueChangeListener(listener);
+
+        compositeProperty.addProperty(property3);
+        compositeProperty.removeProperty(property1);
+        property3.setValue(7);
+        property1.setValue(8);
+
+        assertEquals(Arrays.asList(2, 7), compositeProperty.asUnmodifiableList());
+        assertEquals(Arrays.asList("added 2 [3]", "removed 0 [1]", "changed 1 [3] [7]"), listener.events);
+        assertTrue(property1.getValueChangeListeners().isEmpty());
+    }
+
+    @Test
+    public void testClear() {
+        SimpleIntegerProperty property1 = new SimpleIntegerProperty(1);
+        SimpleIntegerProperty property2 = new SimpleIntegerProperty(2);
+        CompositeReadableListProperty<Integer> compositeProperty = new CompositeReadableListProperty<Integer>
+                (property1, property2);
+        RecordingListener listener = new RecordingListener();
+        compositeProperty.addValueChangeListener(listener);
+
+        compositeProperty.clear();
+        property1.setValue(3);
+
+        assertTrue(compositeProperty.isEmpty());
+        assertEquals(Arrays.asList("removed 0 [1, 2]"), listener.events);
+        assertTrue(property1.getValueChangeListeners().isEmpty());
+        assertTrue(property2.getValueChangeListeners().isEmpty());
+    }
+}
@@ -27,9 +27,11 @@ package com.google.code.validationframework.base.property.simple;
 
 import com.google.code.validationframework.api.property.ListValueChangeListener;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Matchers;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -42,6 +44,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -282,10 +285,8 @@ public class SimpleListPropertyTest {
         assertTrue(property.isEmpty());
         verify(listener, times(0)).valuesAdded(eq(property), anyInt(), Matchers.<List<Integer>>any());
 
-        // Note that the number and ordering of calls depends on the implementation
-        verify(listener).valuesRemoved(eq(property), eq(1), matches(Collections.singletonList(2)));
-        verify(listener).valuesRemoved(eq(property), eq(1), matches(Collections.singletonList(3)));
-        verify(listener).valuesRemoved(eq(property), eq(0), matches(Collections.singletonList(1)));
+        // Contiguous removed items are notified as a single range
+        verify(listener).valuesRemoved(eq(property), eq(0), matches(Arrays.asList(1, 2, 3)));
         verifyNoMoreInteractions(listener);
     }
 
@@ -325,11 +326,85 @@ public class SimpleListPropertyTest {
         assertEquals(5, property.size());
         assertTrue(haveEqualElements(remaining, property));
 
-        // Note that the number and ordering of calls depends on the implementation
-        verify(listener).valuesRemoved(eq(property), eq(4), matches(Collections.singletonList(4)));
-        verify(listener).valuesRemoved(eq(property), eq(4), matches(Collections.singletonList(5)));
-        verify(listener).valuesRemoved(eq(property), eq(4), matches(Collections.singletonList(6)));
-        verify(listener).valuesRemoved(eq(property), eq(5), matches(Collections.singletonList(6)));
+        // Contiguous removed items are notified as a single range
+        InOrder inOrder = inOrder(listener);
+        inOrder.verify(listener).valuesRemoved(eq(property), eq(4), matches(Arrays.asList(4, 5, 6)));
+        inOrder.verify(listener).valuesRemoved(eq(property), eq(5), matches(Collections.singletonList(6)));
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void testRemoveAllWithDuplicates() {
+        List<Integer> initial = new ArrayList<Integer>();
+        initial.add(1);
+        initial.add(2);
+        initial.add(1);
+        initial.add(3);
+
+        SimpleListProperty<Integer> property = new SimpleListProperty<Integer>(initial);
+        ListValueChangeListener<Integer> listener = mock(ListValueChangeListener.class);
+        property.addValueChangeListener(listener);
+
+        assertTrue(property.removeAll(Collections.singletonList(1)));
+        assertFalse(property.removeAll(Collections.singletonList(4)));
+
+        assertTrue(haveEqualElements(Arrays.asList(2, 3), property));
+        InOrder inOrder = inOrder(listener);
+        inOrder.verify(listener).valuesRemoved(eq(property), eq(0), matches(Collections.singletonList(1)));
+        inOrder.verify(listener).valuesRemoved(eq(property), eq(1), matches(Collections.singletonList(1)));
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void testBatch() {
+        List<Integer> initial = new ArrayList<Integer>();
+        initial.add(1);
+        initial.add(2);
+        initial.add(3);
+
+        SimpleListProperty<Integer> property = new SimpleListProperty<Integer>(initial);
+        ListValueChangeListener<Integer> listener = mock(ListValueChangeListener.class);
+        property.addValueChangeListener(listener);
+
+        property.beginBatch();
+        assertTrue(property.isBatchInProgress());
+        for (int i = 10; i < 15; i++) {
+            property.add(i);
+        }
+        property.remove(property.size() - 1);
+        property.set(3, 20);
+        property.set(0, 30);
+        property.set(1, 31);
+        verifyZeroInteractions(listener);
+        property.commitBatch();
+        assertFalse(property.isBatchInProgress());
+
+        assertTrue(haveEqualElements(Arrays.asList(30, 31, 3, 20, 11, 12, 13), property));
+        InOrder inOrder = inOrder(listener);
+        inOrder.verify(listener).valuesAdded(eq(property), eq(3), matches(Arrays.asList(20, 11, 12, 13)));
+        inOrder.verify(listener).valuesChanged(eq(property), eq(0), matches(Arrays.asList(1, 2)), matches(Arrays
+                .asList(30, 31)));
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void testNestedBatches() {
+        SimpleListProperty<Integer> property = new SimpleListProperty<Integer>();
+        ListValueChangeListener<Integer> listener = mock(ListValueChangeListener.class);
+        property.addValueChangeListener(listener);
+
+        property.beginBatch();
+        property.add(1);
+        property.beginBatch();
+        property.add(2);
+        property.commitBatch();
+        verifyZeroInteractions(listener);
+        property.add(3);
+        property.remove(0);
+        property.commitBatch();
+
+        assertTrue(haveEqualElements(Arrays.asList(2, 3), property));
+        verify(listener).valuesAdded(eq(property), eq(0), matches(Arrays.asList(2, 3)));
         verifyNoMoreInteractions(listener);
     }
 
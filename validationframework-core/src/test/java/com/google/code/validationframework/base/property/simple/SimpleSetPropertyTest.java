@@ -262,6 +262,38 @@ public class SimpleSetPropertyTest {
         verifyNoMoreInteractions(listener);
     }
 
+    @Test
+    public void testBatch() {
+        Set<Integer> initial = new HashSet<Integer>();
+        initial.add(1);
+        initial.add(2);
+        Set<Integer> added = new HashSet<Integer>();
+        added.add(3);
+        Set<Integer> removed = new HashSet<Integer>();
+        removed.add(2);
+
+        SimpleSetProperty<Integer> property = new SimpleSetProperty<Integer>(initial);
+        SetValueChangeListener<Integer> listener = mock(SetValueChangeListener.class);
+        property.addValueChangeListener(listener);
+
+        property.beginBatch();
+        assertTrue(property.isBatchInProgress());
+        property.remove(1);
+        property.add(1);
+        property.add(3);
+        property.remove(2);
+        property.add(4);
+        property.remove(4);
+        verifyZeroInteractions(listener);
+        property.commitBatch();
+        assertFalse(property.isBatchInProgress());
+
+        assertEquals(2, property.size());
+        verify(listener).valuesRemoved(eq(property), matches(removed));
+        verify(listener).valuesAdded(eq(property), matches(added));
+        verifyNoMoreInteractions(listener);
+    }
+
     @Test
     public void testClear() {
         Set<Integer> refAll = new HashSet<Integer>();
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.resulthandler;
+
+import com.google.code.validationframework.api.property.ReadableProperty;
+import com.google.code.validationframework.api.property.ValueChangeListener;
+import com.google.code.validationframework.api.resulthandler.ResultHandler;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see BooleanResultGroup
+ */
+public class BooleanResultGroupTest {
+
+    /**
+     * Listener counting the value change events.
+     */
+    private static class CountingListener implements ValueChangeListener<Boolean> {
+
+        private final List<Boolean> newValues = new ArrayList<Boolean>();
+
+        @Override
+        public void valueChanged(ReadableProperty<Boolean> property, Boolean oldValue, Boolean newValue) {
+            newValues.add(newValue);
+        }
+    }
+
+    @Test
+    public void testAnd() {
+        BooleanResultGroup group = new BooleanResultGroup();
+        assertTrue(group.getValue());
+
+        ResultHandler<Boolean> resultHandler1 = group.createResultHandler();
+        ResultHandler<Boolean> resultHandler2 = group.createResultHandler();
+        assertFalse(group.getValue());
+        assertEquals(2, group.getNullCount());
+
+        resultHandler1.handleResult(true);
+        resultHandler2.handleResult(true);
+        assertTrue(group.getValue());
+        assertEquals(2, group.getTrueCount());
+
+        resultHandler2.handleResult(false);
+        assertFalse(group.getValue());
+        assertEquals(1, group.getFalseCount());
+
+        group.removeResultHandler(resultHandler2);
+        assertTrue(group.getValue());
+        assertEquals(1, group.getCount());
+    }
+
+    @Test
+    public void testOr() {
+        BooleanResultGroup group = new BooleanResultGroup(BooleanResultGroup.Operator.OR, null, null);
+        assertNull(group.getValue());
+
+        ResultHandler<Boolean> resultHandler1 = group.createResultHandler();
+        ResultHandler<Boolean> resultHandler2 = group.createResultHandler();
+        assertFalse(group.getValue());
+
+        resultHandler1.handleResult(false);
+        resultHandler2.handleResult(true);
+        assertTrue(group.getValue());
+
+        resultHandler2.handleResult(null);
+        assertFalse(group.getValue());
+    }
+
+    @Test
+    public void testResultCollector() {
+        BooleanResultCollector resultCollector = new BooleanResultCollector();
+        resultCollector.handleResult(true);
+
+        BooleanResultGroup group = new BooleanResultGroup();
+        group.addResultCollector(resultCollector);
+        assertTrue(group.getValue());
+
+        resultCollector.handleResult(false);
+        assertFalse(group.getValue());
+
+        group.removeResultCollector(resultCollector);
+        resultCollector.handleResult(true);
+        assertEquals(0, group.getCount());
+    }
+
+    @Test
+    public void testHierarchy() {
+        BooleanResultGroup section1 = new BooleanResultGroup();
+        ResultHandler<Boolean> field1 = section1.createResultHandler();
+        ResultHandler<Boolean> field2 = section1.createResultHandler();
+        BooleanResultGroup section2 = new BooleanResultGroup();
+        ResultHandler<Boolean> field3 = section2.createResultHandler();
+
+        BooleanResultGroup form = new BooleanResultGroup();
+        form.addGroup(section1);
+        form.addGroup(section2);
+        CountingListener sectionListener = new CountingListener();
+        section1.addValueChangeListener(sectionListener);
+        CountingListener formListener = new CountingListener();
+        form.addValueChangeListener(formListener);
+
+        field1.handleResult(true);
+        field2.handleResult(true);
+        field3.handleResult(true);
+        assertTrue(form.getValue());
+
+        // Section aggregate does not flip: no propagation
+        field1.handleResult(false);
+        field2.handleResult(false);
+        field1.handleResult(true);
+        assertFalse(form.getValue());
+        field2.handleResult(true);
+        assertTrue(form.getValue());
+
+        assertEquals(3, sectionListener.newValues.size());
+        assertEquals(3, formListener.newValues.size());
+    }
+
+    @Test
+    public void testDispose() {
+        BooleanResultGroup section = new BooleanResultGroup();
+        BooleanResultGroup form = new BooleanResultGroup();
+        form.addGroup(section);
+        form.dispose();
+
+        assertTrue(section.getValueChangeListeners().isEmpty());
+        assertEquals(0, form.getCount());
+    }
+}
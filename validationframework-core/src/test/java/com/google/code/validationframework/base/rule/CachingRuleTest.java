@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.rule;
+
+import com.google.code.validationframework.api.rule.Rule;
+import com.google.code.validationframework.base.common.MemoizingCache;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see CachingRule
+ */
+public class CachingRuleTest {
+
+    private static class CountingRule implements Rule<String, Boolean> {
+
+        private int callCount = 0;
+
+        @Override
+        public Boolean validate(String data) {
+            callCount++;
+            return (data != null) && !data.isEmpty();
+        }
+    }
+
+    @Test
+    public void testCachedResults() {
+        CountingRule delegate = new CountingRule();
+        CachingRule<String, Boolean> rule = new CachingRule<String, Boolean>(delegate, 10);
+
+        assertTrue(rule.validate("abc"));
+        assertTrue(rule.validate("abc"));
+        assertFalse(rule.validate(""));
+        assertFalse(rule.validate(null));
+        assertFalse(rule.validate(null));
+        assertEquals(3, delegate.callCount);
+
+        rule.dispose();
+        assertEquals(0, rule.getCache().size());
+    }
+
+    @Test
+    public void testSharedCache() {
+        MemoizingCache<String, Boolean> cache = new MemoizingCache<String, Boolean>(10);
+        CountingRule delegate1 = new CountingRule();
+        CountingRule delegate2 = new CountingRule();
+        CachingRule<String, Boolean> rule1 = new CachingRule<String, Boolean>(delegate1, cache);
+        CachingRule<String, Boolean> rule2 = new CachingRule<String, Boolean>(delegate2, cache);
+
+        rule1.validate("abc");
+        rule2.validate("abc");
+        assertEquals(1, delegate1.callCount);
+        assertEquals(0, delegate2.callCount);
+
+        // Shared cache is not cleared when disposing
+        rule1.dispose();
+        assertEquals(1, cache.size());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.rule;
+
+import com.google.code.validationframework.api.rule.Rule;
+import com.google.code.validationframework.base.transform.AndBooleanAggregator;
+import com.google.code.validationframework.base.transform.OrBooleanAggregator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see LazyRuleResultList
+ */
+public class LazyRuleResultListTest {
+
+    private static class CountingRule implements Rule<Object, Boolean> {
+
+        private final Boolean result;
+
+        private int count = 0;
+
+        public CountingRule(Boolean result) {
+            this.result = result;
+        }
+
+        @Override
+        public Boolean validate(Object data) {
+            count++;
+            return result;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+    @Test
+    public void testEvaluatedOnDemand() {
+        CountingRule rule1 = new CountingRule(true);
+        CountingRule rule2 = new CountingRule(false);
+        List<CountingRule> rules = Arrays.asList(rule1, rule2);
+
+        LazyRuleResultList<Object, Boolean> results = new LazyRuleResultList<Object, Boolean>(rules, null);
+        assertEquals(2, results.size());
+        assertEquals(0, results.getEvaluatedCount());
+
+        assertFalse(results.get(1));
+        assertFalse(results.get(1));
+        assertEquals(1, results.getEvaluatedCount());
+        assertEquals(0, rule1.getCount());
+        assertEquals(1, rule2.getCount());
+
+        assertEquals(Arrays.asList(true, false), new ArrayList<Boolean>(results));
+        assertEquals(1, rule1.getCount());
+        assertEquals(1, rule2.getCount());
+
+        results.reset(null);
+        assertEquals(0, results.getEvaluatedCount());
+        assertTrue(results.get(0));
+        assertEquals(2, rule1.getCount());
+    }
+
+    @Test
+    public void testShortCircuitAnd() {
+        CountingRule rule1 = new CountingRule(true);
+        CountingRule rule2 = new CountingRule(false);
+        CountingRule rule3 = new CountingRule(true);
+
+        LazyRuleResultList<Object, Boolean> results = new LazyRuleResultList<Object, Boolean>(Arrays.asList(rule1,
+                rule2, rule3), null);
+        assertFalse(new AndBooleanAggregator().transform(results));
+        assertEquals(2, results.getEvaluatedCount());
+        assertEquals(0, rule3.getCount());
+    }
+
+    @Test
+    public void testShortCircuitOr() {
+        CountingRule rule1 = new CountingRule(true);
+        CountingRule rule2 = new CountingRule(false);
+
+        LazyRuleResultList<Object, Boolean> results = new LazyRuleResultList<Object, Boolean>(Arrays.asList(rule1,
+                rule2), null);
+        assertTrue(new OrBooleanAggregator().transform(results));
+        assertEquals(1, results.getEvaluatedCount());
+        assertEquals(0, rule2.getCount());
+    }
+
+    @Test
+    public void testLazyCompositeRule() {
+        CountingRule rule1 = new CountingRule(false);
+        CountingRule rule2 = new CountingRule(true);
+
+        AndCompositeBooleanRule<Object> compositeRule = new AndCompositeBooleanRule<Object>();
+        compositeRule.addRule(rule1);
+        compositeRule.addRule(rule2);
+
+        assertFalse(compositeRule.validate(null));
+        assertEquals(1, rule2.getCount());
+
+        compositeRule.setLazyEvaluation(true);
+        assertFalse(compositeRule.validate(null));
+        assertEquals(2, rule1.getCount());
+        assertEquals(1, rule2.getCount());
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.rule;
+
+import com.google.code.validationframework.api.dataprovider.DataProvider;
+import com.google.code.validationframework.api.rule.Rule;
+import com.google.code.validationframework.base.metrics.DefaultValidationMetrics;
+import com.google.code.validationframework.base.trigger.ManualTrigger;
+import com.google.code.validationframework.base.validator.AndSimpleValidator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see ParallelRuleEvaluator
+ */
+public class ParallelRuleEvaluatorTest {
+
+    private static class ThreadRecordingRule implements Rule<Integer, Integer> {
+
+        private final int offset;
+
+        private Thread thread = null;
+
+        public ThreadRecordingRule(int offset) {
+            this.offset = offset;
+        }
+
+        @Override
+        public Integer validate(Integer data) {
+            thread = Thread.currentThread();
+            return data + offset;
+        }
+
+        public Thread getThread() {
+            return thread;
+        }
+    }
+
+    private static class BlockingRule implements Rule<Object, Boolean> {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+
+        @Override
+        public Boolean validate(Object data) {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        }
+
+        public boolean isStarted() {
+            return started.getCount() == 0;
+        }
+
+        public boolean isInterrupted() throws InterruptedException {
+            return interrupted.await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private ExecutorService executorService;
+
+    @Before
+    public void setUp() {
+        executorService = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testOrdering() {
+        List<ThreadRecordingRule> rules = new ArrayList<ThreadRecordingRule>();
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int i = 0; i < 20; i++) {
+            rules.add(new ThreadRecordingRule(i));
+            expected.add(100 + i);
+        }
+
+        ParallelRuleEvaluator<Integer, Integer> evaluator = new ParallelRuleEvaluator<Integer, Integer>
+                (executorService);
+        assertEquals(expected, evaluator.evaluate(rules, 100, null));
+        for (ThreadRecordingRule rule : rules) {
+            assertNotNull(rule.getThread());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testNestedEvaluationOnSingleThread() {
+        ExecutorService singleThreadExecutor = Executors.newSingleThreadExecutor();
+        try {
+            ParallelRuleEvaluator<Object, Boolean> evaluator = new ParallelRuleEvaluator<Object, Boolean>
+                    (singleThreadExecutor);
+            List<Rule<Object, Boolean>> compositeRules = new ArrayList<Rule<Object, Boolean>>();
+            for (int i = 0; i < 3; i++) {
+                AndCompositeBooleanRule<Object> compositeRule = new AndCompositeBooleanRule<Object>();
+                for (int j = 0; j < 3; j++) {
+                    compositeRule.addRule(new Rule<Object, Boolean>() {
+                        @Override
+                        public Boolean validate(Object data) {
+                            return true;
+                        }
+                    });
+                }
+                compositeRule.setParallelRuleEvaluator(evaluator);
+                compositeRules.add(compositeRule);
+            }
+
+            assertEquals(Arrays.asList(true, true, true), evaluator.evaluate(compositeRules, null, false));
+        } finally {
+            singleThreadExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testInterruption() {
+        ExecutorService singleThreadExecutor = Executors.newSingleThreadExecutor();
+        try {
+            final BlockingRule blockingRule = new BlockingRule();
+            Rule<Object, Boolean> interruptingRule = new Rule<Object, Boolean>() {
+                @Override
+                public Boolean validate(Object data) {
+                    // Evaluated on the calling thread while the blocking rule is evaluated by the executor service
+                    try {
+                        blockingRule.started.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        // Interrupted anyway below
+                    }
+                    Thread.currentThread().interrupt();
+                    return true;
+                }
+            };
+
+            ParallelRuleEvaluator<Object, Boolean> evaluator = new ParallelRuleEvaluator<Object, Boolean>
+                    (singleThreadExecutor);
+            List<Boolean> results = evaluator.evaluate(Arrays.<Rule<Object, Boolean>>asList(blockingRule,
+                    interruptingRule), null, false);
+            assertTrue(Thread.interrupted());
+            assertEquals(Arrays.asList(true, true), results);
+        } finally {
+            Thread.interrupted();
+            singleThreadExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testMetrics() {
+        List<ThreadRecordingRule> rules = new ArrayList<ThreadRecordingRule>();
+        for (int i = 0; i < 5; i++) {
+            rules.add(new ThreadRecordingRule(i));
+        }
+        DefaultValidationMetrics metrics = new DefaultValidationMetrics("parallel");
+
+        ParallelRuleEvaluator<Integer, Integer> evaluator = new ParallelRuleEvaluator<Integer, Integer>
+                (executorService);
+        evaluator.evaluate(rules, 0, null, metrics);
+        assertEquals(5, metrics.getRuleInvocationCount());
+
+        evaluator.setSequentialCostThreshold(10);
+        evaluator.evaluate(rules, 0, null, metrics);
+        assertEquals(10, metrics.getRuleInvocationCount());
+    }
+
+    @Test
+    public void testValidatorMetrics() {
+        DefaultValidationMetrics metrics = new DefaultValidationMetrics("validator");
+        ManualTrigger trigger = new ManualTrigger();
+        AndSimpleValidator<Integer> validator = new AndSimpleValidator<Integer>();
+        validator.addTrigger(trigger);
+        validator.addDataProvider(new DataProvider<Integer>() {
+            @Override
+            public Integer getData() {
+                return 1;
+            }
+        });
+        for (int i = 0; i < 5; i++) {
+            validator.addRule(new Rule<Integer, Boolean>() {
+                @Override
+                public Boolean validate(Integer data) {
+                    return true;
+                }
+            });
+        }
+        validator.setParallelRuleEvaluator(new ParallelRuleEvaluator<Integer, Boolean>(executorService));
+        validator.setMetrics(metrics);
+
+        trigger.trigger();
+        assertEquals(5, metrics.getRuleInvocationCount());
+    }
+
+    @Test
+    public void testCompositeRuleMetrics() {
+        DefaultValidationMetrics metrics = new DefaultValidationMetrics("composite");
+        AndCompositeBooleanRule<Object> compositeRule = new AndCompositeBooleanRule<Object>();
+        for (int i = 0; i < 4; i++) {
+            compositeRule.addRule(new Rule<Object, Boolean>() {
+                @Override
+                public Boolean validate(Object data) {
+                    return true;
+                }
+            });
+        }
+        compositeRule.setMetrics(metrics);
+
+        assertTrue(compositeRule.validate(null));
+        assertEquals(4, metrics.getRuleInvocationCount());
+
+        compositeRule.setParallelRuleEvaluator(new ParallelRuleEvaluator<Object, Boolean>(executorService));
+        assertTrue(compositeRule.validate(null));
+        assertEquals(8, metrics.getRuleInvocationCount());
+    }
+
+    @Test
+    public void testSequentialBelowThreshold() {
+        ThreadRecordingRule rule1 = new ThreadRecordingRule(1);
+        ThreadRecordingRule rule2 = new ThreadRecordingRule(2);
+
+        ParallelRuleEvaluator<Integer, Integer> evaluator = new ParallelRuleEvaluator<Integer, Integer>
+                (executorService);
+        evaluator.setSequentialCostThreshold(3);
+        assertEquals(Arrays.asList(11, 12), evaluator.evaluate(Arrays.asList(rule1, rule2), 10, null));
+        assertSame(Thread.currentThread(), rule1.getThread());
+        assertSame(Thread.currentThread(), rule2.getThread());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCancellation() throws InterruptedException {
+        BlockingRule blockingRule = new BlockingRule();
+        Rule<Object, Boolean> falseRule = new Rule<Object, Boolean>() {
+            @Override
+            public Boolean validate(Object data) {
+                return false;
+            }
+        };
+
+        ParallelRuleEvaluator<Object, Boolean> evaluator = new ParallelRuleEvaluator<Object, Boolean>
+                (executorService);
+        List<Boolean> results = evaluator.evaluate(Arrays.<Rule<Object, Boolean>>asList(blockingRule, falseRule),
+                null, false);
+        assertEquals(Collections.singletonList(false), results);
+        if (blockingRule.isStarted()) {
+            assertTrue(blockingRule.isInterrupted());
+        }
+    }
+
+    @Test
+    public void testParallelCompositeRules() {
+        AndCompositeBooleanRule<Object> compositeRule = new AndCompositeBooleanRule<Object>();
+        for (final Boolean result : Arrays.asList(true, true, false, true)) {
+            compositeRule.addRule(new Rule<Object, Boolean>() {
+                @Override
+                public Boolean validate(Object data) {
+                    return result;
+                }
+            });
+        }
+        compositeRule.setParallelRuleEvaluator(new ParallelRuleEvaluator<Object, Boolean>(executorService));
+        assertFalse(compositeRule.validate(null));
+
+        OrCompositeBooleanRule<Object> otherCompositeRule = new OrCompositeBooleanRule<Object>();
+        otherCompositeRule.addRule(new BlockingRule());
+        otherCompositeRule.addRule(new Rule<Object, Boolean>() {
+            @Override
+            public Boolean validate(Object data) {
+                return true;
+            }
+        });
+        otherCompositeRule.setParallelRuleEvaluator(new ParallelRuleEvaluator<Object, Boolean>(executorService));
+        assertTrue(otherCompositeRule.validate(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testException() {
+        Rule<Object, Boolean> failingRule = new Rule<Object, Boolean>() {
+            @Override
+            public Boolean validate(Object data) {
+                throw new IllegalArgumentException();
+            }
+        };
+
+        ParallelRuleEvaluator<Object, Boolean> evaluator = new ParallelRuleEvaluator<Object, Boolean>
+                (executorService);
+        evaluator.evaluate(Arrays.asList(failingRule, failingRule), null, null);
+    }
+}
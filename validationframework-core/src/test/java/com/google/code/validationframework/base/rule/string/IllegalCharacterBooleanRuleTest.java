@@ -27,6 +27,7 @@ package com.google.code.validationframework.base.rule.string;
 
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -46,4 +47,26 @@ public class IllegalCharacterBooleanRuleTest {
         assertFalse(rule.validate("b d"));
         assertFalse(rule.validate("ca"));
     }
+
+    @Test
+    public void testSupplementaryCharacters() {
+        IllegalCharacterBooleanRule rule = new IllegalCharacterBooleanRule("\uD83D\uDE00#");
+
+        assertTrue(rule.validate("smile"));
+        assertTrue(rule.validate("\uD83D\uDE01"));
+        assertFalse(rule.validate("smile\uD83D\uDE00"));
+        assertEquals("\uD83D\uDE00 #", rule.getIllegalCharactersSeparatedBySpaces());
+    }
+
+    @Test
+    public void testTrimming() {
+        IllegalCharacterBooleanRule rule = new IllegalCharacterBooleanRule(" ");
+
+        assertTrue(rule.validate((String) null));
+        assertTrue(rule.validate("  abc  "));
+        assertFalse(rule.validate(new StringBuilder(" a c ")));
+
+        rule.setTrimDataBeforeValidation(false);
+        assertFalse(rule.validate("  abc  "));
+    }
 }
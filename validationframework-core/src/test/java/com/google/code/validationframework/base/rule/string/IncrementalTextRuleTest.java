@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.rule.string;
+
+import com.google.code.validationframework.api.rule.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see IncrementalTextRule
+ */
+public class IncrementalTextRuleTest {
+
+    private static final Rule<CharSequence, Boolean> NO_X_RULE = new Rule<CharSequence, Boolean>() {
+        @Override
+        public Boolean validate(CharSequence data) {
+            return data.toString().indexOf('x') < 0;
+        }
+    };
+
+    private static final Rule<CharSequence, Boolean> LINE_NOT_STARTING_WITH_X_RULE = new Rule<CharSequence,
+            Boolean>() {
+        @Override
+        public Boolean validate(CharSequence data) {
+            return (data.length() == 0) || (data.charAt(0) != 'x');
+        }
+    };
+
+    private static final Rule<CharSequence, Boolean> SHORT_PARAGRAPH_RULE = new Rule<CharSequence, Boolean>() {
+        @Override
+        public Boolean validate(CharSequence data) {
+            return data.length() <= 5;
+        }
+    };
+
+    @Test
+    public void testCharacters() {
+        IncrementalTextRule rule = new IncrementalTextRule(NO_X_RULE, TextLocality.CHARACTER);
+        StringBuilder text = new StringBuilder("aaaaaaaaaa");
+        assertTrue(rule.validate(new EditedText(text)));
+
+        text.insert(5, "x");
+        assertFalse(rule.validate(new EditedText(text, Collections.singletonList(new TextEdit(TextEdit.Type
+                .INSERT, 5, 1)))));
+        assertEquals(Integer.valueOf(6), rule.getInvalidRegions().get(5));
+
+        text.insert(0, "aa");
+        assertFalse(rule.validate(new EditedText(text, Collections.singletonList(new TextEdit(TextEdit.Type
+                .INSERT, 0, 2)))));
+        assertEquals(Integer.valueOf(8), rule.getInvalidRegions().get(7));
+        assertEquals(1, rule.getLastValidatedRegionCount());
+
+        text.delete(7, 8);
+        assertTrue(rule.validate(new EditedText(text, Collections.singletonList(new TextEdit(TextEdit.Type
+                .REMOVE, 7, 1)))));
+    }
+
+    @Test
+    public void testLines() {
+        IncrementalTextRule rule = new IncrementalTextRule(LINE_NOT_STARTING_WITH_X_RULE, TextLocality.LINE);
+        StringBuilder text = new StringBuilder("a\nb\nc\nd");
+        assertTrue(rule.validate(new EditedText(text)));
+
+        text.insert(4, "x");
+        assertFalse(rule.validate(new EditedText(text, Collections.singletonList(new TextEdit(TextEdit.Type
+                .INSERT, 4, 1)))));
+        assertEquals(1, rule.getLastValidatedRegionCount());
+        assertEquals(Integer.valueOf(6), rule.getInvalidRegions().get(4));
+    }
+
+    @Test
+    public void testInconsistentEdits() {
+        IncrementalTextRule rule = new IncrementalTextRule(NO_X_RULE, TextLocality.CHARACTER);
+        rule.validate(new EditedText("aaa"));
+        assertFalse(rule.validate(new EditedText("axaa", Collections.<TextEdit>emptyList())));
+        assertEquals(Integer.valueOf(2), rule.getInvalidRegions().get(1));
+    }
+
+    @Test
+    public void testRandomEdits() {
+        checkRandomEdits(NO_X_RULE, TextLocality.CHARACTER);
+        checkRandomEdits(LINE_NOT_STARTING_WITH_X_RULE, TextLocality.LINE);
+        checkRandomEdits(SHORT_PARAGRAPH_RULE, TextLocality.PARAGRAPH);
+    }
+
+    private static void checkRandomEdits(Rule<CharSequence, Boolean> regionRule, TextLocality locality) {
+        Random random = new Random(7);
+        String alphabet = "aax\n";
+        IncrementalTextRule rule = new IncrementalTextRule(regionRule, locality);
+        StringBuilder text = new StringBuilder();
+        rule.validate(new EditedText(text));
+
+        for (int run = 0; run < 2000; run++) {
+            List<TextEdit> edits = new ArrayList<TextEdit>();
+            int editCount = 1 + random.nextInt(3);
+            for (int i = 0; i < editCount; i++) {
+                if ((text.length() > 0) && random.nextBoolean()) {
+                    int offset = random.nextInt(text.length());
+                    int length = 1 + random.nextInt(Math.min(4, text.length() - offset));
+                    text.delete(offset, offset + length);
+                    edits.add(new TextEdit(TextEdit.Type.REMOVE, offset, length));
+                } else {
+                    int offset = random.nextInt(text.length() + 1);
+                    int length = 1 + random.nextInt(4);
+                    for (int j = 0; j < length; j++) {
+                        text.insert(offset + j, alphabet.charAt(random.nextInt(alphabet.length())));
+                    }
+                    edits.add(new TextEdit(TextEdit.Type.INSERT, offset, length));
+                }
+            }
+
+            Boolean result = rule.validate(new EditedText(text, edits));
+
+            IncrementalTextRule reference = new IncrementalTextRule(regionRule, locality);
+            Boolean expected = reference.validate(new EditedText(text.toString()));
+            assertEquals(locality + " on '" + text + "'", reference.getInvalidRegions(), rule.getInvalidRegions());
+            assertEquals(expected, result);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.rule.string;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see MultiPatternMatcher
+ */
+public class MultiPatternMatcherTest {
+
+    private static final String[] INPUTS = {"", "a", "abc", "ABC", "he said hello", "ushers", "12-34", "xyzzy", "aa",
+            "line1\nline2", "Hello World"};
+
+    private static boolean findSeparately(List<Pattern> patterns, String input) {
+        boolean found = false;
+        for (Pattern pattern : patterns) {
+            found |= pattern.matcher(input).find();
+        }
+        return found;
+    }
+
+    private static void assertSameAsSeparate(List<Pattern> patterns) {
+        MultiPatternMatcher matcher = new MultiPatternMatcher(patterns);
+        for (String input : INPUTS) {
+            assertEquals(patterns + " on '" + input + "'", findSeparately(patterns, input), matcher.find(input));
+        }
+    }
+
+    @Test
+    public void testNoPattern() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher(Collections.<Pattern>emptyList());
+        assertFalse(matcher.find("abc"));
+        assertFalse(matcher.find(""));
+    }
+
+    @Test
+    public void testLiterals() {
+        assertSameAsSeparate(Arrays.asList(Pattern.compile("he"), Pattern.compile("she"), Pattern.compile("his"),
+                Pattern.compile("hers")));
+        assertSameAsSeparate(Arrays.asList(Pattern.compile("zz"), Pattern.compile("a.b", Pattern.LITERAL)));
+        assertSameAsSeparate(Collections.singletonList(Pattern.compile("")));
+    }
+
+    @Test
+    public void testRegularExpressions() {
+        assertSameAsSeparate(Arrays.asList(Pattern.compile("^a"), Pattern.compile("\\d+-\\d+$"), Pattern.compile(
+                "^(ONE|TWO)$")));
+        assertSameAsSeparate(Arrays.asList(Pattern.compile("^abc$", Pattern.CASE_INSENSITIVE), Pattern.compile(
+                "^line2$", Pattern.MULTILINE), Pattern.compile("(?i)world")));
+    }
+
+    @Test
+    public void testNotCombinable() {
+        assertSameAsSeparate(Arrays.asList(Pattern.compile("(a)\\1"), Pattern.compile("(?<x>z)\\k<x>"), Pattern
+                .compile("\\Qa.b"), Pattern.compile("x y z", Pattern.COMMENTS), Pattern.compile("^a$")));
+    }
+
+    @Test
+    public void testRandomLiterals() {
+        Random random = new Random(42);
+        for (int run = 0; run < 200; run++) {
+            List<Pattern> patterns = new ArrayList<Pattern>();
+            int patternCount = 1 + random.nextInt(20);
+            for (int i = 0; i < patternCount; i++) {
+                patterns.add(Pattern.compile(randomString(random, 1 + random.nextInt(4))));
+            }
+            MultiPatternMatcher matcher = new MultiPatternMatcher(patterns);
+            for (int i = 0; i < 20; i++) {
+                String input = randomString(random, random.nextInt(12));
+                assertEquals(findSeparately(patterns, input), matcher.find(input));
+            }
+        }
+    }
+
+    @Test
+    public void testMatchersReusedAcrossInputs() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher(Arrays.asList(Pattern.compile("^a+$"), Pattern.compile(
+                "(b)\\1")));
+        assertTrue(matcher.find("aaa"));
+        assertTrue(matcher.find("abb"));
+        assertFalse(matcher.find("ab"));
+        assertTrue(matcher.find("a"));
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + random.nextInt(3)));
+        }
+        return builder.toString();
+    }
+}
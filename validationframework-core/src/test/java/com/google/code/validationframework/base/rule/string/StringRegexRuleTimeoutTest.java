@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.rule.string;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see StringRegexRule#setTimeout(long)
+ */
+public class StringRegexRuleTimeoutTest {
+
+    /**
+     * Input causing catastrophic backtracking with {@link #CATASTROPHIC_PATTERN}.
+     */
+    private static final String CATASTROPHIC_INPUT = "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa";
+
+    /**
+     * Pattern causing catastrophic backtracking.
+     */
+    private static final String CATASTROPHIC_PATTERN = "(.*a){12}b";
+
+    @Test
+    public void testTimeout() {
+        StringRegexRule rule = new StringRegexRule(CATASTROPHIC_PATTERN);
+        rule.setTimeout(50);
+
+        long start = System.currentTimeMillis();
+        assertFalse(rule.validate(CATASTROPHIC_INPUT));
+        assertTrue(System.currentTimeMillis() - start < 5000);
+        assertEquals(1, rule.getTimeoutCount());
+
+        rule.setTimeoutResult(null);
+        assertNull(rule.validate(CATASTROPHIC_INPUT));
+        assertEquals(2, rule.getTimeoutCount());
+
+        // Fast evaluations are not affected
+        assertTrue(rule.validate("aaaaaaaaaaaab"));
+        assertEquals(2, rule.getTimeoutCount());
+
+        rule.resetTimeoutCount();
+        assertEquals(0, rule.getTimeoutCount());
+    }
+
+    @Test
+    public void testInterrupt() {
+        StringRegexRule rule = new StringRegexRule(CATASTROPHIC_PATTERN);
+        rule.setTimeout(60000);
+
+        Thread.currentThread().interrupt();
+        try {
+            assertFalse(rule.validate(CATASTROPHIC_INPUT));
+            assertEquals(1, rule.getTimeoutCount());
+        } finally {
+            // Clear the interrupt flag
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.trigger;
+
+import com.google.code.validationframework.api.trigger.TriggerEvent;
+import com.google.code.validationframework.api.trigger.TriggerListener;
+import com.google.code.validationframework.base.common.Clock;
+import com.google.code.validationframework.base.common.RateLimitingStrategy;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @see RateLimitedTrigger
+ */
+public class RateLimitedTriggerTest {
+
+    private static class ManualClock implements Clock {
+
+        private class ManualTask implements ScheduledTask {
+
+            private final Runnable task;
+
+            private final long time;
+
+            public ManualTask(Runnable task, long time) {
+                this.task = task;
+                this.time = time;
+            }
+
+            @Override
+            public void cancel() {
+                tasks.remove(this);
+            }
+        }
+
+        private final List<ManualTask> tasks = new ArrayList<ManualTask>();
+
+        private long now = 0;
+
+        @Override
+        public long currentTimeMillis() {
+            return now;
+        }
+
+        @Override
+        public ScheduledTask schedule(Runnable task, long delayMillis) {
+            ManualTask scheduledTask = new ManualTask(task, now + delayMillis);
+            tasks.add(scheduledTask);
+            return scheduledTask;
+        }
+
+        public void advance(long millis) {
+            long target = now + millis;
+            ManualTask next = getNextTask(target);
+            while (next != null) {
+                tasks.remove(next);
+                now = next.time;
+                next.task.run();
+                next = getNextTask(target);
+            }
+            now = target;
+        }
+
+        private ManualTask getNextTask(long target) {
+            ManualTask next = null;
+            for (ManualTask task : tasks) {
+                if ((task.time <= target) && ((next == null) || (task.time < next.time))) {
+                    next = task;
+                }
+            }
+            return next;
+        }
+    }
+
+    private static class CountingTriggerListener implements TriggerListener {
+
+        private int count = 0;
+
+        @Override
+        public void triggerValidation(TriggerEvent event) {
+            count++;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+    @Test
+    public void testDebounce() {
+        ManualClock clock = new ManualClock();
+        ManualTrigger wrappedTrigger = new ManualTrigger();
+        RateLimitedTrigger trigger = new RateLimitedTrigger(wrappedTrigger, RateLimitingStrategy.DEBOUNCE, 100, clock);
+        CountingTriggerListener listener = new CountingTriggerListener();
+        trigger.addTriggerListener(listener);
+
+        for (int i = 0; i < 5; i++) {
+            wrappedTrigger.trigger();
+            clock.advance(50);
+        }
+        assertEquals(0, listener.getCount());
+        clock.advance(50);
+        assertEquals(1, listener.getCount());
+        clock.advance(1000);
+        assertEquals(1, listener.getCount());
+
+        assertEquals(5, trigger.getRateLimiter().getReceivedEventCount());
+        assertEquals(1, trigger.getRateLimiter().getEmittedEventCount());
+        assertEquals(4, trigger.getRateLimiter().getCoalescedEventCount());
+    }
+
+    @Test
+    public void testThrottle() {
+        ManualClock clock = new ManualClock();
+        ManualTrigger wrappedTrigger = new ManualTrigger();
+        RateLimitedTrigger trigger = new RateLimitedTrigger(wrappedTrigger, RateLimitingStrategy.THROTTLE, 100, clock);
+        CountingTriggerListener listener = new CountingTriggerListener();
+        trigger.addTriggerListener(listener);
+
+        // Leading edge
+        wrappedTrigger.trigger();
+        assertEquals(1, listener.getCount());
+
+        // Trailing edge
+        wrappedTrigger.trigger();
+        clock.advance(30);
+        wrappedTrigger.trigger();
+        assertEquals(1, listener.getCount());
+        clock.advance(70);
+        assertEquals(2, listener.getCount());
+
+        // Leading edge again after a quiet period
+        clock.advance(200);
+        wrappedTrigger.trigger();
+        assertEquals(3, listener.getCount());
+
+        assertEquals(4, trigger.getRateLimiter().getReceivedEventCount());
+        assertEquals(3, trigger.getRateLimiter().getEmittedEventCount());
+        assertEquals(1, trigger.getRateLimiter().getCoalescedEventCount());
+    }
+
+    @Test
+    public void testSample() {
+        ManualClock clock = new ManualClock();
+        ManualTrigger wrappedTrigger = new ManualTrigger();
+        RateLimitedTrigger trigger = new RateLimitedTrigger(wrappedTrigger, RateLimitingStrategy.SAMPLE, 100, clock);
+        CountingTriggerListener listener = new CountingTriggerListener();
+        trigger.addTriggerListener(listener);
+
+        for (int i = 0; i < 10; i++) {
+            wrappedTrigger.trigger();
+            clock.advance(25);
+        }
+        clock.advance(1000);
+
+        assertEquals(3, listener.getCount());
+        assertEquals(10, trigger.getRateLimiter().getReceivedEventCount());
+        assertEquals(3, trigger.getRateLimiter().getEmittedEventCount());
+        assertEquals(7, trigger.getRateLimiter().getCoalescedEventCount());
+    }
+
+    @Test
+    public void testDispose() {
+        ManualClock clock = new ManualClock();
+        ManualTrigger wrappedTrigger = new ManualTrigger();
+        RateLimitedTrigger trigger = new RateLimitedTrigger(wrappedTrigger, RateLimitingStrategy.DEBOUNCE, 100, clock);
+        CountingTriggerListener listener = new CountingTriggerListener();
+        trigger.addTriggerListener(listener);
+
+        wrappedTrigger.trigger();
+        trigger.dispose();
+        clock.advance(1000);
+        wrappedTrigger.trigger();
+        clock.advance(1000);
+
+        assertEquals(0, listener.getCount());
+    }
+}
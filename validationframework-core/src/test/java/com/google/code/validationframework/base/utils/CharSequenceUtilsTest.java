@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.utils;
+
+import com.google.code.validationframework.base.rule.string.StringLengthLessThanOrEqualToRule;
+import com.google.code.validationframework.base.rule.string.StringNotEmptyRule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see CharSequenceUtils
+ */
+public class CharSequenceUtilsTest {
+
+    @Test
+    public void testTrim() {
+        assertNull(CharSequenceUtils.trim(null));
+        assertEquals("abc", CharSequenceUtils.trim(" abc\t"));
+
+        StringBuilder builder = new StringBuilder("abc");
+        assertSame(builder, CharSequenceUtils.trim(builder));
+
+        builder.insert(0, "  ").append("\n ");
+        assertEquals("abc", CharSequenceUtils.trim(builder).toString());
+        assertEquals(0, CharSequenceUtils.trim(new StringBuilder("   ")).length());
+    }
+
+    @Test
+    public void testStringRulesOnCharSequences() {
+        StringNotEmptyRule notEmptyRule = new StringNotEmptyRule();
+        assertFalse(notEmptyRule.asCharSequenceRule().validate(new StringBuilder("  ")));
+        assertTrue(notEmptyRule.asCharSequenceRule().validate(new StringBuilder(" a ")));
+
+        StringLengthLessThanOrEqualToRule lengthRule = new StringLengthLessThanOrEqualToRule(3);
+        assertTrue(lengthRule.validate((CharSequence) new StringBuilder("  abc  ")));
+        lengthRule.setTrimDataBeforeValidation(false);
+        assertFalse(lengthRule.validate((CharSequence) new StringBuilder("  abc  ")));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.utils;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see CharacterSet
+ */
+public class CharacterSetTest {
+
+    @Test
+    public void testEmpty() {
+        CharacterSet set = new CharacterSet("");
+
+        assertEquals(0, set.size());
+        assertFalse(set.contains('a'));
+        assertFalse(set.contains(0x1F600));
+        assertEquals(-1, set.indexOf("abc", 0, 3, true));
+        assertEquals(0, set.indexOf("abc", 0, 3, false));
+    }
+
+    @Test
+    public void testBasicMultilingualPlane() {
+        CharacterSet set = new CharacterSet("aza\u00E9\uFFFF");
+
+        assertEquals(4, set.size());
+        assertTrue(set.contains('a'));
+        assertTrue(set.contains('z'));
+        assertTrue(set.contains('\u00E9'));
+        assertTrue(set.contains('\uFFFF'));
+        assertFalse(set.contains('b'));
+        assertFalse(set.contains(-1));
+        assertFalse(set.contains(0x10000));
+
+        assertEquals(2, set.indexOf("bca", 0, 3, true));
+        assertEquals(-1, set.indexOf("bca", 0, 2, true));
+        assertEquals(2, set.indexOf("azb", 0, 3, false));
+    }
+
+    @Test
+    public void testSupplementaryCodePoints() {
+        CharacterSet set = new CharacterSet("\uD83D\uDE00\uD83D\uDE01\uD83D\uDE03x");
+
+        assertEquals(4, set.size());
+        assertTrue(set.contains(0x1F600));
+        assertTrue(set.contains(0x1F601));
+        assertFalse(set.contains(0x1F602));
+        assertTrue(set.contains(0x1F603));
+        assertFalse(set.contains(0xD83D));
+
+        assertEquals(1, set.indexOf("a\uD83D\uDE03", 0, 3, true));
+        assertEquals(-1, set.indexOf("a\uD83D\uDE02", 0, 3, true));
+        assertEquals(1, set.indexOf("x\uD83D\uDE02", 0, 3, false));
+
+        // Unpaired surrogates are regular characters
+        assertEquals(-1, set.indexOf("a\uD83D", 0, 2, true));
+        assertEquals(-1, set.indexOf("a\uD83D\uDE00", 0, 2, true));
+    }
+
+    @Test
+    public void testAgainstString() {
+        Random random = new Random(42);
+        StringBuilder characters = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            characters.append((char) random.nextInt(0x3000));
+        }
+        CharacterSet set = new CharacterSet(characters);
+
+        for (int i = 0; i < 10000; i++) {
+            char c = (char) random.nextInt(0x3000);
+            assertEquals(characters.indexOf(String.valueOf(c)) >= 0, set.contains(c));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.utils;
+
+import com.google.code.validationframework.api.transform.Transformer;
+import com.google.code.validationframework.base.transform.CastTransformer;
+import com.google.code.validationframework.base.transform.NegateBooleanTransformer;
+import com.google.code.validationframework.base.transform.ToStringTransformer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see TransformerUtils
+ */
+public class TransformerUtilsTest {
+
+    @Test
+    public void testIsIdentity() {
+        assertTrue(TransformerUtils.isIdentity(null));
+        assertTrue(TransformerUtils.isIdentity(new CastTransformer<Object, String>()));
+        assertFalse(TransformerUtils.isIdentity(new NegateBooleanTransformer()));
+
+        // Sub-classes may do more than casting
+        assertFalse(TransformerUtils.isIdentity(new CastTransformer<Object, String>() {
+            @Override
+            public String transform(Object input) {
+                return "";
+            }
+        }));
+    }
+
+    @Test
+    public void testToChain() {
+        Transformer negate = new NegateBooleanTransformer();
+        Transformer toString = new ToStringTransformer<Object>();
+        List<Transformer> first = new ArrayList<Transformer>(Arrays.asList(new CastTransformer(), negate, null));
+        List<Transformer> second = new ArrayList<Transformer>(Arrays.asList(toString, new CastTransformer()));
+
+        Transformer[] chain = TransformerUtils.toChain(first, second);
+        assertEquals(2, chain.length);
+        assertSame(negate, chain[0]);
+        assertSame(toString, chain[1]);
+        assertEquals("false", TransformerUtils.transform(chain, true));
+
+        assertEquals(0, TransformerUtils.toChain(null, null).length);
+    }
+
+    @Test
+    public void testAppend() {
+        Transformer[] chain = TransformerUtils.toChain(null, null);
+        assertSame(chain, TransformerUtils.append(chain, new CastTransformer<Object, Object>()));
+
+        Transformer[] newChain = TransformerUtils.append(chain, new NegateBooleanTransformer());
+        assertEquals(0, chain.length);
+        assertEquals(1, newChain.length);
+    }
+
+    @Test
+    public void testTransform() {
+        Transformer negate = new NegateBooleanTransformer();
+        assertEquals(true, TransformerUtils.transform(new Transformer[0], true));
+        assertEquals(false, TransformerUtils.transform(new Transformer[]{negate}, true));
+        assertEquals(true, TransformerUtils.transform(new Transformer[]{negate, negate}, true));
+        assertEquals(false, TransformerUtils.transform(new Transformer[]{negate, negate, negate}, true));
+    }
+}
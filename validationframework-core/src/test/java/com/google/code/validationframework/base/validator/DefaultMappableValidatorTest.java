@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.validator;
+
+import com.google.code.validationframework.api.dataprovider.DataProvider;
+import com.google.code.validationframework.api.resulthandler.ResultHandler;
+import com.google.code.validationframework.api.rule.Rule;
+import com.google.code.validationframework.base.rule.object.NotNullBooleanRule;
+import com.google.code.validationframework.base.trigger.ManualTrigger;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see DefaultMappableValidator
+ * @see AbstractMappableValidator
+ */
+public class DefaultMappableValidatorTest {
+
+    /**
+     * Data provider always returning the same data.
+     */
+    private static class ConstantDataProvider implements DataProvider<Object> {
+
+        private final Object data;
+
+        public ConstantDataProvider(Object data) {
+            this.data = data;
+        }
+
+        @Override
+        public Object getData() {
+            return data;
+        }
+    }
+
+    /**
+     * Data provider equal to any other such data provider returning equal data.
+     */
+    private static class EqualDataProvider extends ConstantDataProvider {
+
+        public EqualDataProvider(Object data) {
+            super(data);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return (obj instanceof EqualDataProvider) && getData().equals(((EqualDataProvider) obj).getData());
+        }
+
+        @Override
+        public int hashCode() {
+            return getData().hashCode();
+        }
+    }
+
+    /**
+     * Result handler recording all the results.
+     */
+    private static class RecordingResultHandler implements ResultHandler<Boolean> {
+
+        private final List<Boolean> results = new ArrayList<Boolean>();
+
+        @Override
+        public void handleResult(Boolean result) {
+            results.add(result);
+        }
+    }
+
+    @Test
+    public void testDuplicateMappings() {
+        ManualTrigger trigger = new ManualTrigger();
+        DataProvider<Object> dataProvider = new ConstantDataProvider("data");
+        Rule<Object, Boolean> rule = new NotNullBooleanRule<Object>();
+        RecordingResultHandler resultHandler = new RecordingResultHandler();
+
+        DefaultMappableValidator<Object, Boolean> validator = new DefaultMappableValidator<Object, Boolean>();
+        for (int i = 0; i < 2; i++) {
+            validator.mapTriggerToDataProvider(trigger, dataProvider);
+            validator.mapDataProviderToRule(dataProvider, rule);
+            validator.mapRuleToResultHandler(rule, resultHandler);
+        }
+
+        trigger.trigger();
+        assertEquals(1, resultHandler.results.size());
+    }
+
+    @Test
+    public void testEqualButDistinctMappings() {
+        ManualTrigger trigger = new ManualTrigger();
+        DataProvider<Object> dataProvider1 = new EqualDataProvider("data");
+        DataProvider<Object> dataProvider2 = new EqualDataProvider("data");
+
+        DefaultMappableValidator<Object, Boolean> validator = new DefaultMappableValidator<Object, Boolean>();
+        validator.mapTriggerToDataProvider(trigger, dataProvider1);
+        validator.mapTriggerToDataProvider(trigger, dataProvider2);
+        assertEquals(1, validator.triggersToDataProviders.get(trigger).size());
+
+        // Unmapping an equal data provider should leave no stale mapping behind
+        validator.mapTriggerToDataProvider(null, dataProvider2);
+        assertTrue(validator.triggersToDataProviders.isEmpty());
+        assertTrue(validator.triggersToTriggerAdapters.isEmpty());
+
+        validator.mapTriggerToDataProvider(trigger, dataProvider1);
+        validator.mapTriggerToDataProvider(trigger, null);
+        validator.mapTriggerToDataProvider(trigger, dataProvider2);
+        assertEquals(1, validator.triggersToDataProviders.get(trigger).size());
+        validator.mapTriggerToDataProvider(null, dataProvider1);
+        assertTrue(validator.triggersToDataProviders.isEmpty());
+    }
+
+    @Test
+    public void testUnmapFromAll() {
+        ManualTrigger trigger = new ManualTrigger();
+        DataProvider<Object> dataProvider1 = new ConstantDataProvider("data1");
+        DataProvider<Object> dataProvider2 = new ConstantDataProvider("data2");
+        Rule<Object, Boolean> rule1 = new NotNullBooleanRule<Object>();
+        Rule<Object, Boolean> rule2 = new NotNullBooleanRule<Object>();
+        RecordingResultHandler resultHandler = new RecordingResultHandler();
+
+        DefaultMappableValidator<Object, Boolean> validator = new DefaultMappableValidator<Object, Boolean>();
+        validator.mapTriggerToDataProvider(trigger, dataProvider1);
+        validator.mapTriggerToDataProvider(trigger, dataProvider2);
+        validator.mapDataProviderToRule(dataProvider1, rule1);
+        validator.mapDataProviderToRule(dataProvider1, rule2);
+        validator.mapDataProviderToRule(dataProvider2, rule1);
+        validator.mapRuleToResultHandler(rule1, resultHandler);
+        validator.mapRuleToResultHandler(rule2, resultHandler);
+
+        trigger.trigger();
+        assertEquals(3, resultHandler.results.size());
+
+        // Unmap rule from all data providers
+        validator.mapDataProviderToRule(null, rule1);
+        resultHandler.results.clear();
+        trigger.trigger();
+        assertEquals(1, resultHandler.results.size());
+        assertNull(validator.dataProvidersToRules.get(dataProvider2));
+
+        // Unmap result handler from all rules
+        validator.mapRuleToResultHandler(null, resultHandler);
+        assertTrue(validator.rulesToResultHandlers.isEmpty());
+
+        // Re-mapping should work after unmapping
+        validator.mapDataProviderToRule(dataProvider2, rule1);
+        validator.mapRuleToResultHandler(rule1, resultHandler);
+        resultHandler.results.clear();
+        trigger.trigger();
+        assertEquals(1, resultHandler.results.size());
+    }
+
+    @Test
+    public void testTriggerUnhooking() {
+        ManualTrigger trigger = new ManualTrigger();
+        DataProvider<Object> dataProvider = new ConstantDataProvider("data");
+
+        DefaultMappableValidator<Object, Boolean> validator = new DefaultMappableValidator<Object, Boolean>();
+        validator.mapTriggerToDataProvider(trigger, dataProvider);
+        assertEquals(1, validator.triggersToTriggerAdapters.size());
+
+        // Trigger is no longer mapped to any data provider
+        validator.mapTriggerToDataProvider(null, dataProvider);
+        assertTrue(validator.triggersToTriggerAdapters.isEmpty());
+        assertTrue(validator.triggersToDataProviders.isEmpty());
+
+        validator.mapTriggerToDataProvider(trigger, dataProvider);
+        validator.mapTriggerToDataProvider(trigger, null);
+        assertTrue(validator.triggersToTriggerAdapters.isEmpty());
+        assertTrue(validator.triggersToDataProviders.isEmpty());
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.validator.bulk;
+
+import com.google.code.validationframework.api.rule.Rule;
+import com.google.code.validationframework.api.transform.Transformer;
+import com.google.code.validationframework.base.rule.string.StringLengthLessThanRule;
+import com.google.code.validationframework.base.rule.string.StringNotEmptyRule;
+import com.google.code.validationframework.base.transform.AndBooleanAggregator;
+import com.google.code.validationframework.base.transform.ToStringTransformer;
+import com.google.code.validationframework.base.validator.generalvalidator.GeneralValidator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @see BulkValidator
+ */
+public class BulkValidatorTest {
+
+    private static List<Rule<String, Boolean>> createRules() {
+        List<Rule<String, Boolean>> rules = new ArrayList<Rule<String, Boolean>>();
+        rules.add(new StringNotEmptyRule());
+        rules.add(new StringLengthLessThanRule(4));
+        return rules;
+    }
+
+    private static BulkValidator<Object, String, Boolean, Boolean> createValidator() {
+        return new BulkValidator<Object, String, Boolean, Boolean>(Collections.<Transformer>singletonList(new
+                ToStringTransformer()), createRules(), null, Collections.<Transformer>singletonList(new
+                AndBooleanAggregator()));
+    }
+
+    @Test
+    public void testSequential() {
+        BulkValidator<Object, String, Boolean, Boolean> validator = createValidator();
+        BulkResult<Boolean> result = validator.validateAll(Arrays.<Object>asList("", 1, 12345, "abc"));
+
+        assertEquals(Arrays.asList(false, true, false, true), result);
+        assertEquals(2, result.count(false));
+        BitSet expectedInvalid = new BitSet();
+        expectedInvalid.set(0);
+        expectedInvalid.set(2);
+        assertEquals(expectedInvalid, result.getIndexesOf(false));
+    }
+
+    @Test
+    public void testParallel() {
+        List<Object> records = new ArrayList<Object>();
+        List<Boolean> expected = new ArrayList<Boolean>();
+        for (int i = 0; i < 10000; i++) {
+            records.add(i);
+            expected.add(i < 1000);
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            BulkResult<Boolean> result = createValidator().validateAll(records, executorService, 100);
+            assertEquals(expected, result);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWithoutResultTransformers() {
+        BulkValidator<Object, String, Boolean, List<Boolean>> validator = new BulkValidator<Object, String, Boolean,
+                List<Boolean>>(Collections.<Transformer>singletonList(new ToStringTransformer()), createRules(),
+                null, null);
+        assertEquals(Arrays.asList(true, false), validator.validate("abcd"));
+        assertEquals(Arrays.asList(false, true), validator.validate(""));
+    }
+
+    @Test
+    public void testFromDefinition() {
+        GeneralValidator<Object, String, Boolean, Boolean> definition = new GeneralValidator<Object, String, Boolean,
+                Boolean>();
+        definition.setDataProviderOutputTransformers(new ToStringTransformer());
+        for (Rule<String, Boolean> rule : createRules()) {
+            definition.addRule(rule);
+        }
+        definition.setRuleToResultHandlerMappingStrategy(GeneralValidator.MappingStrategy.JOIN);
+        definition.setResultHandlerInputTransformers(new AndBooleanAggregator());
+
+        BulkValidator<Object, String, Boolean, Boolean> validator = new BulkValidator<Object, String, Boolean,
+                Boolean>(definition);
+        assertEquals(Arrays.asList(false, true, false), validator.validateAll(Arrays.<Object>asList("", 123, 1234)));
+    }
+}
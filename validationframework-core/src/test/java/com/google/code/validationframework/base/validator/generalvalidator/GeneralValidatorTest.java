@@ -0,0 +1,433 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.base.validator.generalvalidator;
+
+import com.google.code.validationframework.api.dataprovider.DataProvider;
+import com.google.code.validationframework.api.resulthandler.ResultHandler;
+import com.google.code.validationframework.api.rule.Rule;
+import com.google.code.validationframework.api.transform.Transformer;
+import com.google.code.validationframework.base.dataprovider.PropertyValueProvider;
+import com.google.code.validationframework.base.property.simple.SimpleIntegerProperty;
+import com.google.code.validationframework.base.resulthandler.ResultCollector;
+import com.google.code.validationframework.base.transform.AndBooleanAggregator;
+import com.google.code.validationframework.base.transform.ToStringTransformer;
+import com.google.code.validationframework.base.trigger.PropertyValueChangeTrigger;
+import com.google.code.validationframework.base.validator.RuleInputMemoizer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @see GeneralValidator
+ */
+public class GeneralValidatorTest {
+
+    private static class ConstantDataProvider implements DataProvider<Integer> {
+
+        private final Integer data;
+
+        public ConstantDataProvider(Integer data) {
+            this.data = data;
+        }
+
+        @Override
+        public Integer getData() {
+            return data;
+        }
+    }
+
+    private static class RecordingResultHandler implements ResultHandler<Object> {
+
+        private final List<Object> results = new ArrayList<Object>();
+
+        @Override
+        public void handleResult(Object result) {
+            // Copy collections because they may be reused by compiled validators
+            if (result instanceof List) {
+                results.add(new ArrayList<Object>((List<?>) result));
+            } else {
+                results.add(result);
+            }
+        }
+
+        public List<Object> getResults() {
+            return results;
+        }
+    }
+
+    private static class CountingPropertyValueProvider extends PropertyValueProvider<Integer> {
+
+        private int readCount = 0;
+
+        public CountingPropertyValueProvider(SimpleIntegerProperty property) {
+            super(property);
+        }
+
+        @Override
+        public Integer getData() {
+            readCount++;
+            return super.getData();
+        }
+
+        public int getReadCount() {
+            return readCount;
+        }
+    }
+
+    private static class QueuedExecutor implements Executor {
+
+        private final List<Runnable> tasks = new ArrayList<Runnable>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        public void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+    }
+
+    private static class PrefixRule implements Rule<Object, Object> {
+
+        private final String prefix;
+
+        public PrefixRule(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Object validate(Object data) {
+            return prefix + data;
+        }
+    }
+
+    private static class IncrementTransformer implements Transformer<Object, Object> {
+
+        @Override
+        public Object transform(Object input) {
+            return (Integer) input + 1;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static GeneralValidator<Object, Object, Object, Object> createValidator(GeneralValidator.MappingStrategy
+                                                                                            dataProviderToRule,
+                                                                                    GeneralValidator.MappingStrategy
+                                                                                            ruleToResultHandler,
+                                                                                    ResultHandler<Object>
+                                                                                            resultHandler) {
+        GeneralValidator validator = new GeneralValidator();
+        validator.addDataProvider(new ConstantDataProvider(1));
+        validator.addDataProvider(new ConstantDataProvider(2));
+        validator.setDataProviderOutputTransformers(new IncrementTransformer());
+        validator.setDataProviderToRuleMappingStrategy(dataProviderToRule);
+        validator.setRuleInputTransformers(new ToStringTransformer<Object>());
+        validator.addRule(new PrefixRule("a"));
+        validator.addRule(new PrefixRule("b"));
+        validator.setRuleOutputTransformers(new ToStringTransformer<Object>());
+        validator.setRuleToResultHandlerMappingStrategy(ruleToResultHandler);
+        validator.setResultHandlerInputTransformers(new ToStringTransformer<Object>());
+        validator.addResultHandler(resultHandler);
+        return validator;
+    }
+
+    private static void assertSameResults(GeneralValidator.MappingStrategy dataProviderToRule,
+                                          GeneralValidator.MappingStrategy ruleToResultHandler) {
+        RecordingResultHandler expected = new RecordingResultHandler();
+        createValidator(dataProviderToRule, ruleToResultHandler, expected).trigger();
+
+        RecordingResultHandler actual = new RecordingResultHandler();
+        GeneralValidator<Object, Object, Object, Object> validator = createValidator(dataProviderToRule,
+                ruleToResultHandler, actual);
+        validator.compile();
+        assertTrue(validator.isCompiled());
+        validator.trigger();
+        validator.trigger();
+
+        assertFalse(expected.getResults().isEmpty());
+        List<Object> expectedTwice = new ArrayList<Object>(expected.getResults());
+        expectedTwice.addAll(expected.getResults());
+        assertEquals(expectedTwice, actual.getResults());
+    }
+
+    @Test
+    public void testCompiledSplitSplit() {
+        assertSameResults(GeneralValidator.MappingStrategy.SPLIT, GeneralValidator.MappingStrategy.SPLIT);
+    }
+
+    @Test
+    public void testCompiledSplitJoin() {
+        assertSameResults(GeneralValidator.MappingStrategy.SPLIT, GeneralValidator.MappingStrategy.JOIN);
+    }
+
+    @Test
+    public void testCompiledJoinSplit() {
+        assertSameResults(GeneralValidator.MappingStrategy.JOIN, GeneralValidator.MappingStrategy.SPLIT);
+    }
+
+    @Test
+    public void testCompiledJoinJoin() {
+        assertSameResults(GeneralValidator.MappingStrategy.JOIN, GeneralValidator.MappingStrategy.JOIN);
+    }
+
+    @Test
+    public void testCompiledIsFrozen() {
+        RecordingResultHandler resultHandler = new RecordingResultHandler();
+        GeneralValidator<Object, Object, Object, Object> validator = createValidator(GeneralValidator
+                .MappingStrategy.SPLIT, GeneralValidator.MappingStrategy.SPLIT, resultHandler);
+        validator.compile();
+
+        try {
+            validator.addRule(new PrefixRule("c"));
+            fail();
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+        try {
+            validator.setRuleInputTransformers((Transformer[]) null);
+            fail();
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+        assertEquals(2, validator.getRules().size());
+        assertEquals(1, validator.getRuleInputTransformers().length);
+
+        // A result collector should be rejected as a whole
+        int triggerCount = validator.getTriggers().size();
+        try {
+            validator.addResultCollector(new ResultCollector<Object, Object>());
+            fail();
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+        assertEquals(triggerCount, validator.getTriggers().size());
+
+        validator.trigger();
+        assertEquals(4, resultHandler.getResults().size());
+    }
+
+    private static void assertMemoized(boolean compiled, GeneralValidator.MappingStrategy dataProviderToRule) {
+        SimpleIntegerProperty property = new SimpleIntegerProperty(1);
+        RecordingResultHandler resultHandler = new RecordingResultHandler();
+
+        GeneralValidator<Integer, Object, Object, Object> validator = new GeneralValidator<Integer, Object, Object,
+                Object>();
+        validator.addDataProvider(new PropertyValueProvider<Integer>(property));
+        validator.setDataProviderToRuleMappingStrategy(dataProviderToRule);
+        validator.addRule(new PrefixRule("a"));
+        validator.addResultHandler(resultHandler);
+        RuleInputMemoizer<Object> memoizer = new RuleInputMemoizer<Object>();
+        validator.setRuleInputMemoizer(memoizer);
+        if (compiled) {
+            validator.compile();
+        }
+
+        validator.trigger();
+        validator.trigger();
+        assertEquals(1, resultHandler.getResults().size());
+
+        property.setValue(2);
+        validator.trigger();
+        validator.trigger();
+        assertEquals(2, resultHandler.getResults().size());
+
+        assertEquals(2, memoizer.getHitCount());
+        assertEquals(2, memoizer.getMissCount());
+    }
+
+    @Test
+    public void testMemoizedSplit() {
+        assertMemoized(false, GeneralValidator.MappingStrategy.SPLIT);
+        assertMemoized(true, GeneralValidator.MappingStrategy.SPLIT);
+    }
+
+    @Test
+    public void testMemoizedJoin() {
+        assertMemoized(false, GeneralValidator.MappingStrategy.JOIN);
+        assertMemoized(true, GeneralValidator.MappingStrategy.JOIN);
+    }
+
+    private static void assertTriggerAffinity(boolean compiled, GeneralValidator.MappingStrategy
+            dataProviderToRule, List<Object> expectedResults) {
+        SimpleIntegerProperty property1 = new SimpleIntegerProperty(1);
+        SimpleIntegerProperty property2 = new SimpleIntegerProperty(2);
+        RecordingResultHandler resultHandler = new RecordingResultHandler();
+
+        GeneralValidator<Integer, Object, Object, Object> validator = new GeneralValidator<Integer, Object, Object,
+                Object>();
+        validator.addTrigger(new PropertyValueChangeTrigger(property1));
+        validator.addTrigger(new PropertyValueChangeTrigger(property2));
+        CountingPropertyValueProvider dataProvider1 = new CountingPropertyValueProvider(property1);
+        CountingPropertyValueProvider dataProvider2 = new CountingPropertyValueProvider(property2);
+        validator.addDataProvider(dataProvider1);
+        validator.addDataProvider(dataProvider2);
+        validator.setDataProviderToRuleMappingStrategy(dataProviderToRule);
+        validator.addRule(new PrefixRule("a"));
+        validator.addResultHandler(resultHandler);
+        validator.setTriggerAffinityEnabled(true);
+        if (compiled) {
+            validator.compile();
+        }
+
+        validator.trigger();
+        property2.setValue(3);
+        property1.setValue(4);
+        assertEquals(expectedResults, resultHandler.getResults());
+        assertEquals(2, dataProvider1.getReadCount());
+        assertEquals(2, dataProvider2.getReadCount());
+    }
+
+    @Test
+    public void testTriggerAffinitySplit() {
+        List<Object> expected = Arrays.<Object>asList("a1", "a2", "a3", "a4");
+        assertTriggerAffinity(false, GeneralValidator.MappingStrategy.SPLIT, expected);
+        assertTriggerAffinity(true, GeneralValidator.MappingStrategy.SPLIT, expected);
+    }
+
+    @Test
+    public void testTriggerAffinityJoin() {
+        List<Object> expected = Arrays.<Object>asList("a[1, 2]", "a[1, 3]", "a[4, 3]");
+        assertTriggerAffinity(false, GeneralValidator.MappingStrategy.JOIN, expected);
+        assertTriggerAffinity(true, GeneralValidator.MappingStrategy.JOIN, expected);
+    }
+
+    @Test
+    public void testTriggerAffinityReEnabled() {
+        SimpleIntegerProperty property1 = new SimpleIntegerProperty(1);
+        SimpleIntegerProperty property2 = new SimpleIntegerProperty(2);
+        RecordingResultHandler resultHandler = new RecordingResultHandler();
+
+        GeneralValidator<Integer, Object, Object, Object> validator = new GeneralValidator<Integer, Object, Object,
+                Object>();
+        validator.addTrigger(new PropertyValueChangeTrigger(property1));
+        validator.addTrigger(new PropertyValueChangeTrigger(property2));
+        validator.addDataProvider(new PropertyValueProvider<Integer>(property1));
+        validator.addDataProvider(new PropertyValueProvider<Integer>(property2));
+        validator.setDataProviderToRuleMappingStrategy(GeneralValidator.MappingStrategy.JOIN);
+        validator.addRule(new PrefixRule("a"));
+        validator.addResultHandler(resultHandler);
+        validator.setTriggerAffinityEnabled(true);
+
+        validator.trigger();
+        validator.setTriggerAffinityEnabled(false);
+        property2.setValue(3);
+        validator.setTriggerAffinityEnabled(true);
+
+        // The output of the second data provider captured before disabling trigger affinity must not be re-used
+        property1.setValue(4);
+        assertEquals(Arrays.<Object>asList("a[1, 2]", "a[1, 3]", "a[4, 3]"), resultHandler.getResults());
+    }
+
+    @Test
+    public void testAsynchronousDiscardsStaleResults() {
+        SimpleIntegerProperty property = new SimpleIntegerProperty(1);
+        RecordingResultHandler resultHandler = new RecordingResultHandler();
+        QueuedExecutor ruleExecutor = new QueuedExecutor();
+        QueuedExecutor resultHandlerExecutor = new QueuedExecutor();
+
+        GeneralValidator<Integer, Object, Object, Object> validator = new GeneralValidator<Integer, Object, Object,
+                Object>();
+        validator.addDataProvider(new PropertyValueProvider<Integer>(property));
+        validator.addRule(new PrefixRule("a"));
+        validator.addResultHandler(resultHandler);
+        validator.setRuleExecutor(ruleExecutor);
+        validator.setResultHandlerExecutor(resultHandlerExecutor);
+
+        validator.trigger();
+        property.setValue(2);
+        validator.trigger();
+        assertTrue(resultHandler.getResults().isEmpty());
+
+        ruleExecutor.runAll();
+        assertTrue(resultHandler.getResults().isEmpty());
+        resultHandlerExecutor.runAll();
+        assertEquals(Arrays.<Object>asList("a2"), resultHandler.getResults());
+
+        // Result handling of a validation made stale after its rules were processed must also be discarded
+        validator.trigger();
+        ruleExecutor.runAll();
+        property.setValue(3);
+        validator.trigger();
+        ruleExecutor.runAll();
+        resultHandlerExecutor.runAll();
+        assertEquals(Arrays.<Object>asList("a2", "a3"), resultHandler.getResults());
+    }
+
+    private static void assertLazyEvaluation(boolean compiled, GeneralValidator.MappingStrategy
+            dataProviderToRule) {
+        final int[] evaluationCount = {0};
+        RecordingResultHandler resultHandler = new RecordingResultHandler();
+
+        GeneralValidator<Integer, Object, Object, Object> validator = new GeneralValidator<Integer, Object, Object,
+                Object>();
+        validator.addDataProvider(new ConstantDataProvider(1));
+        validator.setDataProviderToRuleMappingStrategy(dataProviderToRule);
+        for (final Boolean result : Arrays.asList(true, false, true)) {
+            validator.addRule(new Rule<Object, Object>() {
+                @Override
+                public Object validate(Object data) {
+                    evaluationCount[0]++;
+                    return result;
+                }
+            });
+        }
+        validator.setRuleToResultHandlerMappingStrategy(GeneralValidator.MappingStrategy.JOIN);
+        validator.setResultHandlerInputTransformers(new AndBooleanAggregator());
+        validator.addResultHandler(resultHandler);
+        validator.setLazyEvaluation(true);
+        if (compiled) {
+            validator.compile();
+        }
+
+        validator.trigger();
+        validator.trigger();
+        assertEquals(Arrays.<Object>asList(false, false), resultHandler.getResults());
+        assertEquals(4, evaluationCount[0]);
+    }
+
+    @Test
+    public void testLazyEvaluationSplit() {
+        assertLazyEvaluation(false, GeneralValidator.MappingStrategy.SPLIT);
+        assertLazyEvaluation(true, GeneralValidator.MappingStrategy.SPLIT);
+    }
+
+    @Test
+    public void testLazyEvaluationJoin() {
+        assertLazyEvaluation(false, GeneralValidator.MappingStrategy.JOIN);
+        assertLazyEvaluation(true, GeneralValidator.MappingStrategy.JOIN);
+    }
+}
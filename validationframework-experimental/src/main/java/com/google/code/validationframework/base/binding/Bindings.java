@@ -31,10 +31,7 @@ import com.google.code.validationframework.api.property.ValueChangeListener;
 import com.google.code.validationframework.api.rule.Rule;
 import com.google.code.validationframework.api.transform.Transformer;
 import com.google.code.validationframework.base.property.AbstractReadableProperty;
-import com.google.code.validationframework.base.property.simple.SimpleBooleanProperty;
-import com.google.code.validationframework.base.property.simple.SimpleProperty;
 import com.google.code.validationframework.base.property.wrap.NegateBooleanPropertyWrapper;
-import com.google.code.validationframework.base.property.wrap.ReadOnlyPropertyWrapper;
 import com.google.code.validationframework.base.transform.AndBooleanAggregator;
 import com.google.code.validationframework.base.transform.OrBooleanAggregator;
 import com.google.code.validationframework.base.utils.ValueUtils;
@@ -153,41 +150,33 @@ public final class Bindings {
     }
 
     public static ReadableProperty<Boolean> and(ReadableProperty<Boolean>... properties) {
-        SimpleBooleanProperty result = new SimpleBooleanProperty();
-        Disposable bond = read(properties).transform(new AndBooleanAggregator()).write(result);
-        return new BoundProperty<Boolean>(result, bond);
+        return read(properties).transform(new AndBooleanAggregator()).toLazyProperty();
     }
 
     public static ReadableProperty<Boolean> or(ReadableProperty<Boolean>... properties) {
-        SimpleBooleanProperty result = new SimpleBooleanProperty();
-        read(properties).transform(new OrBooleanAggregator()).write(result);
-        return new ReadOnlyPropertyWrapper<Boolean>(result);
+        return read(properties).transform(new OrBooleanAggregator()).toLazyProperty();
     }
 
     public static ReadableProperty<Boolean> isEmpty(ReadableProperty<String> property) {
-        SimpleBooleanProperty result = new SimpleBooleanProperty();
-        Disposable bond = read(property)
+        return read(property)
                 .transform(new Transformer<String, Boolean>() {
                     @Override
                     public Boolean transform(String input) {
                         return (input == null) || input.isEmpty();
                     }
                 })
-                .write(result);
-        return new BoundProperty<Boolean>(result, bond);
+                .toLazyProperty();
     }
 
     public static ReadableProperty<Boolean> isNotEmpty(ReadableProperty<String> property) {
-        SimpleBooleanProperty result = new SimpleBooleanProperty();
-        Disposable bond = read(property)
+        return read(property)
                 .transform(new Transformer<String, Boolean>() {
                     @Override
                     public Boolean transform(String input) {
                         return (input != null) && !input.isEmpty();
                     }
                 })
-                .write(result);
-        return new BoundProperty<Boolean>(result, bond);
+                .toLazyProperty();
     }
 
     public static ReadableProperty<Boolean> isTrue(ReadableProperty<Boolean> property) {
@@ -207,50 +196,42 @@ public final class Bindings {
     }
 
     public static ReadableProperty<Boolean> isEqualTo(ReadableProperty<?> property, final Object refValue) {
-        SimpleBooleanProperty result = new SimpleBooleanProperty();
         // No cast should be needed in R4
-        Disposable bond = read((ReadableProperty<Object>) property)
+        return read((ReadableProperty<Object>) property)
                 .transform(new Transformer<Object, Boolean>() {
                     @Override
                     public Boolean transform(Object input) {
                         return ValueUtils.areEqual(input, refValue);
                     }
                 })
-                .write(result);
-        return new BoundProperty<Boolean>(result, bond);
+                .toLazyProperty();
     }
 
     public static ReadableProperty<Boolean> isNotEqualTo(ReadableProperty<?> property, final Object refValue) {
-        SimpleBooleanProperty result = new SimpleBooleanProperty();
         // No cast should be needed in R4
-        Disposable bond = read((ReadableProperty<Object>) property)
+        return read((ReadableProperty<Object>) property)
                 .transform(new Transformer<Object, Boolean>() {
                     @Override
                     public Boolean transform(Object input) {
                         return !ValueUtils.areEqual(input, refValue);
                     }
                 })
-                .write(result);
-        return new BoundProperty<Boolean>(result, bond);
+                .toLazyProperty();
     }
 
     public static <RI, RO> ReadableProperty<RO> check(final Rule<RI, RO> rule, ReadableProperty<RI> property) {
-        SimpleProperty<RO> result = new SimpleProperty<RO>();
-        Disposable bond = read(property)
+        return read(property)
                 .transform(new Transformer<RI, RO>() {
                     @Override
                     public RO transform(RI input) {
                         return rule.validate(input);
                     }
                 })
-                .write(result);
-        return new BoundProperty<RO>(result, bond);
+                .toLazyProperty();
     }
 
     public static <I, O> ReadableProperty<O> transform(Transformer<I, O> transformer, ReadableProperty<I> property) {
-        SimpleProperty<O> result = new SimpleProperty<O>();
-        Disposable bond = read(property).transform(transformer).write(result);
-        return new BoundProperty<O>(result, bond);
+        return read(property).transform(transformer).toLazyProperty();
     }
 
     public static class BoundProperty<R> extends AbstractReadableProperty<R> implements Disposable {
@@ -26,7 +26,6 @@
 package com.google.code.validationframework.base.trigger;
 
 import com.google.code.validationframework.api.common.Disposable;
-import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.api.property.ReadableProperty;
 import com.google.code.validationframework.api.property.ValueChangeListener;
 
@@ -47,7 +46,7 @@ public class PropertyTrigger<T> extends AbstractTrigger {
          */
         @Override
         public void valueChanged(ReadableProperty<T> property, T oldValue, T newValue) {
-            fireTriggerEvent(new TriggerEvent(property));
+            fireTriggerEvent(getTriggerEvent(property));
         }
     }
 
@@ -25,7 +25,6 @@
 
 package com.google.code.validationframework.javafx.trigger;
 
-import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.base.trigger.AbstractTrigger;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
@@ -48,6 +47,6 @@ public class ChangeListenerTrigger<T> extends AbstractTrigger implements ChangeL
      */
     @Override
     public void changed(ObservableValue<? extends T> observableValue, T oldValue, T newValue) {
-        fireTriggerEvent(new TriggerEvent(observableValue));
+        fireTriggerEvent(getTriggerEvent(observableValue));
     }
 }
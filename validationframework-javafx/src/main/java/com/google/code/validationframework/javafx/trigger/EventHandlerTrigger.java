@@ -25,7 +25,6 @@
 
 package com.google.code.validationframework.javafx.trigger;
 
-import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.base.trigger.AbstractTrigger;
 import javafx.event.Event;
 import javafx.event.EventHandler;
@@ -79,7 +78,7 @@ public class EventHandlerTrigger<E extends Event> extends AbstractTrigger implem
     @Override
     public void handle(E e) {
         if (eventTypes.isEmpty() || eventTypes.contains(E.ANY) || eventTypes.contains(e.getEventType())) {
-            fireTriggerEvent(new TriggerEvent(e.getSource()));
+            fireTriggerEvent(getTriggerEvent(e.getSource()));
         }
     }
 }
@@ -25,7 +25,6 @@
 
 package com.google.code.validationframework.javafx.trigger;
 
-import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.base.trigger.AbstractTrigger;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
@@ -46,6 +45,6 @@ public class InvalidationListenerTrigger extends AbstractTrigger implements Inva
      */
     @Override
     public void invalidated(Observable observable) {
-        fireTriggerEvent(new TriggerEvent(observable));
+        fireTriggerEvent(getTriggerEvent(observable));
     }
 }
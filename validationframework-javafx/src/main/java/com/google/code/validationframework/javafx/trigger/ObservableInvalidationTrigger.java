@@ -26,7 +26,6 @@
 package com.google.code.validationframework.javafx.trigger;
 
 import com.google.code.validationframework.api.common.Disposable;
-import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.base.trigger.AbstractTrigger;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
@@ -50,7 +49,7 @@ public class ObservableInvalidationTrigger extends AbstractTrigger implements Di
          */
         @Override
         public void invalidated(Observable observable) {
-            fireTriggerEvent(new TriggerEvent(observable));
+            fireTriggerEvent(getTriggerEvent(observable));
         }
     }
 
@@ -26,7 +26,6 @@
 package com.google.code.validationframework.javafx.trigger;
 
 import com.google.code.validationframework.api.common.Disposable;
-import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.base.trigger.AbstractTrigger;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
@@ -50,7 +49,7 @@ public class ObservableValueChangeTrigger<T> extends AbstractTrigger implements
          */
         @Override
         public void changed(ObservableValue<? extends T> observableValue, T oldValue, T newValue) {
-            fireTriggerEvent(new TriggerEvent(observableValue));
+            fireTriggerEvent(getTriggerEvent(observableValue));
         }
     }
 
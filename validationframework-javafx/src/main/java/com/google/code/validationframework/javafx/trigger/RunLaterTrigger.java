@@ -81,7 +81,7 @@ public class RunLaterTrigger extends AbstractTrigger {
          */
         @Override
         public void run() {
-            fireTriggerEvent(new TriggerEvent(RunLaterTrigger.this));
+            fireTriggerEvent(getTriggerEvent(RunLaterTrigger.this));
         }
     }
 
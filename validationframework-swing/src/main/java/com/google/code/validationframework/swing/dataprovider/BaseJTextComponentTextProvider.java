@@ -36,6 +36,8 @@ import javax.swing.text.JTextComponent;
  *
  * @see DataProvider
  * @see JTextComponent
+ * @see JTextComponentCharSequenceProvider
+ * @see JTextComponentEditedTextProvider
  */
 public class BaseJTextComponentTextProvider<C extends JTextComponent> implements DataProvider<String> {
 
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.swing.dataprovider;
+
+import com.google.code.validationframework.api.dataprovider.DataProvider;
+import com.google.code.validationframework.swing.utils.DocumentCharSequence;
+
+import javax.swing.text.JTextComponent;
+
+/**
+ * Data provider retrieving the text from a text component as a {@link CharSequence} view on the content of its
+ * document, without copying it.
+ * <p>
+ * Unlike the {@link BaseJTextComponentTextProvider}, no string is created, which avoids copying the whole content of
+ * large text areas or editor panes whenever the validation is triggered. The provided data can be validated, for
+ * instance, by the string rules through their {@code asCharSequenceRule()} method.
+ * <p>
+ * Note that the provided data is only valid until the document is modified, so it should be validated right away on
+ * the Event Dispatch Thread. Also note that, for styled documents, the provided data is the content of the document,
+ * which may differ from the result of {@link JTextComponent#getText()} (for instance, HTML markup is not included).
+ *
+ * @param <C> Type of text component to retrieve the text from.
+ *
+ * @see DataProvider
+ * @see DocumentCharSequence
+ * @see com.google.code.validationframework.base.rule.string.AbstractStringBooleanRule#asCharSequenceRule()
+ */
+public class JTextComponentCharSequenceProvider<C extends JTextComponent> implements DataProvider<CharSequence> {
+
+    /**
+     * Text component to retrieve the text from.
+     */
+    private final C textComponent;
+
+    /**
+     * Constructor specifying the text component to retrieve the text from.
+     *
+     * @param textComponent Text component to retrieve the text from.
+     */
+    public JTextComponentCharSequenceProvider(final C textComponent) {
+        this.textComponent = textComponent;
+    }
+
+    /**
+     * Gets the component providing the data to be validated.
+     *
+     * @return Component providing the data to be validated.
+     */
+    public C getComponent() {
+        return textComponent;
+    }
+
+    /**
+     * @see DataProvider#getData()
+     */
+    @Override
+    public CharSequence getData() {
+        return new DocumentCharSequence(textComponent.getDocument());
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.swing.dataprovider;
+
+import com.google.code.validationframework.api.common.Disposable;
+import com.google.code.validationframework.api.dataprovider.DataProvider;
+import com.google.code.validationframework.base.rule.string.EditedText;
+import com.google.code.validationframework.base.rule.string.TextEdit;
+import com.google.code.validationframework.swing.utils.DocumentCharSequence;
+
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.Document;
+import javax.swing.text.JTextComponent;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data provider retrieving the text from a text component along with the modifications made to its document since the
+ * data was last provided, so that it can be validated incrementally.
+ * <p>
+ * The modifications are recorded from all the document events, regardless of the trigger used to initiate the
+ * validation, and the text is provided as a {@link DocumentCharSequence} view, without copying it.
+ * <p>
+ * On the first call, or if the document of the text component is replaced, the modifications are unknown and the whole
+ * text will be validated.
+ * <p>
+ * The document listeners are notified in no guaranteed order, so a validation may be triggered by a modification that
+ * has not been recorded yet. The recorded modifications are therefore checked against the length of the document: if
+ * they do not account for it, they are considered unknown and the whole text will be validated.
+ * <p>
+ * Note that the recorded modifications are handed over to the caller of {@link #getData()}, so an instance of this
+ * class should be used by only one validator.
+ *
+ * @param <C> Type of text component to retrieve the text from.
+ *
+ * @see com.google.code.validationframework.base.rule.string.IncrementalTextRule
+ * @see EditedText
+ */
+public class JTextComponentEditedTextProvider<C extends JTextComponent> implements DataProvider<EditedText>,
+        Disposable {
+
+    /**
+     * Listener to changes in the document of the text component, recording the modifications.
+     */
+    private class DocumentAdapter implements DocumentListener {
+
+        /**
+         * @see DocumentListener#insertUpdate(DocumentEvent)
+         */
+        @Override
+        public void insertUpdate(DocumentEvent e) {
+            addEdit(new TextEdit(TextEdit.Type.INSERT, e.getOffset(), e.getLength()), e.getLength(), e.getDocument());
+        }
+
+        /**
+         * @see DocumentListener#removeUpdate(DocumentEvent)
+         */
+        @Override
+        public void removeUpdate(DocumentEvent e) {
+            addEdit(new TextEdit(TextEdit.Type.REMOVE, e.getOffset(), e.getLength()), -e.getLength(), e.getDocument());
+        }
+
+        /**
+         * @see DocumentListener#changedUpdate(DocumentEvent)
+         */
+        @Override
+        public void changedUpdate(DocumentEvent e) {
+            // Only the attributes changed, not the text
+        }
+    }
+
+    /**
+     * Listener to the replacement of the document of the text component.
+     */
+    private class DocumentReplacementAdapter implements PropertyChangeListener {
+
+        /**
+         * @see PropertyChangeListener#propertyChange(PropertyChangeEvent)
+         */
+        @Override
+        public void propertyChange(PropertyChangeEvent evt) {
+            if (evt.getOldValue() instanceof Document) {
+                ((Document) evt.getOldValue()).removeDocumentListener(documentAdapter);
+            }
+            if (evt.getNewValue() instanceof Document) {
+                ((Document) evt.getNewValue()).addDocumentListener(documentAdapter);
+            }
+            edits = null;
+        }
+    }
+
+    /**
+     * Name of the property of text components holding their document.
+     */
+    private static final String DOCUMENT_PROPERTY = "document";
+
+    /**
+     * Text component to retrieve the text from.
+     */
+    private C textComponent;
+
+    /**
+     * Listener to changes in the document of the text component.
+     */
+    private final DocumentListener documentAdapter = new DocumentAdapter();
+
+    /**
+     * Listener to the replacement of the document of the text component.
+     */
+    private final PropertyChangeListener documentReplacementAdapter = new DocumentReplacementAdapter();
+
+    /**
+     * Modifications since the data was last provided, or null if unknown.
+     */
+    private List<TextEdit> edits = null;
+
+    /**
+     * Length of the document when the data was last provided, updated with the modifications recorded since.
+     */
+    private int recordedLength = 0;
+
+    /**
+     * Constructor specifying the text component to retrieve the text from.
+     *
+     * @param textComponent Text component to retrieve the text from.
+     */
+    public JTextComponentEditedTextProvider(C textComponent) {
+        this.textComponent = textComponent;
+        textComponent.getDocument().addDocumentListener(documentAdapter);
+        textComponent.addPropertyChangeListener(DOCUMENT_PROPERTY, documentReplacementAdapter);
+    }
+
+    /**
+     * Gets the component providing the data to be validated.
+     *
+     * @return Component providing the data to be validated.
+     */
+    public C getComponent() {
+        return textComponent;
+    }
+
+    /**
+     * Records the specified modification, unless the modifications are already unknown.
+     * <p>
+     * If the modification does not account for the length of the document, for instance, because it is already
+     * contained in the data last provided, the modifications become unknown.
+     *
+     * @param edit        Modification of the document.
+     * @param lengthDelta Change of length of the document caused by the modification.
+     * @param document    Modified document.
+     */
+    private void addEdit(TextEdit edit, int lengthDelta, Document document) {
+        if (edits != null) {
+            recordedLength += lengthDelta;
+            if (recordedLength == document.getLength()) {
+                edits.add(edit);
+            } else {
+                edits = null;
+            }
+        }
+    }
+
+    /**
+     * @see DataProvider#getData()
+     */
+    @Override
+    public EditedText getData() {
+        EditedText data = null;
+        if (textComponent != null) {
+            Document document = textComponent.getDocument();
+
+            // Some modifications may not have been recorded yet
+            List<TextEdit> providedEdits = edits;
+            if (recordedLength != document.getLength()) {
+                providedEdits = null;
+            }
+
+            data = new EditedText(new DocumentCharSequence(document), providedEdits);
+            edits = new ArrayList<TextEdit>();
+            recordedLength = document.getLength();
+        }
+        return data;
+    }
+
+    /**
+     * @see Disposable#dispose()
+     */
+    @Override
+    public void dispose() {
+        if (textComponent != null) {
+            textComponent.removePropertyChangeListener(DOCUMENT_PROPERTY, documentReplacementAdapter);
+            textComponent.getDocument().removeDocumentListener(documentAdapter);
+            textComponent = null;
+            edits = null;
+        }
+    }
+}
@@ -29,12 +29,11 @@ import com.google.code.validationframework.api.common.Disposable;
 import com.google.code.validationframework.api.trigger.Trigger;
 import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.api.trigger.TriggerListener;
+import com.google.code.validationframework.base.common.CopyOnWriteListenerList;
 
 import javax.swing.AbstractAction;
 import javax.swing.Icon;
 import java.awt.event.ActionEvent;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Trigger initiating the validation when an action is performed.
@@ -52,7 +51,13 @@ public class ActionTrigger extends AbstractAction implements Trigger, Disposable
     /**
      * Trigger listeners to be notified when the action is performed.
      */
-    private final List<TriggerListener> triggerListeners = new ArrayList<TriggerListener>();
+    private final CopyOnWriteListenerList<TriggerListener> triggerListeners = new
+            CopyOnWriteListenerList<TriggerListener>();
+
+    /**
+     * Last trigger event fired, re-used as long as the source of the action events does not change.
+     */
+    private transient TriggerEvent lastTriggerEvent = null;
 
     /**
      * @see AbstractAction#AbstractAction()
@@ -80,9 +85,14 @@ public class ActionTrigger extends AbstractAction implements Trigger, Disposable
      */
     @Override
     public void actionPerformed(ActionEvent actionEvent) {
-        TriggerEvent event = new TriggerEvent(actionEvent.getSource());
-        for (TriggerListener listener : triggerListeners) {
-            listener.triggerValidation(event);
+        TriggerEvent event = lastTriggerEvent;
+        if ((event == null) || (event.getSource() != actionEvent.getSource())) {
+            event = new TriggerEvent(actionEvent.getSource());
+            lastTriggerEvent = event;
+        }
+
+        for (Object listener : triggerListeners.getSnapshot()) {
+            ((TriggerListener) listener).triggerValidation(event);
         }
     }
 
@@ -107,7 +117,7 @@ public class ActionTrigger extends AbstractAction implements Trigger, Disposable
      */
     @Override
     public void dispose() {
-        for (TriggerListener listener : triggerListeners) {
+        for (Object listener : triggerListeners.getSnapshot()) {
             if (listener instanceof Disposable) {
                 ((Disposable) listener).dispose();
             }
@@ -26,7 +26,6 @@
 package com.google.code.validationframework.swing.trigger;
 
 import com.google.code.validationframework.api.common.Disposable;
-import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.base.trigger.AbstractTrigger;
 
 import javax.swing.KeyStroke;
@@ -83,11 +82,11 @@ public class BaseComponentKeyStrokeTrigger<C extends Component> extends Abstract
         private void processEvent(KeyEvent keyEvent) {
             if (keyStrokes.isEmpty()) {
                 // No key stroke define, so react on any key event
-                fireTriggerEvent(new TriggerEvent(source));
+                fireTriggerEvent(getTriggerEvent(source));
             } else {
                 for (KeyStroke keyStroke : keyStrokes) {
                     if (KeyStroke.getKeyStrokeForEvent(keyEvent).equals(keyStroke)) {
-                        fireTriggerEvent(new TriggerEvent(source));
+                        fireTriggerEvent(getTriggerEvent(source));
                         break;
                     }
                 }
@@ -26,7 +26,6 @@
 package com.google.code.validationframework.swing.trigger;
 
 import com.google.code.validationframework.api.common.Disposable;
-import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.base.trigger.AbstractTrigger;
 
 import java.awt.Component;
@@ -49,7 +48,7 @@ public class BaseComponentPropertyChangedTrigger<C extends Component> extends Ab
         @Override
         public void propertyChange(final PropertyChangeEvent evt) {
             // Trigger validation
-            fireTriggerEvent(new TriggerEvent(source));
+            fireTriggerEvent(getTriggerEvent(source));
         }
     }
 
@@ -26,7 +26,6 @@
 package com.google.code.validationframework.swing.trigger;
 
 import com.google.code.validationframework.api.common.Disposable;
-import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.base.trigger.AbstractTrigger;
 
 import java.awt.Component;
@@ -56,7 +55,7 @@ public class BaseJComponentFocusGainedTrigger<C extends Component> extends Abstr
          */
         @Override
         public void focusGained(FocusEvent e) {
-            fireTriggerEvent(new TriggerEvent(source));
+            fireTriggerEvent(getTriggerEvent(source));
         }
     }
 
@@ -26,7 +26,6 @@
 package com.google.code.validationframework.swing.trigger;
 
 import com.google.code.validationframework.api.common.Disposable;
-import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.base.trigger.AbstractTrigger;
 
 import javax.swing.JComponent;
@@ -56,7 +55,7 @@ public class BaseJComponentFocusLostTrigger<C extends JComponent> extends Abstra
          */
         @Override
         public void focusLost(FocusEvent e) {
-            fireTriggerEvent(new TriggerEvent(source));
+            fireTriggerEvent(getTriggerEvent(source));
         }
     }
 
@@ -26,7 +26,6 @@
 package com.google.code.validationframework.swing.trigger;
 
 import com.google.code.validationframework.api.common.Disposable;
-import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.base.trigger.AbstractTrigger;
 
 import javax.swing.SwingUtilities;
@@ -67,7 +66,7 @@ public class BaseJTextComponentDocumentChangedTrigger<C extends JTextComponent>
             skipPendingRemove = true;
 
             // Fire trigger event (once for both remove and insert updates)
-            fireTriggerEvent(new TriggerEvent(source));
+            fireTriggerEvent(getTriggerEvent(source));
         }
 
         /**
@@ -96,7 +95,7 @@ public class BaseJTextComponentDocumentChangedTrigger<C extends JTextComponent>
                 public void run() {
                     // Check if it is has not been inhibited by a sub-sequent insert update
                     if (!skipPendingRemove) {
-                        fireTriggerEvent(new TriggerEvent(source));
+                        fireTriggerEvent(getTriggerEvent(source));
                     }
                 }
             });
@@ -107,7 +106,7 @@ public class BaseJTextComponentDocumentChangedTrigger<C extends JTextComponent>
          */
         @Override
         public void changedUpdate(DocumentEvent e) {
-            fireTriggerEvent(new TriggerEvent(source));
+            fireTriggerEvent(getTriggerEvent(source));
         }
     }
 
@@ -26,7 +26,6 @@
 package com.google.code.validationframework.swing.trigger;
 
 import com.google.code.validationframework.api.common.Disposable;
-import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.base.trigger.AbstractTrigger;
 
 import javax.swing.JToggleButton;
@@ -48,7 +47,7 @@ public class BaseJToggleButtonModelChangedTrigger<C extends JToggleButton> exten
 
         @Override
         public void itemStateChanged(ItemEvent e) {
-            fireTriggerEvent(new TriggerEvent(source));
+            fireTriggerEvent(getTriggerEvent(source));
         }
     }
 
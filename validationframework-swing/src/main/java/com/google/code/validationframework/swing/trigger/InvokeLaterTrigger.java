@@ -81,7 +81,7 @@ public class InvokeLaterTrigger extends AbstractTrigger {
          */
         @Override
         public void run() {
-            fireTriggerEvent(new TriggerEvent(InvokeLaterTrigger.this));
+            fireTriggerEvent(getTriggerEvent(InvokeLaterTrigger.this));
         }
     }
 
@@ -26,7 +26,6 @@
 package com.google.code.validationframework.swing.trigger;
 
 import com.google.code.validationframework.api.common.Disposable;
-import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.base.trigger.AbstractTrigger;
 
 import javax.swing.JButton;
@@ -39,7 +38,7 @@ public class JButtonActionTrigger extends AbstractTrigger implements Disposable
 
         @Override
         public void actionPerformed(ActionEvent e) {
-            fireTriggerEvent(new TriggerEvent(source));
+            fireTriggerEvent(getTriggerEvent(source));
         }
     }
 
@@ -26,7 +26,6 @@
 package com.google.code.validationframework.swing.trigger;
 
 import com.google.code.validationframework.api.common.Disposable;
-import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.base.common.LogErrorUncheckedExceptionHandler;
 import com.google.code.validationframework.base.common.UncheckedExceptionHandler;
 import com.google.code.validationframework.base.trigger.AbstractTrigger;
@@ -70,7 +69,7 @@ public class JComboBoxCanceledTrigger extends AbstractTrigger implements Disposa
          */
         @Override
         public void popupMenuCanceled(PopupMenuEvent e) {
-            fireTriggerEvent(new TriggerEvent(source));
+            fireTriggerEvent(getTriggerEvent(source));
         }
     }
 
@@ -26,7 +26,6 @@
 package com.google.code.validationframework.swing.trigger;
 
 import com.google.code.validationframework.api.common.Disposable;
-import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.base.common.LogErrorUncheckedExceptionHandler;
 import com.google.code.validationframework.base.common.UncheckedExceptionHandler;
 import com.google.code.validationframework.base.trigger.AbstractTrigger;
@@ -54,7 +53,7 @@ public class JComboBoxModelChangedTrigger extends AbstractTrigger implements Dis
          */
         @Override
         public void actionPerformed(ActionEvent e) {
-            fireTriggerEvent(new TriggerEvent(source));
+            fireTriggerEvent(getTriggerEvent(source));
         }
     }
 
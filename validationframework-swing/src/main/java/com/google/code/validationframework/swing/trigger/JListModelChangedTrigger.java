@@ -26,7 +26,6 @@
 package com.google.code.validationframework.swing.trigger;
 
 import com.google.code.validationframework.api.common.Disposable;
-import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.base.trigger.AbstractTrigger;
 
 import javax.swing.JList;
@@ -51,7 +50,7 @@ public class JListModelChangedTrigger extends AbstractTrigger implements Disposa
          */
         @Override
         public void intervalAdded(ListDataEvent e) {
-            fireTriggerEvent(new TriggerEvent(source));
+            fireTriggerEvent(getTriggerEvent(source));
         }
 
         /**
@@ -59,7 +58,7 @@ public class JListModelChangedTrigger extends AbstractTrigger implements Disposa
          */
         @Override
         public void intervalRemoved(ListDataEvent e) {
-            fireTriggerEvent(new TriggerEvent(source));
+            fireTriggerEvent(getTriggerEvent(source));
         }
 
         /**
@@ -67,7 +66,7 @@ public class JListModelChangedTrigger extends AbstractTrigger implements Disposa
          */
         @Override
         public void contentsChanged(ListDataEvent e) {
-            fireTriggerEvent(new TriggerEvent(source));
+            fireTriggerEvent(getTriggerEvent(source));
         }
     }
 
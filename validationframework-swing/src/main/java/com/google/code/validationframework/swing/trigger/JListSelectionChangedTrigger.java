@@ -26,7 +26,6 @@
 package com.google.code.validationframework.swing.trigger;
 
 import com.google.code.validationframework.api.common.Disposable;
-import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.base.trigger.AbstractTrigger;
 
 import javax.swing.JList;
@@ -52,7 +51,7 @@ public class JListSelectionChangedTrigger extends AbstractTrigger implements Dis
         @Override
         public void valueChanged(ListSelectionEvent e) {
             if (!e.getValueIsAdjusting()) {
-                fireTriggerEvent(new TriggerEvent(source));
+                fireTriggerEvent(getTriggerEvent(source));
             }
         }
     }
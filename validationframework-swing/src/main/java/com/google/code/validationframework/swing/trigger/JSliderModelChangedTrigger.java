@@ -26,7 +26,6 @@
 package com.google.code.validationframework.swing.trigger;
 
 import com.google.code.validationframework.api.common.Disposable;
-import com.google.code.validationframework.api.trigger.TriggerEvent;
 import com.google.code.validationframework.base.trigger.AbstractTrigger;
 
 import javax.swing.JSlider;
@@ -40,7 +39,7 @@ public class JSliderModelChangedTrigger extends AbstractTrigger implements Dispo
         @Override
         public void stateChanged(ChangeEvent e) {
             if ((e.getSource() instanceof JSlider) && !(((JSlider) e.getSource()).getValueIsAdjusting())) {
-                fireTriggerEvent(new TriggerEvent(source));
+                fireTriggerEvent(getTriggerEvent(source));
             }
         }
     }
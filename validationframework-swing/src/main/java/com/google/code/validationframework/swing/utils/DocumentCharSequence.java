@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.swing.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Segment;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only {@link CharSequence} view on the content of a {@link Document}, without copying it.
+ * <p>
+ * The content is read using {@link Document#getText(int, int, Segment)} with partial returns, so that the view directly
+ * references the internal buffers of the document. For a typical gap buffer, the content is made of at most two
+ * segments.
+ * <p>
+ * Because the internal buffers of the document are referenced, the view is only valid until the document is modified.
+ * It is therefore meant to be read right away, for instance, by a rule during a validation on the Event Dispatch
+ * Thread. Use {@link #toString()} to get a copy of the content that remains valid.
+ *
+ * @see com.google.code.validationframework.swing.dataprovider.JTextComponentCharSequenceProvider
+ */
+public class DocumentCharSequence implements CharSequence {
+
+    /**
+     * Logger for this class.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(DocumentCharSequence.class);
+
+    /**
+     * Arrays of the segments of the content.
+     */
+    private char[][] arrays = new char[0][];
+
+    /**
+     * Offsets of the segments in their respective arrays.
+     */
+    private int[] offsets = new int[0];
+
+    /**
+     * Indices of the first character of each segment in this character sequence.
+     */
+    private int[] starts = new int[0];
+
+    /**
+     * Number of characters in this character sequence.
+     */
+    private int length = 0;
+
+    /**
+     * Constructor specifying directly the segments of the content.
+     *
+     * @param arrays  Arrays of the segments.
+     * @param offsets Offsets of the segments in their respective arrays.
+     * @param starts  Indices of the first character of each segment in this character sequence.
+     * @param length  Number of characters in this character sequence.
+     */
+    private DocumentCharSequence(char[][] arrays, int[] offsets, int[] starts, int length) {
+        this.arrays = arrays;
+        this.offsets = offsets;
+        this.starts = starts;
+        this.length = length;
+    }
+
+    /**
+     * Constructor specifying the document whose whole content is to be viewed.
+     *
+     * @param document Document whose content is to be viewed.
+     */
+    public DocumentCharSequence(final Document document) {
+        document.render(new Runnable() {
+            @Override
+            public void run() {
+                load(document, 0, document.getLength());
+            }
+        });
+    }
+
+    /**
+     * Constructor specifying the document and the range of its content to be viewed.
+     *
+     * @param document Document whose content is to be viewed.
+     * @param offset   Offset of the first character to be viewed.
+     * @param length   Number of characters to be viewed.
+     */
+    public DocumentCharSequence(final Document document, final int offset, final int length) {
+        document.render(new Runnable() {
+            @Override
+            public void run() {
+                load(document, offset, length);
+            }
+        });
+    }
+
+    /**
+     * Reads the segments of the specified range of the document content.
+     * <p>
+     * This method is to be called while holding the read lock of the document.
+     *
+     * @param document Document whose content is to be viewed.
+     * @param offset   Offset of the first character to be viewed.
+     * @param length   Number of characters to be viewed.
+     */
+    private void load(Document document, int offset, int length) {
+        List<char[]> segmentArrays = new ArrayList<char[]>(2);
+        List<Integer> segmentOffsets = new ArrayList<Integer>(2);
+        List<Integer> segmentStarts = new ArrayList<Integer>(2);
+        Segment segment = new Segment();
+        segment.setPartialReturn(true);
+
+        int loaded = 0;
+        try {
+            while (loaded < length) {
+                document.getText(offset + loaded, length - loaded, segment);
+                if (segment.count > 0) {
+                    segmentArrays.add(segment.array);
+                    segmentOffsets.add(segment.offset);
+                    segmentStarts.add(loaded);
+                    loaded += segment.count;
+                } else {
+                    LOGGER.error("No progress while reading document from offset " + (offset + loaded));
+                    break;
+                }
+            }
+        } catch (BadLocationException e) {
+            throw new IllegalArgumentException("Invalid range of the document: offset " + offset + ", length " +
+                    length, e);
+        }
+
+        int segmentCount = segmentArrays.size();
+        arrays = segmentArrays.toArray(new char[segmentCount][]);
+        offsets = new int[segmentCount];
+        starts = new int[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            offsets[i] = segmentOffsets.get(i);
+            starts[i] = segmentStarts.get(i);
+        }
+        this.length = loaded;
+    }
+
+    /**
+     * @see CharSequence#length()
+     */
+    @Override
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @see CharSequence#charAt(int)
+     */
+    @Override
+    public char charAt(int index) {
+        if ((index < 0) || (index >= length)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", length: " + length);
+        }
+
+        int segmentIndex = arrays.length - 1;
+        while (starts[segmentIndex] > index) {
+            segmentIndex--;
+        }
+        return arrays[segmentIndex][offsets[segmentIndex] + index - starts[segmentIndex]];
+    }
+
+    /**
+     * @see CharSequence#subSequence(int, int)
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if ((start < 0) || (end > length) || (start > end)) {
+            throw new IndexOutOfBoundsException("Start: " + start + ", end: " + end + ", length: " + length);
+        }
+
+        // Keep only the segments overlapping the range
+        int firstSegment = 0;
+        int lastSegment = arrays.length - 1;
+        while ((firstSegment < lastSegment) && (getSegmentEnd(firstSegment) <= start)) {
+            firstSegment++;
+        }
+        while ((lastSegment > firstSegment) && (starts[lastSegment] >= end)) {
+            lastSegment--;
+        }
+
+        int segmentCount = (start == end) ? 0 : (lastSegment - firstSegment + 1);
+        char[][] subArrays = new char[segmentCount][];
+        int[] subOffsets = new int[segmentCount];
+        int[] subStarts = new int[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            int segmentIndex = firstSegment + i;
+            int segmentStart = Math.max(start, starts[segmentIndex]);
+            subArrays[i] = arrays[segmentIndex];
+            subOffsets[i] = offsets[segmentIndex] + segmentStart - starts[segmentIndex];
+            subStarts[i] = segmentStart - start;
+        }
+
+        return new DocumentCharSequence(subArrays, subOffsets, subStarts, end - start);
+    }
+
+    /**
+     * Gets the index following the last character of the specified segment in this character sequence.
+     *
+     * @param segmentIndex Index of the segment.
+     *
+     * @return End of the segment.
+     */
+    private int getSegmentEnd(int segmentIndex) {
+        int end = length;
+        if (segmentIndex < arrays.length - 1) {
+            end = starts[segmentIndex + 1];
+        }
+        return end;
+    }
+
+    /**
+     * Copies the viewed content into a string.
+     *
+     * @return Copy of the viewed content.
+     *
+     * @see Object#toString()
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < arrays.length; i++) {
+            builder.append(arrays[i], offsets[i], getSegmentEnd(i) - starts[i]);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.swing.utils;
+
+import javax.swing.SwingUtilities;
+import java.util.concurrent.Executor;
+
+/**
+ * Executor scheduling the execution of the tasks on the Event Dispatch Thread.
+ * <p>
+ * This can typically be used as result handler executor of an asynchronous validator, so that validation can be
+ * performed outside the EDT while the handling of the results is done on the EDT.
+ *
+ * @see com.google.code.validationframework.base.validator.AbstractSimpleValidator#setResultHandlerExecutor(Executor)
+ */
+public class EDTExecutor implements Executor {
+
+    /**
+     * Default behavior of running later if already on the EDT.
+     */
+    private static final boolean DEFAULT_EVEN_IF_ALREADY_ON_EDT = false;
+
+    /**
+     * Flag indicating whether re-scheduling the tasks on the EDT should always occur, or only if not already on the EDT.
+     */
+    private final boolean evenIfAlreadyOnEDT;
+
+    /**
+     * Default constructor.
+     * <p>
+     * By default, tasks will be executed immediately if already on the EDT.
+     */
+    public EDTExecutor() {
+        this(DEFAULT_EVEN_IF_ALREADY_ON_EDT);
+    }
+
+    /**
+     * Constructor specifying whether re-scheduling should occur even if already on the EDT.
+     *
+     * @param evenIfAlreadyOnEDT Flag indicating whether re-scheduling the tasks on the EDT should always occur, or only
+     *                           if not already on the EDT.
+     */
+    public EDTExecutor(boolean evenIfAlreadyOnEDT) {
+        this.evenIfAlreadyOnEDT = evenIfAlreadyOnEDT;
+    }
+
+    /**
+     * @see Executor#execute(Runnable)
+     */
+    @Override
+    public void execute(Runnable command) {
+        if (evenIfAlreadyOnEDT || !SwingUtilities.isEventDispatchThread()) {
+            // Either forced or not yet on EDT
+            SwingUtilities.invokeLater(command);
+        } else {
+            // Already on EDT
+            command.run();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.swing.utils;
+
+import com.google.code.validationframework.base.common.Clock;
+
+import javax.swing.Timer;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clock scheduling tasks using Swing {@link Timer}s, so that the tasks are executed on the Event Dispatch Thread.
+ * <p>
+ * This clock is typically used with rate-limited triggers and properties of Swing components, so that the validation
+ * is still performed on the EDT.
+ *
+ * @see Clock
+ * @see com.google.code.validationframework.base.trigger.RateLimitedTrigger
+ * @see com.google.code.validationframework.base.property.wrap.RateLimitedPropertyWrapper
+ */
+public class SwingTimerClock implements Clock {
+
+    /**
+     * Handle on a task scheduled using a Swing timer.
+     */
+    private static class TimerTask implements ScheduledTask, ActionListener {
+
+        /**
+         * Task to be executed on the EDT.
+         */
+        private final Runnable task;
+
+        /**
+         * Timer used to schedule the task.
+         */
+        private final Timer timer;
+
+        /**
+         * Constructor specifying the task to be executed and its delay.
+         *
+         * @param task        Task to be executed.
+         * @param delayMillis Delay in milliseconds after which the task is to be executed.
+         */
+        public TimerTask(Runnable task, long delayMillis) {
+            this.task = task;
+            this.timer = new Timer((int) Math.max(0, Math.min(Integer.MAX_VALUE, delayMillis)), this);
+            this.timer.setRepeats(false);
+            this.timer.start();
+        }
+
+        /**
+         * @see ActionListener#actionPerformed(ActionEvent)
+         */
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            task.run();
+        }
+
+        /**
+         * @see ScheduledTask#cancel()
+         */
+        @Override
+        public void cancel() {
+            timer.stop();
+        }
+    }
+
+    /**
+     * @see Clock#currentTimeMillis()
+     */
+    @Override
+    public long currentTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    /**
+     * @see Clock#schedule(Runnable, long)
+     */
+    @Override
+    public ScheduledTask schedule(Runnable task, long delayMillis) {
+        return new TimerTask(task, delayMillis);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.swing.dataprovider;
+
+import com.google.code.validationframework.api.rule.Rule;
+import com.google.code.validationframework.api.trigger.TriggerEvent;
+import com.google.code.validationframework.api.trigger.TriggerListener;
+import com.google.code.validationframework.base.rule.string.EditedText;
+import com.google.code.validationframework.base.rule.string.IncrementalTextRule;
+import com.google.code.validationframework.base.rule.string.StringRegexRule;
+import com.google.code.validationframework.base.rule.string.TextLocality;
+import com.google.code.validationframework.swing.trigger.JTextComponentDocumentChangedTrigger;
+import org.junit.Test;
+
+import javax.swing.JTextArea;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.PlainDocument;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see JTextComponentEditedTextProvider
+ */
+public class JTextComponentEditedTextProviderTest {
+
+    @Test
+    public void testIncrementalValidation() throws BadLocationException {
+        JTextArea textArea = new JTextArea("123\n456\n789");
+        JTextComponentEditedTextProvider<JTextArea> dataProvider = new JTextComponentEditedTextProvider<JTextArea>
+                (textArea);
+        Rule<CharSequence, Boolean> lineRule = new StringRegexRule("^\\d*$").asCharSequenceRule();
+        IncrementalTextRule rule = new IncrementalTextRule(lineRule, TextLocality.LINE);
+
+        // Whole text validated the first time
+        EditedText data = dataProvider.getData();
+        assertNull(data.getEdits());
+        assertTrue(rule.validate(data));
+
+        textArea.getDocument().insertString(5, "a", null);
+        assertFalse(rule.validate(dataProvider.getData()));
+        assertEquals(1, rule.getLastValidatedRegionCount());
+
+        textArea.getDocument().remove(5, 1);
+        assertTrue(rule.validate(dataProvider.getData()));
+        assertEquals(1, rule.getLastValidatedRegionCount());
+
+        // Modifications unknown after the document is replaced
+        textArea.setDocument(new PlainDocument());
+        assertNull(dataProvider.getData().getEdits());
+
+        dataProvider.dispose();
+        assertNull(dataProvider.getData());
+    }
+
+    @Test
+    public void testProviderRegisteredBeforeTrigger() throws BadLocationException {
+        final JTextArea textArea = new JTextArea("aaaa\nbbbb\ncccc");
+        final JTextComponentEditedTextProvider<JTextArea> dataProvider = new
+                JTextComponentEditedTextProvider<JTextArea>(textArea);
+        final Rule<CharSequence, Boolean> lineRule = new StringRegexRule("^[a-c]*$").asCharSequenceRule();
+        final IncrementalTextRule rule = new IncrementalTextRule(lineRule, TextLocality.LINE);
+        final List<Boolean> results = new ArrayList<Boolean>();
+        assertTrue(rule.validate(dataProvider.getData()));
+
+        // Document listeners are notified in reverse order, so the trigger reads the data before the edit is recorded
+        JTextComponentDocumentChangedTrigger trigger = new JTextComponentDocumentChangedTrigger(textArea);
+        trigger.addTriggerListener(new TriggerListener() {
+            @Override
+            public void triggerValidation(TriggerEvent event) {
+                results.add(rule.validate(dataProvider.getData()));
+            }
+        });
+
+        textArea.getDocument().insertString(12, "X", null);
+        assertEquals(1, results.size());
+        assertEquals(lineRule.validate(textArea.getText()), results.get(0));
+        assertFalse(results.get(0));
+
+        // The late edit is already contained in the data last provided
+        assertNull(dataProvider.getData().getEdits());
+
+        textArea.getDocument().insertString(0, "a", null);
+        assertEquals(2, results.size());
+        assertEquals(lineRule.validate(textArea.getText()), results.get(1));
+
+        trigger.dispose();
+        dataProvider.dispose();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2017, ValidationFramework Authors
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.google.code.validationframework.swing.utils;
+
+import com.google.code.validationframework.base.rule.string.StringRegexRule;
+import org.junit.Test;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.PlainDocument;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see DocumentCharSequence
+ */
+public class DocumentCharSequenceTest {
+
+    private static void assertSameContent(String expected, CharSequence actual) {
+        assertEquals(expected.length(), actual.length());
+        for (int i = 0; i < expected.length(); i++) {
+            assertEquals(expected.charAt(i), actual.charAt(i));
+        }
+        assertEquals(expected, actual.toString());
+    }
+
+    @Test
+    public void testEmptyDocument() {
+        DocumentCharSequence text = new DocumentCharSequence(new PlainDocument());
+        assertEquals(0, text.length());
+        assertEquals("", text.toString());
+    }
+
+    @Test
+    public void testContentAcrossGap() throws BadLocationException {
+        PlainDocument document = new PlainDocument();
+        document.insertString(0, "Hello World", null);
+        // Move the gap in the middle of the content
+        document.insertString(5, ",", null);
+
+        String expected = document.getText(0, document.getLength());
+        assertSameContent(expected, new DocumentCharSequence(document));
+        assertSameContent(expected.substring(3, 9), new DocumentCharSequence(document, 3, 6));
+        assertEquals(expected.substring(2, 8), new DocumentCharSequence(document).subSequence(2, 8).toString());
+    }
+
+    @Test
+    public void testValidationWithoutCopy() throws BadLocationException {
+        PlainDocument document = new PlainDocument();
+        document.insertString(0, "  abc123  ", null);
+        document.insertString(3, "x", null);
+
+        StringRegexRule rule = new StringRegexRule("^ax?bc\\d+$");
+        assertTrue(rule.validate(new DocumentCharSequence(document)));
+        rule.setTrimDataBeforeValidation(false);
+        assertFalse(rule.validate(new DocumentCharSequence(document)));
+    }
+}